@@ -5,6 +5,7 @@ import de.aivot.GoverBackend.asset.repositories.AssetRepository;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.lib.services.EntityService;
+import de.aivot.GoverBackend.services.TemplateLoaderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,10 +19,15 @@ import java.util.UUID;
 @Service
 public class AssetService implements EntityService<AssetEntity, String> {
     private final AssetRepository repository;
+    private final TemplateLoaderService templateLoaderService;
 
     @Autowired
-    public AssetService(AssetRepository repository) {
+    public AssetService(
+            AssetRepository repository,
+            TemplateLoaderService templateLoaderService
+    ) {
         this.repository = repository;
+        this.templateLoaderService = templateLoaderService;
     }
 
     @Nonnull
@@ -34,6 +40,7 @@ public class AssetService implements EntityService<AssetEntity, String> {
     @Override
     public void performDelete(@Nonnull AssetEntity asset) throws ResponseException {
         repository.delete(asset);
+        templateLoaderService.invalidateTemplate(asset.getKey());
     }
 
     @Nonnull
@@ -54,7 +61,9 @@ public class AssetService implements EntityService<AssetEntity, String> {
     ) throws ResponseException {
         existingEntity.setFilename(entity.getFilename());
         existingEntity.setPrivate(entity.getPrivate());
-        return repository.save(existingEntity);
+        var updatedEntity = repository.save(existingEntity);
+        templateLoaderService.invalidateTemplate(updatedEntity.getKey());
+        return updatedEntity;
     }
 
     @Nonnull
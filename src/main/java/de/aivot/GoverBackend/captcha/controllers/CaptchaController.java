@@ -2,13 +2,10 @@ package de.aivot.GoverBackend.captcha.controllers;
 
 import de.aivot.GoverBackend.captcha.dtos.CaptchaVerificationRequestDTO;
 import de.aivot.GoverBackend.captcha.dtos.CaptchaVerificationResponseDTO;
-import de.aivot.GoverBackend.captcha.filters.ChallengeRateLimitFilter;
 import de.aivot.GoverBackend.captcha.services.AltchaService;
 import de.aivot.GoverBackend.captcha.services.RedisCaptchaReplayGuard;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import org.altcha.altcha.Altcha;
-import org.springframework.boot.web.servlet.FilterRegistrationBean;
-import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -58,13 +55,4 @@ public class CaptchaController {
                 : ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new CaptchaVerificationResponseDTO(false));
     }
-
-    @Bean
-    public FilterRegistrationBean<ChallengeRateLimitFilter> challengeRateLimitFilter() {
-        FilterRegistrationBean<ChallengeRateLimitFilter> reg = new FilterRegistrationBean<>();
-        reg.setFilter(new ChallengeRateLimitFilter());
-        reg.addUrlPatterns("/api/public/captcha/challenge/");
-        reg.setOrder(1);
-        return reg;
-    }
-}
\ No newline at end of file
+}
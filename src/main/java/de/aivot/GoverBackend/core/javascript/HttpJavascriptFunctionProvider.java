@@ -1,22 +1,47 @@
 package de.aivot.GoverBackend.core.javascript;
 
+import de.aivot.GoverBackend.core.properties.HttpClientConfigurationProperties;
+import de.aivot.GoverBackend.core.services.HttpService;
 import de.aivot.GoverBackend.javascript.providers.JavascriptFunctionProvider;
+import de.aivot.GoverBackend.javascript.services.JavascriptExecutionScope;
 import org.graalvm.polyglot.HostAccess;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * SPI for providing HTTP functions to the Javascript environment.
+ * The requests are sent through the shared client of the {@link HttpService}.
+ * All requests of a single {@link JavascriptExecutionScope}, e.g. of one form derivation, share a common time budget.
+ * Once the budget is used up, further requests fail immediately instead of blocking the derivation.
+ * Responses to GET requests are cached by the {@link HttpJavascriptResponseCache}.
  */
 @Service
 public class HttpJavascriptFunctionProvider implements JavascriptFunctionProvider {
+    private static final String DEADLINE_ATTRIBUTE = "_http.deadline";
+
+    private final HttpService httpService;
+    private final HttpJavascriptResponseCache responseCache;
+    private final HttpClientConfigurationProperties properties;
+
+    @Autowired
+    public HttpJavascriptFunctionProvider(
+            HttpService httpService,
+            HttpJavascriptResponseCache responseCache,
+            HttpClientConfigurationProperties properties
+    ) {
+        this.httpService = httpService;
+        this.responseCache = responseCache;
+        this.properties = properties;
+    }
+
     @Override
     public String getPackageName() {
         return "_http";
@@ -34,37 +59,29 @@ public class HttpJavascriptFunctionProvider implements JavascriptFunctionProvide
 
     /**
      * Sends a GET request to the given URL with the given headers.
+     * The response is served from the cache, if the same request was sent before and its response is still valid.
      *
      * @param url     The URL to send the request to.
      * @param headers The headers to send with the request.
      * @return The response of the request.
-     * @throws IOException          If an I/O error occurs.
+     * @throws IOException          If an I/O error occurs or the time budget is used up.
      * @throws InterruptedException If the request is interrupted.
      */
     @HostAccess.Export
     public HttpResult get(String url, Map<String, String> headers) throws IOException, InterruptedException {
-        var uri = URI.create(url);
-
-        var client = HttpClient
-                .newBuilder()
-                .build();
-
-        var requestBuilder = HttpRequest
-                .newBuilder(uri);
-        for (var entry : headers.entrySet()) {
-            requestBuilder.header(entry.getKey(), entry.getValue());
+        var cachedResult = responseCache.get(url, headers);
+        if (cachedResult != null) {
+            return cachedResult;
         }
-        var request = requestBuilder
-                .GET()
-                .timeout(Duration.ofSeconds(30))
-                .build();
-
-        var response = client
-                .send(request, HttpResponse.BodyHandlers.ofString());
 
-        client.close();
+        var requestBuilder = HttpRequest
+                .newBuilder(URI.create(url))
+                .GET();
 
-        return new HttpResult(response.statusCode(), response.body());
+        var response = send(requestBuilder, headers);
+        var result = new HttpResult(response.statusCode(), response.body());
+        responseCache.put(url, headers, response, result);
+        return result;
     }
 
     /**
@@ -74,33 +91,61 @@ public class HttpJavascriptFunctionProvider implements JavascriptFunctionProvide
      * @param body    The body of the request as a String.
      * @param headers The headers to send with the request.
      * @return The response of the request.
-     * @throws IOException          If an I/O error occurs.
-     * @throws InterruptedException If the request is interrupted.s
+     * @throws IOException          If an I/O error occurs or the time budget is used up.
+     * @throws InterruptedException If the request is interrupted.
      */
     @HostAccess.Export
     public HttpResult post(String url, String body, Map<String, String> headers) throws IOException, InterruptedException {
-        var uri = URI.create(url);
+        var requestBuilder = HttpRequest
+                .newBuilder(URI.create(url))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
 
-        var client = HttpClient
-                .newBuilder()
-                .build();
+        var response = send(requestBuilder, headers);
+        return new HttpResult(response.statusCode(), response.body());
+    }
 
-        var requestBuilder = HttpRequest
-                .newBuilder(uri);
-        for (var entry : headers.entrySet()) {
-            requestBuilder.header(entry.getKey(), entry.getValue());
+    private HttpResponse<String> send(HttpRequest.Builder requestBuilder, Map<String, String> headers) throws IOException, InterruptedException {
+        if (headers != null) {
+            headers.forEach(requestBuilder::header);
+        }
+
+        // The remaining budget limits both the wait for a free slot of the host and the request itself
+        var remaining = getRemainingBudget();
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new IOException("The time budget for http requests of this evaluation is used up");
         }
+
+        var timeout = Duration.ofMillis(Math.min(properties.getRequestTimeout(), remaining.toMillis()));
         var request = requestBuilder
-                .POST(HttpRequest.BodyPublishers.ofString(body))
-                .timeout(Duration.ofSeconds(30))
+                .timeout(timeout)
                 .build();
 
-        var response = client
-                .send(request, HttpResponse.BodyHandlers.ofString());
+        return httpService
+                .send(request, HttpResponse.BodyHandlers.ofString(), timeout);
+    }
 
-        client.close();
+    /**
+     * Get the remaining time budget of the current execution scope.
+     * The budget starts with the first request of the scope and is further limited by the time limit of the running evaluation.
+     * Requests outside of an execution scope are only limited by the request timeout.
+     */
+    private Duration getRemainingBudget() {
+        var scope = JavascriptExecutionScope.current();
+        if (scope.isEmpty()) {
+            return Duration.ofMillis(properties.getRequestTimeout());
+        }
 
-        return new HttpResult(response.statusCode(), response.body());
+        var deadline = scope
+                .get()
+                .<Long>getAttribute(DEADLINE_ATTRIBUTE, () -> System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getJavascriptTimeBudget()));
+        var remaining = Duration.ofNanos(deadline - System.nanoTime());
+
+        // The evaluation cannot be interrupted while it waits for a request, so the request must not outlast the time limit of the evaluation
+        return scope
+                .get()
+                .getRemainingTime()
+                .filter(remainingTime -> remainingTime.compareTo(remaining) < 0)
+                .orElse(remaining);
     }
 
     /**
@@ -0,0 +1,238 @@
+package de.aivot.GoverBackend.core.javascript;
+
+import de.aivot.GoverBackend.core.properties.HttpClientConfigurationProperties;
+import de.aivot.GoverBackend.javascript.services.JavascriptExecutionScope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cache for the responses to GET requests of the {@link HttpJavascriptFunctionProvider}.
+ * Derivations evaluate all javascript code of a form again on every change, so the same lookups are requested many times.
+ * <p>
+ * Responses are memoized in the {@link JavascriptExecutionScope} of the derivation, so each request is sent at most once per derivation.
+ * If enabled, successful responses are also shared across derivations until they expire.
+ * Their lifetime is taken from the max-age of the Cache-Control header or the configured default, and responses marked as no-store, no-cache or private are not shared.
+ * <p>
+ * The responses are keyed by the url and all headers of the request.
+ * The headers are set by the javascript code only, so this also covers any Vary header of the response.
+ */
+@Service
+public class HttpJavascriptResponseCache {
+    private static final String METRIC_PREFIX = "gover.http.javascript.cache";
+    private static final String RESPONSES_ATTRIBUTE = "_http.responses";
+
+    private final HttpClientConfigurationProperties properties;
+    private final Map<CacheKey, CachedResponse> responses;
+
+    private final Counter derivationHitCounter;
+    private final Counter sharedHitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public HttpJavascriptResponseCache(
+            HttpClientConfigurationProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+
+        var maxEntries = properties.getJavascriptCacheMaxEntries();
+
+        // Keep the responses in access order to evict the least recently used response first
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        Gauge.builder(METRIC_PREFIX + ".size", this, HttpJavascriptResponseCache::size)
+                .description("Number of responses cached across derivations")
+                .register(meterRegistry);
+        this.derivationHitCounter = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Number of responses served from the cache instead of sending a request")
+                .tag("cache", "derivation")
+                .register(meterRegistry);
+        this.sharedHitCounter = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Number of responses served from the cache instead of sending a request")
+                .tag("cache", "shared")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses")
+                .description("Number of requests sent because no cached response was available")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached response for a GET request.
+     *
+     * @param url     The url of the request.
+     * @param headers The headers of the request.
+     * @return The cached response or null, if the request must be sent.
+     */
+    @Nullable
+    public HttpJavascriptFunctionProvider.HttpResult get(@Nonnull String url, @Nullable Map<String, String> headers) {
+        var key = CacheKey.of(url, headers);
+
+        var memoized = getMemoizedResponses();
+        if (memoized != null) {
+            var result = memoized.get(key);
+            if (result != null) {
+                derivationHitCounter.increment();
+                return result;
+            }
+        }
+
+        if (Boolean.TRUE.equals(properties.getJavascriptCacheEnabled())) {
+            CachedResponse cached;
+            synchronized (responses) {
+                cached = responses.get(key);
+                if (cached != null && cached.expires() <= System.currentTimeMillis()) {
+                    responses.remove(key);
+                    cached = null;
+                }
+            }
+
+            if (cached != null) {
+                sharedHitCounter.increment();
+                memoize(memoized, key, cached.result());
+                return cached.result();
+            }
+        }
+
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * Store the response to a GET request.
+     *
+     * @param url      The url of the request.
+     * @param headers  The headers of the request.
+     * @param response The received response, which provides the caching headers.
+     * @param result   The result handed to the javascript code.
+     */
+    public void put(
+            @Nonnull String url,
+            @Nullable Map<String, String> headers,
+            @Nonnull HttpResponse<String> response,
+            @Nonnull HttpJavascriptFunctionProvider.HttpResult result
+    ) {
+        var key = CacheKey.of(url, headers);
+
+        memoize(getMemoizedResponses(), key, result);
+
+        if (!Boolean.TRUE.equals(properties.getJavascriptCacheEnabled())) {
+            return;
+        }
+
+        var body = response.body();
+        if (response.statusCode() < 200 || response.statusCode() >= 300 || (body != null && body.length() > properties.getJavascriptCacheMaxBodyLength())) {
+            return;
+        }
+
+        var ttl = getTtl(response);
+        if (ttl <= 0) {
+            return;
+        }
+
+        synchronized (responses) {
+            responses.put(key, new CachedResponse(result, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    /**
+     * Drop all responses cached across derivations.
+     */
+    public void invalidateAll() {
+        synchronized (responses) {
+            responses.clear();
+        }
+    }
+
+    private int size() {
+        synchronized (responses) {
+            return responses.size();
+        }
+    }
+
+    private long getTtl(@Nonnull HttpResponse<String> response) {
+        Long maxAge = null;
+
+        for (var value : response.headers().allValues("Cache-Control")) {
+            for (var directive : value.split(",")) {
+                var normalized = directive.trim().toLowerCase(Locale.ROOT);
+
+                if (normalized.equals("no-store") || normalized.equals("no-cache") || normalized.equals("private")) {
+                    return 0;
+                }
+
+                // s-maxage is meant for shared caches and takes precedence over max-age
+                if (normalized.startsWith("s-maxage=")) {
+                    maxAge = parseSeconds(normalized.substring("s-maxage=".length()));
+                } else if (normalized.startsWith("max-age=") && maxAge == null) {
+                    maxAge = parseSeconds(normalized.substring("max-age=".length()));
+                }
+            }
+        }
+
+        var ttl = maxAge != null ? maxAge * 1000 : properties.getJavascriptCacheDefaultTtl();
+        return Math.min(ttl, properties.getJavascriptCacheMaxTtl());
+    }
+
+    private static long parseSeconds(@Nonnull String value) {
+        try {
+            return Math.max(Long.parseLong(value.replace("\"", "")), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Nullable
+    private Map<CacheKey, HttpJavascriptFunctionProvider.HttpResult> getMemoizedResponses() {
+        return JavascriptExecutionScope
+                .current()
+                .map(scope -> scope.<Map<CacheKey, HttpJavascriptFunctionProvider.HttpResult>>getAttribute(RESPONSES_ATTRIBUTE, HashMap::new))
+                .orElse(null);
+    }
+
+    private void memoize(
+            @Nullable Map<CacheKey, HttpJavascriptFunctionProvider.HttpResult> memoized,
+            @Nonnull CacheKey key,
+            @Nonnull HttpJavascriptFunctionProvider.HttpResult result
+    ) {
+        if (memoized != null && memoized.size() < properties.getJavascriptCacheMaxEntries()) {
+            memoized.put(key, result);
+        }
+    }
+
+    private record CacheKey(
+            @Nonnull String url,
+            @Nonnull Map<String, String> headers
+    ) {
+        private static CacheKey of(@Nonnull String url, @Nullable Map<String, String> headers) {
+            // Header names are case-insensitive, so they are normalized to make equal requests share a key
+            var normalizedHeaders = new TreeMap<String, String>();
+            if (headers != null) {
+                headers.forEach((name, value) -> normalizedHeaders.put(name.toLowerCase(Locale.ROOT), value));
+            }
+            return new CacheKey(url, normalizedHeaders);
+        }
+    }
+
+    private record CachedResponse(
+            @Nonnull HttpJavascriptFunctionProvider.HttpResult result,
+            long expires
+    ) {
+    }
+}
@@ -3,6 +3,7 @@ package de.aivot.GoverBackend.core.payment;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.common.contenttype.ContentType;
+import de.aivot.GoverBackend.asset.entities.AssetEntity;
 import de.aivot.GoverBackend.asset.repositories.AssetRepository;
 import de.aivot.GoverBackend.enums.ElementType;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
@@ -16,6 +17,8 @@ import de.aivot.GoverBackend.payment.exceptions.PaymentException;
 import de.aivot.GoverBackend.payment.models.PaymentProviderDefinition;
 import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentRequest;
 import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentTransaction;
+import de.aivot.GoverBackend.payment.services.PaymentHttpClientCache;
+import de.aivot.GoverBackend.secrets.entities.SecretEntity;
 import de.aivot.GoverBackend.secrets.services.SecretService;
 import de.aivot.GoverBackend.services.storages.AssetStorageService;
 import de.aivot.GoverBackend.utils.StringUtils;
@@ -33,9 +36,14 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Component
 public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinition {
@@ -49,12 +57,14 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
     private final AssetRepository assetRepository;
     private final SecretService secretService;
     private final AssetStorageService assetStorageService;
+    private final PaymentHttpClientCache paymentHttpClientCache;
 
     @Autowired
-    public ePayBLPaymentProviderDefinition(AssetRepository assetRepository, SecretService secretService, AssetStorageService assetStorageService) {
+    public ePayBLPaymentProviderDefinition(AssetRepository assetRepository, SecretService secretService, AssetStorageService assetStorageService, PaymentHttpClientCache paymentHttpClientCache) {
         this.assetRepository = assetRepository;
         this.secretService = secretService;
         this.assetStorageService = assetStorageService;
+        this.paymentHttpClientCache = paymentHttpClientCache;
     }
 
     @Nonnull
@@ -195,10 +205,7 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
                 .POST(HttpRequest.BodyPublishers.ofString(body))
                 .build();
 
-        var client = HttpClient
-                .newBuilder()
-                .sslContext(getSslContext(paymentProviderEntity, config))
-                .build();
+        var client = getHttpClient(paymentProviderEntity, config);
 
         HttpResponse<String> response;
         try {
@@ -228,8 +235,6 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
             return objectMapper.readValue(response.body(), XBezahldienstePaymentTransaction.class);
         } catch (JsonProcessingException e) {
             throw new PaymentException(e, "Failed to deserialize payment transaction for payment provider %s (%s)", paymentProviderEntity.getName(), paymentProviderEntity.getKey());
-        } finally {
-            client.close();
         }
     }
 
@@ -244,10 +249,7 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
         var endpointID = getEndpointID(paymentProviderEntity, config);
         var normalizedPaymentTransactionUrl = getNormalizedPaymentTransactionUrl(paymentProviderEntity, config);
 
-        var client = HttpClient
-                .newBuilder()
-                .sslContext(getSslContext(paymentProviderEntity, config))
-                .build();
+        var client = getHttpClient(paymentProviderEntity, config);
 
         var paymentPath = String
                 .format("%spaymenttransaction/%s/%s/%s", normalizedPaymentTransactionUrl, originatorID, endpointID, transaction.getPaymentInformation().getTransactionId());
@@ -283,8 +285,6 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
             throw new PaymentException(e, "Failed to deserialize payment transaction for payment provider %s (%s)", paymentProviderEntity.getName(), paymentProviderEntity.getKey());
         }
 
-        client.close();
-
         return updatedTransaction;
     }
 
@@ -332,8 +332,13 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
         return StringUtils.normalizeUrl(paymentTransactionUrl);
     }
 
+    /**
+     * Get the http client authenticating with the client certificate of the payment provider.
+     * The client is cached as long as the config of the payment provider, the certificate password and the certificate asset do not change.
+     * This way the certificate is only loaded once and the TLS sessions with the payment provider are reused.
+     */
     @Nonnull
-    private SSLContext getSslContext(
+    private HttpClient getHttpClient(
             @Nonnull PaymentProviderEntity paymentProviderEntity,
             @Nonnull Map<String, Object> config
     ) throws PaymentException {
@@ -346,6 +351,36 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
                 .retrieve(paymentProviderPasswordSecretKey)
                 .orElseThrow(() -> new PaymentException("Certificate password secret for payment provider %s (%s) is missing", paymentProviderEntity.getName(), paymentProviderEntity.getKey()));
 
+        var paymentProviderClientCertificateAssetKey = (String) config.get(CERTIFICATE_FIELD);
+        if (StringUtils.isNullOrEmpty(paymentProviderClientCertificateAssetKey)) {
+            throw new PaymentException("Certificate asset key for payment provider %s (%s) is not specified", paymentProviderEntity.getName(), paymentProviderEntity.getKey());
+        }
+
+        var paymentProviderClientCertAsset = assetRepository
+                .findById(paymentProviderClientCertificateAssetKey)
+                .orElseThrow(() -> new PaymentException("Certificate for payment provider %s (%s) is missing", paymentProviderEntity.getName(), paymentProviderEntity.getKey()));
+
+        // The contents of assets never change, so the key and creation date of the asset identify the certificate.
+        // The encrypted value of the secret changes with every update of the password.
+        var version = hash(
+                new TreeMap<>(config).toString(),
+                paymentProviderClientCertPassSecret.getValue(),
+                paymentProviderClientCertAsset.getKey(),
+                String.valueOf(paymentProviderClientCertAsset.getCreated())
+        );
+
+        return paymentHttpClientCache.getOrCreate(paymentProviderEntity.getKey(), version, () -> HttpClient
+                .newBuilder()
+                .sslContext(createSslContext(paymentProviderEntity, paymentProviderClientCertPassSecret, paymentProviderClientCertAsset))
+                .build());
+    }
+
+    @Nonnull
+    private SSLContext createSslContext(
+            @Nonnull PaymentProviderEntity paymentProviderEntity,
+            @Nonnull SecretEntity paymentProviderClientCertPassSecret,
+            @Nonnull AssetEntity paymentProviderClientCertAsset
+    ) throws PaymentException {
         String paymentProviderClientCertPass = null;
         try {
             paymentProviderClientCertPass = secretService
@@ -358,15 +393,6 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
             throw new PaymentException("Certificate password for payment provider %s (%s) is empty", paymentProviderEntity.getName(), paymentProviderEntity.getKey());
         }
 
-        var paymentProviderClientCertificateAssetKey = (String) config.get(CERTIFICATE_FIELD);
-        if (StringUtils.isNullOrEmpty(paymentProviderClientCertificateAssetKey)) {
-            throw new PaymentException("Certificate asset key for payment provider %s (%s) is not specified", paymentProviderEntity.getName(), paymentProviderEntity.getKey());
-        }
-
-        var paymentProviderClientCertAsset = assetRepository
-                .findById(paymentProviderClientCertificateAssetKey)
-                .orElseThrow(() -> new PaymentException("Certificate for payment provider %s (%s) is missing", paymentProviderEntity.getName(), paymentProviderEntity.getKey()));
-
         byte[] paymentProviderClientCertBytes;
         try {
             paymentProviderClientCertBytes = assetStorageService
@@ -396,4 +422,17 @@ public class ePayBLPaymentProviderDefinition implements PaymentProviderDefinitio
             throw new PaymentException(e, "Failed to create SSL context for payment provider %s (%s)", paymentProviderEntity.getName(), paymentProviderEntity.getKey());
         }
     }
+
+    private static String hash(String... parts) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package de.aivot.GoverBackend.core.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for the shared http client of the {@link de.aivot.GoverBackend.core.services.HttpService}.
+ * The properties are loaded from the application configuration file.
+ * They control the timeouts of outgoing requests, how many requests may be sent to a single host at the same time and how much time the javascript code of a single derivation may spend on http requests.
+ * The cache properties control the cache of the javascript http provider, which shares GET responses across derivations.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientConfigurationProperties {
+    /**
+     * The timeout in milliseconds for establishing a connection to a remote host.
+     */
+    private Long connectTimeout = 10000L;
+
+    /**
+     * The timeout in milliseconds until a remote host must respond to a request, if the request does not specify its own timeout.
+     */
+    private Long requestTimeout = 30000L;
+
+    /**
+     * The maximum number of requests sent to a single host at the same time.
+     */
+    private Integer maxConcurrentRequestsPerHost = 32;
+
+    /**
+     * The maximum time in milliseconds a request waits for a free slot of its host, before it fails.
+     */
+    private Long acquireTimeout = 10000L;
+
+    /**
+     * Whether the http client should use virtual threads for its asynchronous tasks instead of the default thread pool.
+     */
+    private Boolean virtualThreads = false;
+
+    /**
+     * The total time in milliseconds the javascript code of a single derivation may spend on http requests.
+     */
+    private Long javascriptTimeBudget = 30000L;
+
+    /**
+     * Whether responses to GET requests of javascript code are cached across derivations.
+     * Responses are always reused within a single derivation.
+     */
+    private Boolean javascriptCacheEnabled = false;
+
+    /**
+     * The maximum number of responses cached across derivations and reused within a single derivation.
+     */
+    private Integer javascriptCacheMaxEntries = 1024;
+
+    /**
+     * The maximum length of a response body in characters, which is still cached across derivations.
+     */
+    private Integer javascriptCacheMaxBodyLength = 256 * 1024;
+
+    /**
+     * The time in milliseconds a response is cached, if it has no max-age in its Cache-Control header.
+     * Set to 0 to cache only responses with an explicit max-age.
+     */
+    private Long javascriptCacheDefaultTtl = 60000L;
+
+    /**
+     * The maximum time in milliseconds a response is cached, regardless of its Cache-Control header.
+     */
+    private Long javascriptCacheMaxTtl = 3600000L;
+
+    public Long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Long connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Integer getMaxConcurrentRequestsPerHost() {
+        return maxConcurrentRequestsPerHost;
+    }
+
+    public void setMaxConcurrentRequestsPerHost(Integer maxConcurrentRequestsPerHost) {
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+    }
+
+    public Long getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Long acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public Long getJavascriptTimeBudget() {
+        return javascriptTimeBudget;
+    }
+
+    public void setJavascriptTimeBudget(Long javascriptTimeBudget) {
+        this.javascriptTimeBudget = javascriptTimeBudget;
+    }
+
+    public Boolean getJavascriptCacheEnabled() {
+        return javascriptCacheEnabled;
+    }
+
+    public void setJavascriptCacheEnabled(Boolean javascriptCacheEnabled) {
+        this.javascriptCacheEnabled = javascriptCacheEnabled;
+    }
+
+    public Integer getJavascriptCacheMaxEntries() {
+        return javascriptCacheMaxEntries;
+    }
+
+    public void setJavascriptCacheMaxEntries(Integer javascriptCacheMaxEntries) {
+        this.javascriptCacheMaxEntries = javascriptCacheMaxEntries;
+    }
+
+    public Integer getJavascriptCacheMaxBodyLength() {
+        return javascriptCacheMaxBodyLength;
+    }
+
+    public void setJavascriptCacheMaxBodyLength(Integer javascriptCacheMaxBodyLength) {
+        this.javascriptCacheMaxBodyLength = javascriptCacheMaxBodyLength;
+    }
+
+    public Long getJavascriptCacheDefaultTtl() {
+        return javascriptCacheDefaultTtl;
+    }
+
+    public void setJavascriptCacheDefaultTtl(Long javascriptCacheDefaultTtl) {
+        this.javascriptCacheDefaultTtl = javascriptCacheDefaultTtl;
+    }
+
+    public Long getJavascriptCacheMaxTtl() {
+        return javascriptCacheMaxTtl;
+    }
+
+    public void setJavascriptCacheMaxTtl(Long javascriptCacheMaxTtl) {
+        this.javascriptCacheMaxTtl = javascriptCacheMaxTtl;
+    }
+}
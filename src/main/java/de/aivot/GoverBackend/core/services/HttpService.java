@@ -1,5 +1,12 @@
 package de.aivot.GoverBackend.core.services;
 
+import de.aivot.GoverBackend.core.properties.HttpClientConfigurationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.Nonnull;
@@ -9,8 +16,16 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -26,13 +41,15 @@ import java.util.stream.Collectors;
  *     <li>Sends HTTP GET requests with optional headers.</li>
  *     <li>Sends HTTP POST requests with a raw string body and optional headers.</li>
  *     <li>Sends HTTP POST requests with form URL-encoded data and optional headers.</li>
- *     <li>Uses Java's {@link HttpClient} for handling HTTP communication.</li>
+ *     <li>Sends all requests through a single shared {@link HttpClient}, so connections, HTTP/2 streams and TLS sessions are reused.</li>
+ *     <li>Limits the number of concurrent requests per host and applies a default timeout to requests without their own timeout.</li>
+ *     <li>Records the number and latency of requests per method and outcome.</li>
  *     <li>Handles exceptions during the HTTP request process by propagating them to the caller.</li>
  * </ul>
  *
  * <p>Example usage:</p>
  * <pre>
- *     HttpService httpService = new HttpService();
+ *     HttpService httpService = new HttpService(properties, meterRegistry); // Or inject the shared instance
  *     URI uri = new URI("https://example.com/api");
  *     HttpResponse&lt;String&gt; response = httpService.get(uri, Map.of("Authorization", "Bearer token"));
  * </pre>
@@ -43,6 +60,137 @@ import java.util.stream.Collectors;
  */
 @Service
 public class HttpService {
+    private static final String METRIC_PREFIX = "gover.http.client";
+
+    private final HttpClientConfigurationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient client;
+
+    @Nullable
+    private final ExecutorService executor;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRequests = new AtomicInteger(0);
+
+    private final Counter rejectionCounter;
+
+    /**
+     * The request timers by method and outcome, which are looked up after every request.
+     * Building the tags for the lookup in the meter registry is comparatively expensive, so the timers are kept by their plain key.
+     */
+    private final Map<TimerKey, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HttpService(
+            HttpClientConfigurationProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        var builder = HttpClient
+                .newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeout()));
+
+        if (Boolean.TRUE.equals(properties.getVirtualThreads())) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            builder.executor(executor);
+        } else {
+            executor = null;
+        }
+
+        this.client = builder.build();
+
+        Gauge.builder(METRIC_PREFIX + ".active", activeRequests, AtomicInteger::get)
+                .description("Number of outgoing http requests currently in flight")
+                .register(meterRegistry);
+        this.rejectionCounter = Counter.builder(METRIC_PREFIX + ".rejections")
+                .description("Number of outgoing http requests rejected because their host had no free slot in time")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Sends a request through the shared http client.
+     * The request waits at most the configured acquire timeout for a free slot of its host.
+     *
+     * @param request     The request to send. If it has no timeout, the configured request timeout is applied.
+     * @param bodyHandler The handler for the response body.
+     * @param <T>         The type of the response body.
+     * @return The HTTP response as a {@link HttpResponse} object.
+     * @throws IOException          If an I/O error occurs during the request or the host had no free slot in time.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @Nonnull
+    public <T> HttpResponse<T> send(
+            @Nonnull HttpRequest request,
+            @Nonnull HttpResponse.BodyHandler<T> bodyHandler
+    ) throws IOException, InterruptedException {
+        return send(request, bodyHandler, Duration.ofMillis(properties.getAcquireTimeout()));
+    }
+
+    /**
+     * Sends a request through the shared http client.
+     * The slot of the host is released as soon as the response is received.
+     * Body handlers that stream the body, e.g. {@link HttpResponse.BodyHandlers#ofInputStream()}, are therefore not covered by the limit of the host.
+     *
+     * @param request     The request to send. If it has no timeout, the configured request timeout is applied.
+     * @param bodyHandler The handler for the response body.
+     * @param maxWait     The maximum time to wait for a free slot of the host.
+     * @param <T>         The type of the response body.
+     * @return The HTTP response as a {@link HttpResponse} object.
+     * @throws IOException          If an I/O error occurs during the request or the host had no free slot in time.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @Nonnull
+    public <T> HttpResponse<T> send(
+            @Nonnull HttpRequest request,
+            @Nonnull HttpResponse.BodyHandler<T> bodyHandler,
+            @Nonnull Duration maxWait
+    ) throws IOException, InterruptedException {
+        var host = getHostKey(request.uri());
+        var permits = hostPermits
+                .computeIfAbsent(host, key -> new Semaphore(properties.getMaxConcurrentRequestsPerHost(), true));
+
+        if (!permits.tryAcquire(Math.max(maxWait.toMillis(), 0), TimeUnit.MILLISECONDS)) {
+            rejectionCounter.increment();
+            throw new IOException("Timed out waiting for a free slot for requests to " + host);
+        }
+
+        if (request.timeout().isEmpty()) {
+            request = HttpRequest
+                    .newBuilder(request, (name, value) -> true)
+                    .timeout(Duration.ofMillis(properties.getRequestTimeout()))
+                    .build();
+        }
+
+        activeRequests.incrementAndGet();
+        var sample = Timer.start(meterRegistry);
+        var outcome = "IO_ERROR";
+        try {
+            var response = client.send(request, bodyHandler);
+            outcome = getOutcome(response.statusCode());
+            return response;
+        } catch (HttpTimeoutException e) {
+            outcome = "TIMEOUT";
+            throw e;
+        } catch (InterruptedException e) {
+            outcome = "INTERRUPTED";
+            throw e;
+        } finally {
+            activeRequests.decrementAndGet();
+            permits.release();
+            sample.stop(requestTimers.computeIfAbsent(new TimerKey(request.method(), outcome), this::createRequestTimer));
+        }
+    }
+
     /**
      * Sends an HTTP GET request to the specified URI without any headers.
      *
@@ -85,13 +233,7 @@ public class HttpService {
         var request = requestBuilder
                 .build();
 
-        HttpResponse<String> response;
-        try (var client = HttpClient.newHttpClient()) {
-            response = client
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-        }
-
-        return response;
+        return send(request, HttpResponse.BodyHandlers.ofString());
     }
 
     /**
@@ -187,12 +329,41 @@ public class HttpService {
         var request = requestBuilder
                 .build();
 
-        HttpResponse<String> response;
-        try (var client = HttpClient.newHttpClient()) {
-            response = client
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+        return send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Nonnull
+    private static String getHostKey(@Nonnull URI uri) {
+        var port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getHost() + ":" + port;
+    }
+
+    @Nonnull
+    private static String getOutcome(int statusCode) {
+        if (statusCode >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (statusCode >= 400) {
+            return "CLIENT_ERROR";
         }
+        if (statusCode >= 300) {
+            return "REDIRECTION";
+        }
+        return "SUCCESS";
+    }
+
+    @Nonnull
+    private Timer createRequestTimer(@Nonnull TimerKey key) {
+        return Timer.builder(METRIC_PREFIX + ".requests")
+                .description("Duration of outgoing http requests until their response was received")
+                .tag("method", key.method())
+                .tag("outcome", key.outcome())
+                .register(meterRegistry);
+    }
 
-        return response;
+    private record TimerKey(String method, String outcome) {
     }
 }
@@ -6,6 +6,7 @@ import de.aivot.GoverBackend.department.repositories.DepartmentMembershipReposit
 import de.aivot.GoverBackend.department.repositories.DepartmentRepository;
 import de.aivot.GoverBackend.enums.SubmissionStatus;
 import de.aivot.GoverBackend.enums.UserRole;
+import de.aivot.GoverBackend.form.services.UserFormAccessService;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.lib.services.EntityService;
@@ -30,18 +31,21 @@ public class DepartmentMembershipService implements EntityService<DepartmentMemb
     private final DepartmentRepository departmentRepository;
     private final SubmissionRepository submissionRepository;
     private final UserService userService;
+    private final UserFormAccessService userFormAccessService;
 
     @Autowired
     public DepartmentMembershipService(
             DepartmentMembershipRepository repository,
             DepartmentRepository departmentRepository,
             SubmissionRepository submissionRepository,
-            UserService userService
+            UserService userService,
+            UserFormAccessService userFormAccessService
     ) {
         this.repository = repository;
         this.departmentRepository = departmentRepository;
         this.submissionRepository = submissionRepository;
         this.userService = userService;
+        this.userFormAccessService = userFormAccessService;
     }
 
     @Nonnull
@@ -67,7 +71,9 @@ public class DepartmentMembershipService implements EntityService<DepartmentMemb
             throw new ResponseException(HttpStatus.CONFLICT, "Diese Mitarbeiter:in ist bereits teil des Fachbereichs.");
         }
 
-        return repository.save(entity);
+        var savedEntity = repository.save(entity);
+        userFormAccessService.refreshForUser(savedEntity.getUserId());
+        return savedEntity;
     }
 
     @Nonnull
@@ -159,5 +165,6 @@ public class DepartmentMembershipService implements EntityService<DepartmentMemb
         }
 
         repository.delete(entity);
+        userFormAccessService.refreshForUser(entity.getUserId());
     }
 }
@@ -0,0 +1,27 @@
+package de.aivot.GoverBackend.elements.enums;
+
+/**
+ * The kind of function an element uses to derive a phase, e.g. its value.
+ */
+public enum ElementDerivationFunctionKind {
+    /**
+     * The element has no function for the phase and only applies the built-in derivation, e.g. the standard validation.
+     */
+    None,
+    /**
+     * The phase is derived with javascript code, e.g. the value code.
+     */
+    Javascript,
+    /**
+     * The phase is derived with a legacy function code, e.g. the compute value function.
+     */
+    LegacyJavascript,
+    /**
+     * The phase is derived with a no code expression, e.g. the value expression.
+     */
+    NoCode,
+    /**
+     * The phase is derived with the condition set of a legacy no code function.
+     */
+    ConditionSet,
+}
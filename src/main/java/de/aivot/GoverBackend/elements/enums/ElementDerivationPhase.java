@@ -0,0 +1,11 @@
+package de.aivot.GoverBackend.elements.enums;
+
+/**
+ * The phases of the derivation of a single element.
+ */
+public enum ElementDerivationPhase {
+    Override,
+    Visibility,
+    Value,
+    Error,
+}
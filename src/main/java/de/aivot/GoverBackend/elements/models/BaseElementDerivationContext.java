@@ -7,6 +7,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import javax.script.ScriptEngine;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * This is the context for any element derivation.
@@ -24,22 +25,44 @@ public abstract class BaseElementDerivationContext implements AutoCloseable {
     public static final String ELEMENT_JS_CONTEXT_OBJECT_NAME = "element";
 
     protected final JavascriptEngine javascriptEngine;
-    protected final ScriptEngine legacyJavascriptEngine;
+    private final Supplier<ScriptEngine> legacyJavascriptEngineSupplier;
+    @Nullable
+    private ScriptEngine legacyJavascriptEngine;
     protected final NoCodeEvaluationService noCodeEvaluationService;
 
     protected final BaseElement rootElement;
 
     protected final ElementDerivationData elementDerivationData;
 
+    /**
+     * The timing breakdown of this derivation or null, if the derivation is not profiled.
+     */
+    @Nullable
+    private ElementDerivationProfile derivationProfile;
+
     public BaseElementDerivationContext(
             @Nonnull JavascriptEngine javascriptEngine,
             @Nonnull ScriptEngine legacyJavascriptEngine,
             @Nonnull NoCodeEvaluationService noCodeEvaluationService,
             @Nonnull BaseElement rootElement,
             @Nonnull Map<String, Object> inputValues
+    ) {
+        this(javascriptEngine, () -> legacyJavascriptEngine, noCodeEvaluationService, rootElement, inputValues);
+    }
+
+    /**
+     * Create a context, which creates the legacy Javascript engine not before it is requested.
+     * Creating the legacy engine is expensive and most derivations do not need it.
+     */
+    public BaseElementDerivationContext(
+            @Nonnull JavascriptEngine javascriptEngine,
+            @Nonnull Supplier<ScriptEngine> legacyJavascriptEngineSupplier,
+            @Nonnull NoCodeEvaluationService noCodeEvaluationService,
+            @Nonnull BaseElement rootElement,
+            @Nonnull Map<String, Object> inputValues
     ) {
         this.javascriptEngine = javascriptEngine;
-        this.legacyJavascriptEngine = legacyJavascriptEngine;
+        this.legacyJavascriptEngineSupplier = legacyJavascriptEngineSupplier;
         this.noCodeEvaluationService = noCodeEvaluationService;
         this.rootElement = rootElement;
         this.elementDerivationData = new ElementDerivationData(inputValues);
@@ -249,8 +272,21 @@ public abstract class BaseElementDerivationContext implements AutoCloseable {
         return javascriptEngine;
     }
 
+    /**
+     * Get the scope under which the prepared sources of the Javascript code evaluated in this context are cached.
+     * Returns null, if the sources should not be cached, e.g. because the elements are not persisted.
+     *
+     * @return The scope for the Javascript source cache or null.
+     */
+    @Nullable
+    public String getJavascriptSourceScope() {
+        return null;
+    }
+
     /**
      * Get the Javascript context object that can be injected into the Javascript engine.
+     * The returned map does not copy the derivation data, but references it directly.
+     * The Javascript engine wraps the map in a lazy view, so only the members accessed by the Javascript code are converted.
      *
      * @return The Javascript context object.
      */
@@ -262,7 +298,7 @@ public abstract class BaseElementDerivationContext implements AutoCloseable {
 
         map.put(INPUT_VALUES_JS_CONTEXT_OBJECT_NAME, elementDerivationData.inputValues);
         map.put(COMPUTED_VALUES_JS_CONTEXT_OBJECT_NAME, elementDerivationData.computedValues);
-        map.put(VALUES_JS_CONTEXT_OBJECT_NAME, elementDerivationData.getCombinedValues());
+        map.put(VALUES_JS_CONTEXT_OBJECT_NAME, elementDerivationData.getCombinedValuesView());
         map.put(VISIBILITIES_JS_CONTEXT_OBJECT_NAME, elementDerivationData.visibilities);
         map.put(ERRORS_JS_CONTEXT_OBJECT_NAME, elementDerivationData.errors);
         map.put(OVERRIDES_JS_CONTEXT_OBJECT_NAME, elementDerivationData.overrides);
@@ -273,13 +309,18 @@ public abstract class BaseElementDerivationContext implements AutoCloseable {
 
     /**
      * Get the legacy Javascript engine for executing legacy Javascript code.
+     * The engine is created on the first call.
      * This method is deprecated and should not be used anymore.
      *
      * @return The legacy Javascript engine.
      * @deprecated Use {@link #getJavascriptEngine()} instead.
      */
     @Nonnull
+    @Deprecated
     public ScriptEngine getLegacyJavascriptEngine() {
+        if (legacyJavascriptEngine == null) {
+            legacyJavascriptEngine = legacyJavascriptEngineSupplier.get();
+        }
         return legacyJavascriptEngine;
     }
 
@@ -305,11 +346,40 @@ public abstract class BaseElementDerivationContext implements AutoCloseable {
         return rootElement;
     }
 
+    /**
+     * Find a descendant of the root element of this context by its id.
+     * Descendants of a {@link RootElement} are looked up in its {@link ElementIndex} instead of walking the tree.
+     *
+     * @param id The id of the element.
+     * @return The element or an empty optional, if the root element contains no element with the id.
+     */
+    @Nonnull
+    public Optional<? extends BaseElement> findChild(@Nonnull String id) {
+        if (rootElement instanceof RootElement root) {
+            return root.getElementIndex().findChild(id);
+        }
+        return rootElement.findChild(id);
+    }
+
     @Nonnull
     public ElementDerivationData getElementDerivationData() {
         return elementDerivationData;
     }
 
+    /**
+     * Get the timing breakdown of this derivation.
+     *
+     * @return The profile or null, if the derivation is not profiled.
+     */
+    @Nullable
+    public ElementDerivationProfile getDerivationProfile() {
+        return derivationProfile;
+    }
+
+    public void setDerivationProfile(@Nullable ElementDerivationProfile derivationProfile) {
+        this.derivationProfile = derivationProfile;
+    }
+
     /**
      * Close the context and release all resources.
      * This includes closing the Javascript engine.
@@ -0,0 +1,194 @@
+package de.aivot.GoverBackend.elements.models;
+
+import de.aivot.GoverBackend.elements.models.form.BaseInputElement;
+import de.aivot.GoverBackend.elements.models.form.layout.GroupLayout;
+import de.aivot.GoverBackend.elements.models.form.layout.ReplicatingContainerLayout;
+import de.aivot.GoverBackend.elements.models.steps.StepElement;
+import de.aivot.GoverBackend.elements.utils.ElementReferenceUtils;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Graph of the dependencies between the elements of an element tree.
+ * An element depends on all ids its visibility, override, value and validation logic references, as well as on its parent element.
+ * The graph is used to determine which elements must be derived again, when only some values of a derivation changed.
+ * <p>
+ * The nodes of the graph are the ids of the elements, not their resolved ids.
+ * The children of a replicating container therefore share a single node for all their copies.
+ */
+public class ElementDependencyGraph {
+    /**
+     * Maps an id to the ids of all elements which directly depend on it.
+     */
+    private final Map<String, Set<String>> dependentIds = new HashMap<>();
+
+    /**
+     * The ids of all elements which must be derived in every derivation.
+     * These are the root and step elements, elements with overrides and elements whose references cannot be determined completely.
+     */
+    private final Set<String> alwaysDerivedIds = new HashSet<>();
+
+    public ElementDependencyGraph(@Nonnull RootElement rootElement) {
+        var isRootDynamic = addElement(rootElement, null, false);
+        alwaysDerivedIds.add(rootElement.getId());
+
+        for (var step : new BaseElement[]{rootElement.getIntroductionStep(), rootElement.getSummaryStep(), rootElement.getSubmitStep()}) {
+            if (step != null) {
+                addElement(step, rootElement, isRootDynamic);
+                alwaysDerivedIds.add(step.getId());
+            }
+        }
+
+        if (rootElement.getChildren() != null) {
+            for (var step : rootElement.getChildren()) {
+                addElementRecursive(step, rootElement, isRootDynamic);
+            }
+        }
+    }
+
+    private void addElementRecursive(@Nonnull BaseElement element, @Nonnull BaseElement parent, boolean isParentDynamic) {
+        var isDynamic = addElement(element, parent, isParentDynamic);
+
+        Collection<? extends BaseElement> children = switch (element) {
+            case StepElement stepElement -> stepElement.getChildren();
+            case GroupLayout groupLayout -> groupLayout.getChildren();
+            case ReplicatingContainerLayout replicatingContainerLayout -> replicatingContainerLayout.getChildren();
+            default -> null;
+        };
+
+        if (children != null) {
+            for (var child : children) {
+                if (child != null) {
+                    addElementRecursive(child, element, isDynamic);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the dependencies of an element to the graph.
+     *
+     * @param element         The element to add.
+     * @param parent          The parent of the element.
+     * @param isParentDynamic Whether the visibility or the structure of the parent may change between derivations.
+     * @return Whether the visibility or the structure of the element may change between derivations, which affects its children.
+     */
+    private boolean addElement(@Nonnull BaseElement element, @Nullable BaseElement parent, boolean isParentDynamic) {
+        var elementId = element.getId();
+
+        dependentIds.computeIfAbsent(elementId, key -> new HashSet<>());
+
+        // The visibility and the override of the parent determine the visibility and the structure of its children
+        if (parent != null && isParentDynamic) {
+            addDependency(elementId, parent.getId());
+        }
+
+        for (var referencedId : element.getVisibilityReferencedIds()) {
+            addDependency(elementId, referencedId);
+        }
+
+        var hasDynamicReferences = ElementReferenceUtils
+                .hasDynamicReferences(element.getVisibilityCode(), element.getIsVisible());
+
+        if (element instanceof BaseInputElement<?> inputElement) {
+            for (var referencedId : inputElement.getValueReferencedIds()) {
+                addDependency(elementId, referencedId);
+            }
+            for (var referencedId : inputElement.getValidationReferencedIds()) {
+                addDependency(elementId, referencedId);
+            }
+
+            hasDynamicReferences = hasDynamicReferences ||
+                                   ElementReferenceUtils.hasDynamicReferences(inputElement.getValueCode(), inputElement.getComputeValue()) ||
+                                   ElementReferenceUtils.hasDynamicReferences(inputElement.getValidationCode(), inputElement.getValidate());
+        }
+
+        // Overrides replace whole elements and are not part of the previous state, so they are always derived
+        var hasOverride = hasOverride(element);
+        if (hasDynamicReferences || hasOverride) {
+            alwaysDerivedIds.add(elementId);
+        }
+
+        return isParentDynamic ||
+               hasOverride ||
+               hasVisibility(element) ||
+               element instanceof ReplicatingContainerLayout;
+    }
+
+    private void addDependency(@Nonnull String elementId, @Nonnull String referencedId) {
+        dependentIds
+                .computeIfAbsent(referencedId, key -> new HashSet<>())
+                .add(elementId);
+    }
+
+    private static boolean hasVisibility(@Nonnull BaseElement element) {
+        return (element.getVisibilityCode() != null && element.getVisibilityCode().isNotEmpty()) ||
+               (element.getVisibilityExpression() != null && element.getVisibilityExpression().isNotEmpty()) ||
+               (element.getIsVisible() != null && element.getIsVisible().isNotEmpty());
+    }
+
+    private static boolean hasOverride(@Nonnull BaseElement element) {
+        return (element.getOverrideCode() != null && element.getOverrideCode().isNotEmpty()) ||
+               (element.getOverrideExpression() != null && element.getOverrideExpression().isNotEmpty()) ||
+               (element.getPatchElement() != null && element.getPatchElement().isNotEmpty());
+    }
+
+    /**
+     * Get the ids of all elements which must be derived again, when the given keys changed.
+     * The keys may be resolved ids of elements inside replicating containers.
+     * The result contains the elements referencing the changed keys, all elements transitively depending on them and the elements which are always derived.
+     *
+     * @param changedKeys The keys of the values which changed since the last derivation.
+     * @return The ids of the affected elements.
+     */
+    @Nonnull
+    public Set<String> getAffectedElementIds(@Nonnull Collection<String> changedKeys) {
+        var queue = new ArrayDeque<>(alwaysDerivedIds);
+        for (var changedKey : changedKeys) {
+            queue.addAll(resolveIds(changedKey));
+        }
+
+        var affectedIds = new HashSet<String>();
+        while (!queue.isEmpty()) {
+            var id = queue.poll();
+            if (affectedIds.add(id)) {
+                queue.addAll(dependentIds.getOrDefault(id, Set.of()));
+            }
+        }
+        return affectedIds;
+    }
+
+    /**
+     * Resolve a key to the ids of the graph it may stand for.
+     * Keys of elements inside replicating containers are prefixed with the id of the container and the item, so they are matched by their suffix.
+     *
+     * @param key The key to resolve.
+     * @return The ids the key may stand for.
+     */
+    @Nonnull
+    private Set<String> resolveIds(@Nonnull String key) {
+        if (dependentIds.containsKey(key)) {
+            return Set.of(key);
+        }
+
+        var ids = new HashSet<String>();
+        for (var id : dependentIds.keySet()) {
+            if (key.endsWith("_" + id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Get the ids of all elements which are derived in every derivation.
+     *
+     * @return The ids of the elements.
+     */
+    @Nonnull
+    public Set<String> getAlwaysDerivedIds() {
+        return Collections.unmodifiableSet(alwaysDerivedIds);
+    }
+}
@@ -267,6 +267,18 @@ public class ElementDerivationData {
         return combinedValues;
     }
 
+    /**
+     * Get a read-only view of the combined values.
+     * Other than {@link #getCombinedValues()}, the view does not copy the values but looks them up on access.
+     * Therefore, the view always reflects the current state of the derivation.
+     *
+     * @return The view of the combined values.
+     */
+    @Nonnull
+    public Map<String, Object> getCombinedValuesView() {
+        return new CombinedValuesView();
+    }
+
     public Map<String, Boolean> getVisibilities() {
         return visibilities;
     }
@@ -278,4 +290,31 @@ public class ElementDerivationData {
     public Map<String, BaseElement> getOverrides() {
         return overrides;
     }
+
+    private class CombinedValuesView extends AbstractMap<String, Object> {
+        @Override
+        public Object get(Object key) {
+            if (!(key instanceof String elementId) || isInvisible(elementId)) {
+                return null;
+            }
+
+            // Input values have priority over the computed values, like in getCombinedValues
+            var inputValue = inputValues.get(elementId);
+            if (inputValue != null) {
+                return inputValue;
+            }
+            return computedValues.get(elementId);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        @Nonnull
+        public Set<Entry<String, Object>> entrySet() {
+            return Collections.unmodifiableSet(getCombinedValues().entrySet());
+        }
+    }
 }
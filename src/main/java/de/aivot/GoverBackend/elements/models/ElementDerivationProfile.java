@@ -0,0 +1,130 @@
+package de.aivot.GoverBackend.elements.models;
+
+import de.aivot.GoverBackend.elements.enums.ElementDerivationFunctionKind;
+import de.aivot.GoverBackend.elements.enums.ElementDerivationPhase;
+import de.aivot.GoverBackend.enums.ElementType;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Timing breakdown of a single derivation, which records how long each phase of each element took.
+ * A profile is only recorded, if profiling is enabled for the derivation, see {@link de.aivot.GoverBackend.elements.services.BaseElementDerivationService#enableProfiling()}.
+ * Like the derivation itself, a profile is used by one thread only and needs no synchronization.
+ */
+public class ElementDerivationProfile {
+    private final Map<String, ElementTiming> elements = new LinkedHashMap<>();
+
+    /**
+     * Record the time a phase of an element took.
+     * Repeated recordings of the same phase of an element add up.
+     *
+     * @param resolvedId   The resolved id of the element.
+     * @param element      The element.
+     * @param phase        The derived phase.
+     * @param functionKind The kind of function used to derive the phase.
+     * @param duration     The time the phase took in nanoseconds.
+     */
+    public void record(
+            @Nonnull String resolvedId,
+            @Nonnull BaseElement element,
+            @Nonnull ElementDerivationPhase phase,
+            @Nonnull ElementDerivationFunctionKind functionKind,
+            long duration
+    ) {
+        elements
+                .computeIfAbsent(resolvedId, key -> new ElementTiming(resolvedId, element.getType()))
+                .record(phase, functionKind, duration);
+    }
+
+    /**
+     * Get the timings of all derived elements in the order they were derived.
+     *
+     * @return The timings of the elements.
+     */
+    @Nonnull
+    public List<ElementTiming> getElements() {
+        return List.copyOf(elements.values());
+    }
+
+    /**
+     * Get the total time of all recorded phases in nanoseconds.
+     *
+     * @return The total time.
+     */
+    public long getDuration() {
+        var duration = 0L;
+        for (var element : elements.values()) {
+            duration += element.getDuration();
+        }
+        return duration;
+    }
+
+    /**
+     * The time the phases of a single element took.
+     */
+    public static class ElementTiming {
+        private final String id;
+        @Nullable
+        private final ElementType type;
+        private final Map<ElementDerivationPhase, PhaseTiming> phases = new EnumMap<>(ElementDerivationPhase.class);
+
+        private ElementTiming(@Nonnull String id, @Nullable ElementType type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        private void record(
+                @Nonnull ElementDerivationPhase phase,
+                @Nonnull ElementDerivationFunctionKind functionKind,
+                long duration
+        ) {
+            phases.merge(
+                    phase,
+                    new PhaseTiming(functionKind, duration),
+                    (previous, current) -> new PhaseTiming(current.functionKind(), previous.duration() + current.duration())
+            );
+        }
+
+        @Nonnull
+        public String getId() {
+            return id;
+        }
+
+        @Nullable
+        public ElementType getType() {
+            return type;
+        }
+
+        @Nonnull
+        public Map<ElementDerivationPhase, PhaseTiming> getPhases() {
+            return Collections.unmodifiableMap(phases);
+        }
+
+        /**
+         * Get the total time of all phases of the element in nanoseconds.
+         *
+         * @return The total time.
+         */
+        public long getDuration() {
+            var duration = 0L;
+            for (var phase : phases.values()) {
+                duration += phase.duration();
+            }
+            return duration;
+        }
+    }
+
+    /**
+     * The time a single phase of an element took.
+     *
+     * @param functionKind The kind of function used to derive the phase.
+     * @param duration     The time in nanoseconds.
+     */
+    public record PhaseTiming(
+            @Nonnull ElementDerivationFunctionKind functionKind,
+            long duration
+    ) {
+    }
+}
@@ -0,0 +1,154 @@
+package de.aivot.GoverBackend.elements.models;
+
+import de.aivot.GoverBackend.elements.utils.ElementFlattenUtils;
+import de.aivot.GoverBackend.enums.ElementType;
+
+import jakarta.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Immutable index of the elements of a {@link RootElement}.
+ * The index is built once per loaded root element, see {@link RootElement#getElementIndex()}, and replaces walking the element tree for every lookup.
+ * <p>
+ * The index covers the root element, its steps and all elements nested in these steps, including the introduction, summary and submit step.
+ * If several elements share an id or a name, the lookups return the first element in the order of the tree.
+ */
+public class ElementIndex {
+    private final Map<String, BaseElement> elementsById = new HashMap<>();
+    private final Map<String, BaseElement> childrenById = new HashMap<>();
+    private final Map<String, List<BaseElement>> parentsById = new HashMap<>();
+    private final Map<String, List<BaseElement>> elementsByName = new HashMap<>();
+    private final Map<ElementType, List<BaseElement>> elementsByType = new EnumMap<>(ElementType.class);
+    private final List<BaseElement> flatElements;
+
+    public ElementIndex(@Nonnull RootElement rootElement) {
+        addElement(rootElement, List.of());
+
+        var rootParents = List.<BaseElement>of(rootElement);
+        for (var step : new BaseElement[]{rootElement.getIntroductionStep(), rootElement.getSummaryStep(), rootElement.getSubmitStep()}) {
+            if (step != null) {
+                addElementRecursive(step, rootParents);
+            }
+        }
+
+        if (rootElement.getChildren() != null) {
+            for (var step : rootElement.getChildren()) {
+                addElementRecursive(step, rootParents);
+            }
+        }
+
+        flatElements = List.copyOf(ElementFlattenUtils.flattenElements(rootElement));
+
+        // The children mirror RootElement.findChild, which only searches the steps and their descendants
+        for (var element : flatElements) {
+            if (element != rootElement && element.getId() != null) {
+                childrenById.putIfAbsent(element.getId(), element);
+            }
+        }
+    }
+
+    private void addElementRecursive(@Nonnull BaseElement element, @Nonnull List<BaseElement> parents) {
+        addElement(element, parents);
+
+        var children = ElementFlattenUtils.getChildren(element);
+        if (children == null || children.isEmpty()) {
+            return;
+        }
+
+        var childParents = new ArrayList<>(parents);
+        childParents.add(element);
+        var immutableChildParents = List.copyOf(childParents);
+
+        for (var child : children) {
+            addElementRecursive(child, immutableChildParents);
+        }
+    }
+
+    private void addElement(@Nonnull BaseElement element, @Nonnull List<BaseElement> parents) {
+        if (element.getId() == null || elementsById.containsKey(element.getId())) {
+            return;
+        }
+
+        elementsById.put(element.getId(), element);
+        parentsById.put(element.getId(), parents);
+
+        if (element.getName() != null) {
+            elementsByName
+                    .computeIfAbsent(element.getName(), key -> new ArrayList<>())
+                    .add(element);
+        }
+
+        if (element.getType() != null) {
+            elementsByType
+                    .computeIfAbsent(element.getType(), key -> new ArrayList<>())
+                    .add(element);
+        }
+    }
+
+    /**
+     * Get an element of the tree by its id, including the root element and the introduction, summary and submit step.
+     *
+     * @param id The id of the element.
+     * @return The element or an empty optional, if the tree contains no element with the id.
+     */
+    @Nonnull
+    public Optional<BaseElement> getElement(@Nonnull String id) {
+        return Optional.ofNullable(elementsById.get(id));
+    }
+
+    /**
+     * Find a descendant of the steps of the root element by its id.
+     * This has the same result as {@link RootElement#findChild(String)} without walking the tree.
+     *
+     * @param id The id of the element.
+     * @return The element or an empty optional, if no step contains an element with the id.
+     */
+    @Nonnull
+    public Optional<BaseElement> findChild(@Nonnull String id) {
+        return Optional.ofNullable(childrenById.get(id));
+    }
+
+    /**
+     * Get the parents of an element, starting with the root element and ending with the direct parent.
+     *
+     * @param id The id of the element.
+     * @return The parents of the element or an empty list, if the tree contains no element with the id.
+     */
+    @Nonnull
+    public List<BaseElement> getParents(@Nonnull String id) {
+        return parentsById.getOrDefault(id, List.of());
+    }
+
+    /**
+     * Get all elements with the given name in the order of the tree.
+     *
+     * @param name The name of the elements.
+     * @return The elements with the name.
+     */
+    @Nonnull
+    public List<BaseElement> getElementsByName(@Nonnull String name) {
+        return Collections.unmodifiableList(elementsByName.getOrDefault(name, List.of()));
+    }
+
+    /**
+     * Get all elements of the given type in the order of the tree.
+     *
+     * @param type The type of the elements.
+     * @return The elements of the type.
+     */
+    @Nonnull
+    public List<BaseElement> getElementsByType(@Nonnull ElementType type) {
+        return Collections.unmodifiableList(elementsByType.getOrDefault(type, List.of()));
+    }
+
+    /**
+     * Get the root element, its steps and all their descendants as a flat list.
+     * This has the same result as {@link ElementFlattenUtils#flattenElements(BaseElement)} without walking the tree.
+     *
+     * @return The flat list of elements.
+     */
+    @Nonnull
+    public List<BaseElement> getFlatElements() {
+        return flatElements;
+    }
+}
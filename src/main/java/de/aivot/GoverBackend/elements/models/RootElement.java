@@ -29,6 +29,13 @@ public class RootElement extends BaseElement {
     private SummaryStepElement summaryStep;
     private SubmitStepElement submitStep;
 
+    /**
+     * The index of the elements, which is built on the first lookup.
+     * Element trees are not changed once they are loaded, so the index is only dropped, when the steps of this element are replaced.
+     */
+    @JsonIgnore
+    private volatile ElementIndex elementIndex;
+
     public RootElement(Map<String, Object> values) {
         super(values);
     }
@@ -68,6 +75,22 @@ public class RootElement extends BaseElement {
         return rows;
     }
 
+    /**
+     * Get the index of the elements of this root element.
+     *
+     * @return The index, which is built on the first call.
+     */
+    @Nonnull
+    @JsonIgnore
+    public ElementIndex getElementIndex() {
+        var index = elementIndex;
+        if (index == null) {
+            index = new ElementIndex(this);
+            elementIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public Optional<? extends BaseElement> findChild(@Nonnull String id) {
         Optional<StepElement> matchingStep = children
@@ -171,6 +194,7 @@ public class RootElement extends BaseElement {
 
     public void setChildren(Collection<StepElement> children) {
         this.children = children;
+        this.elementIndex = null;
     }
 
     public String getExpiring() {
@@ -195,6 +219,7 @@ public class RootElement extends BaseElement {
 
     public void setIntroductionStep(IntroductionStepElement introductionStep) {
         this.introductionStep = introductionStep;
+        this.elementIndex = null;
     }
 
     public SummaryStepElement getSummaryStep() {
@@ -203,6 +228,7 @@ public class RootElement extends BaseElement {
 
     public void setSummaryStep(SummaryStepElement summaryStep) {
         this.summaryStep = summaryStep;
+        this.elementIndex = null;
     }
 
     public SubmitStepElement getSubmitStep() {
@@ -211,6 +237,7 @@ public class RootElement extends BaseElement {
 
     public void setSubmitStep(SubmitStepElement submitStep) {
         this.submitStep = submitStep;
+        this.elementIndex = null;
     }
 
     public String getOfflineSubmissionText() {
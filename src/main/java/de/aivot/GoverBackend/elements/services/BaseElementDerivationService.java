@@ -1,12 +1,18 @@
 package de.aivot.GoverBackend.elements.services;
 
+import de.aivot.GoverBackend.elements.enums.ElementDerivationFunctionKind;
+import de.aivot.GoverBackend.elements.enums.ElementDerivationPhase;
 import de.aivot.GoverBackend.elements.models.BaseElement;
 import de.aivot.GoverBackend.elements.models.BaseElementDerivationContext;
+import de.aivot.GoverBackend.elements.models.ElementDerivationProfile;
 import de.aivot.GoverBackend.elements.models.RootElement;
 import de.aivot.GoverBackend.elements.models.form.BaseInputElement;
 import de.aivot.GoverBackend.elements.models.form.layout.GroupLayout;
 import de.aivot.GoverBackend.elements.models.form.layout.ReplicatingContainerLayout;
 import de.aivot.GoverBackend.elements.models.steps.StepElement;
+import de.aivot.GoverBackend.models.functions.FunctionCode;
+import de.aivot.GoverBackend.models.functions.FunctionNoCode;
+import de.aivot.GoverBackend.utils.StringUtils;
 import jakarta.annotation.Nonnull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +23,22 @@ import java.util.List;
 import java.util.Map;
 
 public abstract class BaseElementDerivationService<Ctx extends BaseElementDerivationContext> {
+    /**
+     * Whether the derivations of this service record an {@link ElementDerivationProfile}.
+     */
+    private boolean profilingEnabled = false;
+
+    /**
+     * Record the time each phase of each element takes in an {@link ElementDerivationProfile}.
+     * The profile is available from {@link BaseElementDerivationContext#getDerivationProfile()} after the derivation.
+     *
+     * @return This service.
+     */
+    public BaseElementDerivationService<Ctx> enableProfiling() {
+        this.profilingEnabled = true;
+        return this;
+    }
+
     public Ctx derive(
             @Nonnull BaseElement currentElement,
             @Nonnull Map<String, Object> inputValues
@@ -40,7 +62,20 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
             @Nonnull Boolean deriveErrors
     ) {
         var context = prepareContext(inputValues);
-        startElementDerivation(context, currentElement, deriveVisibilities, deriveOverrides, deriveValues, deriveErrors);
+        if (profilingEnabled) {
+            context.setDerivationProfile(new ElementDerivationProfile());
+        }
+        try {
+            startElementDerivation(context, currentElement, deriveVisibilities, deriveOverrides, deriveValues, deriveErrors);
+        } catch (RuntimeException e) {
+            // Release the resources of the context, because the caller never receives it
+            try {
+                context.close();
+            } catch (Exception closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
         return context;
     }
 
@@ -237,6 +272,12 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
         // Check if cleaning can be done before deriving overrides and values.
         cleanInputValue(context, _baseElement, resolvedId);
 
+        // Take over the previous results of elements which are not affected by the changes since the last derivation.
+        if (!isElementAffected(context, _baseElement, resolvedId)) {
+            restoreElement(context, _baseElement, resolvedId);
+            return;
+        }
+
         if (deriveOverrides) {
             deriveOverride(context, idPrefix, _baseElement);
         }
@@ -277,12 +318,148 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
         }
     }
 
+    /**
+     * Check if the given element must be derived.
+     * Elements which are not affected are not derived, but restored with {@link #restoreElement}.
+     * By default, all elements are affected.
+     *
+     * @param context     The context in which the element is being derived.
+     * @param baseElement The element that is being derived.
+     * @param resolvedId  The resolved id of the element.
+     * @return True if the element must be derived.
+     */
+    protected boolean isElementAffected(
+            @Nonnull Ctx context,
+            @Nonnull BaseElement baseElement,
+            @Nonnull String resolvedId
+    ) {
+        return true;
+    }
+
+    /**
+     * Restore the results of a previous derivation for an element which is not affected by the changes since this derivation.
+     * By default, nothing is restored.
+     *
+     * @param context     The context in which the element is being derived.
+     * @param baseElement The element that is being restored.
+     * @param resolvedId  The resolved id of the element.
+     */
+    protected void restoreElement(
+            @Nonnull Ctx context,
+            @Nonnull BaseElement baseElement,
+            @Nonnull String resolvedId
+    ) {
+    }
+
+    /**
+     * Called after a phase of an element was derived.
+     * By default, the time is recorded in the profile of the context, if the derivation is profiled.
+     *
+     * @param context      The context in which the element is being derived.
+     * @param phase        The derived phase.
+     * @param element      The element that was derived.
+     * @param resolvedId   The resolved id of the element.
+     * @param functionKind The kind of function the element uses to derive the phase.
+     * @param duration     The time the phase took in nanoseconds.
+     */
+    protected void onPhaseDerived(
+            @Nonnull Ctx context,
+            @Nonnull ElementDerivationPhase phase,
+            @Nonnull BaseElement element,
+            @Nonnull String resolvedId,
+            @Nonnull ElementDerivationFunctionKind functionKind,
+            long duration
+    ) {
+        var profile = context.getDerivationProfile();
+        if (profile != null) {
+            profile.record(resolvedId, element, phase, functionKind, duration);
+        }
+    }
+
+    private void onPhaseDerived(
+            @Nonnull Ctx context,
+            @Nonnull ElementDerivationPhase phase,
+            @Nullable String idPrefix,
+            @Nonnull BaseElement element,
+            long start
+    ) {
+        var duration = System.nanoTime() - start;
+        onPhaseDerived(context, phase, element, element.getResolvedId(idPrefix), getFunctionKind(phase, element), duration);
+    }
+
+    /**
+     * Determine the kind of function the element uses to derive a phase.
+     * This follows the order in which the derivation services check the functions of the element.
+     *
+     * @param phase   The phase.
+     * @param element The element.
+     * @return The kind of function.
+     */
+    @Nonnull
+    protected static ElementDerivationFunctionKind getFunctionKind(
+            @Nonnull ElementDerivationPhase phase,
+            @Nonnull BaseElement element
+    ) {
+        return switch (phase) {
+            case Override -> {
+                if (element.getOverrideCode() != null && element.getOverrideCode().isNotEmpty()) {
+                    yield ElementDerivationFunctionKind.Javascript;
+                } else if (element.getOverrideExpression() != null) {
+                    yield ElementDerivationFunctionKind.NoCode;
+                } else if (element.getPatchElement() != null && StringUtils.isNotNullOrEmpty(element.getPatchElement().getCode())) {
+                    yield ElementDerivationFunctionKind.LegacyJavascript;
+                }
+                yield ElementDerivationFunctionKind.None;
+            }
+            case Visibility -> {
+                if (element.getVisibilityCode() != null && element.getVisibilityCode().isNotEmpty()) {
+                    yield ElementDerivationFunctionKind.Javascript;
+                } else if (element.getVisibilityExpression() != null) {
+                    yield ElementDerivationFunctionKind.NoCode;
+                }
+                yield getFunctionKind(element.getIsVisible());
+            }
+            case Value -> {
+                if (!(element instanceof BaseInputElement<?> inputElement)) {
+                    yield ElementDerivationFunctionKind.None;
+                } else if (inputElement.getValueCode() != null && inputElement.getValueCode().isNotEmpty()) {
+                    yield ElementDerivationFunctionKind.Javascript;
+                } else if (inputElement.getValueExpression() != null) {
+                    yield ElementDerivationFunctionKind.NoCode;
+                }
+                yield getFunctionKind(inputElement.getComputeValue());
+            }
+            case Error -> {
+                if (!(element instanceof BaseInputElement<?> inputElement)) {
+                    yield ElementDerivationFunctionKind.None;
+                } else if (inputElement.getValidationCode() != null && inputElement.getValidationCode().isNotEmpty()) {
+                    yield ElementDerivationFunctionKind.Javascript;
+                } else if (inputElement.getValidationExpressions() != null && !inputElement.getValidationExpressions().isEmpty()) {
+                    yield ElementDerivationFunctionKind.NoCode;
+                }
+                yield getFunctionKind(inputElement.getValidate());
+            }
+        };
+    }
+
+    @Nonnull
+    private static ElementDerivationFunctionKind getFunctionKind(@Nullable Object function) {
+        if (function instanceof FunctionCode functionCode && StringUtils.isNotNullOrEmpty(functionCode.getCode())) {
+            return ElementDerivationFunctionKind.LegacyJavascript;
+        }
+        if (function instanceof FunctionNoCode functionNoCode && functionNoCode.getConditionSet() != null) {
+            return ElementDerivationFunctionKind.ConditionSet;
+        }
+        return ElementDerivationFunctionKind.None;
+    }
+
     protected void deriveVisibility(
             @Nonnull Ctx context,
             @Nullable String idPrefix,
             @Nonnull BaseElement currentElement,
             @Nonnull Boolean isParentVisible
     ) {
+        var start = System.nanoTime();
         getVisibilityDerivationService()
                 .deriveVisibilityForElement(
                         context,
@@ -290,6 +467,7 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
                         currentElement,
                         isParentVisible
                 );
+        onPhaseDerived(context, ElementDerivationPhase.Visibility, idPrefix, currentElement, start);
     }
 
     protected BaseElementVisibilityDerivationService<Ctx> getVisibilityDerivationService() {
@@ -297,12 +475,14 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
     }
 
     protected void deriveOverride(Ctx context, String idPrefix, BaseElement currentElement) {
+        var start = System.nanoTime();
         getOverrideDerivationService()
                 .deriveOverrideForElement(
                         context,
                         idPrefix,
                         currentElement
                 );
+        onPhaseDerived(context, ElementDerivationPhase.Override, idPrefix, currentElement, start);
     }
 
     protected BaseElementOverrideDerivationService<Ctx> getOverrideDerivationService() {
@@ -310,12 +490,14 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
     }
 
     protected void deriveValue(Ctx context, String idPrefix, BaseInputElement<?> currentElement) {
+        var start = System.nanoTime();
         getValueDerivationService()
                 .deriveValueForElement(
                         context,
                         idPrefix,
                         currentElement
                 );
+        onPhaseDerived(context, ElementDerivationPhase.Value, idPrefix, currentElement, start);
     }
 
     protected BaseElementValueDerivationService<Ctx> getValueDerivationService() {
@@ -323,12 +505,14 @@ public abstract class BaseElementDerivationService<Ctx extends BaseElementDeriva
     }
 
     protected void deriveError(Ctx context, String idPrefix, BaseElement currentElement) {
+        var start = System.nanoTime();
         getErrorDerivationService()
                 .deriveErrorForElement(
                         context,
                         idPrefix,
                         currentElement
                 );
+        onPhaseDerived(context, ElementDerivationPhase.Error, idPrefix, currentElement, start);
     }
 
     protected BaseElementErrorDerivationService<Ctx> getErrorDerivationService() {
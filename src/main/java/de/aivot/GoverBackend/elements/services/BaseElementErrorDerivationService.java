@@ -81,18 +81,18 @@ public class BaseElementErrorDerivationService<Ctx extends BaseElementDerivation
                         .registerGlobalContextObject(
                                 context.getJavascriptContextObject(resolvedId, currentElement)
                         )
-                        .evaluateCode(currentElement.getValidationCode())
+                        .evaluateCode(currentElement.getValidationCode(), context.getJavascriptSourceScope(), currentElement.getId())
                         .asString();
             } else if (currentElement.getValidationExpressions() != null && !currentElement.getValidationExpressions().isEmpty()) {
                 for (var validationExpression : currentElement.getValidationExpressions()) {
-                    var res = context
+                    var isValid = context
                             .getNoCodeEvaluationService()
-                            .evaluate(
+                            .evaluateAsBoolean(
                                     validationExpression.getExpression(),
                                     context.getElementDerivationData(),
                                     idPrefix
                             );
-                    if (!res.getValueAsBoolean()) {
+                    if (!isValid) {
                         error = validationExpression.getMessage();
                         break;
                     }
@@ -45,7 +45,7 @@ public class BaseElementOverrideDerivationService<Ctx extends BaseElementDerivat
                         .registerGlobalContextObject(
                                 context.getJavascriptContextObject(resolvedId, currentElement)
                         )
-                        .evaluateCode(currentElement.getOverrideCode());
+                        .evaluateCode(currentElement.getOverrideCode(), context.getJavascriptSourceScope(), currentElement.getId());
                 if (res.isNull()) {
                     return;
                 }
@@ -42,7 +42,7 @@ public class BaseElementValueDerivationService<Ctx extends BaseElementDerivation
                         .registerGlobalContextObject(
                                 context.getJavascriptContextObject(resolvedId, baseElement)
                         )
-                        .evaluateCode(baseElement.getValueCode())
+                        .evaluateCode(baseElement.getValueCode(), context.getJavascriptSourceScope(), baseElement.getId())
                         .asObject();
 
                 // Set the value here to avoid settings values to null, when no computation was present
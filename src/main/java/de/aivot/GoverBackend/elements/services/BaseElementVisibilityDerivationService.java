@@ -46,7 +46,7 @@ public class BaseElementVisibilityDerivationService<Ctx extends BaseElementDeriv
                         .registerGlobalContextObject(
                                 context.getJavascriptContextObject(baseElement.getResolvedId(idPrefix), baseElement)
                         )
-                        .evaluateCode(baseElement.getVisibilityCode())
+                        .evaluateCode(baseElement.getVisibilityCode(), context.getJavascriptSourceScope(), baseElement.getId())
                         .asBoolean();
             }
 
@@ -54,8 +54,7 @@ public class BaseElementVisibilityDerivationService<Ctx extends BaseElementDeriv
             else if (baseElement.getVisibilityExpression() != null) {
                 isElementVisible = context
                         .getNoCodeEvaluationService()
-                        .evaluate(baseElement.getVisibilityExpression(), context.getElementDerivationData(), idPrefix)
-                        .getValueAsBoolean();
+                        .evaluateAsBoolean(baseElement.getVisibilityExpression(), context.getElementDerivationData(), idPrefix);
             }
 
             // Determine if visibility calculation should be done with a function
@@ -2,15 +2,15 @@ package de.aivot.GoverBackend.elements.services;
 
 import de.aivot.GoverBackend.elements.enums.ElementApprovalStatus;
 import de.aivot.GoverBackend.elements.models.RootElement;
-import de.aivot.GoverBackend.elements.utils.ElementFlattenUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 
 public class ElementApprovalService {
     public static Map<String, ElementApprovalStatus> determineApprovals(RootElement rootElement) {
-        var allElements = ElementFlattenUtils
-                .flattenElements(rootElement);
+        var allElements = rootElement
+                .getElementIndex()
+                .getFlatElements();
 
         var status = new HashMap<String, ElementApprovalStatus>();
         for (var element : allElements) {
@@ -21,8 +21,9 @@ public class ElementApprovalService {
     }
 
     public static boolean isApproved(RootElement rootElement) {
-        var allElements = ElementFlattenUtils
-                .flattenElements(rootElement);
+        var allElements = rootElement
+                .getElementIndex()
+                .getFlatElements();
 
         for (var element : allElements) {
             if (element.getApproval() != ElementApprovalStatus.Approved) {
@@ -8,35 +8,54 @@ import de.aivot.GoverBackend.elements.models.steps.StepElement;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 public class ElementFlattenUtils {
+    /**
+     * Collect the given element and all its descendants in the order of the tree.
+     * The introduction, summary and submit steps of a root element are not included.
+     * Use {@link de.aivot.GoverBackend.elements.models.ElementIndex#getFlatElements()} for root elements, which are flattened repeatedly.
+     *
+     * @param current The element to flatten.
+     * @return The element and all its descendants.
+     */
     public static Collection<BaseElement> flattenElements(BaseElement current) {
-        Collection<? extends BaseElement> children;
-        if (current instanceof RootElement rootElement) {
-            children = rootElement.getChildren();
-        } else if (current instanceof StepElement stepElement) {
-            children = stepElement.getChildren();
-        } else if (current instanceof GroupLayout groupLayout) {
-            children = groupLayout.getChildren();
-        } else if (current instanceof ReplicatingContainerLayout replicatingContainerLayout) {
-            children = replicatingContainerLayout.getChildren();
-        } else {
-            return List.of(current);
-        }
+        var result = new ArrayList<BaseElement>();
+        flattenElements(current, result);
+        return result;
+    }
 
-        var result = new LinkedList<BaseElement>();
+    private static void flattenElements(BaseElement current, List<BaseElement> result) {
         result.add(current);
+
+        var children = getChildren(current);
         if (children != null) {
-            children
-                    .stream()
-                    .map(ElementFlattenUtils::flattenElements)
-                    .forEach(result::addAll);
+            for (var child : children) {
+                flattenElements(child, result);
+            }
         }
-        return result;
+    }
+
+    /**
+     * Get the direct children of an element.
+     * The introduction, summary and submit steps of a root element are not included.
+     *
+     * @param element The element to get the children for.
+     * @return The children or null, if the element cannot have children.
+     */
+    @Nullable
+    public static Collection<? extends BaseElement> getChildren(@Nonnull BaseElement element) {
+        return switch (element) {
+            case RootElement rootElement -> rootElement.getChildren();
+            case StepElement stepElement -> stepElement.getChildren();
+            case GroupLayout groupLayout -> groupLayout.getChildren();
+            case ReplicatingContainerLayout replicatingContainerLayout -> replicatingContainerLayout.getChildren();
+            default -> null;
+        };
     }
 
     public static List<ResolvedElement> resolveElements(
@@ -28,4 +28,19 @@ public class ElementReferenceUtils {
         }
         return referencedIds;
     }
+
+    /**
+     * Check if any of the given pieces of logic may reference ids, which are not returned by {@link #getReferencedIds}.
+     *
+     * @param jsCode The javascript code.
+     * @param func   The legacy function.
+     * @return True if the referenced ids cannot be determined completely.
+     */
+    public static boolean hasDynamicReferences(
+            @Nullable JavascriptCode jsCode,
+            @Nullable Function func
+    ) {
+        return (jsCode != null && jsCode.hasDynamicReferences()) ||
+               (func != null && func.hasDynamicReferences());
+    }
 }
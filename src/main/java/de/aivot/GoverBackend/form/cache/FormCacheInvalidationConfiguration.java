@@ -0,0 +1,45 @@
+package de.aivot.GoverBackend.form.cache;
+
+import de.aivot.GoverBackend.form.services.FormCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to the invalidations of cached forms broadcast by other instances of the application.
+ * Only active, if the redis invalidation of the form cache is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "form-cache", name = "redis-invalidation", havingValue = "true")
+public class FormCacheInvalidationConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(FormCacheInvalidationConfiguration.class);
+
+    @Bean
+    public RedisMessageListenerContainer formCacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            FormCacheService formCacheService
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            var body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                formCacheService.evict(Integer.parseInt(body));
+            } catch (NumberFormatException e) {
+                logger
+                        .atWarn()
+                        .setMessage("Received an invalid form cache invalidation")
+                        .addKeyValue("message", body)
+                        .log();
+            }
+        }, new ChannelTopic(FormCacheService.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -7,6 +7,7 @@ import de.aivot.GoverBackend.form.dtos.FormCostCalculationResponseDTO;
 import de.aivot.GoverBackend.form.enums.FormStatus;
 import de.aivot.GoverBackend.form.enums.FormType;
 import de.aivot.GoverBackend.form.filters.FormFilter;
+import de.aivot.GoverBackend.form.services.FormCacheService;
 import de.aivot.GoverBackend.form.services.FormPaymentService;
 import de.aivot.GoverBackend.form.services.FormService;
 import de.aivot.GoverBackend.identity.cache.repositories.IdentityCacheRepository;
@@ -44,6 +45,7 @@ public class CitizenFormController {
     private final FormPaymentService paymentService;
     private final PaymentProviderService paymentProviderService;
     private final FormService formService;
+    private final FormCacheService formCacheService;
     private final DestinationService destinationService;
     private final IdentityProviderService identityProviderService;
     private final IdentityCacheRepository identityCacheRepository;
@@ -53,11 +55,13 @@ public class CitizenFormController {
             FormPaymentService paymentService,
             PaymentProviderService paymentProviderService,
             FormService formService,
+            FormCacheService formCacheService,
             DestinationService destinationService,
             IdentityProviderService identityProviderService, IdentityCacheRepository identityCacheRepository) {
         this.paymentService = paymentService;
         this.paymentProviderService = paymentProviderService;
         this.formService = formService;
+        this.formCacheService = formCacheService;
         this.destinationService = destinationService;
         this.identityProviderService = identityProviderService;
         this.identityCacheRepository = identityCacheRepository;
@@ -159,7 +163,7 @@ public class CitizenFormController {
     public MaxFileSizeDto getMaxFileSize(
             @PathVariable Integer applicationId
     ) throws ResponseException {
-        var form = formService
+        var form = formCacheService
                 .retrieve(applicationId)
                 .orElseThrow(ResponseException::notFound);
 
@@ -189,7 +193,7 @@ public class CitizenFormController {
             @PathVariable Integer applicationId,
             @RequestBody Map<String, Object> customerData
     ) throws PaymentException, ResponseException {
-        var form = formService
+        var form = formCacheService
                 .retrieve(applicationId)
                 .orElseThrow(ResponseException::notFound);
 
@@ -226,7 +230,7 @@ public class CitizenFormController {
     public Page<IdentityDetailsDTO> getIdentityProviders(
             @PathVariable Integer formId
     ) throws ResponseException {
-        var form = formService
+        var form = formCacheService
                 .retrieve(formId)
                 .orElseThrow(ResponseException::notFound);
 
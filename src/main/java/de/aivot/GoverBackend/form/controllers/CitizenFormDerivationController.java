@@ -1,7 +1,8 @@
 package de.aivot.GoverBackend.form.controllers;
 
+import de.aivot.GoverBackend.form.dtos.FormIncrementalDerivationRequestDTO;
 import de.aivot.GoverBackend.form.models.FormState;
-import de.aivot.GoverBackend.form.repositories.FormRepository;
+import de.aivot.GoverBackend.form.services.FormCacheService;
 import de.aivot.GoverBackend.form.services.FormDerivationServiceFactory;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import jakarta.validation.Valid;
@@ -10,21 +11,22 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @RestController
 public class CitizenFormDerivationController {
-    private final FormRepository formRepository;
+    private final FormCacheService formCacheService;
     private final FormDerivationServiceFactory formDerivationServiceFactory;
 
     @Autowired
     public CitizenFormDerivationController(
-            FormRepository formRepository,
+            FormCacheService formCacheService,
             FormDerivationServiceFactory formDerivationServiceFactory
     ) {
-        this.formRepository = formRepository;
+        this.formCacheService = formCacheService;
         this.formDerivationServiceFactory = formDerivationServiceFactory;
     }
 
@@ -46,8 +48,8 @@ public class CitizenFormDerivationController {
             @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateValues") List<String> stepsToCalculateValues,
             @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateOverrides") List<String> stepsToCalculateOverrides
     ) throws ResponseException {
-        var form = formRepository
-                .findById(formId)
+        var form = formCacheService
+                .retrieve(formId)
                 .orElseThrow(ResponseException::notFound);
 
         var ctx = formDerivationServiceFactory
@@ -67,4 +69,46 @@ public class CitizenFormDerivationController {
 
         return ctx.getFormState();
     }
+
+    /**
+     * Derive the state of a form based on the given customer input and the state of a previous derivation.
+     * Only the elements affected by the changed keys are derived again, all other elements are taken over from the previous state.
+     * The step limits must be the same as for the previous derivation.
+     *
+     * @param formId  The id of the form to derive.
+     * @param request The customer input, the previous state and the changed keys.
+     * @return The result of the derivation as the new state of the form.
+     */
+    @PostMapping("/api/public/forms/{formId}/derive/incremental")
+    public FormState deriveIncremental(
+            @Nonnull @PathVariable Integer formId,
+            @Nonnull @Valid @RequestBody FormIncrementalDerivationRequestDTO request,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToValidate") List<String> stepsToValidate,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateVisibilities") List<String> stepsToCalculateVisibilities,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateValues") List<String> stepsToCalculateValues,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateOverrides") List<String> stepsToCalculateOverrides
+    ) throws ResponseException {
+        var form = formCacheService
+                .retrieve(formId)
+                .orElseThrow(ResponseException::notFound);
+
+        var ctx = formDerivationServiceFactory
+                .createIncremental(
+                        form,
+                        stepsToValidate,
+                        stepsToCalculateVisibilities,
+                        stepsToCalculateValues,
+                        stepsToCalculateOverrides,
+                        request.previousState().toFormState(),
+                        request.changedKeys()
+                )
+                .derive(form.getRoot(), new HashMap<>(request.customerInput()));
+        try {
+            ctx.close();
+        } catch (Exception e) {
+            throw ResponseException.internalServerError(e);
+        }
+
+        return ctx.getFormState();
+    }
 }
@@ -14,9 +14,11 @@ import de.aivot.GoverBackend.form.dtos.FormRequestDTO;
 import de.aivot.GoverBackend.form.entities.Form;
 import de.aivot.GoverBackend.form.filters.FormWithMembershipFilter;
 import de.aivot.GoverBackend.form.models.FormPublishChecklistItem;
+import de.aivot.GoverBackend.form.services.FormListItemService;
 import de.aivot.GoverBackend.form.services.FormLockService;
 import de.aivot.GoverBackend.form.services.FormRevisionService;
 import de.aivot.GoverBackend.form.services.FormService;
+import de.aivot.GoverBackend.form.services.FormWithMembershipListItemService;
 import de.aivot.GoverBackend.form.services.FormWithMembershipService;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.mail.services.ExceptionMailService;
@@ -48,6 +50,8 @@ public class FormController {
     private final ExceptionMailService exceptionMailService;
     private final FormService formService;
     private final FormWithMembershipService formWithMembershipService;
+    private final FormListItemService formListItemService;
+    private final FormWithMembershipListItemService formWithMembershipListItemService;
     private final DepartmentMembershipService departmentMembershipService;
     private final FormLockService formLockService;
     private final FormRevisionService formRevisionService;
@@ -59,6 +63,8 @@ public class FormController {
             ExceptionMailService exceptionMailService,
             FormService formService,
             FormWithMembershipService formWithMembershipService,
+            FormListItemService formListItemService,
+            FormWithMembershipListItemService formWithMembershipListItemService,
             DepartmentMembershipService departmentMembershipService,
             FormLockService formLockService,
             FormRevisionService formRevisionService
@@ -69,6 +75,8 @@ public class FormController {
         this.exceptionMailService = exceptionMailService;
         this.formService = formService;
         this.formWithMembershipService = formWithMembershipService;
+        this.formListItemService = formListItemService;
+        this.formWithMembershipListItemService = formWithMembershipListItemService;
         this.departmentMembershipService = departmentMembershipService;
         this.formLockService = formLockService;
         this.formRevisionService = formRevisionService;
@@ -85,19 +93,20 @@ public class FormController {
                 .fromJWT(jwt)
                 .orElseThrow(ResponseException::unauthorized);
 
+        // The list items omit the form tree, which is not needed for listing
         if (filter.getUserId() != null) {
-            return formWithMembershipService
-                    .list(pageable, filter)
+            return formWithMembershipListItemService
+                    .list(pageable, filter.asListItemFilter())
                     .map(FormListResponseDTO::fromEntity);
         } else {
             if (user.getGlobalAdmin()) {
-                return formService
-                        .list(pageable, filter.asFormFilter())
+                return formListItemService
+                        .list(pageable, filter.asFormFilter().asListItemFilter())
                         .map(FormListResponseDTO::fromEntity);
             } else {
                 filter.setUserId(user.getId());
-                return formWithMembershipService
-                        .list(pageable, filter)
+                return formWithMembershipListItemService
+                        .list(pageable, filter.asListItemFilter())
                         .map(FormListResponseDTO::fromEntity);
             }
         }
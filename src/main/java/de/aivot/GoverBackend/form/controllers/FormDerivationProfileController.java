@@ -0,0 +1,109 @@
+package de.aivot.GoverBackend.form.controllers;
+
+import de.aivot.GoverBackend.department.services.DepartmentMembershipService;
+import de.aivot.GoverBackend.form.dtos.FormDerivationProfileResponseDTO;
+import de.aivot.GoverBackend.form.properties.FormDerivationConfigurationProperties;
+import de.aivot.GoverBackend.form.services.FormDerivationServiceFactory;
+import de.aivot.GoverBackend.form.services.FormService;
+import de.aivot.GoverBackend.lib.exceptions.ResponseException;
+import de.aivot.GoverBackend.user.services.UserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Debug endpoint for form authors and operators, which derives a form once and returns how long each phase of each element took.
+ * The endpoint is only available, if it is enabled in the {@link FormDerivationConfigurationProperties}.
+ */
+@RestController
+public class FormDerivationProfileController {
+    private final FormDerivationConfigurationProperties formDerivationConfigurationProperties;
+    private final FormService formService;
+    private final FormDerivationServiceFactory formDerivationServiceFactory;
+    private final DepartmentMembershipService departmentMembershipService;
+
+    @Autowired
+    public FormDerivationProfileController(
+            FormDerivationConfigurationProperties formDerivationConfigurationProperties,
+            FormService formService,
+            FormDerivationServiceFactory formDerivationServiceFactory,
+            DepartmentMembershipService departmentMembershipService
+    ) {
+        this.formDerivationConfigurationProperties = formDerivationConfigurationProperties;
+        this.formService = formService;
+        this.formDerivationServiceFactory = formDerivationServiceFactory;
+        this.departmentMembershipService = departmentMembershipService;
+    }
+
+    /**
+     * Derive a form based on the given customer input and return the timing breakdown of the derivation per element.
+     * Unlike the public derivation, this also works for forms which are not published yet.
+     * Only members of the department the form resides in can profile the form.
+     *
+     * @param jwt           The authentication object.
+     * @param formId        The id of the form to derive.
+     * @param customerInput The customer input to derive the form state from.
+     * @return The timing breakdown and the resulting state of the form.
+     */
+    @PostMapping("/api/forms/{formId}/derive/profile/")
+    public FormDerivationProfileResponseDTO profile(
+            @Nullable @AuthenticationPrincipal Jwt jwt,
+            @Nonnull @PathVariable Integer formId,
+            @Nonnull @Valid @RequestBody Map<String, Object> customerInput,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToValidate") List<String> stepsToValidate,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateVisibilities") List<String> stepsToCalculateVisibilities,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateValues") List<String> stepsToCalculateValues,
+            @Nonnull @RequestParam(defaultValue = "ALL", value = "stepsToCalculateOverrides") List<String> stepsToCalculateOverrides
+    ) throws ResponseException {
+        if (!Boolean.TRUE.equals(formDerivationConfigurationProperties.getProfilingEndpointEnabled())) {
+            throw ResponseException.notFound();
+        }
+
+        // Extract staff user
+        var user = UserService
+                .fromJWT(jwt)
+                .orElseThrow(ResponseException::unauthorized);
+
+        var form = formService
+                .retrieve(formId)
+                .orElseThrow(ResponseException::notFound);
+
+        // Check if the user has access to the department the form resides in
+        if (!user.getGlobalAdmin() && departmentMembershipService.checkUserNotInDepartment(user, form.getDevelopingDepartmentId())) {
+            throw ResponseException.forbidden("Die Mitarbeiter:in hat keinen Zugriff auf den Fachbereich.");
+        }
+
+        var start = System.nanoTime();
+        var ctx = formDerivationServiceFactory
+                .create(
+                        form,
+                        stepsToValidate,
+                        stepsToCalculateVisibilities,
+                        stepsToCalculateValues,
+                        stepsToCalculateOverrides
+                )
+                .enableProfiling()
+                .derive(form.getRoot(), customerInput);
+        var duration = System.nanoTime() - start;
+
+        try {
+            ctx.close();
+        } catch (Exception e) {
+            throw ResponseException.internalServerError(e);
+        }
+
+        return FormDerivationProfileResponseDTO.fromProfile(
+                formId,
+                duration,
+                ctx.getDerivationProfile(),
+                ctx.getFormState()
+        );
+    }
+}
@@ -6,7 +6,7 @@ import de.aivot.GoverBackend.form.services.FormService;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.services.PdfService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
@@ -20,7 +20,7 @@ import org.thymeleaf.exceptions.TemplateProcessingException;
 
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 @RestController
@@ -46,26 +46,20 @@ public class FormPrintController {
                 .retrieve(formId)
                 .orElseThrow(ResponseException::notFound);
 
-        byte[] bytes;
+        InputStream pdf;
         try {
-            bytes = pdfService.generatePrintableForm(form);
-        } catch (IOException | URISyntaxException | InterruptedException e) {
+            pdf = pdfService.streamPrintableForm(form);
+        } catch (IOException | InterruptedException e) {
             throw ResponseException.internalServerError("Fehler beim Erzeugen der PDF-Datei. Bitte versuchen Sie es später erneut.", e);
         } catch (TemplateProcessingException e) {
             throw ResponseException.internalServerError("Fehler beim Erzeugen der PDF-Datei. Bitte versuchen Sie es später erneut.", e);
         }
 
-        Resource resource;
-        try {
-            resource = new ByteArrayResource(bytes);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        var resource = new InputStreamResource(pdf);
 
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(bytes.length)
                 .header(
                         HttpHeaders.CONTENT_DISPOSITION,
                         ContentDisposition
@@ -0,0 +1,79 @@
+package de.aivot.GoverBackend.form.dtos;
+
+import de.aivot.GoverBackend.elements.enums.ElementDerivationFunctionKind;
+import de.aivot.GoverBackend.elements.enums.ElementDerivationPhase;
+import de.aivot.GoverBackend.elements.models.ElementDerivationProfile;
+import de.aivot.GoverBackend.enums.ElementType;
+import de.aivot.GoverBackend.form.models.FormState;
+
+import jakarta.annotation.Nonnull;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The timing breakdown of a single derivation of a form.
+ * All durations are given in milliseconds and the elements are sorted by their total duration, so the slowest elements come first.
+ */
+public record FormDerivationProfileResponseDTO(
+        Integer formId,
+        Double duration,
+        Double elementsDuration,
+        List<ElementTimingDTO> elements,
+        FormState state
+) {
+    public static FormDerivationProfileResponseDTO fromProfile(
+            @Nonnull Integer formId,
+            long duration,
+            @Nonnull ElementDerivationProfile profile,
+            @Nonnull FormState state
+    ) {
+        var elements = profile
+                .getElements()
+                .stream()
+                .sorted(Comparator.comparingLong(ElementDerivationProfile.ElementTiming::getDuration).reversed())
+                .map(ElementTimingDTO::fromTiming)
+                .toList();
+
+        return new FormDerivationProfileResponseDTO(
+                formId,
+                toMillis(duration),
+                toMillis(profile.getDuration()),
+                elements,
+                state
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public record ElementTimingDTO(
+            String id,
+            ElementType type,
+            Double duration,
+            Map<ElementDerivationPhase, PhaseTimingDTO> phases
+    ) {
+        public static ElementTimingDTO fromTiming(@Nonnull ElementDerivationProfile.ElementTiming timing) {
+            var phases = new EnumMap<ElementDerivationPhase, PhaseTimingDTO>(ElementDerivationPhase.class);
+            timing.getPhases().forEach((phase, phaseTiming) -> phases.put(phase, new PhaseTimingDTO(
+                    phaseTiming.functionKind(),
+                    toMillis(phaseTiming.duration())
+            )));
+
+            return new ElementTimingDTO(
+                    timing.getId(),
+                    timing.getType(),
+                    toMillis(timing.getDuration()),
+                    phases
+            );
+        }
+    }
+
+    public record PhaseTimingDTO(
+            ElementDerivationFunctionKind functionKind,
+            Double duration
+    ) {
+    }
+}
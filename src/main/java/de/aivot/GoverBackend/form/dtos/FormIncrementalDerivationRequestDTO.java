@@ -0,0 +1,42 @@
+package de.aivot.GoverBackend.form.dtos;
+
+import de.aivot.GoverBackend.form.models.FormState;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request for an incremental derivation of a form.
+ * The previous state is the state returned by the previous derivation with the same step limits.
+ * Its element overrides are not needed, because elements with overrides are always derived again.
+ *
+ * @param customerInput The complete customer input.
+ * @param previousState The state returned by the previous derivation.
+ * @param changedKeys   The keys of the customer input which changed since the previous derivation.
+ */
+public record FormIncrementalDerivationRequestDTO(
+        @NotNull(message = "customerInput cannot be null")
+        Map<String, Object> customerInput,
+
+        @NotNull(message = "previousState cannot be null")
+        PreviousState previousState,
+
+        @NotNull(message = "changedKeys cannot be null")
+        List<String> changedKeys
+) {
+    public record PreviousState(
+            Map<String, Boolean> visibilities,
+            Map<String, Object> values,
+            Map<String, String> errors
+    ) {
+        public FormState toFormState() {
+            return new FormState(
+                    visibilities != null ? visibilities : Map.of(),
+                    values != null ? values : Map.of(),
+                    errors != null ? errors : Map.of(),
+                    Map.of()
+            );
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package de.aivot.GoverBackend.form.dtos;
 
 import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.entities.FormListItem;
 import de.aivot.GoverBackend.form.entities.FormWithMembership;
+import de.aivot.GoverBackend.form.entities.FormWithMembershipListItem;
 import de.aivot.GoverBackend.form.enums.FormStatus;
 import de.aivot.GoverBackend.form.enums.FormType;
 import de.aivot.GoverBackend.identity.models.IdentityProviderLink;
@@ -65,4 +67,44 @@ public record FormListResponseDTO(
                 form.getIdentityProviders()
         );
     }
+
+    public static FormListResponseDTO fromEntity(FormListItem form) {
+        return new FormListResponseDTO(
+                form.getId(),
+                form.getSlug(),
+                form.getVersion(),
+                form.getTitle(),
+                form.getStatus(),
+                form.getType(),
+                form.getDevelopingDepartmentId(),
+                form.getManagingDepartmentId(),
+                form.getResponsibleDepartmentId(),
+                form.getThemeId(),
+                form.getCreated(),
+                form.getUpdated(),
+                form.getPaymentProvider(),
+                form.getIdentityRequired(),
+                form.getIdentityProviders()
+        );
+    }
+
+    public static FormListResponseDTO fromEntity(FormWithMembershipListItem form) {
+        return new FormListResponseDTO(
+                form.getId(),
+                form.getSlug(),
+                form.getVersion(),
+                form.getTitle(),
+                form.getStatus(),
+                form.getType(),
+                form.getDevelopingDepartmentId(),
+                form.getManagingDepartmentId(),
+                form.getResponsibleDepartmentId(),
+                form.getThemeId(),
+                form.getCreated(),
+                form.getUpdated(),
+                form.getPaymentProvider(),
+                form.getIdentityRequired(),
+                form.getIdentityProviders()
+        );
+    }
 }
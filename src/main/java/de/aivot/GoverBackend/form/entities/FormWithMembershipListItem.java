@@ -0,0 +1,176 @@
+package de.aivot.GoverBackend.form.entities;
+
+import de.aivot.GoverBackend.form.enums.FormStatus;
+import de.aivot.GoverBackend.form.enums.FormType;
+import de.aivot.GoverBackend.identity.models.IdentityProviderLink;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only list view of a {@link FormWithMembership}.
+ * Contains the columns shown in and filtered by form lists, but not the form tree, so listing forms does not parse the trees of all listed forms.
+ */
+@Entity
+@Immutable
+@Table(name = "forms_with_memberships")
+@IdClass(FormWithMembershipId.class)
+public class FormWithMembershipListItem {
+    @Id
+    private Integer id;
+    private String slug;
+    private String version;
+    private String title;
+    private FormStatus status;
+    private FormType type;
+    private Integer destinationId;
+    private Integer legalSupportDepartmentId;
+    private Integer technicalSupportDepartmentId;
+    private Integer imprintDepartmentId;
+    private Integer privacyDepartmentId;
+    private Integer accessibilityDepartmentId;
+    private Integer developingDepartmentId;
+    private Integer managingDepartmentId;
+    private Integer responsibleDepartmentId;
+    private Integer themeId;
+    private LocalDateTime created;
+    private LocalDateTime updated;
+    private Integer customerAccessHours;
+    private Integer submissionDeletionWeeks;
+    private String pdfBodyTemplateKey;
+    private String paymentPurpose;
+    private String paymentDescription;
+    private String paymentProvider;
+    private Boolean identityRequired;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<IdentityProviderLink> identityProviders;
+    @Id
+    private String userId;
+    private Boolean userIsDeveloper;
+    private Boolean userIsManager;
+    private Boolean userIsResponsible;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public FormStatus getStatus() {
+        return status;
+    }
+
+    public FormType getType() {
+        return type;
+    }
+
+    public Integer getDestinationId() {
+        return destinationId;
+    }
+
+    public Integer getLegalSupportDepartmentId() {
+        return legalSupportDepartmentId;
+    }
+
+    public Integer getTechnicalSupportDepartmentId() {
+        return technicalSupportDepartmentId;
+    }
+
+    public Integer getImprintDepartmentId() {
+        return imprintDepartmentId;
+    }
+
+    public Integer getPrivacyDepartmentId() {
+        return privacyDepartmentId;
+    }
+
+    public Integer getAccessibilityDepartmentId() {
+        return accessibilityDepartmentId;
+    }
+
+    public Integer getDevelopingDepartmentId() {
+        return developingDepartmentId;
+    }
+
+    public Integer getManagingDepartmentId() {
+        return managingDepartmentId;
+    }
+
+    public Integer getResponsibleDepartmentId() {
+        return responsibleDepartmentId;
+    }
+
+    public Integer getThemeId() {
+        return themeId;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public LocalDateTime getUpdated() {
+        return updated;
+    }
+
+    public Integer getCustomerAccessHours() {
+        return customerAccessHours;
+    }
+
+    public Integer getSubmissionDeletionWeeks() {
+        return submissionDeletionWeeks;
+    }
+
+    public String getPdfBodyTemplateKey() {
+        return pdfBodyTemplateKey;
+    }
+
+    public String getPaymentPurpose() {
+        return paymentPurpose;
+    }
+
+    public String getPaymentDescription() {
+        return paymentDescription;
+    }
+
+    public String getPaymentProvider() {
+        return paymentProvider;
+    }
+
+    public Boolean getIdentityRequired() {
+        return identityRequired;
+    }
+
+    public List<IdentityProviderLink> getIdentityProviders() {
+        return identityProviders;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Boolean getUserIsDeveloper() {
+        return userIsDeveloper;
+    }
+
+    public Boolean getUserIsManager() {
+        return userIsManager;
+    }
+
+    public Boolean getUserIsResponsible() {
+        return userIsResponsible;
+    }
+}
@@ -0,0 +1,71 @@
+package de.aivot.GoverBackend.form.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Access of a user to a form through the memberships of the user in the departments of the form.
+ * The access records are derived from the memberships and the forms and are maintained by the {@link de.aivot.GoverBackend.form.services.UserFormAccessService}.
+ */
+@Entity
+@Table(name = "user_form_access")
+@IdClass(UserFormAccessId.class)
+public class UserFormAccess {
+    @Id
+    private String userId;
+
+    @Id
+    private Integer formId;
+
+    @Column(nullable = false)
+    private Boolean isDeveloper;
+
+    @Column(nullable = false)
+    private Boolean isManager;
+
+    @Column(nullable = false)
+    private Boolean isResponsible;
+
+    // region Getter & Setter
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Integer getFormId() {
+        return formId;
+    }
+
+    public void setFormId(Integer formId) {
+        this.formId = formId;
+    }
+
+    public Boolean getDeveloper() {
+        return isDeveloper;
+    }
+
+    public void setDeveloper(Boolean developer) {
+        isDeveloper = developer;
+    }
+
+    public Boolean getManager() {
+        return isManager;
+    }
+
+    public void setManager(Boolean manager) {
+        isManager = manager;
+    }
+
+    public Boolean getResponsible() {
+        return isResponsible;
+    }
+
+    public void setResponsible(Boolean responsible) {
+        isResponsible = responsible;
+    }
+
+    // endregion
+}
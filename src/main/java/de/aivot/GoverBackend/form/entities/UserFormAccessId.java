@@ -0,0 +1,49 @@
+package de.aivot.GoverBackend.form.entities;
+
+import java.util.Objects;
+
+public class UserFormAccessId {
+    private String userId;
+    private Integer formId;
+
+    public UserFormAccessId() {
+    }
+
+    public UserFormAccessId(String userId, Integer formId) {
+        this.userId = userId;
+        this.formId = formId;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass()) return false;
+
+        UserFormAccessId that = (UserFormAccessId) object;
+        return Objects.equals(userId, that.userId) && Objects.equals(formId, that.formId);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(userId);
+        result = 31 * result + Objects.hashCode(formId);
+        return result;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public UserFormAccessId setUserId(String userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public Integer getFormId() {
+        return formId;
+    }
+
+    public UserFormAccessId setFormId(Integer formId) {
+        this.formId = formId;
+        return this;
+    }
+}
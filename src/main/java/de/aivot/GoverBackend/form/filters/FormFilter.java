@@ -2,6 +2,7 @@ package de.aivot.GoverBackend.form.filters;
 
 import de.aivot.GoverBackend.form.enums.FormStatus;
 import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.entities.FormListItem;
 import de.aivot.GoverBackend.form.enums.FormType;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.utils.specification.SpecificationBuilder;
@@ -38,8 +39,22 @@ public class FormFilter implements Filter<Form> {
     @Nonnull
     @Override
     public Specification<Form> build() {
+        return createSpecification();
+    }
+
+    /**
+     * Get this filter for the list items of the forms, which omit the form tree.
+     * Both are filtered by the same attributes.
+     */
+    @Nonnull
+    public Filter<FormListItem> asListItemFilter() {
+        return this::createSpecification;
+    }
+
+    @Nonnull
+    private <T> Specification<T> createSpecification() {
         return SpecificationBuilder
-                .create(Form.class)
+                .<T>create()
                 .withEquals("id", id)
                 .withContains("title", title)
                 .withEquals("slug", slug)
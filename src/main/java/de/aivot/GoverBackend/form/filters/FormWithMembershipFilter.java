@@ -2,6 +2,7 @@ package de.aivot.GoverBackend.form.filters;
 
 import de.aivot.GoverBackend.form.enums.FormStatus;
 import de.aivot.GoverBackend.form.entities.FormWithMembership;
+import de.aivot.GoverBackend.form.entities.FormWithMembershipListItem;
 import de.aivot.GoverBackend.form.enums.FormType;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.utils.specification.SpecificationBuilder;
@@ -42,8 +43,22 @@ public class FormWithMembershipFilter implements Filter<FormWithMembership> {
     @Nonnull
     @Override
     public Specification<FormWithMembership> build() {
+        return createSpecification();
+    }
+
+    /**
+     * Get this filter for the list items of the forms, which omit the form tree.
+     * Both are filtered by the same attributes.
+     */
+    @Nonnull
+    public Filter<FormWithMembershipListItem> asListItemFilter() {
+        return this::createSpecification;
+    }
+
+    @Nonnull
+    private <T> Specification<T> createSpecification() {
         return SpecificationBuilder
-                .create(FormWithMembership.class)
+                .<T>create()
                 .withEquals("id", id)
                 .withContains("title", title)
                 .withEquals("slug", slug)
@@ -3,13 +3,16 @@ package de.aivot.GoverBackend.form.models;
 import de.aivot.GoverBackend.elements.models.BaseElement;
 import de.aivot.GoverBackend.elements.models.BaseElementDerivationContext;
 import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.javascript.models.JavascriptLazyProxyObject;
 import de.aivot.GoverBackend.javascript.services.JavascriptEngine;
 import de.aivot.GoverBackend.nocode.services.NoCodeEvaluationService;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import javax.script.ScriptEngine;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 
 public class FormDerivationContext extends BaseElementDerivationContext {
@@ -27,9 +30,15 @@ public class FormDerivationContext extends BaseElementDerivationContext {
     @Nonnull
     private final List<String> stepsToCalculateOverrides;
 
+    /**
+     * The json representation of the form, which is created once the Javascript code accesses the form for the first time.
+     */
+    @Nullable
+    private Object formJavascriptValue;
+
     public FormDerivationContext(
             @Nonnull JavascriptEngine javascriptEngine,
-            @Nonnull ScriptEngine legacyJavascriptEngine,
+            @Nonnull Supplier<ScriptEngine> legacyJavascriptEngineSupplier,
             @Nonnull NoCodeEvaluationService noCodeEvaluationService,
             @Nonnull BaseElement rootElement,
             @Nonnull Map<String, Object> inputValues,
@@ -39,7 +48,7 @@ public class FormDerivationContext extends BaseElementDerivationContext {
             @Nonnull List<String> stepsToCalculateValues,
             @Nonnull List<String> stepsToCalculateOverrides
     ) {
-        super(javascriptEngine, legacyJavascriptEngine, noCodeEvaluationService, rootElement, inputValues);
+        super(javascriptEngine, legacyJavascriptEngineSupplier, noCodeEvaluationService, rootElement, inputValues);
         this.form = form;
 
         this.stepsToValidate = stepsToValidate;
@@ -73,14 +82,40 @@ public class FormDerivationContext extends BaseElementDerivationContext {
         return stepsToCalculateOverrides;
     }
 
+    /**
+     * Create the scope under which the prepared Javascript sources of a form are cached.
+     *
+     * @param formId The id of the form.
+     * @return The scope for the Javascript source cache.
+     */
+    @Nonnull
+    public static String createJavascriptSourceScope(@Nonnull Integer formId) {
+        return "form/" + formId;
+    }
+
+    @Nullable
+    @Override
+    public String getJavascriptSourceScope() {
+        return form.getId() != null ? createJavascriptSourceScope(form.getId()) : null;
+    }
+
     @Nonnull
     @Override
     public Map<String, Object> getJavascriptContextObject(String resolvedId, BaseElement currentElement) {
         var map = super.getJavascriptContextObject(resolvedId, currentElement);
-        map.put(FORM_JS_CONTEXT_OBJECT_NAME, form);
+        map.put(FORM_JS_CONTEXT_OBJECT_NAME, (Supplier<Object>) this::getFormJavascriptValue);
         return map;
     }
 
+    @Nullable
+    private Object getFormJavascriptValue() {
+        // The form does not change during the derivation, so it is only converted once
+        if (formJavascriptValue == null) {
+            formJavascriptValue = JavascriptLazyProxyObject.toPlainValue(form);
+        }
+        return formJavascriptValue;
+    }
+
     public FormState getFormState() {
         return new FormState(
                 super.getElementDerivationData().getVisibilities(),
@@ -0,0 +1,39 @@
+package de.aivot.GoverBackend.form.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for the cache of parsed published forms.
+ * The properties are loaded from the application configuration file.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "form-cache")
+public class FormCacheConfigurationProperties {
+    /**
+     * The maximum number of published forms kept in memory.
+     * The number of cached dependency graphs of forms is limited by the same value.
+     */
+    private Integer maxSize = 256;
+
+    /**
+     * Whether invalidations are broadcast to all instances of the application via redis.
+     */
+    private Boolean redisInvalidation = false;
+
+    public Integer getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(Integer maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Boolean getRedisInvalidation() {
+        return redisInvalidation;
+    }
+
+    public void setRedisInvalidation(Boolean redisInvalidation) {
+        this.redisInvalidation = redisInvalidation;
+    }
+}
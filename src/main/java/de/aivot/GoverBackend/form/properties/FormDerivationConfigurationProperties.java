@@ -0,0 +1,39 @@
+package de.aivot.GoverBackend.form.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for the instrumentation of form derivations.
+ * The properties are loaded from the application configuration file.
+ * They control whether the time spent per phase of the elements is recorded as metrics and whether staff users may profile single derivations.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "form-derivation")
+public class FormDerivationConfigurationProperties {
+    /**
+     * Whether the time spent per phase, element type and function kind is recorded as metrics for each form.
+     */
+    private Boolean metricsEnabled = true;
+
+    /**
+     * Whether the endpoint returning the timing breakdown of a single derivation per element is available.
+     */
+    private Boolean profilingEndpointEnabled = false;
+
+    public Boolean getMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(Boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public Boolean getProfilingEndpointEnabled() {
+        return profilingEndpointEnabled;
+    }
+
+    public void setProfilingEndpointEnabled(Boolean profilingEndpointEnabled) {
+        this.profilingEndpointEnabled = profilingEndpointEnabled;
+    }
+}
@@ -0,0 +1,8 @@
+package de.aivot.GoverBackend.form.repositories;
+
+import de.aivot.GoverBackend.form.entities.FormListItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface FormListItemRepository extends JpaRepository<FormListItem, Integer>, JpaSpecificationExecutor<FormListItem> {
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Optional;
 
@@ -19,6 +20,9 @@ public interface FormRepository extends JpaRepository<Form, Integer>, JpaSpecifi
             """, nativeQuery = true)
     Optional<String> getLatestVersionBySlugAndStatus(String slug, FormStatus status);
 
+    @Query("SELECT f.updated FROM Form f WHERE f.id = ?1")
+    Optional<LocalDateTime> findUpdatedById(Integer id);
+
     boolean existsBySlugAndVersion(String slug, String version);
 
     boolean existsByThemeId(Integer theme);
@@ -0,0 +1,9 @@
+package de.aivot.GoverBackend.form.repositories;
+
+import de.aivot.GoverBackend.form.entities.FormWithMembershipListItem;
+import de.aivot.GoverBackend.form.entities.FormWithMembershipId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface FormWithMembershipListItemRepository extends JpaRepository<FormWithMembershipListItem, FormWithMembershipId>, JpaSpecificationExecutor<FormWithMembershipListItem> {
+}
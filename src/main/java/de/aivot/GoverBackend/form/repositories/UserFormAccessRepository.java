@@ -0,0 +1,74 @@
+package de.aivot.GoverBackend.form.repositories;
+
+import de.aivot.GoverBackend.form.entities.UserFormAccess;
+import de.aivot.GoverBackend.form.entities.UserFormAccessId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface UserFormAccessRepository extends JpaRepository<UserFormAccess, UserFormAccessId> {
+    String ACCESS_SELECT = """
+            SELECT mems.user_id,
+                   fms.id,
+                   bool_or(mems.department_id = fms.developing_department_id),
+                   coalesce(bool_or(mems.department_id = fms.managing_department_id), false),
+                   coalesce(bool_or(mems.department_id = fms.responsible_department_id), false)
+            FROM forms AS fms
+                     JOIN department_memberships AS mems
+                          ON fms.developing_department_id = mems.department_id
+                              OR fms.managing_department_id = mems.department_id
+                              OR fms.responsible_department_id = mems.department_id
+            """;
+
+    String ACCESS_UPSERT = """
+            INSERT INTO user_form_access (user_id, form_id, is_developer, is_manager, is_responsible)
+            """;
+
+    String ACCESS_CONFLICT = """
+            GROUP BY fms.id, mems.user_id
+            ON CONFLICT (user_id, form_id) DO UPDATE
+                SET is_developer   = excluded.is_developer,
+                    is_manager     = excluded.is_manager,
+                    is_responsible = excluded.is_responsible
+                WHERE (user_form_access.is_developer, user_form_access.is_manager, user_form_access.is_responsible)
+                          IS DISTINCT FROM (excluded.is_developer, excluded.is_manager, excluded.is_responsible)
+            """;
+
+    @Modifying
+    @Query(value = "DELETE FROM user_form_access WHERE form_id = ?1", nativeQuery = true)
+    void deleteAllByFormId(Integer formId);
+
+    @Modifying
+    @Query(value = ACCESS_UPSERT + ACCESS_SELECT + "WHERE fms.id = ?1\n" + ACCESS_CONFLICT, nativeQuery = true)
+    void insertAllByFormId(Integer formId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_form_access WHERE user_id = ?1", nativeQuery = true)
+    void deleteAllByUserId(String userId);
+
+    @Modifying
+    @Query(value = ACCESS_UPSERT + ACCESS_SELECT + "WHERE mems.user_id = ?1\n" + ACCESS_CONFLICT, nativeQuery = true)
+    void insertAllByUserId(String userId);
+
+    /**
+     * Remove all access records, which are no longer backed by a membership.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM user_form_access AS ufa
+            WHERE NOT EXISTS (
+                SELECT 1
+                FROM forms AS fms
+                         JOIN department_memberships AS mems
+                              ON fms.developing_department_id = mems.department_id
+                                  OR fms.managing_department_id = mems.department_id
+                                  OR fms.responsible_department_id = mems.department_id
+                WHERE fms.id = ufa.form_id AND mems.user_id = ufa.user_id
+            )
+            """, nativeQuery = true)
+    void deleteAllStale();
+
+    @Modifying
+    @Query(value = ACCESS_UPSERT + ACCESS_SELECT + ACCESS_CONFLICT, nativeQuery = true)
+    void insertAll();
+}
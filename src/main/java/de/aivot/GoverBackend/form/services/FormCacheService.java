@@ -0,0 +1,157 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.enums.FormStatus;
+import de.aivot.GoverBackend.form.properties.FormCacheConfigurationProperties;
+import de.aivot.GoverBackend.form.repositories.FormRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cache for parsed published forms.
+ * Loading a form parses its complete element tree from the database, which is expensive for large forms.
+ * The cache keeps the parsed forms in memory and only queries the update timestamp of the form, to check whether the cached form is still current.
+ * <p>
+ * The cached forms are handed out as shallow clones, so their element tree is shared and must be treated as read-only.
+ * Use {@link #invalidate(Integer)} to drop a form, when it was changed.
+ * If enabled, the invalidation is broadcast to all instances of the application via redis.
+ */
+@Service
+public class FormCacheService {
+    public static final String INVALIDATION_CHANNEL = "gover:form-cache:invalidate";
+
+    private static final String METRIC_PREFIX = "gover.form.cache";
+    private static final Logger logger = LoggerFactory.getLogger(FormCacheService.class);
+
+    private final FormRepository formRepository;
+    private final FormCacheConfigurationProperties formCacheConfigurationProperties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final Map<Integer, CachedForm> forms;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public FormCacheService(
+            FormRepository formRepository,
+            FormCacheConfigurationProperties formCacheConfigurationProperties,
+            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+            MeterRegistry meterRegistry
+    ) {
+        this.formRepository = formRepository;
+        this.formCacheConfigurationProperties = formCacheConfigurationProperties;
+        this.redisTemplateProvider = redisTemplateProvider;
+
+        var maxSize = formCacheConfigurationProperties.getMaxSize();
+
+        // Keep the forms in access order to evict the least recently used form first
+        this.forms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedForm> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Number of forms served from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses")
+                .description("Number of forms loaded from the database because they were not cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieve the form with the given id.
+     * Published forms are served from the cache, as long as they were not updated since they were cached.
+     * All other forms are always loaded from the database.
+     *
+     * @param id The id of the form.
+     * @return The form or an empty optional, if the form does not exist.
+     */
+    @Nonnull
+    public Optional<Form> retrieve(@Nonnull Integer id) {
+        CachedForm cachedForm;
+        synchronized (forms) {
+            cachedForm = forms.get(id);
+        }
+
+        if (cachedForm != null) {
+            var updated = formRepository.findUpdatedById(id);
+            if (updated.isPresent() && Objects.equals(updated.get(), cachedForm.updated())) {
+                hitCounter.increment();
+                return Optional.of(cachedForm.form().clone());
+            }
+            evict(id);
+        }
+
+        missCounter.increment();
+
+        var form = formRepository.findById(id);
+        if (form.isPresent() && form.get().getStatus() == FormStatus.Published) {
+            synchronized (forms) {
+                forms.put(id, new CachedForm(form.get().getUpdated(), form.get().clone()));
+            }
+        }
+        return form;
+    }
+
+    /**
+     * Drop the form with the given id from the cache of this and, if enabled, all other instances of the application.
+     *
+     * @param id The id of the form.
+     */
+    public void invalidate(@Nonnull Integer id) {
+        evict(id);
+
+        if (!formCacheConfigurationProperties.getRedisInvalidation()) {
+            return;
+        }
+
+        var redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id.toString());
+        } catch (Exception e) {
+            // The other instances still detect the change by the update timestamp of the form
+            logger
+                    .atWarn()
+                    .setMessage("Failed to broadcast the invalidation of a cached form")
+                    .addKeyValue("formId", id)
+                    .setCause(e)
+                    .log();
+        }
+    }
+
+    /**
+     * Drop the form with the given id from the cache of this instance only.
+     *
+     * @param id The id of the form.
+     */
+    public void evict(@Nonnull Integer id) {
+        synchronized (forms) {
+            forms.remove(id);
+        }
+    }
+
+    private record CachedForm(
+            LocalDateTime updated,
+            Form form
+    ) {
+    }
+}
@@ -0,0 +1,82 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.elements.models.ElementDependencyGraph;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.properties.FormCacheConfigurationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.Nonnull;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service for providing the {@link ElementDependencyGraph} of a form.
+ * The graphs are cached per form and rebuilt, when the form was updated since the graph was built.
+ * Like the parsed forms of the {@link FormCacheService}, at most {@link FormCacheConfigurationProperties#getMaxSize()} graphs are kept in memory.
+ */
+@Service
+public class FormDependencyGraphService {
+    private final Map<Integer, CachedGraph> graphs;
+
+    @Autowired
+    public FormDependencyGraphService(FormCacheConfigurationProperties formCacheConfigurationProperties) {
+        var maxSize = formCacheConfigurationProperties.getMaxSize();
+
+        // Keep the graphs in access order to evict the graph of the least recently derived form first
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedGraph> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the dependency graph for the elements of the given form.
+     *
+     * @param form The form to get the dependency graph for.
+     * @return The dependency graph of the form.
+     */
+    @Nonnull
+    public ElementDependencyGraph getGraph(@Nonnull Form form) {
+        if (form.getId() == null) {
+            return new ElementDependencyGraph(form.getRoot());
+        }
+
+        CachedGraph cachedGraph;
+        synchronized (graphs) {
+            cachedGraph = graphs.get(form.getId());
+        }
+        if (cachedGraph != null && Objects.equals(cachedGraph.updated(), form.getUpdated())) {
+            return cachedGraph.graph();
+        }
+
+        // The graph is built outside the lock, so building the graph of a large form does not block other forms
+        var graph = new ElementDependencyGraph(form.getRoot());
+        synchronized (graphs) {
+            graphs.put(form.getId(), new CachedGraph(form.getUpdated(), graph));
+        }
+        return graph;
+    }
+
+    /**
+     * Drop the cached dependency graph of the form with the given id.
+     * This must be called, when the form is updated or deleted.
+     *
+     * @param formId The id of the form.
+     */
+    public void invalidate(@Nonnull Integer formId) {
+        synchronized (graphs) {
+            graphs.remove(formId);
+        }
+    }
+
+    private record CachedGraph(
+            LocalDateTime updated,
+            ElementDependencyGraph graph
+    ) {
+    }
+}
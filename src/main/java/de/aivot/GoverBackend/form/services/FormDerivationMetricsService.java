@@ -0,0 +1,90 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.elements.enums.ElementDerivationFunctionKind;
+import de.aivot.GoverBackend.elements.enums.ElementDerivationPhase;
+import de.aivot.GoverBackend.enums.ElementType;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.properties.FormDerivationConfigurationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time spent deriving the elements of forms as metrics.
+ * The time is recorded per form, phase, element type and function kind, so operators can see which forms are slow and which kind of element or function causes this.
+ * Use the profiling endpoint of the {@link de.aivot.GoverBackend.form.controllers.FormDerivationProfileController} to find the slow elements of a form.
+ */
+@Service
+public class FormDerivationMetricsService {
+    private static final String METRIC_PREFIX = "gover.form.derivation";
+    private static final String UNKNOWN_TAG_VALUE = "none";
+
+    private final FormDerivationConfigurationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The registered timers, which are looked up for every phase of every element.
+     * Building the tags for the lookup in the meter registry is comparatively expensive, so the timers are kept by their plain key.
+     */
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FormDerivationMetricsService(
+            FormDerivationConfigurationProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record the time a phase of an element took.
+     *
+     * @param form         The derived form.
+     * @param phase        The derived phase.
+     * @param elementType  The type of the element or null, if the element has no type.
+     * @param functionKind The kind of function the element uses to derive the phase.
+     * @param duration     The time the phase took in nanoseconds.
+     */
+    public void record(
+            @Nonnull Form form,
+            @Nonnull ElementDerivationPhase phase,
+            @Nullable ElementType elementType,
+            @Nonnull ElementDerivationFunctionKind functionKind,
+            long duration
+    ) {
+        if (!Boolean.TRUE.equals(properties.getMetricsEnabled())) {
+            return;
+        }
+
+        timers
+                .computeIfAbsent(new TimerKey(form.getId(), phase, elementType, functionKind), this::createTimer)
+                .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    @Nonnull
+    private Timer createTimer(@Nonnull TimerKey key) {
+        return Timer.builder(METRIC_PREFIX + ".phase")
+                .description("Time spent deriving a phase of the elements of a form")
+                .tag("form", key.formId() != null ? key.formId().toString() : UNKNOWN_TAG_VALUE)
+                .tag("phase", key.phase().name())
+                .tag("type", key.elementType() != null ? key.elementType().name() : UNKNOWN_TAG_VALUE)
+                .tag("function", key.functionKind().name())
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(
+            @Nullable Integer formId,
+            @Nonnull ElementDerivationPhase phase,
+            @Nullable ElementType elementType,
+            @Nonnull ElementDerivationFunctionKind functionKind
+    ) {
+    }
+}
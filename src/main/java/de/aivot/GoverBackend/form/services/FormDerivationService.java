@@ -1,7 +1,11 @@
 package de.aivot.GoverBackend.form.services;
 
 
+import de.aivot.GoverBackend.elements.enums.ElementDerivationFunctionKind;
+import de.aivot.GoverBackend.elements.enums.ElementDerivationPhase;
+import de.aivot.GoverBackend.elements.models.BaseElement;
 import de.aivot.GoverBackend.elements.models.RootElement;
+import de.aivot.GoverBackend.elements.models.form.BaseInputElement;
 import de.aivot.GoverBackend.elements.models.steps.IntroductionStepElement;
 import de.aivot.GoverBackend.elements.models.steps.StepElement;
 import de.aivot.GoverBackend.elements.models.steps.SubmitStepElement;
@@ -9,14 +13,18 @@ import de.aivot.GoverBackend.elements.models.steps.SummaryStepElement;
 import de.aivot.GoverBackend.elements.services.*;
 import de.aivot.GoverBackend.form.entities.Form;
 import de.aivot.GoverBackend.form.models.FormDerivationContext;
+import de.aivot.GoverBackend.form.models.FormState;
 import de.aivot.GoverBackend.javascript.services.JavascriptEngineFactoryService;
 import de.aivot.GoverBackend.nocode.services.NoCodeEvaluationService;
 import de.aivot.GoverBackend.services.ScriptService;
+import de.aivot.GoverBackend.utils.StringUtils;
 import jakarta.annotation.Nonnull;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class FormDerivationService extends BaseElementDerivationService<FormDerivationContext> {
     public static final String FORM_STEP_LIMIT_ALL_IDENTIFIER = "ALL";
@@ -34,17 +42,64 @@ public class FormDerivationService extends BaseElementDerivationService<FormDeri
     @Nonnull
     private final List<String> stepsToCalculateOverrides;
 
+    /**
+     * The state of a previous derivation of the form, which is used to restore unaffected elements.
+     * If null, all elements are derived.
+     */
+    @Nullable
+    private final FormState previousState;
+    /**
+     * The ids of the elements which are affected by the changes since the previous derivation.
+     * If null, all elements are derived.
+     */
+    @Nullable
+    private final Set<String> affectedElementIds;
+
     private final JavascriptEngineFactoryService javascriptEngineFactoryService;
     private final NoCodeEvaluationService noCodeEvaluationService;
+    @Nullable
+    private final FormDerivationMetricsService formDerivationMetricsService;
+
+    public FormDerivationService(
+            @Nonnull Form form,
+            @Nonnull List<String> stepsToValidate,
+            @Nonnull List<String> stepsToCalculateVisibilities,
+            @Nonnull List<String> stepsToCalculateValues,
+            @Nonnull List<String> stepsToCalculateOverrides,
+            @Nonnull JavascriptEngineFactoryService javascriptEngineFactoryService,
+            @Nonnull NoCodeEvaluationService noCodeEvaluationService,
+            @Nullable FormDerivationMetricsService formDerivationMetricsService
+    ) {
+        this(
+                form,
+                stepsToValidate,
+                stepsToCalculateVisibilities,
+                stepsToCalculateValues,
+                stepsToCalculateOverrides,
+                null,
+                null,
+                javascriptEngineFactoryService,
+                noCodeEvaluationService,
+                formDerivationMetricsService
+        );
+    }
 
+    /**
+     * Create a derivation service, which only derives the elements affected by the changes since a previous derivation.
+     * All other elements take over their visibility, computed value and error from the previous state.
+     * The previous state must stem from a derivation of the same form with the same step limits.
+     */
     public FormDerivationService(
             @Nonnull Form form,
             @Nonnull List<String> stepsToValidate,
             @Nonnull List<String> stepsToCalculateVisibilities,
             @Nonnull List<String> stepsToCalculateValues,
             @Nonnull List<String> stepsToCalculateOverrides,
+            @Nullable FormState previousState,
+            @Nullable Set<String> affectedElementIds,
             @Nonnull JavascriptEngineFactoryService javascriptEngineFactoryService,
-            @Nonnull NoCodeEvaluationService noCodeEvaluationService
+            @Nonnull NoCodeEvaluationService noCodeEvaluationService,
+            @Nullable FormDerivationMetricsService formDerivationMetricsService
     ) {
         this.form = form;
 
@@ -53,8 +108,12 @@ public class FormDerivationService extends BaseElementDerivationService<FormDeri
         this.stepsToCalculateValues = stepsToCalculateValues;
         this.stepsToCalculateOverrides = stepsToCalculateOverrides;
 
+        this.previousState = previousState;
+        this.affectedElementIds = affectedElementIds;
+
         this.javascriptEngineFactoryService = javascriptEngineFactoryService;
         this.noCodeEvaluationService = noCodeEvaluationService;
+        this.formDerivationMetricsService = formDerivationMetricsService;
     }
 
     @Override
@@ -326,6 +385,72 @@ public class FormDerivationService extends BaseElementDerivationService<FormDeri
         );
     }
 
+    @Override
+    protected boolean isElementAffected(
+            @Nonnull FormDerivationContext context,
+            @Nonnull BaseElement baseElement,
+            @Nonnull String resolvedId
+    ) {
+        return previousState == null || affectedElementIds == null || affectedElementIds.contains(baseElement.getId());
+    }
+
+    @Override
+    protected void restoreElement(
+            @Nonnull FormDerivationContext context,
+            @Nonnull BaseElement baseElement,
+            @Nonnull String resolvedId
+    ) {
+        if (previousState == null) {
+            return;
+        }
+
+        var derivationData = context.getElementDerivationData();
+
+        var previousVisibility = previousState.visibilities().get(resolvedId);
+        if (previousVisibility != null) {
+            derivationData.setVisibility(resolvedId, previousVisibility);
+        }
+
+        // The previous values combine input and computed values, so only values of computed elements without user input are restored as computed values
+        if (
+                baseElement instanceof BaseInputElement<?> inputElement &&
+                hasValueComputation(inputElement) &&
+                derivationData.getValue(resolvedId).isEmpty()
+        ) {
+            var previousValue = previousState.values().get(resolvedId);
+            if (previousValue != null) {
+                derivationData.setValue(resolvedId, previousValue);
+            }
+        }
+
+        var previousError = previousState.errors().get(resolvedId);
+        if (previousError != null) {
+            derivationData.setError(resolvedId, previousError);
+        }
+    }
+
+    @Override
+    protected void onPhaseDerived(
+            @Nonnull FormDerivationContext context,
+            @Nonnull ElementDerivationPhase phase,
+            @Nonnull BaseElement element,
+            @Nonnull String resolvedId,
+            @Nonnull ElementDerivationFunctionKind functionKind,
+            long duration
+    ) {
+        super.onPhaseDerived(context, phase, element, resolvedId, functionKind, duration);
+
+        if (formDerivationMetricsService != null) {
+            formDerivationMetricsService.record(form, phase, element.getType(), functionKind, duration);
+        }
+    }
+
+    private static boolean hasValueComputation(@Nonnull BaseInputElement<?> inputElement) {
+        return (inputElement.getValueCode() != null && inputElement.getValueCode().isNotEmpty()) ||
+               inputElement.getValueExpression() != null ||
+               (inputElement.getComputeValue() != null && StringUtils.isNotNullOrEmpty(inputElement.getComputeValue().getCode()));
+    }
+
     @Override
     protected BaseElementVisibilityDerivationService<FormDerivationContext> getVisibilityDerivationService() {
         return new FormVisibilityDerivationService();
@@ -350,7 +475,7 @@ public class FormDerivationService extends BaseElementDerivationService<FormDeri
     protected FormDerivationContext prepareContext(@Nonnull Map<String, Object> inputValues) {
         return new FormDerivationContext(
                 javascriptEngineFactoryService.getEngine(),
-                ScriptService.getEngine(),
+                ScriptService::getEngine,
                 noCodeEvaluationService,
                 form.getRoot(),
                 inputValues,
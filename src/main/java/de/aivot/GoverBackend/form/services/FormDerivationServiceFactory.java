@@ -3,23 +3,34 @@ package de.aivot.GoverBackend.form.services;
 
 import de.aivot.GoverBackend.javascript.services.JavascriptEngineFactoryService;
 import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.models.FormState;
 import de.aivot.GoverBackend.nocode.services.NoCodeEvaluationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class FormDerivationServiceFactory {
     private final JavascriptEngineFactoryService javascriptEngineFactoryService;
     private final NoCodeEvaluationService noCodeEvaluationService;
+    private final FormDependencyGraphService formDependencyGraphService;
+    private final FormDerivationMetricsService formDerivationMetricsService;
 
     @Autowired
-    public FormDerivationServiceFactory(JavascriptEngineFactoryService javascriptEngineFactoryService, NoCodeEvaluationService noCodeEvaluationService) {
+    public FormDerivationServiceFactory(
+            JavascriptEngineFactoryService javascriptEngineFactoryService,
+            NoCodeEvaluationService noCodeEvaluationService,
+            FormDependencyGraphService formDependencyGraphService,
+            FormDerivationMetricsService formDerivationMetricsService
+    ) {
         this.javascriptEngineFactoryService = javascriptEngineFactoryService;
         this.noCodeEvaluationService = noCodeEvaluationService;
+        this.formDependencyGraphService = formDependencyGraphService;
+        this.formDerivationMetricsService = formDerivationMetricsService;
     }
 
     public FormDerivationService create(
@@ -36,7 +47,48 @@ public class FormDerivationServiceFactory {
                 stepsToCalculateValues,
                 stepsToCalculateOverrides,
                 javascriptEngineFactoryService,
-                noCodeEvaluationService
+                noCodeEvaluationService,
+                formDerivationMetricsService
+        );
+    }
+
+    /**
+     * Create a derivation service, which only derives the elements affected by the given changed keys.
+     * All other elements are restored from the previous state.
+     *
+     * @param form                         The form to derive.
+     * @param stepsToValidate              The steps to validate. Must be the same as for the previous derivation.
+     * @param stepsToCalculateVisibilities The steps to calculate the visibilities for. Must be the same as for the previous derivation.
+     * @param stepsToCalculateValues       The steps to calculate the values for. Must be the same as for the previous derivation.
+     * @param stepsToCalculateOverrides    The steps to calculate the overrides for. Must be the same as for the previous derivation.
+     * @param previousState                The state of the previous derivation.
+     * @param changedKeys                  The keys of the input values which changed since the previous derivation.
+     * @return The derivation service.
+     */
+    public FormDerivationService createIncremental(
+            @Nonnull Form form,
+            @Nonnull List<String> stepsToValidate,
+            @Nonnull List<String> stepsToCalculateVisibilities,
+            @Nonnull List<String> stepsToCalculateValues,
+            @Nonnull List<String> stepsToCalculateOverrides,
+            @Nonnull FormState previousState,
+            @Nonnull Collection<String> changedKeys
+    ) {
+        var affectedElementIds = formDependencyGraphService
+                .getGraph(form)
+                .getAffectedElementIds(changedKeys);
+
+        return new FormDerivationService(
+                form,
+                stepsToValidate,
+                stepsToCalculateVisibilities,
+                stepsToCalculateValues,
+                stepsToCalculateOverrides,
+                previousState,
+                affectedElementIds,
+                javascriptEngineFactoryService,
+                noCodeEvaluationService,
+                formDerivationMetricsService
         );
     }
 }
@@ -0,0 +1,39 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.form.entities.FormListItem;
+import de.aivot.GoverBackend.form.repositories.FormListItemRepository;
+import de.aivot.GoverBackend.lib.models.Filter;
+import de.aivot.GoverBackend.lib.services.ListEntityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Service for listing forms without loading their json columns.
+ */
+@Service
+public class FormListItemService implements ListEntityService<FormListItem> {
+    private final FormListItemRepository repository;
+
+    @Autowired
+    public FormListItemService(
+            FormListItemRepository repository
+    ) {
+        this.repository = repository;
+    }
+
+    @Nonnull
+    @Override
+    public Page<FormListItem> performList(
+            @Nonnull Pageable pageable,
+            @Nullable Specification<FormListItem> specification,
+            @Nullable Filter<FormListItem> filter
+    ) {
+        return repository.findAll(specification, pageable);
+    }
+}
@@ -78,54 +78,57 @@ public class FormPaymentService {
 
         List<PaymentItem> items = new LinkedList<>();
 
-        for (var product : form.getProducts()) {
-            if (StringUtils.isNullOrEmpty(product.getReference())) {
-                throw new PaymentException("Product %s of form %s has no reference", product.getId(), form.getTitle());
-            }
+        try {
+            for (var product : form.getProducts()) {
+                if (StringUtils.isNullOrEmpty(product.getReference())) {
+                    throw new PaymentException("Product %s of form %s has no reference", product.getId(), form.getTitle());
+                }
 
-            if (StringUtils.isNullOrEmpty(product.getDescription())) {
-                throw new PaymentException("Product %s of form %s has no description", product.getId(), form.getTitle());
-            }
+                if (StringUtils.isNullOrEmpty(product.getDescription())) {
+                    throw new PaymentException("Product %s of form %s has no description", product.getId(), form.getTitle());
+                }
 
-            if (product.getTaxRate() == null) {
-                throw new PaymentException("Product %s of form %s has no tax rate", product.getId(), form.getTitle());
-            }
+                if (product.getTaxRate() == null) {
+                    throw new PaymentException("Product %s of form %s has no tax rate", product.getId(), form.getTitle());
+                }
 
-            if (product.getNetPrice() == null) {
-                throw new PaymentException("Product %s of form %s has no net price", product.getId(), form.getTitle());
-            }
+                if (product.getNetPrice() == null) {
+                    throw new PaymentException("Product %s of form %s has no net price", product.getId(), form.getTitle());
+                }
 
-            long quantity = switch (product.getType()) {
-                case PaymentType.UpfrontFixed -> {
-                    if (product.getUpfrontFixedQuantity() == null) {
-                        throw new PaymentException("Product %s of form %s has no fixed upfront quantity", product.getId(), form.getTitle());
+                long quantity = switch (product.getType()) {
+                    case PaymentType.UpfrontFixed -> {
+                        if (product.getUpfrontFixedQuantity() == null) {
+                            throw new PaymentException("Product %s of form %s has no fixed upfront quantity", product.getId(), form.getTitle());
+                        }
+                        yield product.getUpfrontFixedQuantity();
                     }
-                    yield product.getUpfrontFixedQuantity();
+                    case PaymentType.UpfrontCalculated -> calculateProductQuantity(form, customerInput, formDerivationContext, product);
+                    default -> 0;
+                };
+
+                if (quantity > 0) {
+                    var item = new PaymentItem();
+
+                    item.setId(product.getId());
+                    item.setTaxInformation(product.getTaxInformation());
+                    item.setNetPrice(BigDecimal.valueOf(product.getNetPrice()));
+                    item.setTaxRate(BigDecimal.valueOf(product.getTaxRate()));
+                    item.setReference(product.getReference());
+                    item.setDescription(product.getDescription());
+                    item.setQuantity(quantity);
+                    item.setBookingData(product.getBookingData());
+
+                    items.add(item);
                 }
-                case PaymentType.UpfrontCalculated -> calculateProductQuantity(form, customerInput, formDerivationContext, product);
-                default -> 0;
-            };
-
-            if (quantity > 0) {
-                var item = new PaymentItem();
-
-                item.setId(product.getId());
-                item.setTaxInformation(product.getTaxInformation());
-                item.setNetPrice(BigDecimal.valueOf(product.getNetPrice()));
-                item.setTaxRate(BigDecimal.valueOf(product.getTaxRate()));
-                item.setReference(product.getReference());
-                item.setDescription(product.getDescription());
-                item.setQuantity(quantity);
-                item.setBookingData(product.getBookingData());
-
-                items.add(item);
             }
-        }
-
-        try {
-            formDerivationContext.close();
-        } catch (Exception e) {
-            throw new PaymentException(e, "Error closing form derivation context for form %s", form.getTitle());
+        } finally {
+            // Always close the context to free its javascript context in the pool
+            try {
+                formDerivationContext.close();
+            } catch (Exception e) {
+                throw new PaymentException(e, "Error closing form derivation context for form %s", form.getTitle());
+            }
         }
 
         return items;
@@ -159,7 +162,7 @@ public class FormPaymentService {
             var res = context
                     .getJavascriptEngine()
                     .registerGlobalContextObject(context.getJavascriptContextObject(form.getRoot().getId(), form.getRoot()))
-                    .evaluateCode(product.getUpfrontQuantityJavascript());
+                    .evaluateCode(product.getUpfrontQuantityJavascript(), context.getJavascriptSourceScope(), "products/" + product.getId());
             if (res == null) {
                 return 0L;
             }
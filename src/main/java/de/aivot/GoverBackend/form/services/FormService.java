@@ -8,11 +8,13 @@ import de.aivot.GoverBackend.elements.services.ElementApprovalService;
 import de.aivot.GoverBackend.enums.SubmissionStatus;
 import de.aivot.GoverBackend.form.entities.Form;
 import de.aivot.GoverBackend.form.enums.FormStatus;
+import de.aivot.GoverBackend.form.models.FormDerivationContext;
 import de.aivot.GoverBackend.form.models.FormPublishChecklistItem;
 import de.aivot.GoverBackend.form.repositories.FormRepository;
 import de.aivot.GoverBackend.identity.filters.IdentityProviderFilter;
 import de.aivot.GoverBackend.identity.models.IdentityProviderLink;
 import de.aivot.GoverBackend.identity.services.IdentityProviderService;
+import de.aivot.GoverBackend.javascript.services.JavascriptSourceCache;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.lib.services.EntityService;
@@ -48,6 +50,10 @@ public class FormService implements EntityService<Form, Integer> {
     private final SubmissionService submissionService;
     private final SubmissionRepository submissionRepository;
     private final IdentityProviderService identityProviderService;
+    private final JavascriptSourceCache javascriptSourceCache;
+    private final FormDependencyGraphService formDependencyGraphService;
+    private final FormCacheService formCacheService;
+    private final UserFormAccessService userFormAccessService;
 
     @Autowired
     public FormService(
@@ -59,7 +65,11 @@ public class FormService implements EntityService<Form, Integer> {
             AssetService assetService,
             SubmissionService submissionService,
             SubmissionRepository submissionRepository,
-            IdentityProviderService identityProviderService
+            IdentityProviderService identityProviderService,
+            JavascriptSourceCache javascriptSourceCache,
+            FormDependencyGraphService formDependencyGraphService,
+            FormCacheService formCacheService,
+            UserFormAccessService userFormAccessService
     ) {
         this.repository = repository;
         this.destinationService = destinationService;
@@ -70,6 +80,10 @@ public class FormService implements EntityService<Form, Integer> {
         this.submissionService = submissionService;
         this.submissionRepository = submissionRepository;
         this.identityProviderService = identityProviderService;
+        this.javascriptSourceCache = javascriptSourceCache;
+        this.formDependencyGraphService = formDependencyGraphService;
+        this.formCacheService = formCacheService;
+        this.userFormAccessService = userFormAccessService;
     }
 
     @Nonnull
@@ -90,7 +104,9 @@ public class FormService implements EntityService<Form, Integer> {
 
         var cleanedEntity = cleanRelatedData(entity);
 
-        return repository.save(cleanedEntity);
+        var savedForm = repository.save(cleanedEntity);
+        userFormAccessService.refreshForForm(savedForm.getId());
+        return savedForm;
     }
 
     @Nonnull
@@ -140,7 +156,10 @@ public class FormService implements EntityService<Form, Integer> {
 
         cleanRelatedData(existingForm);
 
-        return repository.save(existingForm);
+        var savedForm = repository.save(existingForm);
+        userFormAccessService.refreshForForm(savedForm.getId());
+        invalidateCaches(savedForm);
+        return savedForm;
     }
 
     @Nonnull
@@ -285,6 +304,7 @@ public class FormService implements EntityService<Form, Integer> {
         }
 
         repository.delete(form);
+        invalidateCaches(form);
     }
 
     @Nonnull
@@ -419,7 +439,9 @@ public class FormService implements EntityService<Form, Integer> {
 
         existingForm.setStatus(FormStatus.Published);
 
-        return repository.save(existingForm);
+        var savedForm = repository.save(existingForm);
+        invalidateCaches(savedForm);
+        return savedForm;
     }
 
     @Nonnull
@@ -429,6 +451,21 @@ public class FormService implements EntityService<Form, Integer> {
         }
 
         existingForm.setStatus(FormStatus.Revoked);
-        return repository.save(existingForm);
+
+        var savedForm = repository.save(existingForm);
+        invalidateCaches(savedForm);
+        return savedForm;
+    }
+
+    /**
+     * Drop all cached data derived from the given form.
+     * This must be called whenever a form is changed or removed.
+     *
+     * @param form The form that changed.
+     */
+    private void invalidateCaches(@Nonnull Form form) {
+        javascriptSourceCache.invalidate(FormDerivationContext.createJavascriptSourceScope(form.getId()));
+        formDependencyGraphService.invalidate(form.getId());
+        formCacheService.invalidate(form.getId());
     }
 }
@@ -0,0 +1,39 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.form.entities.FormWithMembershipListItem;
+import de.aivot.GoverBackend.form.repositories.FormWithMembershipListItemRepository;
+import de.aivot.GoverBackend.lib.models.Filter;
+import de.aivot.GoverBackend.lib.services.ListEntityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Service for listing forms with memberships without loading their json columns.
+ */
+@Service
+public class FormWithMembershipListItemService implements ListEntityService<FormWithMembershipListItem> {
+    private final FormWithMembershipListItemRepository repository;
+
+    @Autowired
+    public FormWithMembershipListItemService(
+            FormWithMembershipListItemRepository repository
+    ) {
+        this.repository = repository;
+    }
+
+    @Nonnull
+    @Override
+    public Page<FormWithMembershipListItem> performList(
+            @Nonnull Pageable pageable,
+            @Nullable Specification<FormWithMembershipListItem> specification,
+            @Nullable Filter<FormWithMembershipListItem> filter
+    ) {
+        return repository.findAll(specification, pageable);
+    }
+}
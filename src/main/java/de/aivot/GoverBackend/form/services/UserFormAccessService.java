@@ -0,0 +1,62 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.form.repositories.UserFormAccessRepository;
+import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for maintaining the access of users to forms.
+ * <p>
+ * The access is derived from the memberships of the users in the developing, managing and responsible departments of the forms.
+ * It is stored in the {@code user_form_access} table, which the {@code forms_with_memberships} and {@code submissions_with_memberships} views join by its primary key.
+ * This way the views do not have to aggregate the memberships of all users for every query.
+ * <p>
+ * The records must be refreshed whenever a membership or the departments of a form change.
+ * Removed users and forms are cleaned up by the foreign keys of the table.
+ */
+@Service
+public class UserFormAccessService {
+    private final UserFormAccessRepository repository;
+
+    @Autowired
+    public UserFormAccessService(UserFormAccessRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Refresh the access of all users to a single form.
+     * Must be called after the departments of the form changed.
+     *
+     * @param formId The id of the form.
+     */
+    @Transactional
+    public void refreshForForm(@Nonnull Integer formId) {
+        repository.deleteAllByFormId(formId);
+        repository.insertAllByFormId(formId);
+    }
+
+    /**
+     * Refresh the access of a single user to all forms.
+     * Must be called after a membership of the user was created or removed.
+     *
+     * @param userId The id of the user.
+     */
+    @Transactional
+    public void refreshForUser(@Nonnull String userId) {
+        repository.deleteAllByUserId(userId);
+        repository.insertAllByUserId(userId);
+    }
+
+    /**
+     * Reconcile the access of all users to all forms.
+     * Only records, which differ from the memberships, are written.
+     * This catches changes, which were not made through the services, e.g. directly in the database.
+     */
+    @Transactional
+    public void refreshAll() {
+        repository.deleteAllStale();
+        repository.insertAll();
+    }
+}
@@ -0,0 +1,39 @@
+package de.aivot.GoverBackend.javascript.exceptions;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Thrown if the evaluation of javascript code exceeded one of the limits of the {@link de.aivot.GoverBackend.javascript.services.JavascriptExecutionBudget}.
+ * The message is shown as the error of the element the code belongs to.
+ */
+public class JavascriptBudgetExceededException extends RuntimeException {
+    private final Limit limit;
+
+    public JavascriptBudgetExceededException(@Nonnull Limit limit, Throwable cause) {
+        super("Die Berechnung wurde abgebrochen, da sie zu lange gedauert hat.", cause);
+        this.limit = limit;
+    }
+
+    @Nonnull
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * The limit which was exceeded.
+     */
+    public enum Limit {
+        /**
+         * The evaluation ran longer than the evaluation timeout.
+         */
+        EVALUATION_TIMEOUT,
+        /**
+         * The evaluations of the derivation used up the derivation time budget.
+         */
+        DERIVATION_BUDGET,
+        /**
+         * The evaluation executed more statements than allowed.
+         */
+        STATEMENT_LIMIT
+    }
+}
@@ -100,6 +100,42 @@ public class JavascriptCode {
         return ids;
     }
 
+    /**
+     * Check if the code accesses the derivation data in a way, which cannot be detected by {@link #getReferencedIds()}.
+     * This is the case, if the context object or one of its data objects is not accessed by a plain member access, e.g. passed to a function, destructured or accessed with a computed key.
+     *
+     * @return true if the code may reference ids, which are not returned by {@link #getReferencedIds()}, false otherwise
+     */
+    @JsonIgnore
+    public boolean hasDynamicReferences() {
+        if (code == null || StringUtils.isNullOrEmpty(code)) {
+            return false;
+        }
+
+        var contextObjectPattern = Pattern.compile("\\b" + JavascriptEngine.JS_CONTEXT_OBJECT_NAME + "\\b");
+
+        var staticAccessRegex = String.format(
+                "\\b%s\\s*\\.\\s*(?:(?:%s|%s|%s|%s|%s|%s)\\s*\\.\\s*[a-zA-Z0-9_$]+\\b|(?!(?:%s|%s|%s|%s|%s|%s)\\b)[a-zA-Z_$][a-zA-Z0-9_$]*)",
+                JavascriptEngine.JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.INPUT_VALUES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.COMPUTED_VALUES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.VALUES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.VISIBILITIES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.ERRORS_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.OVERRIDES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.INPUT_VALUES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.COMPUTED_VALUES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.VALUES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.VISIBILITIES_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.ERRORS_JS_CONTEXT_OBJECT_NAME,
+                BaseElementDerivationContext.OVERRIDES_JS_CONTEXT_OBJECT_NAME
+        );
+        var staticAccessPattern = Pattern.compile(staticAccessRegex);
+
+        // Every occurrence of the context object must be a static access
+        return contextObjectPattern.matcher(code).results().count() != staticAccessPattern.matcher(code).results().count();
+    }
+
     // endregion
 
     // region Equals & HashCode
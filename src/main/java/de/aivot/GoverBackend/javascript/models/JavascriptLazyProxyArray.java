@@ -0,0 +1,68 @@
+package de.aivot.GoverBackend.javascript.models;
+
+import jakarta.annotation.Nonnull;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-through view of a java collection for the javascript context.
+ * The elements are only converted into javascript values, when the javascript code accesses them.
+ * See {@link JavascriptLazyProxyObject} for more information.
+ */
+public class JavascriptLazyProxyArray implements ProxyArray {
+    private static final Object NOT_CONVERTED = new Object();
+
+    private final List<?> source;
+    private final List<Object> elements;
+
+    public JavascriptLazyProxyArray(@Nonnull Collection<?> source) {
+        this.source = source instanceof List<?> list ? list : new ArrayList<>(source);
+        this.elements = new ArrayList<>(this.source.size());
+        for (var i = 0; i < this.source.size(); i++) {
+            this.elements.add(NOT_CONVERTED);
+        }
+    }
+
+    @Override
+    public Object get(long index) {
+        var i = checkIndex(index);
+        var element = elements.get(i);
+        if (element == NOT_CONVERTED) {
+            element = JavascriptLazyProxyObject.toGuestValue(source.get(i));
+            elements.set(i, element);
+        }
+        return element;
+    }
+
+    @Override
+    public void set(long index, Value value) {
+        elements.set(checkIndex(index), value.isHostObject() ? value.asHostObject() : value);
+    }
+
+    @Override
+    public boolean remove(long index) {
+        var i = checkIndex(index);
+        // Convert the remaining elements, because their positions no longer match the source
+        for (var j = 0; j < elements.size(); j++) {
+            get(j);
+        }
+        elements.remove(i);
+        return true;
+    }
+
+    @Override
+    public long getSize() {
+        return elements.size();
+    }
+
+    private static int checkIndex(long index) {
+        if (index > Integer.MAX_VALUE || index < 0) {
+            throw new ArrayIndexOutOfBoundsException("invalid index.");
+        }
+        return (int) index;
+    }
+}
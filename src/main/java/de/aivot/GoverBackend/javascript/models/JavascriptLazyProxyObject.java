@@ -0,0 +1,153 @@
+package de.aivot.GoverBackend.javascript.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.Proxy;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through view of a java map for the javascript context.
+ * The members are only converted into javascript values, when the javascript code accesses them.
+ * Converted members are kept for the lifetime of the view, so repeated accesses do not convert the same member again.
+ * <p>
+ * The view never writes through to the underlying map.
+ * As soon as the javascript code changes a member, the view copies all members and works on this copy from then on.
+ */
+public class JavascriptLazyProxyObject implements ProxyObject {
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    private final Map<?, ?> source;
+    private final Map<String, Object> members = new HashMap<>();
+    private boolean detached = false;
+
+    public JavascriptLazyProxyObject(@Nonnull Map<?, ?> source) {
+        this.source = source;
+    }
+
+    @Override
+    public Object getMember(String key) {
+        if (members.containsKey(key) || detached) {
+            return members.get(key);
+        }
+
+        var member = toGuestValue(source.get(key));
+        members.put(key, member);
+        return member;
+    }
+
+    @Override
+    public Object getMemberKeys() {
+        if (detached) {
+            return ProxyArray.fromList(new ArrayList<>(members.keySet()));
+        }
+
+        var keys = new ArrayList<Object>();
+        for (var key : source.keySet()) {
+            if (key instanceof String) {
+                keys.add(key);
+            }
+        }
+        return ProxyArray.fromList(keys);
+    }
+
+    @Override
+    public boolean hasMember(String key) {
+        if (detached) {
+            return members.containsKey(key);
+        }
+        return source.containsKey(key);
+    }
+
+    @Override
+    public void putMember(String key, Value value) {
+        detach();
+        members.put(key, value.isHostObject() ? value.asHostObject() : value);
+    }
+
+    @Override
+    public boolean removeMember(String key) {
+        detach();
+        if (members.containsKey(key)) {
+            members.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Convert all members not converted yet and stop reading from the underlying map.
+     */
+    private void detach() {
+        if (detached) {
+            return;
+        }
+
+        for (var key : source.keySet()) {
+            if (key instanceof String sKey && !members.containsKey(sKey)) {
+                members.put(sKey, toGuestValue(source.get(sKey)));
+            }
+        }
+        detached = true;
+    }
+
+    /**
+     * Converts a java object into a value, which can be passed into the javascript context.
+     * Maps and collections are wrapped in lazy views, numbers are normalized and other objects are converted into their json representation first.
+     * Suppliers are resolved, which allows to compute expensive members only if the javascript code accesses them.
+     *
+     * @param value the object to convert.
+     * @return the converted value.
+     */
+    @Nullable
+    public static Object toGuestValue(@Nullable Object value) {
+        return switch (value) {
+            case null -> null;
+
+            case Proxy proxy -> proxy;
+            case Value guestValue -> guestValue;
+            case String string -> string;
+            case Boolean bool -> bool;
+            case Supplier<?> supplier -> toGuestValue(supplier.get());
+
+            case Map<?, ?> map -> new JavascriptLazyProxyObject(map);
+            case Collection<?> collection -> new JavascriptLazyProxyArray(collection);
+
+            case BigDecimal number -> number.doubleValue();
+            case Double number -> number.doubleValue();
+            case Float number -> number.doubleValue();
+
+            case BigInteger number -> number.intValue();
+            case Integer number -> number.intValue();
+            case Long number -> number.intValue();
+            case Short number -> number.intValue();
+
+            case Number number -> number.doubleValue();
+
+            default -> toGuestValue(toPlainValue(value));
+        };
+    }
+
+    /**
+     * Converts a java object into its json representation, consisting only of maps, lists and primitive values.
+     *
+     * @param value the object to convert.
+     * @return the json representation of the object.
+     */
+    @Nullable
+    public static Object toPlainValue(@Nullable Object value) {
+        return objectMapper.convertValue(value, Object.class);
+    }
+}
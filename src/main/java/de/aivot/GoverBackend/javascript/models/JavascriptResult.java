@@ -20,6 +20,17 @@ public class JavascriptResult {
         this.value = value;
     }
 
+    /**
+     * Get the raw value of the execution, e.g. to call a function the code resulted in.
+     * The value is only valid as long as the engine which produced it is not closed.
+     *
+     * @return the raw value.
+     */
+    @Nullable
+    public Value getValue() {
+        return value;
+    }
+
     public boolean isNull() {
         return value == null || value.isNull();
     }
@@ -0,0 +1,110 @@
+package de.aivot.GoverBackend.javascript.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for the javascript execution.
+ * The properties are loaded from the application configuration file.
+ * They control how many sandboxed javascript contexts can be leased from the shared context pool at the same time, how long a request may wait for one and how many prepared sources are cached.
+ * The budget properties limit how long the javascript code of a single evaluation and of a whole derivation may run.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "javascript")
+public class JavascriptConfigurationProperties {
+    /**
+     * The maximum number of javascript contexts that can be leased at the same time.
+     */
+    private Integer contextPoolSize = 16;
+
+    /**
+     * The maximum time in milliseconds a caller waits for a free javascript context before giving up.
+     */
+    private Long contextPoolMaxWait = 5000L;
+
+    /**
+     * The maximum number of scopes, e.g. forms, for which prepared javascript sources are cached.
+     */
+    private Integer sourceCacheMaxScopes = 256;
+
+    /**
+     * The maximum number of prepared javascript sources cached per scope.
+     */
+    private Integer sourceCacheMaxEntriesPerScope = 4096;
+
+    /**
+     * The maximum time in milliseconds a single evaluation of javascript code may run, before it is interrupted.
+     * Set to 0 to disable the limit.
+     */
+    private Long evaluationTimeout = 2000L;
+
+    /**
+     * The total time in milliseconds all evaluations of javascript code for a single derivation may run.
+     * Once the budget is used up, all further evaluations of the derivation fail without being run.
+     * Set to 0 to disable the limit.
+     */
+    private Long derivationTimeBudget = 10000L;
+
+    /**
+     * The maximum number of statements a single evaluation of javascript code may execute.
+     * Exceeding the limit cancels the context, so all further evaluations of the derivation fail as well.
+     * Set to 0 to disable the limit.
+     */
+    private Long evaluationStatementLimit = 0L;
+
+    public Integer getContextPoolSize() {
+        return contextPoolSize;
+    }
+
+    public void setContextPoolSize(Integer contextPoolSize) {
+        this.contextPoolSize = contextPoolSize;
+    }
+
+    public Long getContextPoolMaxWait() {
+        return contextPoolMaxWait;
+    }
+
+    public void setContextPoolMaxWait(Long contextPoolMaxWait) {
+        this.contextPoolMaxWait = contextPoolMaxWait;
+    }
+
+    public Integer getSourceCacheMaxScopes() {
+        return sourceCacheMaxScopes;
+    }
+
+    public void setSourceCacheMaxScopes(Integer sourceCacheMaxScopes) {
+        this.sourceCacheMaxScopes = sourceCacheMaxScopes;
+    }
+
+    public Integer getSourceCacheMaxEntriesPerScope() {
+        return sourceCacheMaxEntriesPerScope;
+    }
+
+    public void setSourceCacheMaxEntriesPerScope(Integer sourceCacheMaxEntriesPerScope) {
+        this.sourceCacheMaxEntriesPerScope = sourceCacheMaxEntriesPerScope;
+    }
+
+    public Long getEvaluationTimeout() {
+        return evaluationTimeout;
+    }
+
+    public void setEvaluationTimeout(Long evaluationTimeout) {
+        this.evaluationTimeout = evaluationTimeout;
+    }
+
+    public Long getDerivationTimeBudget() {
+        return derivationTimeBudget;
+    }
+
+    public void setDerivationTimeBudget(Long derivationTimeBudget) {
+        this.derivationTimeBudget = derivationTimeBudget;
+    }
+
+    public Long getEvaluationStatementLimit() {
+        return evaluationStatementLimit;
+    }
+
+    public void setEvaluationStatementLimit(Long evaluationStatementLimit) {
+        this.evaluationStatementLimit = evaluationStatementLimit;
+    }
+}
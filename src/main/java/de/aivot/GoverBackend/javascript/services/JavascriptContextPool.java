@@ -0,0 +1,174 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import de.aivot.GoverBackend.exceptions.UserFriendlyResponseStatusException;
+import de.aivot.GoverBackend.javascript.providers.JavascriptFunctionProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of sandboxed javascript contexts, which all share a single polyglot {@link Engine}.
+ * Sharing the engine allows GraalJS to reuse parsed code across contexts, while the pool limits how many contexts evaluate code at the same time.
+ * <p>
+ * Every lease gets a new context wrapped in a {@link JavascriptEngine}, which is closed again when that engine is closed.
+ * Contexts are never handed to a second lease, because the code of one form could otherwise change built-ins like {@code Object.prototype} and read or send the data of the next form evaluated in the same context.
+ * Creating a context on the shared engine is cheap compared to creating a context with its own engine.
+ */
+public class JavascriptContextPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JavascriptContextPool.class);
+
+    private static final String METRIC_PREFIX = "gover.javascript.context.pool";
+
+    private final Engine engine;
+    private final List<JavascriptFunctionProvider> functionProviders;
+    private final JavascriptSourceCache sourceCache;
+    private final JavascriptExecutionBudget budget;
+    private final Duration maxWait;
+
+    private final Semaphore leases;
+    private final AtomicInteger leasedContexts = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Timer createTimer;
+    private final Counter createdCounter;
+    private final Counter exhaustedCounter;
+
+    private volatile boolean closed = false;
+
+    public JavascriptContextPool(
+            @Nonnull List<JavascriptFunctionProvider> functionProviders,
+            @Nullable JavascriptSourceCache sourceCache,
+            @Nullable JavascriptExecutionBudget budget,
+            int size,
+            @Nonnull Duration maxWait,
+            @Nonnull MeterRegistry meterRegistry
+    ) {
+        this.engine = JavascriptEngine.createSharedEngine();
+        this.functionProviders = functionProviders;
+        this.sourceCache = sourceCache;
+        this.budget = budget;
+        this.maxWait = maxWait;
+        this.leases = new Semaphore(size, true);
+
+        Gauge.builder(METRIC_PREFIX + ".size", () -> size)
+                .description("Maximum number of javascript contexts that can be leased at the same time")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".leased", leasedContexts, AtomicInteger::get)
+                .description("Number of javascript contexts currently leased")
+                .register(meterRegistry);
+
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time spent waiting for a free javascript context")
+                .register(meterRegistry);
+        this.createTimer = Timer.builder(METRIC_PREFIX + ".create")
+                .description("Time spent creating a javascript context for a lease")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder(METRIC_PREFIX + ".created")
+                .description("Number of javascript contexts created")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder(METRIC_PREFIX + ".exhausted")
+                .description("Number of leases that failed because no javascript context became available in time")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lease a new javascript context from the pool.
+     * The caller must close the returned engine to close the context and free its slot in the pool.
+     *
+     * @return A javascript engine backed by a new context.
+     * @throws UserFriendlyResponseStatusException If no slot became available within the configured wait time.
+     */
+    @Nonnull
+    public JavascriptEngine lease() {
+        if (closed) {
+            throw new IllegalStateException("The javascript context pool is already closed");
+        }
+
+        var start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = leases.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            exhaustedCounter.increment();
+            throw new UserFriendlyResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Der Server ist derzeit ausgelastet. Bitte versuchen Sie es in Kürze erneut.");
+        }
+
+        Context context;
+        try {
+            context = createContext();
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+
+        leasedContexts.incrementAndGet();
+
+        return new JavascriptEngine(context, sourceCache, budget, () -> release(context));
+    }
+
+    /**
+     * Close a leased context and free its slot in the pool.
+     *
+     * @param context The context to close.
+     */
+    private void release(@Nonnull Context context) {
+        try {
+            context.close(true);
+        } catch (Exception e) {
+            logger
+                    .atWarn()
+                    .setMessage("Failed to close javascript context")
+                    .setCause(e)
+                    .log();
+        } finally {
+            leasedContexts.decrementAndGet();
+            leases.release();
+        }
+    }
+
+    @Nonnull
+    private Context createContext() {
+        var start = System.nanoTime();
+
+        var context = JavascriptEngine.createContext(engine, budget != null ? budget.getResourceLimits() : null);
+        var bindings = context.getBindings(JavascriptEngine.JS_ENGINE_NAME);
+        for (var functionProvider : functionProviders) {
+            bindings.putMember(functionProvider.getObjectName(), functionProvider);
+        }
+
+        createTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        createdCounter.increment();
+
+        return context;
+    }
+
+    /**
+     * Close the shared engine.
+     * Contexts which are still leased are closed together with the engine.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        engine.close(true);
+    }
+}
@@ -1,21 +1,23 @@
 package de.aivot.GoverBackend.javascript.services;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import de.aivot.GoverBackend.javascript.models.JavascriptCode;
+import de.aivot.GoverBackend.javascript.models.JavascriptLazyProxyObject;
 import de.aivot.GoverBackend.javascript.models.JavascriptResult;
 import de.aivot.GoverBackend.javascript.providers.JavascriptFunctionProvider;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotAccess;
+import org.graalvm.polyglot.ResourceLimits;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
-import org.graalvm.polyglot.proxy.ProxyArray;
-import org.graalvm.polyglot.proxy.ProxyObject;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.util.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Class for executing javascript code.
@@ -28,8 +30,43 @@ import java.util.*;
 public class JavascriptEngine implements AutoCloseable {
     public static final String JS_CONTEXT_OBJECT_NAME = "ctx";
 
+    static final String JS_ENGINE_NAME = "js";
+    private static final String JS_ANONYMOUS_SOURCE_NAME = "Unnamed";
+
     private final Context graalContext;
-    private final static String JS_ENGINE_NAME = "js";
+
+    /**
+     * Called instead of closing the context, if the context was leased from a {@link JavascriptContextPool}.
+     */
+    @Nullable
+    private final Runnable releaseHandler;
+
+    @Nullable
+    private final JavascriptSourceCache sourceCache;
+
+    /**
+     * The limits for the evaluations of this executioner or null, if the evaluations are not limited.
+     */
+    @Nullable
+    private final JavascriptExecutionBudget budget;
+
+    /**
+     * The time spent by the evaluations of this executioner, which is checked against the derivation time budget.
+     */
+    private final JavascriptExecutionBudget.Usage budgetUsage = new JavascriptExecutionBudget.Usage();
+
+    /**
+     * The scope shared by all evaluations of this executioner, which lives as long as the executioner is not closed.
+     */
+    private final JavascriptExecutionScope executionScope = new JavascriptExecutionScope();
+
+    /**
+     * The functions created by {@link #executeFunction}, keyed by the code they were created from.
+     * The functions belong to the context, so they are only kept as long as this executioner is not closed.
+     */
+    private final Map<String, Value> functions = new HashMap<>();
+
+    private boolean closed = false;
 
     /**
      * Creates a new javascript executioner with the given function providers.
@@ -42,20 +79,70 @@ public class JavascriptEngine implements AutoCloseable {
 
     /**
      * Creates a new javascript executioner with the given function providers.
+     * The executioner uses its own context, which is closed when the executioner is closed.
+     * Use the {@link JavascriptEngineFactoryService} to obtain a pooled executioner instead.
      *
      * @param functionProviders the function providers to add to the javascript context.
      */
     public JavascriptEngine(List<JavascriptFunctionProvider> functionProviders) {
-        graalContext = Context
+        graalContext = createContext(null, null);
+        releaseHandler = null;
+        sourceCache = null;
+        budget = null;
+
+        // Add the function providers to the javascript context.
+        for (var fp : functionProviders) {
+            graalContext
+                    .getBindings(JS_ENGINE_NAME)
+                    .putMember(fp.getObjectName(), fp);
+        }
+    }
+
+    /**
+     * Creates a new javascript executioner for a context leased from the pool.
+     * The function providers must already be registered in the context.
+     *
+     * @param graalContext   the leased context.
+     * @param sourceCache    the cache for the prepared sources of scoped code.
+     * @param budget         the limits for the evaluations or null, if the evaluations are not limited.
+     * @param releaseHandler the handler closing the context and freeing its slot in the pool, when the executioner is closed.
+     */
+    JavascriptEngine(@Nonnull Context graalContext, @Nullable JavascriptSourceCache sourceCache, @Nullable JavascriptExecutionBudget budget, @Nonnull Runnable releaseHandler) {
+        this.graalContext = graalContext;
+        this.sourceCache = sourceCache;
+        this.budget = budget;
+        this.releaseHandler = releaseHandler;
+    }
+
+    /**
+     * Creates the polyglot engine, which is shared by all pooled contexts.
+     * Engine options must be set here, because contexts with a shared engine cannot set engine options themselves.
+     *
+     * @return the shared engine.
+     */
+    static Engine createSharedEngine() {
+        return Engine
+                .newBuilder(JS_ENGINE_NAME)
+                // Remove warning that the engine is only in interpreter mode. TODO: Resolve this problem and remove this option.
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+    }
+
+    /**
+     * Creates a new sandboxed javascript context.
+     *
+     * @param engine         the shared engine to create the context for or null to create a context with its own engine.
+     * @param resourceLimits the resource limits of the context or null, if the context is not limited. All contexts of a shared engine must use the same limits.
+     * @return the new context.
+     */
+    static Context createContext(@Nullable Engine engine, @Nullable ResourceLimits resourceLimits) {
+        var builder = Context
                 // Create a new context builder for the javascript engine.
                 .newBuilder(JS_ENGINE_NAME)
 
                 // Specify the ecmascript version to use. This is necessary to use the latest features of javascript. Currently, the latest version is 2022.
                 .option("js.ecmascript-version", "2022")
 
-                // Remove warning that the engine is only in interpreter mode. TODO: Resolve this problem and remove this option.
-                .option("engine.WarnInterpreterOnly", "false")
-
                 // Only allow access to explicitly exported functions and fields. This behavior does not affect the access to proxy objects.
                 .allowHostAccess(HostAccess.EXPLICIT)
 
@@ -64,17 +151,21 @@ public class JavascriptEngine implements AutoCloseable {
                 .allowCreateProcess(false)
                 .allowHostClassLookup(className -> false)
                 .allowHostClassLoading(false)
-                .allowPolyglotAccess(PolyglotAccess.NONE)
+                .allowPolyglotAccess(PolyglotAccess.NONE);
 
-                // Build the context.
-                .build();
+        if (engine != null) {
+            builder.engine(engine);
+        } else {
+            // Remove warning that the engine is only in interpreter mode. TODO: Resolve this problem and remove this option.
+            builder.option("engine.WarnInterpreterOnly", "false");
+        }
 
-        // Add the function providers to the javascript context.
-        for (var fp : functionProviders) {
-            graalContext
-                    .getBindings(JS_ENGINE_NAME)
-                    .putMember(fp.getObjectName(), fp);
+        if (resourceLimits != null) {
+            builder.resourceLimits(resourceLimits);
         }
+
+        // Build the context.
+        return builder.build();
     }
 
     /**
@@ -84,113 +175,133 @@ public class JavascriptEngine implements AutoCloseable {
      * @return the result of the evaluation.
      */
     public JavascriptResult evaluateCode(JavascriptCode code) {
+        return evaluateCode(code, null, null);
+    }
+
+    /**
+     * Evaluates the given code and returns the result.
+     * If a scope is given and this executioner is backed by the context pool, the prepared source of the code is cached in the {@link JavascriptSourceCache}.
+     * This allows the shared engine to reuse the parsed code for every further evaluation.
+     * While the code is evaluated, the {@link JavascriptExecutionScope} of this executioner is the current scope of the calling thread.
+     * Evaluations of pooled executioners are limited by the {@link JavascriptExecutionBudget} and fail with a {@link de.aivot.GoverBackend.javascript.exceptions.JavascriptBudgetExceededException}, if they exceed it.
+     *
+     * @param code      the code to evaluate.
+     * @param scope     the scope of the code, e.g. the form the code belongs to.
+     * @param elementId the id of the element the code belongs to.
+     * @return the result of the evaluation.
+     */
+    public JavascriptResult evaluateCode(@Nullable JavascriptCode code, @Nullable String scope, @Nullable String elementId) {
         if (code == null || code.isEmpty()) {
             return new JavascriptResult(Value.asValue(null));
         }
 
-        var value = graalContext
-                .eval(JS_ENGINE_NAME, code.getCode());
-        return new JavascriptResult(value);
-    }
+        var source = sourceCache != null && scope != null ?
+                sourceCache.get(scope, elementId, code.getCode()) :
+                createSource(code.getCode(), JS_ANONYMOUS_SOURCE_NAME);
 
-    public JavascriptEngine registerGlobalContextObject(Object object) {
-        return registerGlobalObject(JS_CONTEXT_OBJECT_NAME, object);
+        return new JavascriptResult(execute(scope, elementId, () -> graalContext.eval(source)));
     }
 
     /**
-     * Adds a global object to the javascript context by inserting the given object under the given object name.
-     * E.g. if the name is "test" and the object has the key "key", the value of the key "key" in the object will be available as test.key.
-     * The given object is recursively converted to a proxy object.
+     * Evaluates the given code, which must result in a function, and calls this function with the given arguments.
+     * The function is created only once per executioner, so code called repeatedly during a derivation is evaluated only once.
+     * Unlike code evaluated with {@link #evaluateCode}, the data is passed as arguments, so the code stays the same for every call and its parsed source can be cached.
      *
-     * @param objectName the name of the object in the javascript context.
-     * @param object     the object to add to the javascript context.
-     * @return this service instance.
+     * @param code      the code creating the function.
+     * @param scope     the scope of the code, e.g. the form the code belongs to.
+     * @param elementId the id of the element the code belongs to.
+     * @param arguments the arguments for the function. They are converted with {@link JavascriptLazyProxyObject#toGuestValue(Object)}.
+     * @return the return value of the function.
      */
-    public JavascriptEngine registerGlobalObject(String objectName, Object object) {
-        var map = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .convertValue(object, new TypeReference<Map<String, Object>>() {
-                });
-
-        var proxy = mapToProxyObject(map);
+    public JavascriptResult executeFunction(@Nonnull JavascriptCode code, @Nullable String scope, @Nullable String elementId, @Nullable Object... arguments) {
+        var function = functions.get(code.getCode());
+        if (function == null) {
+            function = evaluateCode(code, scope, elementId).getValue();
+            if (function == null || !function.canExecute()) {
+                throw new IllegalArgumentException("The javascript code does not result in a function");
+            }
+            functions.put(code.getCode(), function);
+        }
 
-        graalContext
-                .getBindings(JS_ENGINE_NAME)
-                .putMember(objectName, proxy);
+        var guestArguments = new Object[arguments == null ? 0 : arguments.length];
+        for (var i = 0; i < guestArguments.length; i++) {
+            guestArguments[i] = JavascriptLazyProxyObject.toGuestValue(arguments[i]);
+        }
 
-        return this;
+        var executable = function;
+        return new JavascriptResult(execute(scope, elementId, () -> executable.execute(guestArguments)));
     }
 
     /**
-     * Converts a nested map to a proxy object.
+     * Runs an evaluation in the {@link JavascriptExecutionScope} of this executioner and within the limits of its budget.
      *
-     * @param map the map to convert.
-     * @return the proxy object.
+     * @param scope      the scope of the code, e.g. the form the code belongs to.
+     * @param elementId  the id of the element the code belongs to.
+     * @param evaluation the evaluation to run.
+     * @return the result of the evaluation.
      */
-    private static ProxyObject mapToProxyObject(Map<?, ?> map) {
-        var mutableMap = new HashMap<String, Object>();
-
-        for (var key : map.keySet()) {
-            if (key instanceof String sKey) {
-                var value = map.get(key);
-
-                switch (value) {
-                    case Map<?, ?> childMap -> mutableMap.put(sKey, mapToProxyObject(childMap));
-                    case Collection<?> childCollection -> mutableMap.put(sKey, collectionToProxyArray(childCollection));
-
-                    case BigDecimal number -> mutableMap.put(sKey, number.doubleValue());
-                    case Double number -> mutableMap.put(sKey, number.doubleValue());
-                    case Float number -> mutableMap.put(sKey, number.doubleValue());
-
-                    case BigInteger number -> mutableMap.put(sKey, number.intValue());
-                    case Integer number -> mutableMap.put(sKey, number.intValue());
-                    case Long number -> mutableMap.put(sKey, number.intValue());
-                    case Short number -> mutableMap.put(sKey, number.intValue());
-
-                    case Number number -> mutableMap.put(sKey, number.doubleValue());
-
-                    case null, default -> mutableMap.put(sKey, value);
-                }
+    private Value execute(@Nullable String scope, @Nullable String elementId, @Nonnull Supplier<Value> evaluation) {
+        var previousScope = executionScope.enter();
+        try {
+            if (budget == null) {
+                return evaluation.get();
             }
+            return budget.execute(graalContext, executionScope, budgetUsage, scope, elementId, evaluation);
+        } finally {
+            JavascriptExecutionScope.restore(previousScope);
         }
-
-        return ProxyObject.fromMap(mutableMap);
     }
 
     /**
-     * Converts an iterable to a proxy array.
+     * Creates a source for the given code.
+     * The code is not changed, so directives like "use strict" keep their meaning.
      *
-     * @param iterable the iterable to convert.
-     * @return the proxy array.
+     * @param code the code to create the source for.
+     * @param name the name of the source, which shows up in stack traces.
+     * @return the created source.
      */
-    private static ProxyArray collectionToProxyArray(Collection<?> collection) {
-        var mutableList = new ArrayList<>();
-
-        for (var value : collection) {
-            switch (value) {
-                case Map<?, ?> childMap -> mutableList.add(mapToProxyObject(childMap));
-                case Collection<?> childCollection -> mutableList.add(collectionToProxyArray(childCollection));
-
-                case BigDecimal number -> mutableList.add(number.doubleValue());
-                case Double number -> mutableList.add(number.doubleValue());
-                case Float number -> mutableList.add(number.doubleValue());
-
-                case BigInteger number -> mutableList.add(number.intValue());
-                case Integer number -> mutableList.add(number.intValue());
-                case Long number -> mutableList.add(number.intValue());
-                case Short number -> mutableList.add(number.intValue());
+    static Source createSource(@Nonnull String code, @Nonnull String name) {
+        return Source
+                .newBuilder(JS_ENGINE_NAME, code, name)
+                .buildLiteral();
+    }
 
-                case Number number -> mutableList.add(number.doubleValue());
+    public JavascriptEngine registerGlobalContextObject(Object object) {
+        return registerGlobalObject(JS_CONTEXT_OBJECT_NAME, object);
+    }
 
-                case null, default -> mutableList.add(value);
-            }
-        }
+    /**
+     * Adds a global object to the javascript context by inserting the given object under the given object name.
+     * E.g. if the name is "test" and the object has the key "key", the value of the key "key" in the object will be available as test.key.
+     * The given object is wrapped in a {@link JavascriptLazyProxyObject}, which converts its members only when the javascript code accesses them.
+     *
+     * @param objectName the name of the object in the javascript context.
+     * @param object     the object to add to the javascript context.
+     * @return this service instance.
+     */
+    public JavascriptEngine registerGlobalObject(String objectName, Object object) {
+        graalContext
+                .getBindings(JS_ENGINE_NAME)
+                .putMember(objectName, JavascriptLazyProxyObject.toGuestValue(object));
 
-        return ProxyArray.fromList(mutableList);
+        return this;
     }
 
+    /**
+     * Closes the context and frees its slot in the pool, if it was leased from a pool.
+     * Closing an executioner multiple times has no further effect.
+     */
     @Override
     public void close() throws Exception {
-        graalContext.close();
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (releaseHandler != null) {
+            releaseHandler.run();
+        } else {
+            graalContext.close();
+        }
     }
 }
@@ -1,31 +1,58 @@
 package de.aivot.GoverBackend.javascript.services;
 
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
 import de.aivot.GoverBackend.javascript.providers.JavascriptFunctionProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Service for creating instances of the {@link JavascriptEngine} class.
  * This is necessary because the {@link JavascriptEngine} class cannot be a Spring bean and therefore cannot be injected into other classes.
  * The {@link JavascriptEngine} class is not a Spring bean because it is a resource that needs to be closed after use and bears some context information.
+ * The engines are leased from a {@link JavascriptContextPool}, which limits how many engines are in use at the same time and lets them share the parsed code.
+ * Each engine gets its own time budget of the {@link JavascriptExecutionBudget}, so an engine should be used for a single derivation only.
  */
 @Service
 public class JavascriptEngineFactoryService {
-    private final List<JavascriptFunctionProvider> functionProviders;
+    private final JavascriptExecutionBudget executionBudget;
+    private final JavascriptContextPool contextPool;
 
     @Autowired
-    public JavascriptEngineFactoryService(List<JavascriptFunctionProvider> functionProviders) {
-        this.functionProviders = functionProviders;
+    public JavascriptEngineFactoryService(
+            List<JavascriptFunctionProvider> functionProviders,
+            JavascriptSourceCache javascriptSourceCache,
+            JavascriptConfigurationProperties javascriptConfigurationProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.executionBudget = new JavascriptExecutionBudget(javascriptConfigurationProperties, meterRegistry);
+        this.contextPool = new JavascriptContextPool(
+                functionProviders,
+                javascriptSourceCache,
+                executionBudget,
+                javascriptConfigurationProperties.getContextPoolSize(),
+                Duration.ofMillis(javascriptConfigurationProperties.getContextPoolMaxWait()),
+                meterRegistry
+        );
     }
 
     /**
-     * Creates a new instance of the {@link JavascriptEngine} class.
+     * Leases an instance of the {@link JavascriptEngine} class from the shared context pool.
+     * The engine must be closed after use to free its slot in the pool.
      *
-     * @return A new instance of the {@link JavascriptEngine} class.
+     * @return An instance of the {@link JavascriptEngine} class.
      */
     public JavascriptEngine getEngine() {
-        return new JavascriptEngine(functionProviders);
+        return contextPool.lease();
+    }
+
+    @PreDestroy
+    public void close() {
+        contextPool.close();
+        executionBudget.close();
     }
 }
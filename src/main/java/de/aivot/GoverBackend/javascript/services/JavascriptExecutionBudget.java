@@ -0,0 +1,284 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import de.aivot.GoverBackend.javascript.exceptions.JavascriptBudgetExceededException;
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.ResourceLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Enforces the time and statement limits for the evaluation of javascript code in contexts leased from the pool.
+ * <p>
+ * Each evaluation is interrupted by a watchdog thread with {@link Context#interrupt(Duration)}, once it runs longer than the evaluation timeout or the remaining time budget of its derivation.
+ * The time budget of a derivation is tracked per {@link JavascriptEngine} by a {@link Usage}, so a form with many slow evaluations cannot block a worker for longer than the budget.
+ * The statement limit is enforced by GraalVM itself via {@link ResourceLimits}, which cancels the whole context when the limit is exceeded.
+ * <p>
+ * Exceeding a limit fails the evaluation with a {@link JavascriptBudgetExceededException}.
+ * The time spent per form and the exceeded limits per form and element are recorded as metrics.
+ */
+public class JavascriptExecutionBudget implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JavascriptExecutionBudget.class);
+
+    private static final String METRIC_PREFIX = "gover.javascript";
+    private static final String UNKNOWN_TAG_VALUE = "none";
+
+    /**
+     * The time the watchdog waits for an evaluation to stop, before it tries again.
+     * Evaluations can only be interrupted while they run javascript code and not while they wait for a host function, e.g. an http request.
+     */
+    private static final Duration INTERRUPT_TIMEOUT = Duration.ofMillis(100);
+
+    private final long evaluationTimeout;
+    private final long derivationTimeBudget;
+
+    @Nullable
+    private final ResourceLimits resourceLimits;
+
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * The evaluation timers by scope, which are looked up after every evaluation.
+     * Building the tags for the lookup in the meter registry is comparatively expensive, so the timers are kept by their scope.
+     */
+    private final Map<String, Timer> evaluationTimers = new ConcurrentHashMap<>();
+
+    public JavascriptExecutionBudget(
+            @Nonnull JavascriptConfigurationProperties properties,
+            @Nonnull MeterRegistry meterRegistry
+    ) {
+        this.evaluationTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getEvaluationTimeout(), 0));
+        this.derivationTimeBudget = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getDerivationTimeBudget(), 0));
+        this.meterRegistry = meterRegistry;
+
+        // The same limits must be used for all contexts of the shared engine, so they are created only once
+        this.resourceLimits = properties.getEvaluationStatementLimit() > 0 ?
+                ResourceLimits
+                        .newBuilder()
+                        .statementLimit(properties.getEvaluationStatementLimit(), null)
+                        .build() :
+                null;
+
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "javascript-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the resource limits, which must be set for all contexts evaluating code within this budget.
+     *
+     * @return The resource limits or null, if no statement limit is configured.
+     */
+    @Nullable
+    ResourceLimits getResourceLimits() {
+        return resourceLimits;
+    }
+
+    /**
+     * Run an evaluation of javascript code within the limits of this budget.
+     *
+     * @param context        The context the code is evaluated in.
+     * @param executionScope The execution scope of the evaluation, which receives the deadline of the evaluation.
+     * @param usage          The usage of the derivation the evaluation belongs to.
+     * @param scope          The scope of the code, e.g. the form the code belongs to.
+     * @param elementId      The id of the element the code belongs to.
+     * @param evaluation     The evaluation to run.
+     * @param <T>            The type of the result.
+     * @return The result of the evaluation.
+     * @throws JavascriptBudgetExceededException If the evaluation exceeded one of the limits.
+     */
+    <T> T execute(
+            @Nonnull Context context,
+            @Nonnull JavascriptExecutionScope executionScope,
+            @Nonnull Usage usage,
+            @Nullable String scope,
+            @Nullable String elementId,
+            @Nonnull Supplier<T> evaluation
+    ) {
+        // A context cancelled by the statement limit cannot evaluate any further code
+        if (usage.cancelled) {
+            throw exceeded(JavascriptBudgetExceededException.Limit.STATEMENT_LIMIT, scope, elementId, null);
+        }
+
+        var timeout = evaluationTimeout;
+        var timeoutLimit = JavascriptBudgetExceededException.Limit.EVALUATION_TIMEOUT;
+        if (derivationTimeBudget > 0) {
+            var remaining = derivationTimeBudget - usage.spent;
+            if (remaining <= 0) {
+                throw exceeded(JavascriptBudgetExceededException.Limit.DERIVATION_BUDGET, scope, elementId, null);
+            }
+            if (timeout <= 0 || remaining < timeout) {
+                timeout = remaining;
+                timeoutLimit = JavascriptBudgetExceededException.Limit.DERIVATION_BUDGET;
+            }
+        }
+
+        if (resourceLimits != null) {
+            context.resetLimits();
+        }
+
+        var start = System.nanoTime();
+        var interruption = timeout > 0 ? new Interruption(context) : null;
+        if (interruption != null) {
+            executionScope.setDeadline(start + timeout);
+            interruption.schedule(timeout);
+        }
+
+        try {
+            return evaluation.get();
+        } catch (PolyglotException e) {
+            var interrupted = interruption != null && interruption.finish();
+
+            if (e.isResourceExhausted() || e.isCancelled()) {
+                usage.cancelled = true;
+                throw exceeded(JavascriptBudgetExceededException.Limit.STATEMENT_LIMIT, scope, elementId, e);
+            }
+            if (e.isInterrupted() && interrupted) {
+                throw exceeded(timeoutLimit, scope, elementId, e);
+            }
+            throw e;
+        } finally {
+            if (interruption != null) {
+                interruption.finish();
+                executionScope.setDeadline(null);
+            }
+
+            var duration = System.nanoTime() - start;
+            usage.spent += duration;
+
+            evaluationTimers
+                    .computeIfAbsent(tagValue(scope), this::createEvaluationTimer)
+                    .record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Nonnull
+    private Timer createEvaluationTimer(@Nonnull String scope) {
+        return Timer.builder(METRIC_PREFIX + ".evaluation")
+                .description("Time spent evaluating javascript code")
+                .tag("form", scope)
+                .register(meterRegistry);
+    }
+
+    @Nonnull
+    private JavascriptBudgetExceededException exceeded(
+            @Nonnull JavascriptBudgetExceededException.Limit limit,
+            @Nullable String scope,
+            @Nullable String elementId,
+            @Nullable Throwable cause
+    ) {
+        // Budget hits are rare and caused by a few elements, so the element can be used as tag without creating too many meters
+        Counter.builder(METRIC_PREFIX + ".budget.exceeded")
+                .description("Number of javascript evaluations which exceeded a time or statement limit")
+                .tag("form", tagValue(scope))
+                .tag("element", tagValue(elementId))
+                .tag("limit", limit.name())
+                .register(meterRegistry)
+                .increment();
+
+        logger
+                .atWarn()
+                .setMessage("Javascript evaluation exceeded its budget")
+                .addKeyValue("scope", scope)
+                .addKeyValue("elementId", elementId)
+                .addKeyValue("limit", limit)
+                .log();
+
+        return new JavascriptBudgetExceededException(limit, cause);
+    }
+
+    @Nonnull
+    private static String tagValue(@Nullable String value) {
+        return value != null ? value : UNKNOWN_TAG_VALUE;
+    }
+
+    /**
+     * Stop the watchdog.
+     * Evaluations which are still running are no longer interrupted.
+     */
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * The time spent by all evaluations of a single derivation.
+     * A usage belongs to a single {@link JavascriptEngine}, which is only used by one thread at a time.
+     */
+    static class Usage {
+        private long spent = 0;
+        private boolean cancelled = false;
+    }
+
+    /**
+     * The pending interruption of a single evaluation.
+     * The interruption is synchronized with the end of the evaluation, so a late watchdog never interrupts the next evaluation of the same context.
+     */
+    private class Interruption implements Runnable {
+        private final Context context;
+        private ScheduledFuture<?> future;
+        private boolean active = true;
+        private boolean interrupted = false;
+
+        private Interruption(@Nonnull Context context) {
+            this.context = context;
+        }
+
+        private synchronized void schedule(long delay) {
+            future = watchdog.schedule(this, delay, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public synchronized void run() {
+            if (!active) {
+                return;
+            }
+            interrupted = true;
+
+            try {
+                context.interrupt(INTERRUPT_TIMEOUT);
+            } catch (TimeoutException e) {
+                // The evaluation waits for a host function, so try again until it returns to javascript code
+                schedule(INTERRUPT_TIMEOUT.toNanos());
+            } catch (RuntimeException e) {
+                logger
+                        .atDebug()
+                        .setMessage("Failed to interrupt javascript evaluation")
+                        .setCause(e)
+                        .log();
+            }
+        }
+
+        /**
+         * Mark the evaluation as finished and cancel the pending interruption.
+         *
+         * @return True if the evaluation was interrupted.
+         */
+        private synchronized boolean finish() {
+            active = false;
+            if (future != null) {
+                future.cancel(false);
+            }
+            return interrupted;
+        }
+    }
+}
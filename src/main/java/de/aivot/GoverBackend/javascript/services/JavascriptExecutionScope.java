@@ -0,0 +1,105 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * State shared by all evaluations of a single {@link JavascriptEngine}, e.g. all javascript code of one form derivation.
+ * Function providers are shared by all javascript contexts, so they look up the scope of the evaluation running on their thread with {@link #current()}.
+ * This allows them to keep state per derivation, like time budgets, without the javascript code passing it along.
+ */
+public class JavascriptExecutionScope {
+    private static final ThreadLocal<JavascriptExecutionScope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The attributes of the function providers.
+     * An engine is only used by one thread at a time, so the attributes need no synchronization.
+     */
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    /**
+     * The time in nanoseconds, see {@link System#nanoTime()}, at which the running evaluation is interrupted or null, if it has no time limit.
+     */
+    @Nullable
+    private Long deadline;
+
+    /**
+     * Get the scope of the javascript evaluation running on the current thread.
+     *
+     * @return The scope or an empty optional, if no javascript code is evaluated on the current thread.
+     */
+    @Nonnull
+    public static Optional<JavascriptExecutionScope> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Get an attribute of this scope or create it, if it does not exist yet.
+     * Attributes should be prefixed with the object name of the function provider to avoid collisions.
+     *
+     * @param key     The key of the attribute.
+     * @param factory The factory for creating the attribute.
+     * @param <T>     The type of the attribute.
+     * @return The attribute.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(@Nonnull String key, @Nonnull Supplier<T> factory) {
+        return (T) attributes.computeIfAbsent(key, k -> factory.get());
+    }
+
+    /**
+     * Get the time until the running evaluation is interrupted by the {@link JavascriptExecutionBudget}.
+     * Function providers blocking in host code, e.g. waiting for an http request, should give up within this time, because the evaluation cannot be interrupted until they return.
+     *
+     * @return The remaining time or an empty optional, if the evaluation has no time limit.
+     */
+    @Nonnull
+    public Optional<Duration> getRemainingTime() {
+        var currentDeadline = deadline;
+        if (currentDeadline == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(currentDeadline - System.nanoTime()));
+    }
+
+    /**
+     * Set the deadline of the running evaluation.
+     *
+     * @param deadline The deadline in nanoseconds, see {@link System#nanoTime()}, or null to remove it.
+     */
+    void setDeadline(@Nullable Long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Make this scope the current scope of the calling thread.
+     *
+     * @return The previous scope of the thread, which must be passed to {@link #restore(JavascriptExecutionScope)} afterwards.
+     */
+    @Nullable
+    JavascriptExecutionScope enter() {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restore the scope of the calling thread, which was current before {@link #enter()} was called.
+     *
+     * @param previous The previous scope.
+     */
+    static void restore(@Nullable JavascriptExecutionScope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.graalvm.polyglot.Source;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for prepared javascript {@link Source}s.
+ * All pooled contexts share a single polyglot engine, which caches the parsed code of equal sources.
+ * Reusing the same source instances for the same code lets every context skip parsing the code again.
+ * <p>
+ * The sources are grouped by a scope, e.g. a form, and keyed by the element id and the code itself.
+ * Use {@link #invalidate(String)} to drop all sources of a scope, when the code of the scope changed.
+ */
+@Service
+public class JavascriptSourceCache {
+    private static final String METRIC_PREFIX = "gover.javascript.source.cache";
+
+    private final int maxEntriesPerScope;
+    private final Map<String, Map<SourceKey, Source>> scopes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public JavascriptSourceCache(
+            JavascriptConfigurationProperties javascriptConfigurationProperties,
+            MeterRegistry meterRegistry
+    ) {
+        var maxScopes = javascriptConfigurationProperties.getSourceCacheMaxScopes();
+        this.maxEntriesPerScope = javascriptConfigurationProperties.getSourceCacheMaxEntriesPerScope();
+
+        // Keep the scopes in access order to evict the least recently used scope first
+        this.scopes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<SourceKey, Source>> eldest) {
+                return size() > maxScopes;
+            }
+        };
+
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Number of javascript sources served from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses")
+                .description("Number of javascript sources prepared because they were not cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the prepared source for the given code.
+     * The source is created and cached, if it is not cached yet.
+     *
+     * @param scope     The scope of the code, e.g. the form the code belongs to.
+     * @param elementId The id of the element the code belongs to.
+     * @param code      The code to prepare.
+     * @return The prepared source.
+     */
+    @Nonnull
+    public Source get(@Nonnull String scope, @Nullable String elementId, @Nonnull String code) {
+        Map<SourceKey, Source> sources;
+        synchronized (scopes) {
+            sources = scopes.computeIfAbsent(scope, key -> new ConcurrentHashMap<>());
+        }
+
+        var key = new SourceKey(elementId, code);
+        var source = sources.get(key);
+        if (source != null) {
+            hitCounter.increment();
+            return source;
+        }
+
+        missCounter.increment();
+
+        // Prevent unbounded growth of a single scope. The scope is filled again by the next derivations.
+        if (sources.size() >= maxEntriesPerScope) {
+            sources.clear();
+        }
+
+        source = JavascriptEngine.createSource(code, scope + "/" + (elementId != null ? elementId : "anonymous") + ".js");
+        var existingSource = sources.putIfAbsent(key, source);
+        return existingSource != null ? existingSource : source;
+    }
+
+    /**
+     * Drop all cached sources of the given scope.
+     *
+     * @param scope The scope to invalidate.
+     */
+    public void invalidate(@Nonnull String scope) {
+        synchronized (scopes) {
+            scopes.remove(scope);
+        }
+    }
+
+    /**
+     * Drop all cached sources.
+     */
+    public void invalidateAll() {
+        synchronized (scopes) {
+            scopes.clear();
+        }
+    }
+
+    private record SourceKey(
+            @Nullable String elementId,
+            @Nonnull String code
+    ) {
+    }
+}
@@ -6,17 +6,17 @@ import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.mail.enums.MailTemplate;
 import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
 import de.aivot.GoverBackend.submission.entities.Submission;
-import de.aivot.GoverBackend.models.lib.MailAttachmentBytes;
+import de.aivot.GoverBackend.models.lib.MailAttachment;
 import de.aivot.GoverBackend.department.repositories.DepartmentRepository;
 import de.aivot.GoverBackend.form.repositories.FormRepository;
-import de.aivot.GoverBackend.services.PdfService;
+import de.aivot.GoverBackend.submission.services.SubmissionPdfCacheService;
 import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,19 +27,19 @@ public class CustomerMailService {
     private final MailService mailService;
     private final DepartmentRepository departmentRepository;
     private final FormRepository formRepository;
-    private final PdfService pdfService;
+    private final SubmissionPdfCacheService submissionPdfCacheService;
 
     @Autowired
     public CustomerMailService(
             MailService mailService,
             DepartmentRepository departmentRepository,
             FormRepository formRepository,
-            PdfService pdfService
+            SubmissionPdfCacheService submissionPdfCacheService
     ) {
         this.mailService = mailService;
         this.departmentRepository = departmentRepository;
         this.formRepository = formRepository;
-        this.pdfService = pdfService;
+        this.submissionPdfCacheService = submissionPdfCacheService;
     }
 
     public void sendSubmissionCopy(String to, Submission submission) throws MessagingException, IOException, ResponseException {
@@ -70,14 +70,15 @@ public class CustomerMailService {
         context.put("form", form);
         context.put("submission", submission);
 
-        byte[] pdfBytes;
+        // The pdf is streamed from the storage while the mail is sent
+        Resource pdf;
         try {
-            pdfBytes = pdfService.generateCustomerSummary(form, submission, FormPdfScope.Citizen);
-        } catch (InterruptedException | URISyntaxException | ResponseException e) {
+            pdf = submissionPdfCacheService.getCustomerSummary(form, submission, FormPdfScope.Citizen);
+        } catch (InterruptedException | ResponseException e) {
             throw new RuntimeException(e);
         }
-        MailAttachmentBytes pdfAttachment = new MailAttachmentBytes("Antrag.pdf", MediaType.APPLICATION_PDF, pdfBytes);
-        List<MailAttachmentBytes> attachments = new LinkedList<>();
+        MailAttachment pdfAttachment = new MailAttachment("Antrag.pdf", MediaType.APPLICATION_PDF, pdf);
+        List<MailAttachment> attachments = new LinkedList<>();
         attachments.add(pdfAttachment);
 
         mailService.sendMail(
@@ -15,7 +15,7 @@ import de.aivot.GoverBackend.exceptions.InvalidUserEMailException;
 import de.aivot.GoverBackend.exceptions.NoValidUserEMailsInDepartmentException;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.models.config.GoverConfig;
-import de.aivot.GoverBackend.models.lib.MailAttachmentBytes;
+import de.aivot.GoverBackend.models.lib.MailAttachment;
 import de.aivot.GoverBackend.services.TemplateLoaderService;
 import de.aivot.GoverBackend.mail.enums.MailTemplate;
 import de.aivot.GoverBackend.user.entities.UserEntity;
@@ -29,7 +29,6 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
-import jakarta.mail.util.ByteArrayDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +40,8 @@ import org.springframework.stereotype.Component;
 import org.thymeleaf.templatemode.TemplateMode;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -58,6 +59,7 @@ public class MailService {
     private final AssetRepository assetRepository;
     private final UserService userService;
     private final UserConfigService userConfigService;
+    private final TemplateLoaderService templateLoaderService;
 
     @Value("${spring.mail.host}")
     private String mailHost;
@@ -71,7 +73,8 @@ public class MailService {
             DepartmentMembershipService departmentMembershipService,
             AssetRepository assetRepository,
             UserService userService,
-            UserConfigService userConfigService
+            UserConfigService userConfigService,
+            TemplateLoaderService templateLoaderService
     ) {
         this.goverConfig = goverConfig;
         this.mailSender = mailSender;
@@ -81,6 +84,7 @@ public class MailService {
         this.assetRepository = assetRepository;
         this.userService = userService;
         this.userConfigService = userConfigService;
+        this.templateLoaderService = templateLoaderService;
     }
 
     public void sendMailToDepartment(
@@ -346,7 +350,7 @@ public class MailService {
             MailTemplate template,
             Map<String, Object> context,
             Optional<Collection<Path>> attachmentPaths,
-            Optional<Collection<MailAttachmentBytes>> attachmentBytes
+            Optional<Collection<MailAttachment>> attachments
     ) throws MessagingException, MailException, ResponseException {
         InternetAddress[] mailToList = InternetAddress.parse(to);
 
@@ -396,10 +400,10 @@ public class MailService {
             }
         }
 
-        if (attachmentBytes.isPresent()) {
-            for (var entry : attachmentBytes.get()) {
+        if (attachments.isPresent()) {
+            for (var entry : attachments.get()) {
                 MimeBodyPart attachmentPart = new MimeBodyPart();
-                DataSource source = new ByteArrayDataSource(entry.bytes(), entry.contentType().toString());
+                DataSource source = new InputStreamSourceDataSource(entry);
                 attachmentPart.setDataHandler(new DataHandler(source));
                 attachmentPart.setDisposition(Part.ATTACHMENT);
                 attachmentPart.setFileName(entry.filename());
@@ -415,7 +419,7 @@ public class MailService {
     }
 
     private String loadTemplate(String template, Map<String, Object> data, TemplateMode mode) {
-        return new TemplateLoaderService()
+        return templateLoaderService
                 .processTemplate("mail/" + template, data, mode);
     }
 
@@ -449,4 +453,29 @@ public class MailService {
 
         return context;
     }
+
+    /**
+     * Data source reading an attachment from its source each time the mail reads it.
+     */
+    private record InputStreamSourceDataSource(MailAttachment attachment) implements DataSource {
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return attachment.source().getInputStream();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            throw new UnsupportedOperationException("Mail attachments are read only");
+        }
+
+        @Override
+        public String getContentType() {
+            return attachment.contentType().toString();
+        }
+
+        @Override
+        public String getName() {
+            return attachment.filename();
+        }
+    }
 }
@@ -7,7 +7,7 @@ import de.aivot.GoverBackend.exceptions.NoValidUserEMailsInDepartmentException;
 import de.aivot.GoverBackend.form.entities.Form;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.mail.enums.MailTemplate;
-import de.aivot.GoverBackend.models.lib.MailAttachmentBytes;
+import de.aivot.GoverBackend.models.lib.MailAttachment;
 import de.aivot.GoverBackend.payment.entities.PaymentProviderEntity;
 import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
 import de.aivot.GoverBackend.payment.repositories.PaymentProviderRepository;
@@ -16,21 +16,22 @@ import de.aivot.GoverBackend.payment.services.PaymentProviderService;
 import de.aivot.GoverBackend.payment.services.PaymentTransactionService;
 import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
 import de.aivot.GoverBackend.services.DestinationDataFormatter;
-import de.aivot.GoverBackend.services.PdfService;
 import de.aivot.GoverBackend.services.storages.SubmissionStorageService;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.submission.entities.SubmissionAttachment;
+import de.aivot.GoverBackend.submission.services.SubmissionPdfCacheService;
 import de.aivot.GoverBackend.user.entities.UserEntity;
 import de.aivot.GoverBackend.user.services.UserService;
 import de.aivot.GoverBackend.utils.StringUtils;
 import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.Nullable;
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.util.*;
 
 @Component
@@ -38,7 +39,7 @@ public class SubmissionMailService {
     private final MailService mailService;
     private final SubmissionStorageService submissionStorageService;
     private final UserService userService;
-    private final PdfService pdfService;
+    private final SubmissionPdfCacheService submissionPdfCacheService;
     private final PaymentTransactionRepository paymentTransactionService;
     private final PaymentProviderRepository paymentProviderService;
 
@@ -47,23 +48,23 @@ public class SubmissionMailService {
             MailService mailService,
             SubmissionStorageService submissionStorageService,
             UserService userService,
-            PdfService pdfService,
+            SubmissionPdfCacheService submissionPdfCacheService,
             PaymentTransactionRepository paymentTransactionService,
             PaymentProviderRepository paymentProviderService
     ) {
         this.mailService = mailService;
         this.submissionStorageService = submissionStorageService;
         this.userService = userService;
-        this.pdfService = pdfService;
+        this.submissionPdfCacheService = submissionPdfCacheService;
         this.paymentTransactionService = paymentTransactionService;
         this.paymentProviderService = paymentProviderService;
     }
 
     public void sendToDestination(Form form, Submission submission, Destination destination, Collection<SubmissionAttachment> attachments) throws MessagingException, IOException, ResponseException {
-        byte[] pdfBytes;
+        Resource pdf;
         try {
-            pdfBytes = pdfService.generateCustomerSummary(form, submission, FormPdfScope.Staff);
-        } catch (InterruptedException | URISyntaxException | ResponseException e) {
+            pdf = submissionPdfCacheService.getCustomerSummary(form, submission, FormPdfScope.Staff);
+        } catch (InterruptedException | ResponseException e) {
             throw new RuntimeException(e);
         }
 
@@ -80,18 +81,15 @@ public class SubmissionMailService {
         Optional<String> cc = destination.getMailCC() != null ? Optional.of(destination.getMailCC()) : Optional.empty();
         Optional<String> bcc = destination.getMailBCC() != null ? Optional.of(destination.getMailBCC()) : Optional.empty();
 
-        List<MailAttachmentBytes> attachmentsData = new LinkedList<>();
-        Map<String, byte[]> attachmentBytes = new HashMap<>();
+        // The attachments and the pdf are streamed from the storage while the mail is sent
+        List<MailAttachment> attachmentsData = new LinkedList<>();
 
         for (var att : attachments) {
-            var bytes = submissionStorageService.getAttachmentData(submission, att);
-            attachmentBytes.put(att.getFilename(), bytes);
-
-            var mailBytes = new MailAttachmentBytes(att.getFilename(), att.getMediaType(), bytes);
-            attachmentsData.add(mailBytes);
+            var resource = submissionStorageService.getAttachmentResource(submission, att, att.getFilename());
+            attachmentsData.add(new MailAttachment(att.getFilename(), att.getMediaType(), resource));
         }
 
-        attachmentsData.add(new MailAttachmentBytes("Antrag.pdf", MediaType.APPLICATION_PDF, pdfBytes));
+        attachmentsData.add(new MailAttachment("Antrag.pdf", MediaType.APPLICATION_PDF, pdf));
 
         var paymentTransaction = submission.getPaymentTransactionKey() != null ?
                 paymentTransactionService.findById(submission.getPaymentTransactionKey()).orElse(null) :
@@ -103,7 +101,7 @@ public class SubmissionMailService {
 
         var destinationData = DestinationDataFormatter.createDataWithoutFiles(form, submission, paymentTransaction, paymentProvider).format();
         var destinationDataBytes = new ObjectMapper().writeValueAsBytes(destinationData);
-        attachmentsData.add(new MailAttachmentBytes("Antrag.json", MediaType.APPLICATION_JSON, destinationDataBytes));
+        attachmentsData.add(new MailAttachment("Antrag.json", MediaType.APPLICATION_JSON, new ByteArrayResource(destinationDataBytes)));
 
         mailService.sendMail(
                 to,
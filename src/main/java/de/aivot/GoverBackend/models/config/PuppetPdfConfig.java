@@ -14,6 +14,26 @@ public class PuppetPdfConfig {
     private String host;
     private String port;
 
+    /**
+     * Timeout in milliseconds for establishing a connection to the PDF service.
+     */
+    private Integer connectTimeout = 5000;
+
+    /**
+     * Timeout in milliseconds until the PDF service must start responding to a print request.
+     */
+    private Integer requestTimeout = 120000;
+
+    /**
+     * Maximum number of print requests sent to the PDF service at the same time.
+     */
+    private Integer maxConcurrentRequests = 8;
+
+    /**
+     * Maximum time in milliseconds a print request waits for a free slot, before it fails.
+     */
+    private Integer acquireTimeout = 30000;
+
     public String getHost() {
         return host;
     }
@@ -29,4 +49,36 @@ public class PuppetPdfConfig {
     public void setPort(String port) {
         this.port = port;
     }
+
+    public Integer getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Integer connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Integer getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Integer requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public Integer getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Integer acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
 }
@@ -66,4 +66,14 @@ public abstract class Function {
     @Nonnull
     @JsonIgnore
     public abstract Set<String> getReferencedIds();
+
+    /**
+     * Check if the function may reference ids, which are not returned by {@link #getReferencedIds()}.
+     *
+     * @return true if the referenced ids of the function cannot be determined completely, false otherwise
+     */
+    @JsonIgnore
+    public boolean hasDynamicReferences() {
+        return false;
+    }
 }
@@ -1,15 +1,13 @@
 package de.aivot.GoverBackend.models.functions;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import de.aivot.GoverBackend.elements.models.BaseElementDerivationContext;
 import de.aivot.GoverBackend.elements.models.BaseElement;
+import de.aivot.GoverBackend.javascript.models.JavascriptCode;
 import de.aivot.GoverBackend.utils.MapUtils;
 import de.aivot.GoverBackend.utils.StringUtils;
 import jakarta.annotation.Nonnull;
 
-import javax.script.ScriptException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
@@ -18,17 +16,24 @@ import java.util.Set;
 public class FunctionCode extends Function {
     private String code;
 
+    /**
+     * The template wrapping the legacy code into a function, which returns the main function of the code.
+     * The data is passed to the main function as arguments, so the wrapped code is the same for every evaluation.
+     */
     private final static String jsCodeTemplate = """
                         (function() {
-                            const $data = %s;
-                            const $element = %s;
-            
                             %s
             
-                            return main($data, $element, '%s');
-                        })();
+                            return main;
+                        })()
             """;
 
+    /**
+     * The wrapped code, which is created once the function is evaluated for the first time.
+     */
+    @JsonIgnore
+    private JavascriptCode wrappedCode;
+
     public FunctionCode(Map<String, Object> data) {
         super(data);
         code = MapUtils.getString(data, "code");
@@ -38,6 +43,10 @@ public class FunctionCode extends Function {
         super();
     }
 
+    /**
+     * Evaluates the legacy code with the javascript engine of the context.
+     * The main function of the code is created once per derivation and called with the values, the element and the resolved id as arguments.
+     */
     @Override
     public FunctionResult evaluate(String idPrefix, BaseElement element, BaseElementDerivationContext context) {
         if (StringUtils.isNullOrEmpty(code)) {
@@ -46,42 +55,27 @@ public class FunctionCode extends Function {
 
         String prefixedId = element.getResolvedId(idPrefix);
 
-        var jsCode = buildJsCode(element, context.getCombinedValues(), prefixedId);
-
-        try {
-            Object returnValue = context.getLegacyJavascriptEngine().eval(jsCode);
-            if (returnValue != null) {
-                return new FunctionResult(returnValue, false);
-            } else {
-                return new FunctionResult(null, false);
-            }
-        } catch (ScriptException e) {
-            throw new RuntimeException(e);
-        }
+        var returnValue = context
+                .getJavascriptEngine()
+                .executeFunction(
+                        getWrappedCode(),
+                        context.getJavascriptSourceScope(),
+                        element.getId(),
+                        context.getElementDerivationData().getCombinedValuesView(),
+                        element,
+                        prefixedId
+                )
+                .asObject();
+
+        return new FunctionResult(returnValue, false);
     }
 
-    public String buildJsCode(BaseElement element, Map<String, Object> customerInput, String id) {
-        var mapper = new ObjectMapper();
-        String customerData;
-        try {
-            customerData = mapper.writeValueAsString(customerInput);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-
-        String elementData;
-        try {
-            elementData = mapper.writeValueAsString(element);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    @Nonnull
+    private JavascriptCode getWrappedCode() {
+        if (wrappedCode == null) {
+            wrappedCode = new JavascriptCode().setCode(String.format(jsCodeTemplate, code));
         }
-
-        return String.format(
-                jsCodeTemplate,
-                customerData,
-                elementData,
-                code,
-                id);
+        return wrappedCode;
     }
 
     @Override
@@ -133,6 +127,26 @@ public class FunctionCode extends Function {
         return referencedIds;
     }
 
+    @Override
+    @JsonIgnore
+    public boolean hasDynamicReferences() {
+        if (code == null || StringUtils.isNullOrEmpty(code)) {
+            return false;
+        }
+
+        // The implicit references are only detected, if the data parameter of the main function is called data
+        var mainFunctionMatcher = java.util.regex.Pattern.compile("function\\s+main\\s*\\(\\s*([a-zA-Z_$][a-zA-Z0-9_$]*)").matcher(code);
+        if (!mainFunctionMatcher.find() || !"data".equals(mainFunctionMatcher.group(1))) {
+            return true;
+        }
+
+        var dataPattern = java.util.regex.Pattern.compile("(?<![a-zA-Z0-9_$.])data\\b");
+        var staticAccessPattern = java.util.regex.Pattern.compile("(?<![a-zA-Z0-9_$.])data\\s*\\.\\s*[a-zA-Z0-9_$]+\\b");
+
+        // Every occurrence of the data parameter, except for its declaration, must be a static access
+        return dataPattern.matcher(code).results().count() - 1 != staticAccessPattern.matcher(code).results().count();
+    }
+
     //region Getters & Setters
     public String getCode() {
         return code;
@@ -140,6 +154,7 @@ public class FunctionCode extends Function {
 
     public void setCode(String code) {
         this.code = code;
+        this.wrappedCode = null;
     }
     //endregion
 }
@@ -38,7 +38,6 @@ public class Condition {
 
         // Prüfe, ob das Referenz-Element gefunden werden kann. Falls nicht, gib eine Fehlermeldung zurück.
         var optReferencedElement = context
-                .getRootElement()
                 .findChild(reference);
         if (optReferencedElement.isEmpty()) {
             return "Auswertung fehlgeschlagen. Referenz-Element nicht gefunden.";
@@ -58,7 +57,7 @@ public class Condition {
             Object rawValB = null;
             if (!operator.getUnary()) {
                 if (target != null) {
-                    var optTargetElement = context.getRootElement().findChild(target);
+                    var optTargetElement = context.findChild(target);
                     if (optTargetElement.isEmpty()) {
                         return "Auswertung fehlgeschlagen. Ziel-Element nicht gefunden.";
                     }
@@ -0,0 +1,12 @@
+package de.aivot.GoverBackend.models.lib;
+
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.MediaType;
+
+/**
+ * An attachment of a mail.
+ * The contents are read from the source while the mail is sent, so large attachments like PDFs can be streamed from the storage.
+ * The source may be read more than once, e.g. to determine the transfer encoding of the attachment.
+ */
+public record MailAttachment(String filename, MediaType contentType, InputStreamSource source) {
+}
@@ -0,0 +1,25 @@
+package de.aivot.GoverBackend.nocode.models;
+
+import de.aivot.GoverBackend.elements.models.ElementDerivationData;
+import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Implemented by {@link NoCodeOperator}s with one or two parameters, which return a boolean.
+ * Compiled expressions evaluate these operators without an argument array and without a {@link NoCodeResult}.
+ */
+public interface NoCodeBooleanOperator {
+    /**
+     * Evaluates the operator with the given arguments.
+     * The result must be the same as the value of the result of {@link NoCodeOperator#performEvaluation(ElementDerivationData, Object...)}.
+     *
+     * @param data the data that is used existent in the context.
+     * @param arg0 the first argument that is passed to the operator.
+     * @param arg1 the second argument that is passed to the operator, or null if the operator takes only one parameter.
+     * @return the result of the evaluation.
+     * @throws NoCodeException if an error occurs during the evaluation.
+     */
+    boolean performBooleanEvaluation(@Nonnull ElementDerivationData data, @Nullable Object arg0, @Nullable Object arg1) throws NoCodeException;
+}
@@ -0,0 +1,182 @@
+package de.aivot.GoverBackend.nocode.models;
+
+import de.aivot.GoverBackend.elements.models.ElementDerivationData;
+import de.aivot.GoverBackend.nocode.enums.NoCodeDataType;
+import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
+import de.aivot.GoverBackend.nocode.exceptions.NoCodeWrongArgumentCountException;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.function.Function;
+
+/**
+ * Compiled form of a {@link NoCodeExpression}.
+ * The operators of the expression and all nested expressions are resolved and their argument counts are checked once during the compilation.
+ * The compiled expression is immutable and can be evaluated any number of times and by multiple threads at once.
+ * Operators implementing {@link NoCodeBooleanOperator} are evaluated without allocating an argument array or a {@link NoCodeResult}.
+ */
+public class NoCodeCompiledExpression {
+    private final Function<String, BoundOperator> operatorResolver;
+    private final NoCodeOperator operator;
+    @Nullable
+    private final NoCodeBooleanOperator booleanOperator;
+    private final Node[] operands;
+
+    private NoCodeCompiledExpression(
+            @Nonnull Function<String, BoundOperator> operatorResolver,
+            @Nonnull NoCodeOperator operator,
+            @Nonnull Node[] operands
+    ) {
+        this.operatorResolver = operatorResolver;
+        this.operator = operator;
+        // Boolean operators with up to two arguments are evaluated without an argument array or a result object
+        this.booleanOperator = operator instanceof NoCodeBooleanOperator bo && operands.length <= 2 ? bo : null;
+        this.operands = operands;
+    }
+
+    /**
+     * Compile a no code expression.
+     *
+     * @param expression       The expression to compile.
+     * @param operatorResolver Resolves the identifier of an operator to the operator and its expected argument count.
+     * @return The compiled expression.
+     * @throws NoCodeException If an expression passes the wrong number of arguments to its operator.
+     */
+    @Nonnull
+    public static NoCodeCompiledExpression compile(
+            @Nonnull NoCodeExpression expression,
+            @Nonnull Function<String, BoundOperator> operatorResolver
+    ) throws NoCodeException {
+        var boundOperator = operatorResolver.apply(expression.getOperatorIdentifier());
+
+        var sourceOperands = expression.getOperands();
+        var operands = new Node[sourceOperands == null ? 0 : sourceOperands.size()];
+        if (operands.length != boundOperator.parameterCount()) {
+            throw new NoCodeWrongArgumentCountException(boundOperator.parameterCount(), operands.length);
+        }
+
+        if (sourceOperands != null) {
+            var i = 0;
+            for (var operand : sourceOperands) {
+                operands[i++] = compileOperand(operand, operatorResolver);
+            }
+        }
+
+        return new NoCodeCompiledExpression(operatorResolver, boundOperator.operator(), operands);
+    }
+
+    @Nonnull
+    private static Node compileOperand(
+            @Nullable NoCodeOperand operand,
+            @Nonnull Function<String, BoundOperator> operatorResolver
+    ) throws NoCodeException {
+        if (operand == null) {
+            return new StaticNode(null);
+        }
+
+        return switch (operand) {
+            case NoCodeStaticValue staticValue -> new StaticNode(staticValue.getValue());
+            case NoCodeReference reference -> new ReferenceNode(reference.getElementId());
+            case NoCodeExpression expression -> new ExpressionNode(compile(expression, operatorResolver));
+            default -> throw new IllegalStateException("Unexpected value: " + operand);
+        };
+    }
+
+    /**
+     * Evaluate the compiled expression.
+     *
+     * @param data     The form state, containing the values and visibilities of the elements.
+     * @param idPrefix The prefix of the referenced element ids, e.g. for elements inside replicating containers.
+     * @return The result of the evaluation.
+     * @throws NoCodeException If an operator fails to evaluate its arguments.
+     */
+    @Nonnull
+    public NoCodeResult evaluate(@Nonnull ElementDerivationData data, @Nullable String idPrefix) throws NoCodeException {
+        if (booleanOperator != null) {
+            return new NoCodeResult(NoCodeDataType.Boolean, evaluateAsBoolean(data, idPrefix));
+        }
+
+        var args = new Object[operands.length];
+        for (var i = 0; i < operands.length; i++) {
+            args[i] = operands[i].resolve(data, idPrefix);
+        }
+
+        // The argument count was checked during the compilation, so the operator is invoked directly
+        return operator.performEvaluation(data, args);
+    }
+
+    /**
+     * Evaluate the compiled expression and interpret its result as a boolean.
+     *
+     * @param data     The form state, containing the values and visibilities of the elements.
+     * @param idPrefix The prefix of the referenced element ids, e.g. for elements inside replicating containers.
+     * @return The result of the evaluation as a boolean.
+     * @throws NoCodeException If an operator fails to evaluate its arguments.
+     */
+    public boolean evaluateAsBoolean(@Nonnull ElementDerivationData data, @Nullable String idPrefix) throws NoCodeException {
+        if (booleanOperator == null) {
+            return evaluate(data, idPrefix).getValueAsBoolean();
+        }
+
+        var arg0 = operands.length > 0 ? operands[0].resolve(data, idPrefix) : null;
+        var arg1 = operands.length > 1 ? operands[1].resolve(data, idPrefix) : null;
+        return booleanOperator.performBooleanEvaluation(data, arg0, arg1);
+    }
+
+    /**
+     * Check whether this expression was compiled with the given operators.
+     *
+     * @param operatorResolver The resolver of the operators.
+     * @return True, if the operators of this expression were resolved by the given resolver.
+     */
+    public boolean isCompiledWith(@Nonnull Function<String, BoundOperator> operatorResolver) {
+        return this.operatorResolver == operatorResolver;
+    }
+
+    /**
+     * An operator together with the number of arguments it expects.
+     *
+     * @param operator       The operator.
+     * @param parameterCount The number of arguments the operator expects.
+     */
+    public record BoundOperator(
+            @Nonnull NoCodeOperator operator,
+            int parameterCount
+    ) {
+        public BoundOperator(@Nonnull NoCodeOperator operator) {
+            this(operator, operator.getParameters().length);
+        }
+    }
+
+    private interface Node {
+        @Nullable
+        Object resolve(@Nonnull ElementDerivationData data, @Nullable String idPrefix) throws NoCodeException;
+    }
+
+    private record StaticNode(@Nullable Object value) implements Node {
+        @Override
+        public Object resolve(@Nonnull ElementDerivationData data, @Nullable String idPrefix) {
+            return value;
+        }
+    }
+
+    private record ReferenceNode(@Nullable String elementId) implements Node {
+        @Override
+        public Object resolve(@Nonnull ElementDerivationData data, @Nullable String idPrefix) {
+            // Referenced elements resolve based on their visibility and the values map
+            return data
+                    .getValue(idPrefix != null ? idPrefix + "_" + elementId : elementId)
+                    .orElse(null);
+        }
+    }
+
+    private record ExpressionNode(@Nonnull NoCodeCompiledExpression expression) implements Node {
+        @Override
+        public Object resolve(@Nonnull ElementDerivationData data, @Nullable String idPrefix) throws NoCodeException {
+            if (expression.booleanOperator != null) {
+                return expression.evaluateAsBoolean(data, idPrefix);
+            }
+            return expression.evaluate(data, idPrefix).getValue();
+        }
+    }
+}
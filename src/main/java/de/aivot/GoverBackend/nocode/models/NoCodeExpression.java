@@ -1,9 +1,13 @@
 package de.aivot.GoverBackend.nocode.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
 import de.aivot.GoverBackend.utils.MapUtils;
 import de.aivot.GoverBackend.utils.StringUtils;
 
+import jakarta.annotation.Nonnull;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Represents an expression in the NoCode language.
@@ -13,6 +17,12 @@ public class NoCodeExpression implements NoCodeOperand {
     private final String operatorIdentifier;
     private final Collection<NoCodeOperand> operands;
 
+    /**
+     * The compiled expression, which is created once the expression is evaluated for the first time.
+     */
+    @JsonIgnore
+    private NoCodeCompiledExpression compiledExpression;
+
     public NoCodeExpression(Map<String, Object> values) {
         operatorIdentifier = MapUtils.getString(values, "operatorIdentifier");
         operands = MapUtils
@@ -47,6 +57,24 @@ public class NoCodeExpression implements NoCodeOperand {
         return operands;
     }
 
+    /**
+     * Get the compiled form of this expression.
+     * The expression is compiled on first use and compiled again, if it is evaluated with another set of operators.
+     *
+     * @param operatorResolver Resolves the identifier of an operator to the operator and its expected argument count.
+     * @return The compiled expression.
+     * @throws NoCodeException If an expression passes the wrong number of arguments to its operator.
+     */
+    @Nonnull
+    public NoCodeCompiledExpression compile(@Nonnull Function<String, NoCodeCompiledExpression.BoundOperator> operatorResolver) throws NoCodeException {
+        var compiled = compiledExpression;
+        if (compiled == null || !compiled.isCompiledWith(operatorResolver)) {
+            compiled = NoCodeCompiledExpression.compile(this, operatorResolver);
+            compiledExpression = compiled;
+        }
+        return compiled;
+    }
+
     public boolean isEmpty() {
         return StringUtils.isNullOrEmpty(operatorIdentifier) && operands.isEmpty();
     }
@@ -220,6 +220,23 @@ public abstract class NoCodeOperator {
         return res.setScale(8, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Compares two values as numbers.
+     * The result is the same as comparing the values after {@link #castToNumber(Object)}.
+     * Integers and longs are compared directly, so the common comparisons of whole numbers do not create {@link BigDecimal}s.
+     *
+     * @param a the first value.
+     * @param b the second value.
+     * @return a negative number, zero or a positive number if the first value is less than, equal to or greater than the second value.
+     */
+    public int compareNumbers(@Nullable Object a, @Nullable Object b) {
+        if ((a instanceof Integer || a instanceof Long) && (b instanceof Integer || b instanceof Long)) {
+            return Long.compare(((Number) a).longValue(), ((Number) b).longValue());
+        }
+
+        return castToNumber(a).compareTo(castToNumber(b));
+    }
+
     @Nonnull
     public String castToString(@Nullable Object value) {
         if (value == null) {
@@ -3,12 +3,13 @@ package de.aivot.GoverBackend.nocode.operators.bool;
 import de.aivot.GoverBackend.elements.models.ElementDerivationData;
 import de.aivot.GoverBackend.nocode.enums.NoCodeDataType;
 import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
+import de.aivot.GoverBackend.nocode.models.NoCodeBooleanOperator;
 import de.aivot.GoverBackend.nocode.models.NoCodeOperator;
 import de.aivot.GoverBackend.nocode.models.NoCodeParameter;
 import de.aivot.GoverBackend.nocode.models.NoCodeParameterOption;
 import de.aivot.GoverBackend.nocode.models.NoCodeResult;
 
-public class NoCodeNotOperator extends NoCodeOperator {
+public class NoCodeNotOperator extends NoCodeOperator implements NoCodeBooleanOperator {
     @Override
     public String getIdentifier() {
         return "not";
@@ -71,8 +72,11 @@ public class NoCodeNotOperator extends NoCodeOperator {
 
     @Override
     public NoCodeResult performEvaluation(ElementDerivationData data, Object... args) throws NoCodeException {
-        var arg = castToBoolean(args[0]);
+        return new NoCodeResult(NoCodeDataType.Boolean, performBooleanEvaluation(data, args[0], null));
+    }
 
-        return new NoCodeResult(NoCodeDataType.Boolean, !arg);
+    @Override
+    public boolean performBooleanEvaluation(ElementDerivationData data, Object arg0, Object arg1) throws NoCodeException {
+        return !castToBoolean(arg0);
     }
-}
\ No newline at end of file
+}
@@ -3,13 +3,14 @@ package de.aivot.GoverBackend.nocode.operators.common;
 import de.aivot.GoverBackend.elements.models.ElementDerivationData;
 import de.aivot.GoverBackend.nocode.enums.NoCodeDataType;
 import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
+import de.aivot.GoverBackend.nocode.models.NoCodeBooleanOperator;
 import de.aivot.GoverBackend.nocode.models.NoCodeOperator;
 import de.aivot.GoverBackend.nocode.models.NoCodeParameter;
 import de.aivot.GoverBackend.nocode.models.NoCodeResult;
 
 import java.util.Objects;
 
-public class NoCodeEqualsOperator extends NoCodeOperator {
+public class NoCodeEqualsOperator extends NoCodeOperator implements NoCodeBooleanOperator {
     @Override
     public String getIdentifier() {
         return "equals";
@@ -77,18 +78,20 @@ public class NoCodeEqualsOperator extends NoCodeOperator {
 
     @Override
     public NoCodeResult performEvaluation(ElementDerivationData data, Object... args) throws NoCodeException {
-        var arg0 = args[0];
-        var arg1 = args[1];
+        return new NoCodeResult(NoCodeDataType.Boolean, performBooleanEvaluation(data, args[0], args[1]));
+    }
 
+    @Override
+    public boolean performBooleanEvaluation(ElementDerivationData data, Object arg0, Object arg1) throws NoCodeException {
         if (arg0 == null && arg1 == null) {
-            return new NoCodeResult(NoCodeDataType.Boolean, true);
+            return true;
         }
 
         if (arg0 == null || arg1 == null) {
-            return new NoCodeResult(NoCodeDataType.Boolean, false);
+            return false;
         }
 
         var castedArg1 = castToTypeOfReference(arg0, arg1);
-        return new NoCodeResult(NoCodeDataType.Boolean, Objects.equals(arg0, castedArg1));
+        return Objects.equals(arg0, castedArg1);
     }
 }
@@ -3,11 +3,12 @@ package de.aivot.GoverBackend.nocode.operators.common;
 import de.aivot.GoverBackend.elements.models.ElementDerivationData;
 import de.aivot.GoverBackend.nocode.enums.NoCodeDataType;
 import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
+import de.aivot.GoverBackend.nocode.models.NoCodeBooleanOperator;
 import de.aivot.GoverBackend.nocode.models.NoCodeOperator;
 import de.aivot.GoverBackend.nocode.models.NoCodeParameter;
 import de.aivot.GoverBackend.nocode.models.NoCodeResult;
 
-public class NoCodeGreaterThanOperator extends NoCodeOperator {
+public class NoCodeGreaterThanOperator extends NoCodeOperator implements NoCodeBooleanOperator {
     @Override
     public String getIdentifier() {
         return "greater-than";
@@ -74,9 +75,11 @@ public class NoCodeGreaterThanOperator extends NoCodeOperator {
 
     @Override
     public NoCodeResult performEvaluation(ElementDerivationData data, Object... args) throws NoCodeException {
-        var arg0 = castToNumber(args[0]);
-        var arg1 = castToNumber(args[1]);
+        return new NoCodeResult(NoCodeDataType.Boolean, performBooleanEvaluation(data, args[0], args[1]));
+    }
 
-        return new NoCodeResult(NoCodeDataType.Boolean, arg0.compareTo(arg1) > 0);
+    @Override
+    public boolean performBooleanEvaluation(ElementDerivationData data, Object arg0, Object arg1) throws NoCodeException {
+        return compareNumbers(arg0, arg1) > 0;
     }
-}
\ No newline at end of file
+}
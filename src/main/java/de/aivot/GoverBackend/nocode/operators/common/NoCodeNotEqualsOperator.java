@@ -2,7 +2,6 @@ package de.aivot.GoverBackend.nocode.operators.common;
 
 import de.aivot.GoverBackend.elements.models.ElementDerivationData;
 import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
-import de.aivot.GoverBackend.nocode.models.NoCodeResult;
 
 public class NoCodeNotEqualsOperator extends NoCodeEqualsOperator {
     @Override
@@ -51,11 +50,7 @@ public class NoCodeNotEqualsOperator extends NoCodeEqualsOperator {
     }
 
     @Override
-    public NoCodeResult performEvaluation(ElementDerivationData data, Object... args) throws NoCodeException {
-        var res = super.performEvaluation(data, args);
-        return new NoCodeResult(
-                res.getDataType(),
-                !res.getValueAsBoolean()
-        );
+    public boolean performBooleanEvaluation(ElementDerivationData data, Object arg0, Object arg1) throws NoCodeException {
+        return !super.performBooleanEvaluation(data, arg0, arg1);
     }
 }
@@ -14,16 +14,19 @@ import jakarta.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * This service evaluates no code expressions.
  * It uses the operators provided by the registered {@link NoCodeOperatorServiceProvider} to evaluate the expressions.
+ * The expressions are compiled into {@link NoCodeCompiledExpression}s on their first evaluation.
  */
 @Service
 public class NoCodeEvaluationService {
     private static final Logger logger = LoggerFactory.getLogger(NoCodeEvaluationService.class);
 
-    private final Map<String, NoCodeOperator> noCodeOperatorProviders;
+    private final Map<String, NoCodeCompiledExpression.BoundOperator> noCodeOperatorProviders;
+    private final Function<String, NoCodeCompiledExpression.BoundOperator> operatorResolver = this::getNoCodeOperator;
 
     @Autowired
     public NoCodeEvaluationService(List<NoCodeOperatorServiceProvider> noCodeOperatorProviders) {
@@ -43,7 +46,7 @@ public class NoCodeEvaluationService {
                             .addKeyValue("operatorPackageName", operator.getClass().getPackageName())
                             .log();
                 } else {
-                    this.noCodeOperatorProviders.put(packageScopedOperatorIdentifier, operator);
+                    this.noCodeOperatorProviders.put(packageScopedOperatorIdentifier, new NoCodeCompiledExpression.BoundOperator(operator));
                 }
             }
         }
@@ -55,11 +58,28 @@ public class NoCodeEvaluationService {
      * @param identifier The identifier of the operator
      * @return The operator
      */
-    private NoCodeOperator getNoCodeOperator(String identifier) {
-        if (!noCodeOperatorProviders.containsKey(identifier)) {
+    private NoCodeCompiledExpression.BoundOperator getNoCodeOperator(String identifier) {
+        var operator = noCodeOperatorProviders.get(identifier);
+        if (operator == null) {
             throw new IllegalArgumentException("NoCodeOperatorProvider with identifier " + identifier + " does not exist");
         }
-        return noCodeOperatorProviders.get(identifier);
+        return operator;
+    }
+
+    /**
+     * Compile a no code expression.
+     * The compiled expression is kept with the expression, so every expression is only compiled once.
+     *
+     * @param exp The expression to compile
+     * @return The compiled expression
+     */
+    @Nonnull
+    public NoCodeCompiledExpression compile(@Nonnull NoCodeExpression exp) {
+        try {
+            return exp.compile(operatorResolver);
+        } catch (NoCodeException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -71,45 +91,25 @@ public class NoCodeEvaluationService {
      */
     @Nonnull
     public NoCodeResult evaluate(@Nonnull NoCodeExpression exp, @Nonnull ElementDerivationData context, @Nullable String idPrefix) {
-        var operands = exp.getOperands();
-        if (operands == null) {
-            operands = List.of();
-        }
-
-        var operandValues = operands
-                .stream()
-                .map(op -> resolveNoCodeOperand(op, context, idPrefix))
-                .toArray();
-
-        var operator = getNoCodeOperator(exp.getOperatorIdentifier());
-
         try {
-            return operator.evaluate(context, operandValues);
+            return compile(exp).evaluate(context, idPrefix);
         } catch (NoCodeException e) {
             throw new RuntimeException(e);
         }
     }
 
-    @Nullable
-    private Object resolveNoCodeOperand(@Nullable NoCodeOperand operand, @Nonnull ElementDerivationData context, @Nullable String idPrefix) {
-        if (operand == null) {
-            return null;
+    /**
+     * Evaluate a no code expression and interpret its result as a boolean.
+     *
+     * @param exp     The expression to evaluate
+     * @param context The form state, containing the values and visibilities of the elements
+     * @return The result of the evaluation as a boolean
+     */
+    public boolean evaluateAsBoolean(@Nonnull NoCodeExpression exp, @Nonnull ElementDerivationData context, @Nullable String idPrefix) {
+        try {
+            return compile(exp).evaluateAsBoolean(context, idPrefix);
+        } catch (NoCodeException e) {
+            throw new RuntimeException(e);
         }
-
-        return switch (operand) {
-            // Static values resolve directly
-            case NoCodeStaticValue staticValue -> staticValue.getValue();
-
-            // Referenced elements resolve based on their visibility and the values map
-            case NoCodeReference reference -> context
-                    .getValue(idPrefix != null ? idPrefix + "_" + reference.getElementId() : reference.getElementId())
-                    .orElse(null);
-
-            // Expressions resolve by evaluating them
-            case NoCodeExpression expression -> evaluate(expression, context, idPrefix).getValue();
-
-            // Unknown operands are not supported
-            default -> throw new IllegalStateException("Unexpected value: " + operand);
-        };
     }
 }
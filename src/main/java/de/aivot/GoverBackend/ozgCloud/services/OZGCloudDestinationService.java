@@ -78,7 +78,7 @@ public class OZGCloudDestinationService {
     ) throws IOException {
         var payloadJSON = new ObjectMapper()
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                .writeValueAsString(payload);
+                .writeValueAsBytes(payload);
 
         var body = new MultipartBodyPublisher()
                 .addPart(FORM_FIELD_PAYLOAD, payloadJSON)
@@ -88,24 +88,25 @@ public class OZGCloudDestinationService {
             body.addPart(FORM_FIELD_ATTACHMENT, attachment);
         }
 
-        var responseBody = httpClient
+        // The parts are written one after another into the request body, so resources are streamed instead of being buffered.
+        // The response body is not used and is discarded.
+        httpClient
                 .post()
                 .uri(destinationUri)
                 .body(body.build())
                 .retrieve()
-                .body(byte[].class);
-
-        if (responseBody == null) {
-            throw new RuntimeException("Received null response body from OZGCloud destination");
-        }
+                .toBodilessEntity();
     }
 
     public static class MultipartBodyPublisher {
         private final MultiValueMap<String, Resource> parts = new LinkedMultiValueMap<>();
 
         public MultipartBodyPublisher addPart(String name, String value) {
-            var res = new ByteArrayResource(value.getBytes(StandardCharsets.UTF_8));
-            parts.add(name, res);
+            return addPart(name, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public MultipartBodyPublisher addPart(String name, byte[] value) {
+            parts.add(name, new ByteArrayResource(value));
             return this;
         }
 
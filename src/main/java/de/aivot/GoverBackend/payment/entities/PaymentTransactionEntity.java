@@ -41,6 +41,17 @@ public class PaymentTransactionEntity {
     @NotNull
     private LocalDateTime updated;
 
+    @NotNull
+    @Column(nullable = false)
+    private Integer pollAttempts = 0;
+
+    private LocalDateTime nextPoll;
+
+    @Column(length = 36)
+    private String pollLeaseOwner;
+
+    private LocalDateTime pollLeaseUntil;
+
     @PrePersist
     public void prePersist() {
         created = LocalDateTime.now();
@@ -133,4 +144,40 @@ public class PaymentTransactionEntity {
         this.paymentError = paymentError;
         return this;
     }
+
+    public Integer getPollAttempts() {
+        return pollAttempts;
+    }
+
+    public PaymentTransactionEntity setPollAttempts(Integer pollAttempts) {
+        this.pollAttempts = pollAttempts;
+        return this;
+    }
+
+    public LocalDateTime getNextPoll() {
+        return nextPoll;
+    }
+
+    public PaymentTransactionEntity setNextPoll(LocalDateTime nextPoll) {
+        this.nextPoll = nextPoll;
+        return this;
+    }
+
+    public String getPollLeaseOwner() {
+        return pollLeaseOwner;
+    }
+
+    public PaymentTransactionEntity setPollLeaseOwner(String pollLeaseOwner) {
+        this.pollLeaseOwner = pollLeaseOwner;
+        return this;
+    }
+
+    public LocalDateTime getPollLeaseUntil() {
+        return pollLeaseUntil;
+    }
+
+    public PaymentTransactionEntity setPollLeaseUntil(LocalDateTime pollLeaseUntil) {
+        this.pollLeaseUntil = pollLeaseUntil;
+        return this;
+    }
 }
@@ -0,0 +1,91 @@
+package de.aivot.GoverBackend.payment.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for polling the status of open payment transactions.
+ * The properties are loaded from the application configuration file.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "payment-polling")
+public class PaymentPollingConfigurationProperties {
+    /**
+     * The number of transactions polled concurrently by this instance.
+     */
+    private Integer workerThreads = 4;
+
+    /**
+     * The delay in milliseconds between two checks for transactions due for polling.
+     */
+    private Long pollInterval = 10000L;
+
+    /**
+     * The time in milliseconds a leased transaction is reserved for this instance.
+     * Must be longer than the slowest poll, otherwise another instance may poll the transaction at the same time.
+     */
+    private Long leaseDuration = 5 * 60 * 1000L;
+
+    /**
+     * The maximum number of concurrent status requests to a single payment provider from this instance.
+     */
+    private Integer maxConcurrentRequestsPerProvider = 2;
+
+    /**
+     * The delay in milliseconds before the first poll of a new transaction. The delay doubles with every further poll.
+     */
+    private Long initialBackoff = 60 * 1000L;
+
+    /**
+     * The maximum delay in milliseconds between two polls of a transaction.
+     */
+    private Long maxBackoff = 60 * 60 * 1000L;
+
+    public Integer getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(Integer workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public Long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Long getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Long leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Integer getMaxConcurrentRequestsPerProvider() {
+        return maxConcurrentRequestsPerProvider;
+    }
+
+    public void setMaxConcurrentRequestsPerProvider(Integer maxConcurrentRequestsPerProvider) {
+        this.maxConcurrentRequestsPerProvider = maxConcurrentRequestsPerProvider;
+    }
+
+    public Long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+}
@@ -3,6 +3,46 @@ package de.aivot.GoverBackend.payment.repositories;
 import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface PaymentTransactionRepository extends JpaRepository<PaymentTransactionEntity, String>, JpaSpecificationExecutor<PaymentTransactionEntity> {
+    /**
+     * Select and lock the open transactions, which are due for polling and not leased by any instance.
+     * Rows locked by other instances are skipped, so multiple instances can lease transactions at the same time without blocking each other.
+     * Must be called within a transaction.
+     */
+    @Query(value = """
+            SELECT *
+            FROM payment_transactions
+            WHERE next_poll <= ?1
+              AND payment_error IS NULL
+              AND coalesce(payment_information ->> 'status', 'INITIAL') = 'INITIAL'
+              AND (poll_lease_until IS NULL OR poll_lease_until < ?1)
+            ORDER BY next_poll
+            LIMIT ?2
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PaymentTransactionEntity> findDueForPollingForUpdate(LocalDateTime now, int limit);
+
+    /**
+     * Schedule the next poll of a transaction and release its lease, but only if it is still leased by the given instance.
+     * Only the polling columns are written, so changes of the transaction made during the poll, e.g. by a callback of the payment provider, are kept.
+     * Must be called within a transaction.
+     *
+     * @return The number of updated transactions, which is 0 if the lease was lost.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE payment_transactions
+            SET poll_attempts    = ?3,
+                next_poll        = ?4,
+                poll_lease_owner = NULL,
+                poll_lease_until = NULL
+            WHERE key = ?1 AND poll_lease_owner = ?2
+            """, nativeQuery = true)
+    int releasePollLease(String key, String leaseOwner, int pollAttempts, LocalDateTime nextPoll);
 }
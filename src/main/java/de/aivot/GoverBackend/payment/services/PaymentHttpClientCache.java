@@ -0,0 +1,101 @@
+package de.aivot.GoverBackend.payment.services;
+
+import de.aivot.GoverBackend.payment.exceptions.PaymentException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for the http clients of payment providers.
+ * Creating a client for a payment provider can be expensive, e.g. when a client certificate has to be loaded into a new {@link javax.net.ssl.SSLContext}.
+ * Reusing the client also reuses its connections and TLS sessions.
+ * <p>
+ * Each client is cached with a version, which must change whenever anything the client is created from changes.
+ * A client with an outdated version is replaced, but not shut down, as other threads may still send requests with it.
+ * The replaced client is released by the garbage collector once the last request using it is done.
+ */
+@Service
+public class PaymentHttpClientCache {
+    private static final String METRIC_PREFIX = "gover.payment.http.client";
+
+    private final Map<String, CachedClient> clients = new ConcurrentHashMap<>();
+
+    private final Counter creationCounter;
+
+    @Autowired
+    public PaymentHttpClientCache(MeterRegistry meterRegistry) {
+        this.creationCounter = Counter.builder(METRIC_PREFIX + ".creations")
+                .description("Number of http clients created for payment providers")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        clients.values().forEach(cachedClient -> cachedClient.client().shutdown());
+        clients.clear();
+    }
+
+    /**
+     * Get the http client of a payment provider.
+     * The client is created, if no client with the given version is cached.
+     * The returned client is shared and must not be closed by the caller.
+     *
+     * @param paymentProviderKey The key of the payment provider entity.
+     * @param version            The version of everything the client is created from.
+     * @param factory            The factory creating a new client.
+     * @return The http client.
+     * @throws PaymentException If the client could not be created.
+     */
+    @Nonnull
+    public HttpClient getOrCreate(
+            @Nonnull String paymentProviderKey,
+            @Nonnull String version,
+            @Nonnull HttpClientFactory factory
+    ) throws PaymentException {
+        var cachedClient = clients.get(paymentProviderKey);
+        if (cachedClient != null && cachedClient.version().equals(version)) {
+            return cachedClient.client();
+        }
+
+        // Create the clients one at a time, so concurrent requests do not replace each others clients
+        synchronized (clients) {
+            cachedClient = clients.get(paymentProviderKey);
+            if (cachedClient != null && cachedClient.version().equals(version)) {
+                return cachedClient.client();
+            }
+
+            creationCounter.increment();
+
+            var client = factory.create();
+            clients.put(paymentProviderKey, new CachedClient(version, client));
+            return client;
+        }
+    }
+
+    /**
+     * Drop the cached http client of a payment provider.
+     * This must be called whenever a payment provider is changed or removed.
+     * Requests already sending with the dropped client are completed.
+     *
+     * @param paymentProviderKey The key of the payment provider entity.
+     */
+    public void invalidate(@Nonnull String paymentProviderKey) {
+        clients.remove(paymentProviderKey);
+    }
+
+    @FunctionalInterface
+    public interface HttpClientFactory {
+        @Nonnull
+        HttpClient create() throws PaymentException;
+    }
+
+    private record CachedClient(String version, HttpClient client) {
+    }
+}
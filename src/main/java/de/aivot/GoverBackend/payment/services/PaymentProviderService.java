@@ -29,6 +29,7 @@ public class PaymentProviderService implements EntityService<PaymentProviderEnti
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final PaymentTransactionService paymentTransactionService;
     private final PaymentProviderDefinitionsService paymentProviderDefinitionsService;
+    private final PaymentHttpClientCache paymentHttpClientCache;
 
     @Autowired
     public PaymentProviderService(
@@ -36,12 +37,14 @@ public class PaymentProviderService implements EntityService<PaymentProviderEnti
             FormRepository formRepository,
             PaymentTransactionRepository paymentTransactionRepository,
             PaymentTransactionService paymentTransactionService,
-            PaymentProviderDefinitionsService paymentProviderDefinitionsService) {
+            PaymentProviderDefinitionsService paymentProviderDefinitionsService,
+            PaymentHttpClientCache paymentHttpClientCache) {
         this.formRepository = formRepository;
         this.paymentProviderRepository = paymentProviderRepository;
         this.paymentTransactionRepository = paymentTransactionRepository;
         this.paymentTransactionService = paymentTransactionService;
         this.paymentProviderDefinitionsService = paymentProviderDefinitionsService;
+        this.paymentHttpClientCache = paymentHttpClientCache;
     }
 
     @Nonnull
@@ -128,8 +131,10 @@ public class PaymentProviderService implements EntityService<PaymentProviderEnti
         existingEntity.setIsEnabled(entity.getIsEnabled());
         existingEntity.setTestProvider(entity.getTestProvider());
 
-        return paymentProviderRepository
+        var updatedEntity = paymentProviderRepository
                 .save(existingEntity);
+        paymentHttpClientCache.invalidate(updatedEntity.getKey());
+        return updatedEntity;
     }
 
     @Override
@@ -170,6 +175,7 @@ public class PaymentProviderService implements EntityService<PaymentProviderEnti
         }
 
         paymentProviderRepository.delete(entity);
+        paymentHttpClientCache.invalidate(entity.getKey());
     }
 
     public boolean isTestProvider(String providerKey) {
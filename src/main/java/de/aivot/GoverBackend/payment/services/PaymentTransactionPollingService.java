@@ -0,0 +1,221 @@
+package de.aivot.GoverBackend.payment.services;
+
+import de.aivot.GoverBackend.enums.XBezahldienstStatus;
+import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
+import de.aivot.GoverBackend.payment.exceptions.PaymentException;
+import de.aivot.GoverBackend.payment.properties.PaymentPollingConfigurationProperties;
+import de.aivot.GoverBackend.payment.repositories.PaymentTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for polling the status of open payment transactions from their payment providers.
+ * <p>
+ * Each open transaction carries the time of its next poll.
+ * Each instance checks for due transactions and leases them with {@code FOR UPDATE SKIP LOCKED}, so every transaction is polled by a single instance at a time.
+ * The leased transactions are polled concurrently, but the number of concurrent requests to a single payment provider is limited.
+ * The delay between two polls of a transaction doubles with every poll, so transactions, which are never paid, cause less and less load.
+ */
+@Service
+@EnableScheduling
+public class PaymentTransactionPollingService {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentTransactionPollingService.class);
+    private static final String METRIC_PREFIX = "gover.payment.polling";
+
+    private final PaymentPollingConfigurationProperties properties;
+    private final PaymentTransactionRepository paymentTransactionRepository;
+    private final PaymentTransactionService paymentTransactionService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor;
+    private final AtomicInteger runningPolls = new AtomicInteger(0);
+    private final Map<String, Semaphore> providerPermits = new ConcurrentHashMap<>();
+
+    private final Timer pollTimer;
+    private final Counter errorCounter;
+    private final Counter deferralCounter;
+
+    @Autowired
+    public PaymentTransactionPollingService(
+            PaymentPollingConfigurationProperties properties,
+            PaymentTransactionRepository paymentTransactionRepository,
+            PaymentTransactionService paymentTransactionService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.paymentTransactionRepository = paymentTransactionRepository;
+        this.paymentTransactionService = paymentTransactionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.executor = Executors.newFixedThreadPool(properties.getWorkerThreads());
+
+        this.pollTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Duration of polling the status of a payment transaction from its payment provider")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder(METRIC_PREFIX + ".errors")
+                .description("Number of payment transactions, which failed to be polled")
+                .register(meterRegistry);
+        this.deferralCounter = Counter.builder(METRIC_PREFIX + ".deferrals")
+                .description("Number of polls deferred because the payment provider was busy with other polls")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Unfinished polls are picked up again once their lease expired
+            executor.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment-polling.pollInterval:10000}")
+    public void pollDueTransactions() {
+        var freeWorkers = properties.getWorkerThreads() - runningPolls.get();
+        if (freeWorkers <= 0) {
+            return;
+        }
+
+        List<PaymentTransactionEntity> leasedTransactions;
+        try {
+            leasedTransactions = lease(freeWorkers);
+        } catch (Exception e) {
+            logger
+                    .atError()
+                    .setMessage("Failed to lease payment transactions for polling")
+                    .setCause(e)
+                    .log();
+            return;
+        }
+
+        for (var transaction : leasedTransactions) {
+            runningPolls.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    poll(transaction);
+                } catch (Exception e) {
+                    // The lease expires and the transaction is polled again
+                    logger
+                            .atError()
+                            .setMessage("Unexpected error while polling payment transaction")
+                            .addKeyValue("transactionKey", transaction.getKey())
+                            .setCause(e)
+                            .log();
+                } finally {
+                    runningPolls.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private List<PaymentTransactionEntity> lease(int limit) {
+        return transactionTemplate.execute(status -> {
+            var now = LocalDateTime.now();
+            var transactions = paymentTransactionRepository.findDueForPollingForUpdate(now, limit);
+            for (var transaction : transactions) {
+                transaction.setPollLeaseOwner(instanceId);
+                transaction.setPollLeaseUntil(now.plus(Duration.ofMillis(properties.getLeaseDuration())));
+            }
+            return paymentTransactionRepository.saveAll(transactions);
+        });
+    }
+
+    private void poll(@Nonnull PaymentTransactionEntity transaction) {
+        var permits = providerPermits.computeIfAbsent(
+                transaction.getPaymentProviderKey(),
+                key -> new Semaphore(properties.getMaxConcurrentRequestsPerProvider())
+        );
+
+        // Do not block a worker for a busy payment provider, but try again with the next check
+        if (!permits.tryAcquire()) {
+            deferralCounter.increment();
+            release(transaction, transaction.getPollAttempts(), LocalDateTime.now().plus(Duration.ofMillis(properties.getPollInterval())));
+            return;
+        }
+
+        try {
+            var sample = Timer.start();
+            try {
+                paymentTransactionService.processCallback(transaction, null);
+            } finally {
+                sample.stop(pollTimer);
+            }
+        } catch (PaymentException e) {
+            // The error is stored with the transaction, which ends its polling
+            errorCounter.increment();
+            logger
+                    .atWarn()
+                    .setMessage("Failed to poll payment transaction")
+                    .addKeyValue("transactionKey", transaction.getKey())
+                    .addKeyValue("paymentProviderKey", transaction.getPaymentProviderKey())
+                    .setCause(e)
+                    .log();
+        } finally {
+            permits.release();
+        }
+
+        if (transaction.getStatus() != XBezahldienstStatus.INITIAL || transaction.hasError()) {
+            release(transaction, transaction.getPollAttempts(), null);
+            return;
+        }
+
+        var attempts = transaction.getPollAttempts() + 1;
+        release(transaction, attempts, LocalDateTime.now().plus(Duration.ofMillis(getBackoff(attempts))));
+    }
+
+    /**
+     * Release the lease of a transaction and schedule its next poll.
+     * Only the polling columns are written, because the leased transaction may be outdated.
+     * A callback of the payment provider can change the transaction while it is leased and must not be overwritten.
+     *
+     * @param transaction  The leased transaction.
+     * @param pollAttempts The number of polls of the transaction so far.
+     * @param nextPoll     The time of the next poll or null, if the transaction must not be polled again.
+     */
+    private void release(@Nonnull PaymentTransactionEntity transaction, int pollAttempts, LocalDateTime nextPoll) {
+        var released = transactionTemplate.execute(status -> paymentTransactionRepository.releasePollLease(
+                transaction.getKey(),
+                instanceId,
+                pollAttempts,
+                nextPoll
+        ));
+
+        if (released == null || released == 0) {
+            logger
+                    .atWarn()
+                    .setMessage("Lost the lease of a payment transaction while polling it")
+                    .addKeyValue("transactionKey", transaction.getKey())
+                    .log();
+        }
+    }
+
+    private long getBackoff(int attempts) {
+        var backoff = properties.getInitialBackoff() << Math.min(attempts, 30);
+        return Math.min(backoff, properties.getMaxBackoff());
+    }
+}
@@ -2,7 +2,6 @@ package de.aivot.GoverBackend.payment.services;
 
 import de.aivot.GoverBackend.audit.services.AuditService;
 import de.aivot.GoverBackend.audit.services.ScopedAuditService;
-import de.aivot.GoverBackend.enums.XBezahldienstStatus;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.lib.services.DeleteEntityService;
@@ -11,11 +10,11 @@ import de.aivot.GoverBackend.models.config.GoverConfig;
 import de.aivot.GoverBackend.payment.entities.PaymentProviderEntity;
 import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
 import de.aivot.GoverBackend.payment.exceptions.PaymentException;
-import de.aivot.GoverBackend.payment.filters.PaymentTransactionFilter;
 import de.aivot.GoverBackend.payment.models.PaymentItem;
 import de.aivot.GoverBackend.payment.models.PaymentTransactionChangeListener;
 import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentRequest;
 import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentTransaction;
+import de.aivot.GoverBackend.payment.properties.PaymentPollingConfigurationProperties;
 import de.aivot.GoverBackend.payment.repositories.PaymentProviderRepository;
 import de.aivot.GoverBackend.payment.repositories.PaymentTransactionRepository;
 import jakarta.annotation.Nullable;
@@ -23,16 +22,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.Nonnull;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
-@EnableScheduling
 public class PaymentTransactionService implements
         ReadEntityService<PaymentTransactionEntity, String>,
         DeleteEntityService<PaymentTransactionEntity, String> {
@@ -44,6 +41,7 @@ public class PaymentTransactionService implements
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final PaymentProviderDefinitionsService paymentProviderDefinitionsService;
     private final PaymentProviderRepository paymentProviderRepository;
+    private final PaymentPollingConfigurationProperties paymentPollingConfigurationProperties;
 
     @Autowired
     public PaymentTransactionService(
@@ -52,13 +50,15 @@ public class PaymentTransactionService implements
             PaymentTransactionRepository paymentTransactionRepository,
             AuditService auditService,
             PaymentProviderDefinitionsService paymentProviderDefinitionsService,
-            PaymentProviderRepository paymentProviderRepository) {
+            PaymentProviderRepository paymentProviderRepository,
+            PaymentPollingConfigurationProperties paymentPollingConfigurationProperties) {
         this.auditService = auditService.createScopedAuditService(PaymentTransactionService.class);
         this.paymentTransactionChangeListeners = paymentTransactionChangeListeners;
         this.config = config;
         this.paymentTransactionRepository = paymentTransactionRepository;
         this.paymentProviderDefinitionsService = paymentProviderDefinitionsService;
         this.paymentProviderRepository = paymentProviderRepository;
+        this.paymentPollingConfigurationProperties = paymentPollingConfigurationProperties;
     }
 
     /**
@@ -94,6 +94,8 @@ public class PaymentTransactionService implements
         transactionEntity.setRedirectUrl(finalRedirectUrl);
         transactionEntity.setCreated(LocalDateTime.now());
         transactionEntity.setUpdated(LocalDateTime.now());
+        // Schedule the first poll of the payment status, in case the payment provider never calls back
+        transactionEntity.setNextPoll(LocalDateTime.now().plus(Duration.ofMillis(paymentPollingConfigurationProperties.getInitialBackoff())));
 
         // Create initial redirect URL
         var initialRedirectUrl = config.createUrl("/api/public/payment-transaction-callback/", transactionEntity.getKey()) + "/redirect/";
@@ -268,27 +270,4 @@ public class PaymentTransactionService implements
             }
         }
     }
-
-    @Scheduled(cron = "* 0/15 * * * *", zone = "Europe/Paris")
-    public void poll() {
-        var spec = PaymentTransactionFilter
-                .create()
-                .setStatus(XBezahldienstStatus.INITIAL)
-                .setHasError(false)
-                .build();
-
-        var pendingTransactions = paymentTransactionRepository
-                .findAll(spec);
-
-        for (var transactionEntity : pendingTransactions) {
-            auditService.debugMessage("Polling transaction " + transactionEntity.getKey(), Map.of("transactionKey", transactionEntity.getKey()));
-
-            try {
-                processCallback(transactionEntity, null);
-            } catch (PaymentException e) {
-                auditService.logException("Error polling transaction " + transactionEntity.getKey(), e);
-                // TODO: Set error flag on transaction
-            }
-        }
-    }
 }
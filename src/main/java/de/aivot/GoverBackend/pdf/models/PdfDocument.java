@@ -0,0 +1,47 @@
+package de.aivot.GoverBackend.pdf.models;
+
+import jakarta.annotation.Nonnull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The rendered templates of a PDF, which are sent to the PDF service for printing.
+ * Everything a PDF shows ends up in these templates, so the fingerprint of the templates identifies the printed PDF.
+ *
+ * @param html           The html of the document body.
+ * @param headerTemplate The html of the page header.
+ * @param footerTemplate The html of the page footer.
+ */
+public record PdfDocument(
+        @Nonnull String html,
+        @Nonnull String headerTemplate,
+        @Nonnull String footerTemplate
+) {
+    /**
+     * Get a hash over the rendered templates.
+     * Two documents with the same fingerprint are printed to the same PDF.
+     *
+     * @return The hex encoded SHA-256 hash of the templates.
+     */
+    @Nonnull
+    public String getFingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        for (var template : new String[]{html, headerTemplate, footerTemplate}) {
+            var bytes = template.getBytes(StandardCharsets.UTF_8);
+            digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(bytes);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,57 @@
+package de.aivot.GoverBackend.ratelimit;
+
+import de.aivot.GoverBackend.ratelimit.filters.RateLimitFilter;
+import de.aivot.GoverBackend.ratelimit.properties.RateLimitConfigurationProperties;
+import de.aivot.GoverBackend.ratelimit.services.RateLimitService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the rate limits of the expensive public endpoints.
+ * Servlet url patterns only support prefixes, so the filters are registered for a prefix and match the exact endpoints themselves.
+ */
+@Configuration
+public class RateLimitConfiguration {
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> challengeRateLimitFilter(
+            RateLimitService rateLimitService,
+            RateLimitConfigurationProperties properties
+    ) {
+        return createRegistration(
+                new RateLimitFilter(rateLimitService, "captcha", properties.getCaptcha(), List.of("/api/public/captcha/challenge/")),
+                "/api/public/captcha/challenge/"
+        );
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> deriveRateLimitFilter(
+            RateLimitService rateLimitService,
+            RateLimitConfigurationProperties properties
+    ) {
+        return createRegistration(
+                new RateLimitFilter(rateLimitService, "derive", properties.getDerive(), List.of("/api/public/forms/*/derive", "/api/public/forms/*/derive/**")),
+                "/api/public/forms/*"
+        );
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> submitRateLimitFilter(
+            RateLimitService rateLimitService,
+            RateLimitConfigurationProperties properties
+    ) {
+        return createRegistration(
+                new RateLimitFilter(rateLimitService, "submit", properties.getSubmit(), List.of("/api/public/submit/**")),
+                "/api/public/submit/*"
+        );
+    }
+
+    private static FilterRegistrationBean<RateLimitFilter> createRegistration(RateLimitFilter filter, String urlPattern) {
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(urlPattern);
+        registration.setOrder(1);
+        return registration;
+    }
+}
@@ -0,0 +1,82 @@
+package de.aivot.GoverBackend.ratelimit.filters;
+
+import de.aivot.GoverBackend.ratelimit.properties.RateLimitConfigurationProperties;
+import de.aivot.GoverBackend.ratelimit.services.RateLimitService;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This filter limits the number of requests from a single IP address to the endpoints matching the given path patterns.
+ * If the limit is exceeded, it returns a 429 Too Many Requests response.
+ */
+public class RateLimitFilter implements Filter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimitService rateLimitService;
+    private final String name;
+    private final RateLimitConfigurationProperties.Policy policy;
+    private final List<String> pathPatterns;
+
+    public RateLimitFilter(
+            @Nonnull RateLimitService rateLimitService,
+            @Nonnull String name,
+            @Nonnull RateLimitConfigurationProperties.Policy policy,
+            @Nonnull List<String> pathPatterns
+    ) {
+        this.rateLimitService = rateLimitService;
+        this.name = name;
+        this.policy = policy;
+        this.pathPatterns = pathPatterns;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(req instanceof HttpServletRequest httpReq) || !isLimited(httpReq)) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        if (rateLimitService.tryConsume(name, policy, extractClientIp(httpReq))) {
+            chain.doFilter(req, res);
+        } else {
+            HttpServletResponse httpRes = (HttpServletResponse) res;
+            httpRes.setStatus(429);
+            httpRes.setContentType("text/plain");
+            httpRes.getWriter().write("Too many requests");
+        }
+    }
+
+    private boolean isLimited(@Nonnull HttpServletRequest req) {
+        // Preflight requests of browsers do not reach the endpoints
+        if ("OPTIONS".equalsIgnoreCase(req.getMethod())) {
+            return false;
+        }
+
+        var path = req.getRequestURI().substring(req.getContextPath().length());
+        for (var pattern : pathPatterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the client IP address from the request.
+     * The "X-Forwarded-For" header is not read here, because clients can send arbitrary values to evade the limit.
+     * Behind a reverse proxy, the server resolves the address from the forwarded headers of trusted proxies only, see {@code server.forward-headers-strategy}.
+     *
+     * @param req The servlet request
+     * @return The client IP address
+     */
+    private String extractClientIp(HttpServletRequest req) {
+        return req.getRemoteAddr();
+    }
+}
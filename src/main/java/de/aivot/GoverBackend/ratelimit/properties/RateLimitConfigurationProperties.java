@@ -0,0 +1,132 @@
+package de.aivot.GoverBackend.ratelimit.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for limiting the requests of clients to expensive public endpoints.
+ * The properties are loaded from the application configuration file.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfigurationProperties {
+    /**
+     * Whether the requests to the public endpoints are limited.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * Whether the limits are shared by all instances of the application via redis.
+     * If disabled or if redis is not reachable, each instance limits the requests it receives on its own.
+     */
+    private Boolean distributed = true;
+
+    /**
+     * The maximum number of clients tracked by the limits of a single instance.
+     * The least recently seen clients are dropped first.
+     */
+    private Integer localMaxClients = 10000;
+
+    /**
+     * The limit for creating captcha challenges.
+     */
+    private Policy captcha = new Policy(5L, 20 * 1000L);
+
+    /**
+     * The limit for deriving forms.
+     */
+    private Policy derive = new Policy(120L, 60 * 1000L);
+
+    /**
+     * The limit for submitting forms.
+     */
+    private Policy submit = new Policy(10L, 60 * 1000L);
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Boolean getDistributed() {
+        return distributed;
+    }
+
+    public void setDistributed(Boolean distributed) {
+        this.distributed = distributed;
+    }
+
+    public Integer getLocalMaxClients() {
+        return localMaxClients;
+    }
+
+    public void setLocalMaxClients(Integer localMaxClients) {
+        this.localMaxClients = localMaxClients;
+    }
+
+    public Policy getCaptcha() {
+        return captcha;
+    }
+
+    public void setCaptcha(Policy captcha) {
+        this.captcha = captcha;
+    }
+
+    public Policy getDerive() {
+        return derive;
+    }
+
+    public void setDerive(Policy derive) {
+        this.derive = derive;
+    }
+
+    public Policy getSubmit() {
+        return submit;
+    }
+
+    public void setSubmit(Policy submit) {
+        this.submit = submit;
+    }
+
+    /**
+     * A limit of requests per client.
+     * A client may send the given number of requests per period.
+     */
+    public static class Policy {
+        /**
+         * The number of requests a client may send per period.
+         */
+        private Long capacity;
+
+        /**
+         * The length of the period in milliseconds.
+         */
+        private Long period;
+
+        public Policy() {
+        }
+
+        public Policy(Long capacity, Long period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        public Long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Long getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Long period) {
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package de.aivot.GoverBackend.ratelimit.services;
+
+import de.aivot.GoverBackend.ratelimit.properties.RateLimitConfigurationProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for limiting the requests of clients.
+ * <p>
+ * If distributed limits are enabled, the requests of a client are counted in redis, so the limit applies to all instances of the application together.
+ * Each client may send the capacity of a policy within a fixed period, which starts with its first request.
+ * If redis is not reachable, each instance falls back to limiting the requests it receives on its own.
+ * The local limits track a bounded number of clients and drop the least recently seen clients first, so they do not grow with the number of clients.
+ */
+@Service
+public class RateLimitService {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitService.class);
+    private static final String METRIC_PREFIX = "gover.rate.limit";
+    private static final String REDIS_PREFIX = "gover:rate-limit:";
+
+    // Count the request and start the period with the first request
+    private static final RedisScript<Long> CONSUME_SCRIPT = RedisScript.of("""
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """, Long.class);
+
+    private final RateLimitConfigurationProperties properties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final Map<String, Bucket> localBuckets;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter redisFailureCounter;
+
+    @Autowired
+    public RateLimitService(
+            RateLimitConfigurationProperties properties,
+            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.meterRegistry = meterRegistry;
+
+        var maxClients = properties.getLocalMaxClients();
+
+        // Keep the buckets in access order to drop the least recently seen client first
+        this.localBuckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxClients;
+            }
+        };
+
+        this.redisFailureCounter = Counter.builder(METRIC_PREFIX + ".redis.failures")
+                .description("Number of requests limited locally because redis was not reachable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a request of a client and check whether the client is still within its limit.
+     *
+     * @param name   The name of the policy. Each policy counts the requests of a client separately.
+     * @param policy The policy limiting the requests.
+     * @param client The identifier of the client, e.g. its ip address.
+     * @return Whether the request is allowed.
+     */
+    public boolean tryConsume(
+            @Nonnull String name,
+            @Nonnull RateLimitConfigurationProperties.Policy policy,
+            @Nonnull String client
+    ) {
+        if (!properties.getEnabled()) {
+            return true;
+        }
+
+        var key = name + ":" + client;
+        var allowed = properties.getDistributed() ?
+                tryConsumeDistributed(key, policy) :
+                tryConsumeLocal(key, policy);
+
+        if (!allowed) {
+            Counter.builder(METRIC_PREFIX + ".rejections")
+                    .description("Number of requests rejected because the client exceeded its limit")
+                    .tag("policy", name)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        return allowed;
+    }
+
+    private boolean tryConsumeDistributed(
+            @Nonnull String key,
+            @Nonnull RateLimitConfigurationProperties.Policy policy
+    ) {
+        var redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return tryConsumeLocal(key, policy);
+        }
+
+        try {
+            var count = redisTemplate.execute(
+                    CONSUME_SCRIPT,
+                    List.of(REDIS_PREFIX + key),
+                    policy.getPeriod().toString()
+            );
+            return count != null && count <= policy.getCapacity();
+        } catch (Exception e) {
+            redisFailureCounter.increment();
+            logger
+                    .atWarn()
+                    .setMessage("Failed to count request in redis, falling back to the local rate limit")
+                    .setCause(e)
+                    .log();
+            return tryConsumeLocal(key, policy);
+        }
+    }
+
+    private boolean tryConsumeLocal(
+            @Nonnull String key,
+            @Nonnull RateLimitConfigurationProperties.Policy policy
+    ) {
+        Bucket bucket;
+        synchronized (localBuckets) {
+            bucket = localBuckets.computeIfAbsent(key, k -> createBucket(policy));
+        }
+        return bucket.tryConsume(1);
+    }
+
+    @Nonnull
+    private static Bucket createBucket(@Nonnull RateLimitConfigurationProperties.Policy policy) {
+        var refill = Refill.intervally(policy.getCapacity(), Duration.ofMillis(policy.getPeriod()));
+        var limit = Bandwidth.classic(policy.getCapacity(), refill);
+        return Bucket.builder().addLimit(limit).build();
+    }
+}
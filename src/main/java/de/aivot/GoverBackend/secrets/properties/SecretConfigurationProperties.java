@@ -14,6 +14,22 @@ import org.springframework.context.annotation.Configuration;
 public class SecretConfigurationProperties {
     private String key;
 
+    /**
+     * The maximum number of keys derived from the key and the salts of the secrets, which are kept in memory.
+     */
+    private Integer derivedKeyCacheSize = 1024;
+
+    /**
+     * The maximum number of decrypted secret values kept in memory.
+     */
+    private Integer valueCacheSize = 256;
+
+    /**
+     * The time in milliseconds a decrypted secret value is kept in memory.
+     * Set to 0 to disable the cache of decrypted values.
+     */
+    private Long valueCacheTtl = 300000L;
+
     public String getKey() {
         return key;
     }
@@ -21,4 +37,28 @@ public class SecretConfigurationProperties {
     public void setKey(String key) {
         this.key = key;
     }
+
+    public Integer getDerivedKeyCacheSize() {
+        return derivedKeyCacheSize;
+    }
+
+    public void setDerivedKeyCacheSize(Integer derivedKeyCacheSize) {
+        this.derivedKeyCacheSize = derivedKeyCacheSize;
+    }
+
+    public Integer getValueCacheSize() {
+        return valueCacheSize;
+    }
+
+    public void setValueCacheSize(Integer valueCacheSize) {
+        this.valueCacheSize = valueCacheSize;
+    }
+
+    public Long getValueCacheTtl() {
+        return valueCacheTtl;
+    }
+
+    public void setValueCacheTtl(Long valueCacheTtl) {
+        this.valueCacheTtl = valueCacheTtl;
+    }
 }
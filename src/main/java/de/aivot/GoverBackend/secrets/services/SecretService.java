@@ -6,6 +6,8 @@ import de.aivot.GoverBackend.lib.services.EntityService;
 import de.aivot.GoverBackend.secrets.entities.SecretEntity;
 import de.aivot.GoverBackend.secrets.properties.SecretConfigurationProperties;
 import de.aivot.GoverBackend.secrets.repositories.SecretRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +29,8 @@ import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.KeySpec;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
@@ -40,9 +44,20 @@ import java.util.UUID;
  */
 @Service
 public class SecretService implements EntityService<SecretEntity, String> {
+    private static final String METRIC_PREFIX = "gover.secrets";
+
     private final SecretConfigurationProperties secretConfigurationProperties;
     private final SecretRepository secretRepository;
 
+    // The keys derived from the configured key and the salts of the secrets
+    private final Map<String, SecretKeySpec> derivedKeys;
+    // The decrypted values of the secrets by the key of the secret
+    private final Map<String, CachedValue> decryptedValues;
+
+    private final Counter derivationCounter;
+    private final Counter valueHitCounter;
+    private final Counter valueMissCounter;
+
     // The random number generator used for generating salts
     private static final Random RANDOM = new Random();
 
@@ -55,10 +70,38 @@ public class SecretService implements EntityService<SecretEntity, String> {
     @Autowired
     public SecretService(
             SecretConfigurationProperties secretConfigurationProperties,
-            SecretRepository secretRepository
+            SecretRepository secretRepository,
+            MeterRegistry meterRegistry
     ) {
         this.secretConfigurationProperties = secretConfigurationProperties;
         this.secretRepository = secretRepository;
+
+        var derivedKeyCacheSize = secretConfigurationProperties.getDerivedKeyCacheSize();
+        var valueCacheSize = secretConfigurationProperties.getValueCacheSize();
+
+        // Keep the entries in access order to evict the least recently used entry first
+        this.derivedKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SecretKeySpec> eldest) {
+                return size() > derivedKeyCacheSize;
+            }
+        };
+        this.decryptedValues = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue> eldest) {
+                return size() > valueCacheSize;
+            }
+        };
+
+        this.derivationCounter = Counter.builder(METRIC_PREFIX + ".key.derivations")
+                .description("Number of keys derived with PBKDF2 for encrypting or decrypting secrets")
+                .register(meterRegistry);
+        this.valueHitCounter = Counter.builder(METRIC_PREFIX + ".value.cache.hits")
+                .description("Number of decrypted secret values served from the cache")
+                .register(meterRegistry);
+        this.valueMissCounter = Counter.builder(METRIC_PREFIX + ".value.cache.misses")
+                .description("Number of secret values decrypted because they were not cached")
+                .register(meterRegistry);
     }
 
     @Nonnull
@@ -85,8 +128,7 @@ public class SecretService implements EntityService<SecretEntity, String> {
         try {
             encryptedValue = encryptDataAES(
                     newEntity.getValue(),
-                    secretConfigurationProperties.getKey(),
-                    secretEntity.getSalt()
+                    getDerivedKey(secretEntity.getSalt())
             );
         } catch (Exception e) {
             throw new ResponseException(HttpStatus.INTERNAL_SERVER_ERROR, "Fehler beim Verschlüsseln des Geheimnisses", e.getMessage(), e);
@@ -133,6 +175,7 @@ public class SecretService implements EntityService<SecretEntity, String> {
      * Decrypts a secret entity.
      * The method returns the decrypted secret entity.
      * The method throws a {@link RuntimeException} if an error occurs during decryption.
+     * Decrypted values are cached for a short time, as long as the encrypted value of the secret does not change.
      *
      * @param secretEntity The secret entity to decrypt.
      * @return The decrypted secret entity.
@@ -141,11 +184,29 @@ public class SecretService implements EntityService<SecretEntity, String> {
     public String decrypt(
             @Nonnull SecretEntity secretEntity
     ) throws Exception {
-        return decryptDataAES(
-                secretEntity.getValue(),
-                secretConfigurationProperties.getKey(),
-                secretEntity.getSalt()
-        );
+        var ttl = secretConfigurationProperties.getValueCacheTtl();
+        if (ttl <= 0 || secretEntity.getKey() == null) {
+            return decryptDataAES(secretEntity.getValue(), getDerivedKey(secretEntity.getSalt()));
+        }
+
+        CachedValue cachedValue;
+        synchronized (decryptedValues) {
+            cachedValue = decryptedValues.get(secretEntity.getKey());
+        }
+
+        var now = System.currentTimeMillis();
+        if (cachedValue != null && cachedValue.expires() > now && cachedValue.encryptedValue().equals(secretEntity.getValue())) {
+            valueHitCounter.increment();
+            return cachedValue.value();
+        }
+
+        valueMissCounter.increment();
+
+        var value = decryptDataAES(secretEntity.getValue(), getDerivedKey(secretEntity.getSalt()));
+        synchronized (decryptedValues) {
+            decryptedValues.put(secretEntity.getKey(), new CachedValue(secretEntity.getValue(), value, now + ttl));
+        }
+        return value;
     }
 
     @Nonnull
@@ -159,14 +220,14 @@ public class SecretService implements EntityService<SecretEntity, String> {
         originalEntity.setDescription(updatedEntity.getDescription());
 
         if (!updatedEntity.getValue().matches("^\\*+$")) {
+            evict(originalEntity);
             originalEntity.setSalt(createRandomSalt());
 
             String encryptedValue;
             try {
                 encryptedValue = encryptDataAES(
                         updatedEntity.getValue(),
-                        secretConfigurationProperties.getKey(),
-                        originalEntity.getSalt()
+                        getDerivedKey(originalEntity.getSalt())
                 );
             } catch (Exception e) {
                 throw new ResponseException(HttpStatus.INTERNAL_SERVER_ERROR, "Fehler beim Verschlüsseln des Geheimnisses", e.getMessage(), e);
@@ -184,6 +245,53 @@ public class SecretService implements EntityService<SecretEntity, String> {
         // TODO: Check usage
         secretRepository
                 .delete(entity);
+        evict(entity);
+    }
+
+    /**
+     * Drop the decrypted value and the derived key of a secret from the caches.
+     *
+     * @param entity The secret, which was changed or removed.
+     */
+    private void evict(@Nonnull SecretEntity entity) {
+        synchronized (decryptedValues) {
+            decryptedValues.remove(entity.getKey());
+        }
+        synchronized (derivedKeys) {
+            derivedKeys.remove(entity.getSalt());
+        }
+    }
+
+    /**
+     * Get the key derived from the configured key and the given salt.
+     * Deriving a key runs PBKDF2 with a high iteration count, so the derived keys are cached by their salt.
+     *
+     * @param salt The salt of the secret.
+     * @return The derived key.
+     */
+    @Nonnull
+    private SecretKeySpec getDerivedKey(@Nonnull String salt) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        synchronized (derivedKeys) {
+            var derivedKey = derivedKeys.get(salt);
+            if (derivedKey != null) {
+                return derivedKey;
+            }
+        }
+
+        derivationCounter.increment();
+        var derivedKey = deriveKey(secretConfigurationProperties.getKey(), salt);
+
+        synchronized (derivedKeys) {
+            derivedKeys.put(salt, derivedKey);
+        }
+        return derivedKey;
+    }
+
+    private static SecretKeySpec deriveKey(String secretKey, String salt) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        KeySpec spec = new PBEKeySpec(secretKey.toCharArray(), salt.getBytes(), ITERATION_COUNT, KEY_LENGTH);
+        SecretKey tmp = factory.generateSecret(spec);
+        return new SecretKeySpec(tmp.getEncoded(), "AES");
     }
 
     /**
@@ -206,16 +314,22 @@ public class SecretService implements EntityService<SecretEntity, String> {
      * @throws BadPaddingException                If the padding is bad.
      */
     public static String encryptDataAES(String strToEncrypt, String secretKey, String salt) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidAlgorithmParameterException, InvalidKeyException, UnsupportedEncodingException, IllegalBlockSizeException, BadPaddingException {
+        return encryptDataAES(strToEncrypt, deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Encrypts a string using AES encryption with an already derived key.
+     *
+     * @param strToEncrypt  The string to encrypt.
+     * @param secretKeySpec The key derived from the secret key and the salt.
+     * @return The encrypted string as a Base64 encoded string.
+     */
+    private static String encryptDataAES(String strToEncrypt, SecretKeySpec secretKeySpec) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
         SecureRandom secureRandom = new SecureRandom();
         byte[] iv = new byte[IV_LENGTH];
         secureRandom.nextBytes(iv);
         IvParameterSpec ivspec = new IvParameterSpec(iv);
 
-        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-        KeySpec spec = new PBEKeySpec(secretKey.toCharArray(), salt.getBytes(), ITERATION_COUNT, KEY_LENGTH);
-        SecretKey tmp = factory.generateSecret(spec);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(tmp.getEncoded(), "AES");
-
         Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
         cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivspec);
 
@@ -246,16 +360,22 @@ public class SecretService implements EntityService<SecretEntity, String> {
      * @throws UnsupportedEncodingException       If the encoding is not supported.
      */
     public static String decryptDataAES(String strToDecrypt, String secretKey, String salt) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException, UnsupportedEncodingException {
+        return decryptDataAES(strToDecrypt, deriveKey(secretKey, salt));
+    }
+
+    /**
+     * Decrypts a string using AES decryption with an already derived key.
+     *
+     * @param strToDecrypt  The string to decrypt.
+     * @param secretKeySpec The key derived from the secret key and the salt.
+     * @return The decrypted string.
+     */
+    private static String decryptDataAES(String strToDecrypt, SecretKeySpec secretKeySpec) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
         byte[] encryptedData = Base64.getDecoder().decode(strToDecrypt);
         byte[] iv = new byte[IV_LENGTH];
         System.arraycopy(encryptedData, 0, iv, 0, iv.length);
         IvParameterSpec ivspec = new IvParameterSpec(iv);
 
-        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-        KeySpec spec = new PBEKeySpec(secretKey.toCharArray(), salt.getBytes(), ITERATION_COUNT, KEY_LENGTH);
-        SecretKey tmp = factory.generateSecret(spec);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(tmp.getEncoded(), "AES");
-
         Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
         cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivspec);
 
@@ -265,4 +385,7 @@ public class SecretService implements EntityService<SecretEntity, String> {
         byte[] decryptedText = cipher.doFinal(cipherText);
         return new String(decryptedText, StandardCharsets.UTF_8);
     }
+
+    private record CachedValue(String encryptedValue, String value, long expires) {
+    }
 }
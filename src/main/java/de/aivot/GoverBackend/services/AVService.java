@@ -14,6 +14,10 @@ import java.nio.ByteBuffer;
 
 @Component
 public class AVService {
+    /**
+     * Size of the chunks transmitted to clamav.
+     */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
 
     private final GoverConfig goverConfig;
     private final ClamConfig clamConfig;
@@ -91,56 +95,62 @@ public class AVService {
     }
 
     public boolean testFile(MultipartFile file) throws IOException {
+        try (var fileInputStream = file.getInputStream()) {
+            return testStream(fileInputStream);
+        }
+    }
+
+    /**
+     * Scan the given stream for viruses.
+     * The stream is transmitted to clamav in chunks, so the file is never loaded into memory completely.
+     * The stream is not closed by this method.
+     *
+     * @param fileInputStream The stream to scan.
+     * @return Whether the stream is clean.
+     */
+    public boolean testStream(InputStream fileInputStream) throws IOException {
         // Open socket connection to clamav
-        var clamAvSocket = new Socket(clamConfig.getHost(), Integer.parseInt(clamConfig.getPort()));
-        clamAvSocket.setSoTimeout(clamConfig.getTimeout());
+        try (var clamAvSocket = new Socket(clamConfig.getHost(), Integer.parseInt(clamConfig.getPort()))) {
+            clamAvSocket.setSoTimeout(clamConfig.getTimeout());
 
-        // Prepare upload and response streams
-        var uploadStream = new BufferedOutputStream(clamAvSocket.getOutputStream());
-        var responseStream = clamAvSocket.getInputStream();
+            // Prepare upload and response streams
+            var uploadStream = new BufferedOutputStream(clamAvSocket.getOutputStream(), SCAN_BUFFER_SIZE + 4);
+            var responseStream = clamAvSocket.getInputStream();
 
-        // Write start bytes to upload stream
-        uploadStream.write("zINSTREAM\0".getBytes());
-        uploadStream.flush();
+            // Write start bytes to upload stream
+            uploadStream.write("zINSTREAM\0".getBytes());
+            uploadStream.flush();
 
-        // Open file input stream
-        InputStream fileInputStream = file.getInputStream();
+            // Prepare file input stream buffer
+            byte[] buffer = new byte[SCAN_BUFFER_SIZE];
 
-        // Prepare file input stream buffer
-        byte[] buffer = new byte[2048];
+            // Read first bytes into buffer
+            int readBytes = fileInputStream.read(buffer);
 
-        // Read first bytes into buffer
-        int readBytes = fileInputStream.read(buffer);
+            // While bytes have been read, write the to the upload stream
+            while (readBytes >= 0) {
+                byte[] chunkSize = ByteBuffer.allocate(4).putInt(readBytes).array();
 
-        // While bytes have been read, write the to the upload stream
-        while (readBytes >= 0) {
-            byte[] chunkSize = ByteBuffer.allocate(4).putInt(readBytes).array();
+                uploadStream.write(chunkSize);
+                uploadStream.write(buffer, 0, readBytes);
 
-            uploadStream.write(chunkSize);
-            uploadStream.write(buffer, 0, readBytes);
+                // Check if server has interrupted the transmission
+                if (responseStream.available() > 0) {
+                    throw new IOException("Interrupted by server " + new String(responseStream.readAllBytes()));
+                }
 
-            // Check if server has interrupted the transmission
-            if (responseStream.available() > 0) {
-                throw new IOException("Interrupted by server " + new String(responseStream.readAllBytes()));
+                // Read next chunk of bytes into buffer
+                readBytes = fileInputStream.read(buffer);
             }
 
-            // Read next chunk of bytes into buffer
-            readBytes = fileInputStream.read(buffer);
-        }
-
-        // Send final bytes to mark end of transmission
-        uploadStream.write(new byte[]{0, 0, 0, 0});
-        uploadStream.flush();
-
-        // Read response from response stream
-        String response = new String(responseStream.readAllBytes()).trim();
+            // Send final bytes to mark end of transmission
+            uploadStream.write(new byte[]{0, 0, 0, 0});
+            uploadStream.flush();
 
-        // Close all opened streams
-        clamAvSocket.close();
-        responseStream.close();
-        uploadStream.close();
-        fileInputStream.close();
+            // Read response from response stream
+            String response = new String(responseStream.readAllBytes()).trim();
 
-        return response.equalsIgnoreCase("stream: OK");
+            return response.equalsIgnoreCase("stream: OK");
+        }
     }
 }
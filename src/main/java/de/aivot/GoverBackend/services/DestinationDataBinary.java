@@ -0,0 +1,64 @@
+package de.aivot.GoverBackend.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import jakarta.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Binary content of the destination data, e.g. the PDF or an attachment of a submission.
+ * The content is serialized as a base64 string, which is encoded on the fly while the content is read from its source.
+ * This way the content is never held in memory as a whole, neither as bytes nor as base64 string.
+ */
+@JsonSerialize(using = DestinationDataBinary.Serializer.class)
+public class DestinationDataBinary {
+    private final ContentSource source;
+
+    private DestinationDataBinary(@Nonnull ContentSource source) {
+        this.source = source;
+    }
+
+    @Nonnull
+    public static DestinationDataBinary of(@Nonnull byte[] bytes) {
+        return new DestinationDataBinary(() -> new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Create binary content, which is read from the given source each time it is serialized.
+     *
+     * @param source The source of the content. The opened streams are closed after the serialization.
+     * @return The binary content.
+     */
+    @Nonnull
+    public static DestinationDataBinary of(@Nonnull ContentSource source) {
+        return new DestinationDataBinary(source);
+    }
+
+    @Nonnull
+    public InputStream open() throws IOException {
+        return source.open();
+    }
+
+    @FunctionalInterface
+    public interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    public static class Serializer extends StdSerializer<DestinationDataBinary> {
+        public Serializer() {
+            super(DestinationDataBinary.class);
+        }
+
+        @Override
+        public void serialize(DestinationDataBinary value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            try (var inputStream = value.open()) {
+                gen.writeBinary(provider.getConfig().getBase64Variant(), inputStream, -1);
+            }
+        }
+    }
+}
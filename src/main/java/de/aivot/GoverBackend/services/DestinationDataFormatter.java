@@ -34,8 +34,8 @@ public class DestinationDataFormatter {
     private final Submission submission;
     private final PaymentTransactionEntity paymentTransaction;
     private final PaymentProviderEntity paymentProvider;
-    private final byte[] pdfBytes;
-    private final Map<String, byte[]> attachmentBytes;
+    private final DestinationDataBinary pdf;
+    private final Map<String, DestinationDataBinary> attachments;
 
     private DestinationDataFormatter(
             @Nonnull
@@ -47,16 +47,16 @@ public class DestinationDataFormatter {
             @Nullable
             PaymentProviderEntity paymentProvider,
             @Nullable
-            byte[] pdfBytes,
+            DestinationDataBinary pdf,
             @Nullable
-            Map<String, byte[]> attachmentBytes
+            Map<String, DestinationDataBinary> attachments
     ) {
         this.form = form;
         this.submission = submission;
         this.paymentTransaction = paymentTransaction;
         this.paymentProvider = paymentProvider;
-        this.pdfBytes = pdfBytes;
-        this.attachmentBytes = attachmentBytes;
+        this.pdf = pdf;
+        this.attachments = attachments;
         this.data = new HashMap<>();
     }
 
@@ -79,6 +79,12 @@ public class DestinationDataFormatter {
         );
     }
 
+    /**
+     * Create a formatter for the destination data including the PDF and the attachments of the submission.
+     * The binary contents are only read, when the formatted data is serialized.
+     *
+     * @param attachments The attachments of the submission by their filename.
+     */
     public static DestinationDataFormatter create(
             @Nonnull
             Form form,
@@ -89,26 +95,26 @@ public class DestinationDataFormatter {
             @Nullable
             PaymentProviderEntity paymentProvider,
             @Nonnull
-            byte[] pdfBytes,
+            DestinationDataBinary pdf,
             @Nonnull
-            Map<String, byte[]> attachmentBytes
+            Map<String, DestinationDataBinary> attachments
     ) {
         return new DestinationDataFormatter(
                 form,
                 submission,
                 paymentTransaction,
                 paymentProvider,
-                pdfBytes,
-                attachmentBytes
+                pdf,
+                attachments
         );
     }
 
     private boolean includePdf() {
-        return pdfBytes != null;
+        return pdf != null;
     }
 
     private boolean includeAttachments() {
-        return attachmentBytes != null;
+        return attachments != null;
     }
 
     public Map<String, Object> format() {
@@ -119,7 +125,7 @@ public class DestinationDataFormatter {
         createPaymentData();
 
         if (includePdf()) {
-            data.put("_pdf", loadBytesAsBase64(pdfBytes));
+            data.put("_pdf", pdf);
         }
 
         return data;
@@ -268,21 +274,25 @@ public class DestinationDataFormatter {
             return;
         }
 
-        // Annotate file upload values with base64 encoded file content
+        // Annotate copies of the file upload values with the file content, which is encoded as base64 during the serialization.
+        // The values of the submission must not be modified, as the submission is saved after the destination call.
+        var annotatedValues = new LinkedList<>();
         for (var fileUploadValueItem : (Collection<?>) values) {
             if (fileUploadValueItem instanceof Map<?, ?> fileUploadValueItemMap) {
                 var fileName = fileUploadValueItemMap.get("name");
 
-                if (fileName != null && attachmentBytes.containsKey(fileName)) {
-                    var bytes = attachmentBytes.get(fileName);
-                    var attachmentBase64 = loadBytesAsBase64(bytes);
-                    ((Map<String, Object>) fileUploadValueItemMap).put("base64", attachmentBase64);
+                if (fileName != null && attachments.containsKey(fileName)) {
+                    var annotatedItem = new HashMap<Object, Object>(fileUploadValueItemMap);
+                    annotatedItem.put("base64", attachments.get(fileName));
+                    annotatedValues.add(annotatedItem);
+                    continue;
                 }
             }
+            annotatedValues.add(fileUploadValueItem);
         }
 
         // Insert annotated values into result container
-        insertValue(resultContainer, elementDestinationKey, values);
+        insertValue(resultContainer, elementDestinationKey, annotatedValues);
     }
 
     private void extractBaseInput(Map<String, Object> resultContainer, BaseInputElement<?> element, String idPrefix) {
@@ -309,10 +319,6 @@ public class DestinationDataFormatter {
         insertValue(resultContainer, elementDestinationKey, value);
     }
 
-    private String loadBytesAsBase64(byte[] bytes) {
-        return org.apache.commons.codec.binary.Base64.encodeBase64String(bytes);
-    }
-
     private void insertValue(String path, Object value) {
         insertValue(this.data, path, value);
     }
@@ -31,8 +31,10 @@ import de.aivot.GoverBackend.services.storages.SubmissionStorageService;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.submission.entities.SubmissionAttachment;
 import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
+import de.aivot.GoverBackend.submission.services.SubmissionPdfCacheService;
 import de.aivot.GoverBackend.utils.StringUtils;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.mail.MessagingException;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -50,7 +52,6 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
@@ -62,10 +63,11 @@ import java.util.*;
 @Component
 public class DestinationSubmitService {
     private static final Logger logger = LoggerFactory.getLogger(DestinationSubmitService.class);
+    private static final int HTTP_BODY_CHUNK_SIZE = 64 * 1024;
 
     private final SubmissionMailService mailService;
     private final SubmissionStorageService submissionStorageService;
-    private final PdfService pdfService;
+    private final SubmissionPdfCacheService submissionPdfCacheService;
     private final SubmissionAttachmentRepository submissionAttachmentRepository;
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final PaymentProviderRepository paymentProviderRepository;
@@ -77,7 +79,7 @@ public class DestinationSubmitService {
     public DestinationSubmitService(
             SubmissionMailService mailService,
             SubmissionStorageService submissionStorageService,
-            PdfService pdfService,
+            SubmissionPdfCacheService submissionPdfCacheService,
             SubmissionAttachmentRepository submissionAttachmentRepository,
             PaymentTransactionRepository paymentTransactionRepository,
             PaymentProviderRepository paymentProviderRepository,
@@ -85,7 +87,7 @@ public class DestinationSubmitService {
             IdentityProviderService identityProviderService, FormDerivationServiceFactory formDerivationServiceFactory) {
         this.mailService = mailService;
         this.submissionStorageService = submissionStorageService;
-        this.pdfService = pdfService;
+        this.submissionPdfCacheService = submissionPdfCacheService;
         this.submissionAttachmentRepository = submissionAttachmentRepository;
         this.paymentTransactionRepository = paymentTransactionRepository;
         this.paymentProviderRepository = paymentProviderRepository;
@@ -230,21 +232,23 @@ public class DestinationSubmitService {
         }
 
         con.setDoOutput(true);
+        // Stream the request body in chunks, so the connection does not buffer the whole body to determine its length
+        con.setChunkedStreamingMode(HTTP_BODY_CHUNK_SIZE);
 
-        byte[] pdfBytes;
+        Resource pdf;
         try {
-            pdfBytes = pdfService.generateCustomerSummary(form, submission, FormPdfScope.Staff);
-        } catch (IOException | InterruptedException | URISyntaxException e) {
+            pdf = submissionPdfCacheService.getCustomerSummary(form, submission, FormPdfScope.Staff);
+        } catch (IOException | InterruptedException e) {
             throw new RuntimeException(e);
         } catch (ResponseException e) {
             throw new RuntimeException(e);
         }
 
-        Map<String, byte[]> attachmentBytes = new HashMap<>();
+        // The attachments are streamed from the storage and encoded as base64 while the request body is written
+        Map<String, DestinationDataBinary> attachmentContents = new HashMap<>();
 
         for (var attachment : attachments) {
-            var bytes = submissionStorageService.getAttachmentData(submission, attachment);
-            attachmentBytes.put(attachment.getFilename(), bytes);
+            attachmentContents.put(attachment.getFilename(), DestinationDataBinary.of(submissionStorageService.getAttachmentResource(submission, attachment, attachment.getFilename())::getInputStream));
         }
 
         var paymentTransaction = submission.getPaymentTransactionKey() == null ?
@@ -256,29 +260,14 @@ public class DestinationSubmitService {
                 paymentProviderRepository.findById(paymentTransaction.getPaymentProviderKey()).orElse(null);
 
         Map<String, Object> destinationData = DestinationDataFormatter
-                .create(form, submission, paymentTransaction, paymentProvider, pdfBytes, attachmentBytes)
+                .create(form, submission, paymentTransaction, paymentProvider, DestinationDataBinary.of(pdf::getInputStream), attachmentContents)
                 .format();
 
         ObjectMapper mapper = new ObjectMapper();
-        String jsonResult;
-        try {
-            jsonResult = mapper.writeValueAsString(destinationData);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-
-        OutputStream os;
-        try {
-            os = con.getOutputStream();
+        try (var os = con.getOutputStream()) {
+            mapper.writeValue(os, destinationData);
         } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        byte[] input = jsonResult.getBytes(StandardCharsets.UTF_8);
-        try {
-            os.write(input, 0, input.length);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            return new DestinationResponse(false, "Die Antragsdaten konnten nicht an das Ziel übertragen werden. Fehler: " + e.getMessage(), null, null);
         }
 
         int statusCode;
@@ -354,16 +343,12 @@ public class DestinationSubmitService {
 
         var zustandigeStelle = form
                 .getRoot()
-                .findChild((c) -> (
-                        INTERNAL_NAME_ZUSTAENDIGE_STELLE.equals(c.getName()) && c instanceof TextField
-                ))
-                .map((c) -> {
-                    if (c instanceof TextField textField) {
-                        return textField.getLabel();
-                    } else {
-                        return null;
-                    }
-                })
+                .getElementIndex()
+                .getElementsByName(INTERNAL_NAME_ZUSTAENDIGE_STELLE)
+                .stream()
+                .filter((c) -> c instanceof TextField)
+                .findFirst()
+                .map((c) -> ((TextField) c).getLabel())
                 .orElse(null);
 
         if (zustandigeStelle == null) {
@@ -435,22 +420,15 @@ public class DestinationSubmitService {
                 serviceKontoData
         );
 
-        byte[] pdfBytes;
+        Resource pdfRes;
         try {
-            pdfBytes = pdfService.generateCustomerSummary(form, submission, FormPdfScope.Staff);
-        } catch (IOException | InterruptedException | URISyntaxException | ResponseException e) {
+            pdfRes = submissionPdfCacheService.getCustomerSummary(form, submission, FormPdfScope.Staff, form
+                    .getFormTitle()
+                    .replaceAll("\\W+", "_") + ".pdf");
+        } catch (IOException | InterruptedException | ResponseException e) {
             throw new RuntimeException(e);
         }
 
-        var pdfRes = new ByteArrayResource(pdfBytes) {
-            @Override
-            public String getFilename() {
-                return form
-                        .getFormTitle()
-                        .replaceAll("\\W+", "_") + ".pdf";
-            }
-        };
-
         var paymentTransaction = submission.getPaymentTransactionKey() != null
                 ? paymentTransactionRepository.findById(submission.getPaymentTransactionKey()).orElse(null)
                 : null;
@@ -483,47 +461,56 @@ public class DestinationSubmitService {
         List<Resource> attRes = new LinkedList<>();
         attRes.add(destinationDataRes);
         for (var attachment : attachments) {
-            byte[] bytes;
-            try {
-                bytes = submissionStorageService
-                        .getAttachmentData(submission, attachment);
-            } catch (ResponseException e) {
+            var name = attachment
+                    .getFilename()
+                    .split("\\.");
+
+            var baseName = String.join(".", Arrays.copyOf(name, name.length - 1));
+            var extension = name[name.length - 1];
+            var filename = baseName.replaceAll("\\W+", "_") + "." + extension;
+
+            // The attachments are streamed from the storage while the multipart request is written
+            attRes.add(submissionStorageService.getAttachmentResource(submission, attachment, filename));
+        }
+
+        try {
+            oZGCloudDestinationService
+                    .send(
+                            destination.getApiAddress(),
+                            control,
+                            form.getRoot(),
+                            submission.getCustomerInput(),
+                            pdfRes,
+                            attRes,
+                            formState
+                    );
+        } catch (RuntimeException e) {
+            // The attachments are opened not before the request body is written, so failing to load them from the storage surfaces here
+            var storageError = findCause(e, ResponseException.class);
+            if (storageError != null) {
                 return new DestinationResponse(
                         false,
-                        "Die Anhangsdaten konnten nicht abgerufen werden. Fehler: " + e.getMessage(),
+                        "Die Anhangsdaten konnten nicht abgerufen werden. Fehler: " + storageError.getMessage(),
                         null,
                         null
                 );
             }
-            var res = new ByteArrayResource(bytes) {
-                @Override
-                public String getFilename() {
-                    var name = attachment
-                            .getFilename()
-                            .split("\\.");
-
-                    var baseName = String.join(".", Arrays.copyOf(name, name.length - 1));
-                    var extension = name[name.length - 1];
-                    return baseName.replaceAll("\\W+", "_") + "." + extension;
-                }
-            };
-            attRes.add(res);
-        }
-
-        oZGCloudDestinationService
-                .send(
-                        destination.getApiAddress(),
-                        control,
-                        form.getRoot(),
-                        submission.getCustomerInput(),
-                        pdfRes,
-                        attRes,
-                        formState
-                );
+            throw e;
+        }
 
         return new DestinationResponse(true, null, null, List.of());
     }
 
+    @Nullable
+    private static <T extends Throwable> T findCause(@Nonnull Throwable throwable, @Nonnull Class<T> type) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
     public record DestinationResponse(
             Boolean ok,
             String message,
@@ -6,7 +6,6 @@ import de.aivot.GoverBackend.config.services.SystemConfigService;
 import de.aivot.GoverBackend.core.configs.LogoSystemConfigDefinition;
 import de.aivot.GoverBackend.core.configs.ProviderNameSystemConfigDefinition;
 import de.aivot.GoverBackend.department.repositories.DepartmentRepository;
-import de.aivot.GoverBackend.elements.utils.ElementFlattenUtils;
 import de.aivot.GoverBackend.enums.ElementType;
 import de.aivot.GoverBackend.form.entities.Form;
 import de.aivot.GoverBackend.form.services.FormDerivationService;
@@ -16,32 +15,28 @@ import de.aivot.GoverBackend.identity.models.IdentityValue;
 import de.aivot.GoverBackend.identity.repositories.IdentityProviderRepository;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.models.config.GoverConfig;
-import de.aivot.GoverBackend.models.config.PuppetPdfConfig;
 import de.aivot.GoverBackend.payment.repositories.PaymentProviderRepository;
 import de.aivot.GoverBackend.payment.repositories.PaymentTransactionRepository;
 import de.aivot.GoverBackend.payment.services.PaymentProviderDefinitionsService;
 import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
 import de.aivot.GoverBackend.pdf.models.FormPdfContext;
+import de.aivot.GoverBackend.pdf.models.PdfDocument;
 import de.aivot.GoverBackend.services.pdf.PdfElementsGenerator;
+import de.aivot.GoverBackend.services.pdf.PuppetPdfClient;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.theme.repositories.ThemeRepository;
 import de.aivot.GoverBackend.utils.StringUtils;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.templatemode.TemplateMode;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
 import java.util.*;
 
 @Component
 public class PdfService {
-    private final PuppetPdfConfig puppetPdfConfig;
+    private final PuppetPdfClient puppetPdfClient;
     private final SystemConfigService systemConfigService;
     private final DepartmentRepository departmentRepository;
     private final AssetRepository assetRepository;
@@ -52,10 +47,11 @@ public class PdfService {
     private final IdentityProviderRepository identityProviderRepository;
     private final PaymentProviderRepository paymentProviderRepository;
     private final PaymentProviderDefinitionsService paymentProviderDefinitionsService;
+    private final TemplateLoaderService templateLoaderService;
 
     @Autowired
     public PdfService(
-            PuppetPdfConfig puppetPdfConfig,
+            PuppetPdfClient puppetPdfClient,
             SystemConfigService systemConfigService,
             DepartmentRepository departmentRepository,
             AssetRepository assetRepository,
@@ -65,9 +61,10 @@ public class PdfService {
             PaymentTransactionRepository paymentTransactionRepository,
             IdentityProviderRepository identityProviderRepository,
             PaymentProviderRepository paymentProviderRepository,
-            PaymentProviderDefinitionsService paymentProviderDefinitionsService
+            PaymentProviderDefinitionsService paymentProviderDefinitionsService,
+            TemplateLoaderService templateLoaderService
     ) {
-        this.puppetPdfConfig = puppetPdfConfig;
+        this.puppetPdfClient = puppetPdfClient;
         this.systemConfigService = systemConfigService;
         this.departmentRepository = departmentRepository;
         this.assetRepository = assetRepository;
@@ -78,24 +75,22 @@ public class PdfService {
         this.identityProviderRepository = identityProviderRepository;
         this.paymentProviderRepository = paymentProviderRepository;
         this.paymentProviderDefinitionsService = paymentProviderDefinitionsService;
+        this.templateLoaderService = templateLoaderService;
     }
 
     public void testPuppetPdfConnection() throws IOException, InterruptedException {
-        try (var client = HttpClient.newHttpClient()) {
-            var request = HttpRequest
-                    .newBuilder(URI.create("http://" + puppetPdfConfig.getHost() + ":" + puppetPdfConfig.getPort() + "/health"))
-                    .GET()
-                    .build();
-            var response = client
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new IOException("Failed to connect to Puppet PDF with status code: " + response.statusCode());
-            }
-        }
+        puppetPdfClient.testConnection();
     }
 
-    public byte[] generatePrintableForm(Form form) throws IOException, URISyntaxException, InterruptedException, ResponseException {
-        var allElements = ElementFlattenUtils.flattenElements(form.getRoot());
+    /**
+     * Generate the printable version of a form.
+     * The returned stream reads the PDF directly from the PDF service and must be closed by the caller.
+     *
+     * @param form The form to print.
+     * @return A stream of the generated PDF.
+     */
+    public InputStream streamPrintableForm(Form form) throws IOException, InterruptedException, ResponseException {
+        var allElements = form.getRoot().getElementIndex().getFlatElements();
 
         var derivationContext = formDerivationServiceFactory
                 .create(form, List.of(), List.of(FormDerivationService.FORM_STEP_LIMIT_ALL_IDENTIFIER), List.of(FormDerivationService.FORM_STEP_LIMIT_ALL_IDENTIFIER), List.of(FormDerivationService.FORM_STEP_LIMIT_ALL_IDENTIFIER))
@@ -116,10 +111,32 @@ public class PdfService {
         dto.put("form", form);
         dto.put("attachments", allElements.stream().filter(e -> e.getType() == ElementType.FileUpload).toList());
 
-        return generatePdf(form, dto, FormPdfScope.Blank);
+        return print(renderPdf(form, dto, FormPdfScope.Blank));
     }
 
-    public byte[] generateCustomerSummary(Form form, Submission submission, FormPdfScope scope) throws IOException, InterruptedException, URISyntaxException, ResponseException {
+    /**
+     * Generate the summary of a submission.
+     * The returned stream reads the PDF directly from the PDF service and must be closed by the caller.
+     *
+     * @param form       The form of the submission.
+     * @param submission The submission to summarize.
+     * @param scope      The scope determining the contents of the summary.
+     * @return A stream of the generated PDF.
+     */
+    public InputStream streamCustomerSummary(Form form, Submission submission, FormPdfScope scope) throws IOException, InterruptedException, ResponseException {
+        return print(renderCustomerSummary(form, submission, scope));
+    }
+
+    /**
+     * Render the templates of the summary of a submission without printing them.
+     * The fingerprint of the returned document identifies the PDF, so it can be used to look up a previously printed PDF.
+     *
+     * @param form       The form of the submission.
+     * @param submission The submission to summarize.
+     * @param scope      The scope determining the contents of the summary.
+     * @return The rendered templates.
+     */
+    public PdfDocument renderCustomerSummary(Form form, Submission submission, FormPdfScope scope) throws IOException, ResponseException {
         var dto = new HashMap<String, Object>();
 
         var derivationContext = formDerivationServiceFactory
@@ -177,10 +194,21 @@ public class PdfService {
             dto.put("paymentProviderDefinition", paymentProviderDefinition);
         }
 
-        return generatePdf(form, dto, scope);
+        return renderPdf(form, dto, scope);
+    }
+
+    /**
+     * Print rendered templates with the PDF service.
+     * The returned stream reads the PDF directly from the PDF service and must be closed by the caller.
+     *
+     * @param document The rendered templates.
+     * @return A stream of the generated PDF.
+     */
+    public InputStream print(PdfDocument document) throws IOException, InterruptedException {
+        return puppetPdfClient.print(document.html(), document.headerTemplate(), document.footerTemplate());
     }
 
-    private byte[] generatePdf(Form form, Map<String, Object> dto, FormPdfScope scope) throws IOException, URISyntaxException, InterruptedException, ResponseException {
+    private PdfDocument renderPdf(Form form, Map<String, Object> dto, FormPdfScope scope) throws ResponseException {
         dto.put("base", createBaseContext(scope));
         dto.put("department",
                 departmentRepository
@@ -195,39 +223,15 @@ public class PdfService {
                         : null
         );
 
-        return generatePuppetPdf(form, dto);
+        return renderTemplates(form, dto);
     }
 
-    private byte[] generatePuppetPdf(Form form, Map<String, Object> dto) throws IOException, InterruptedException, URISyntaxException {
+    private PdfDocument renderTemplates(Form form, Map<String, Object> dto) {
         String template = loadContentTemplate(form, dto).replaceAll("(?m)^[ \\t]*\\r?\\n", "");
         String headerTemplate = loadTemplate("pp_form_header.html", dto);
         String footerTemplate = loadTemplate("pp_form_footer.html", dto);
 
-        var uri = new URI("http://" + puppetPdfConfig.getHost() + ":" + puppetPdfConfig.getPort() + "/print");
-
-        JSONObject json = new JSONObject();
-        json.put("html", template);
-        json.put("headerTemplate", headerTemplate);
-        json.put("footerTemplate", footerTemplate);
-
-        var client = HttpClient.newHttpClient();
-        var request = HttpRequest
-                .newBuilder(uri)
-                .headers("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json.toString()))
-                .build();
-        var response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
-        if (response.statusCode() != 200) {
-            throw new IOException("Failed to generate PDF with status code: " + response.statusCode());
-        }
-
-        var body = response.body();
-        var bytes = body.readAllBytes();
-        body.close();
-
-        client.close();
-
-        return bytes;
+        return new PdfDocument(template, headerTemplate, footerTemplate);
     }
 
     private String loadContentTemplate(Form form, Map<String, Object> dto) {
@@ -249,7 +253,7 @@ public class PdfService {
     }
 
     private String loadTemplate(String templateName, Map<String, Object> data) {
-        return new TemplateLoaderService()
+        return templateLoaderService
                 .processTemplate(
                         templateName,
                         data,
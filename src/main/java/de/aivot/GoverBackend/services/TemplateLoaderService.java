@@ -3,23 +3,93 @@ package de.aivot.GoverBackend.services;
 
 import de.aivot.GoverBackend.services.pdf.NumberFormatDialect;
 import de.aivot.GoverBackend.services.pdf.QrCodeDialect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.*;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.engine.TemplateModel;
 import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 import org.thymeleaf.templateresolver.FileTemplateResolver;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 
+import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for processing the thymeleaf templates of PDFs and mails.
+ * A single template engine is shared per {@link TemplateMode}, so parsed templates are cached across all calls.
+ * <p>
+ * Templates stored as assets or as files in the local template directory are cached for a limited time only.
+ * Use {@link #invalidateTemplate(String)} to drop a template, when the underlying asset changed.
+ */
+@Service
 public class TemplateLoaderService {
+    private static final String METRIC_PREFIX = "gover.templates.cache";
+
+    /**
+     * Time after which cached asset templates are loaded again.
+     * Assets can be changed by other instances of the application, which cannot invalidate the cache of this instance.
+     */
+    private static final long ASSET_TEMPLATE_CACHE_TTL_MS = 10 * 60 * 1000L;
+
+    /**
+     * Time after which cached templates of the local template directory are loaded again.
+     * Operators can change or add files in the directory at runtime, which override the bundled templates.
+     * The bundled templates are cached for the same time, so a newly added override file replaces them.
+     */
+    private static final long FILE_TEMPLATE_CACHE_TTL_MS = 10 * 60 * 1000L;
+
+    private final Map<TemplateMode, TemplateEngine> templateEngines = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public TemplateLoaderService(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Number of templates served from the template cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses")
+                .description("Number of templates parsed because they were not cached")
+                .register(meterRegistry);
+    }
+
     public String processTemplate(
             String templateName,
             Map<String, Object> templateData,
             TemplateMode mode
     ) {
+        var context = new Context();
+        context.setVariables(templateData);
+
+        return templateEngines
+                .computeIfAbsent(mode, this::createTemplateEngine)
+                .process(templateName, context);
+    }
+
+    /**
+     * Drop the cached template with the given name from all template engines.
+     *
+     * @param templateName The name of the template, e.g. the key of an asset.
+     */
+    public void invalidateTemplate(@Nonnull String templateName) {
+        for (var templateEngine : templateEngines.values()) {
+            templateEngine.clearTemplateCacheFor(templateName);
+        }
+    }
+
+    private TemplateEngine createTemplateEngine(TemplateMode mode) {
         var templateEngine = new TemplateEngine();
+        templateEngine.setCacheManager(new MeteredCacheManager(hitCounter, missCounter));
+
         templateEngine.addDialect(new Java8TimeDialect());
         templateEngine.addDialect(new NumberFormatDialect());
         templateEngine.addDialect(new QrCodeDialect());
@@ -28,10 +98,7 @@ public class TemplateLoaderService {
         templateEngine.addTemplateResolver(getFileTemplateResolver(mode));
         templateEngine.addTemplateResolver(getClassLoaderTemplateResolver(mode));
 
-        var context = new Context();
-        context.setVariables(templateData);
-
-        return templateEngine.process(templateName, context);
+        return templateEngine;
     }
 
     private ITemplateResolver getAssetTemplateResolver(TemplateMode mode) {
@@ -41,6 +108,8 @@ public class TemplateLoaderService {
         resolver.setTemplateMode(mode);
         resolver.setCharacterEncoding("UTF-8");
         resolver.setCheckExistence(true);
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(ASSET_TEMPLATE_CACHE_TTL_MS);
         resolver.setOrder(0);
 
         return resolver;
@@ -53,6 +122,8 @@ public class TemplateLoaderService {
         resolver.setTemplateMode(mode);
         resolver.setCharacterEncoding("UTF-8");
         resolver.setCheckExistence(true);
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(FILE_TEMPLATE_CACHE_TTL_MS);
         resolver.setOrder(0);
 
         return resolver;
@@ -65,8 +136,93 @@ public class TemplateLoaderService {
         resolver.setTemplateMode(mode);
         resolver.setCharacterEncoding("UTF-8");
         resolver.setCheckExistence(true);
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(FILE_TEMPLATE_CACHE_TTL_MS);
         resolver.setOrder(1);
 
         return resolver;
     }
+
+    /**
+     * Cache manager counting the hits and misses of the template cache.
+     * All other caches are provided by the {@link StandardCacheManager}.
+     */
+    private static class MeteredCacheManager implements ICacheManager {
+        private final StandardCacheManager delegate = new StandardCacheManager();
+        private final ICache<TemplateCacheKey, TemplateModel> templateCache;
+
+        private MeteredCacheManager(Counter hitCounter, Counter missCounter) {
+            this.templateCache = new MeteredCache<>(delegate.getTemplateCache(), hitCounter, missCounter);
+        }
+
+        @Override
+        public ICache<TemplateCacheKey, TemplateModel> getTemplateCache() {
+            return templateCache;
+        }
+
+        @Override
+        public ICache<ExpressionCacheKey, Object> getExpressionCache() {
+            return delegate.getExpressionCache();
+        }
+
+        @Override
+        public <K, V> ICache<K, V> getSpecificCache(String name) {
+            return delegate.getSpecificCache(name);
+        }
+
+        @Override
+        public List<String> getAllSpecificCacheNames() {
+            return delegate.getAllSpecificCacheNames();
+        }
+
+        @Override
+        public void clearAllCaches() {
+            delegate.clearAllCaches();
+        }
+    }
+
+    private record MeteredCache<K, V>(
+            ICache<K, V> delegate,
+            Counter hitCounter,
+            Counter missCounter
+    ) implements ICache<K, V> {
+        @Override
+        public void put(K key, V value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public V get(K key) {
+            return count(delegate.get(key));
+        }
+
+        @Override
+        public V get(K key, ICacheEntryValidityChecker<? super K, ? super V> validityChecker) {
+            return count(delegate.get(key, validityChecker));
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public void clearKey(K key) {
+            delegate.clearKey(key);
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return delegate.keySet();
+        }
+
+        private V count(V value) {
+            if (value == null) {
+                missCounter.increment();
+            } else {
+                hitCounter.increment();
+            }
+            return value;
+        }
+    }
 }
@@ -0,0 +1,224 @@
+package de.aivot.GoverBackend.services.pdf;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import de.aivot.GoverBackend.models.config.PuppetPdfConfig;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client for the Puppet PDF service.
+ * A single http client is shared by all requests, so connections to the PDF service are kept alive and reused.
+ * The number of concurrent print requests is limited to protect the PDF service and the heap of this application.
+ */
+@Component
+public class PuppetPdfClient {
+    private final PuppetPdfConfig puppetPdfConfig;
+    private final HttpClient client;
+    private final Semaphore permits;
+
+    @Autowired
+    public PuppetPdfClient(PuppetPdfConfig puppetPdfConfig) {
+        this.puppetPdfConfig = puppetPdfConfig;
+        this.client = HttpClient
+                .newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(puppetPdfConfig.getConnectTimeout()))
+                .build();
+        this.permits = new Semaphore(puppetPdfConfig.getMaxConcurrentRequests(), true);
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+
+    /**
+     * Check whether the PDF service is reachable and healthy.
+     *
+     * @throws IOException          If the PDF service is not reachable or reports an error.
+     * @throws InterruptedException If the thread was interrupted while waiting for the response.
+     */
+    public void testConnection() throws IOException, InterruptedException {
+        var request = HttpRequest
+                .newBuilder(createUri("/health"))
+                .timeout(Duration.ofMillis(puppetPdfConfig.getConnectTimeout()))
+                .GET()
+                .build();
+        var response = client
+                .send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("Failed to connect to Puppet PDF with status code: " + response.statusCode());
+        }
+    }
+
+    /**
+     * Print the given html documents into a PDF.
+     * The request body is encoded from the templates in small chunks while it is sent, without assembling the json document or the encoded templates in memory.
+     * The PDF is received into a temporary file, so the slot of the PDF service is freed as soon as the PDF was received and not when the caller finished reading it.
+     * The returned stream reads the temporary file, deletes it when closed and must be closed by the caller.
+     *
+     * @param html           The html of the document body.
+     * @param headerTemplate The html of the page header.
+     * @param footerTemplate The html of the page footer.
+     * @return A stream of the generated PDF.
+     * @throws IOException          If the PDF service is busy, not reachable or reports an error.
+     * @throws InterruptedException If the thread was interrupted while waiting for the PDF service.
+     */
+    @Nonnull
+    public InputStream print(
+            @Nonnull String html,
+            @Nonnull String headerTemplate,
+            @Nonnull String footerTemplate
+    ) throws IOException, InterruptedException {
+        var request = HttpRequest
+                .newBuilder(createUri("/print"))
+                .timeout(Duration.ofMillis(puppetPdfConfig.getRequestTimeout()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new JsonObjectInputStream(
+                        "html", html,
+                        "headerTemplate", headerTemplate,
+                        "footerTemplate", footerTemplate
+                )))
+                .build();
+
+        var pdfFile = Files.createTempFile("gover-pdf-", ".pdf");
+        try {
+            if (!permits.tryAcquire(puppetPdfConfig.getAcquireTimeout(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a free slot of the Puppet PDF service");
+            }
+
+            HttpResponse<Path> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofFile(pdfFile));
+            } finally {
+                permits.release();
+            }
+
+            if (response.statusCode() != 200) {
+                throw new IOException("Failed to generate PDF with status code: " + response.statusCode());
+            }
+
+            return Files.newInputStream(pdfFile, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            Files.deleteIfExists(pdfFile);
+            throw e;
+        }
+    }
+
+    private URI createUri(String path) {
+        return URI.create("http://" + puppetPdfConfig.getHost() + ":" + puppetPdfConfig.getPort() + path);
+    }
+
+    /**
+     * Stream of a json object with string values, which encodes the values chunk by chunk while the stream is read.
+     */
+    static class JsonObjectInputStream extends InputStream {
+        /**
+         * The number of characters of a value encoded at once.
+         */
+        private static final int CHUNK_SIZE = 8192;
+
+        private final String[] entries;
+        private int entry = 0;
+        private int offset = 0;
+        private boolean inValue = false;
+        private boolean finished = false;
+
+        private byte[] buffer = "{".getBytes(StandardCharsets.UTF_8);
+        private int position = 0;
+
+        /**
+         * @param entries The keys and values of the object, alternating.
+         */
+        JsonObjectInputStream(@Nonnull String... entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            var count = Math.min(len, buffer.length - position);
+            System.arraycopy(buffer, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        /**
+         * Encode the next chunk, if the current chunk was read completely.
+         *
+         * @return Whether there are bytes left to read.
+         */
+        private boolean fill() {
+            while (position >= buffer.length) {
+                if (finished) {
+                    return false;
+                }
+                buffer = nextChunk();
+                position = 0;
+            }
+            return true;
+        }
+
+        @Nonnull
+        private byte[] nextChunk() {
+            if (entry >= entries.length) {
+                finished = true;
+                return "}".getBytes(StandardCharsets.UTF_8);
+            }
+
+            if (!inValue) {
+                // Open the next entry with its key, which is short enough to be encoded at once
+                var prefix = (entry > 0 ? ",\"" : "\"") + new String(JsonStringEncoder.getInstance().quoteAsString(entries[entry])) + "\":\"";
+                inValue = true;
+                offset = 0;
+                return prefix.getBytes(StandardCharsets.UTF_8);
+            }
+
+            var value = entries[entry + 1];
+            if (offset >= value.length()) {
+                inValue = false;
+                entry += 2;
+                return "\"".getBytes(StandardCharsets.UTF_8);
+            }
+
+            var end = Math.min(offset + CHUNK_SIZE, value.length());
+            // Never split a surrogate pair, as its halves cannot be encoded on their own
+            if (end < value.length() && Character.isHighSurrogate(value.charAt(end - 1))) {
+                end--;
+            }
+
+            var chunk = JsonStringEncoder.getInstance().quoteAsUTF8(value.substring(offset, end));
+            offset = end;
+            return chunk;
+        }
+    }
+}
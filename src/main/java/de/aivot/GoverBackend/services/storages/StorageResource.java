@@ -0,0 +1,96 @@
+package de.aivot.GoverBackend.services.storages;
+
+import de.aivot.GoverBackend.lib.exceptions.ResponseException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resource backed by a file of the {@link StorageService}.
+ * The file is opened not before its contents are read, e.g. when the resource is written into a request body, and is streamed from the storage.
+ * Unlike an {@link org.springframework.core.io.InputStreamResource}, the resource can be read multiple times and does not hold an open stream until it is used.
+ * <p>
+ * Failing to open the file surfaces as {@link IOException} when the resource is read, with the {@link ResponseException} of the storage as cause.
+ */
+public class StorageResource extends AbstractResource {
+    private final StorageService storageService;
+    private final PathSource path;
+    private final String filename;
+    private final String description;
+
+    public StorageResource(
+            @Nonnull StorageService storageService,
+            @Nonnull String path,
+            @Nullable String filename
+    ) {
+        this(storageService, () -> path, filename, path);
+    }
+
+    /**
+     * Create a resource, whose path is resolved not before the resource is read.
+     *
+     * @param path The source of the path, e.g. a lookup checking which of several paths exists in the storage.
+     */
+    public StorageResource(
+            @Nonnull StorageService storageService,
+            @Nonnull PathSource path,
+            @Nullable String filename
+    ) {
+        this(storageService, path, filename, filename);
+    }
+
+    private StorageResource(
+            @Nonnull StorageService storageService,
+            @Nonnull PathSource path,
+            @Nullable String filename,
+            @Nullable String description
+    ) {
+        this.storageService = storageService;
+        this.path = path;
+        this.filename = filename;
+        this.description = description;
+    }
+
+    @Override
+    @Nonnull
+    public InputStream getInputStream() throws IOException {
+        try {
+            return storageService.openFile(path.resolve());
+        } catch (ResponseException e) {
+            throw new IOException("Failed to open file " + description + " of the storage", e);
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    /**
+     * The size of the file is unknown without reading it, so it is transmitted without a content length.
+     */
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    @Nullable
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    @Nonnull
+    public String getDescription() {
+        return "Storage file [" + description + "]";
+    }
+
+    @FunctionalInterface
+    public interface PathSource {
+        String resolve() throws ResponseException;
+    }
+}
@@ -5,6 +5,7 @@ import de.aivot.GoverBackend.models.config.StorageConfig;
 import io.minio.*;
 import io.minio.errors.*;
 import io.minio.http.Method;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +13,11 @@ import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
@@ -22,6 +25,11 @@ import java.util.concurrent.TimeUnit;
 
 @Component
 public class StorageService {
+    /**
+     * Size of the parts of remote uploads with an unknown size.
+     */
+    private static final long REMOTE_UPLOAD_PART_SIZE = 10 * 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(StorageService.class);
 
     private final StorageConfig storageConfig;
@@ -132,14 +140,48 @@ public class StorageService {
     }
 
     public void writeFile(String path, byte[] data, String contentType) throws ResponseException {
+        writeFile(path, new ByteArrayInputStream(data), data.length, contentType);
+    }
+
+    /**
+     * Write a file from a local path without loading it into memory.
+     *
+     * @param path        The path of the file in the storage.
+     * @param source      The local file to write.
+     * @param contentType The content type of the file.
+     */
+    public void writeFile(String path, Path source, String contentType) throws ResponseException {
+        if (this.storageClient == null) {
+            writeLocalFile(path, target -> Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING));
+            return;
+        }
+
+        try (var inputStream = Files.newInputStream(source)) {
+            writeRemoteFile(path, inputStream, Files.size(source), contentType);
+        } catch (IOException e) {
+            logger.error("Error while reading file", e);
+            throw ResponseException.internalServerError(e);
+        }
+    }
+
+    /**
+     * Write a file from a stream without loading it into memory.
+     * The stream is not closed by this method.
+     *
+     * @param path        The path of the file in the storage.
+     * @param data        The stream to write.
+     * @param size        The size of the stream in bytes or -1, if the size is unknown.
+     * @param contentType The content type of the file.
+     */
+    public void writeFile(String path, InputStream data, long size, String contentType) throws ResponseException {
         if (this.storageClient == null) {
-            writeLocalFile(path, data);
+            writeLocalFile(path, target -> Files.copy(data, target, StandardCopyOption.REPLACE_EXISTING));
         } else {
-            writeRemoteFile(path, data, contentType);
+            writeRemoteFile(path, data, size, contentType);
         }
     }
 
-    private void writeLocalFile(String path, byte[] data) throws ResponseException {
+    private void writeLocalFile(String path, LocalFileWriter writer) throws ResponseException {
         var pathToFile = resolvePath(path);
         var parent = pathToFile.getParent();
         if (parent != null) {
@@ -151,21 +193,38 @@ public class StorageService {
             }
         }
 
+        // The file is written next to its target and moved in place, so readers never see a partially written file
+        Path tempFile = null;
         try {
-            Files.write(pathToFile, data);
+            tempFile = Files.createTempFile(pathToFile.toAbsolutePath().getParent(), "." + pathToFile.getFileName(), ".tmp");
+            writer.write(tempFile);
+            Files.move(tempFile, pathToFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             logger.error("Error while writing file", e);
+            deleteTempFile(tempFile);
             throw ResponseException.internalServerError(e);
         }
     }
 
-    private void writeRemoteFile(String path, byte[] data, String contentType) throws ResponseException {
-        var inputStream = new ByteArrayInputStream(data);
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            logger.warn("Error while deleting temporary file", e);
+        }
+    }
+
+    private void writeRemoteFile(String path, InputStream inputStream, long size, String contentType) throws ResponseException {
+        // Streams of unknown size are uploaded in parts, so they never have to be buffered completely
         var putObjectQuery = PutObjectArgs
                 .builder()
                 .bucket(storageConfig.getRemoteBucket())
                 .object(path)
-                .stream(inputStream, data.length, -1)
+                .stream(inputStream, size, size < 0 ? REMOTE_UPLOAD_PART_SIZE : -1)
                 .contentType(contentType)
                 .build();
         try {
@@ -214,31 +273,90 @@ public class StorageService {
         }
     }
 
+    /**
+     * Delete a directory and all files in it.
+     * In the remote storage, all objects whose path starts with the given path are deleted.
+     *
+     * @param path The path of the directory in the storage.
+     */
+    public void deleteDirectory(String path) throws ResponseException {
+        if (this.storageClient == null) {
+            deleteLocalDirectory(path);
+        } else {
+            deleteRemoteDirectory(path);
+        }
+    }
+
+    private void deleteLocalDirectory(String path) throws ResponseException {
+        try {
+            FileUtils.deleteDirectory(resolvePath(path).toFile());
+        } catch (IOException e) {
+            logger.error("Error while deleting directory", e);
+            throw ResponseException.internalServerError(e);
+        }
+    }
+
+    private void deleteRemoteDirectory(String path) throws ResponseException {
+        var prefix = path.endsWith("/") ? path : path + "/";
+        var listObjectsArgs = ListObjectsArgs.builder()
+                .bucket(storageConfig.getRemoteBucket())
+                .prefix(prefix)
+                .recursive(true)
+                .build();
+        try {
+            for (var result : storageClient.listObjects(listObjectsArgs)) {
+                var removeObjectArgs = RemoveObjectArgs.builder()
+                        .bucket(storageConfig.getRemoteBucket())
+                        .object(result.get().objectName())
+                        .build();
+                storageClient.removeObject(removeObjectArgs);
+            }
+        } catch (ErrorResponseException | InsufficientDataException | InternalException | InvalidKeyException | InvalidResponseException | IOException | NoSuchAlgorithmException | ServerException | XmlParserException e) {
+            logger.error("Error while deleting directory", e);
+            throw ResponseException.internalServerError(e);
+        }
+    }
+
     public byte[] getFile(String path) throws ResponseException {
+        try (var inputStream = openFile(path)) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            logger.error("Error while reading file", e);
+            throw ResponseException.internalServerError(e);
+        }
+    }
+
+    /**
+     * Open a file for reading without loading it into memory.
+     * The returned stream must be closed by the caller.
+     *
+     * @param path The path of the file in the storage.
+     * @return A stream of the file contents.
+     */
+    public InputStream openFile(String path) throws ResponseException {
         if (this.storageClient == null) {
-            return getLocalFile(path);
+            return openLocalFile(path);
         } else {
-            return getRemoteFile(path);
+            return openRemoteFile(path);
         }
     }
 
-    private byte[] getLocalFile(String path) throws ResponseException {
+    private InputStream openLocalFile(String path) throws ResponseException {
         try {
-            return Files.readAllBytes(resolvePath(path));
+            return Files.newInputStream(resolvePath(path));
         } catch (IOException e) {
             logger.error("Error while reading file", e);
             throw ResponseException.notFound("Die Datei mit dem Pfad %s existiert nicht.", path);
         }
     }
 
-    private byte[] getRemoteFile(String path) throws ResponseException {
+    private InputStream openRemoteFile(String path) throws ResponseException {
         var getObjectArgs = GetObjectArgs.builder()
                 .bucket(storageConfig.getRemoteBucket())
                 .object(path)
                 .build();
         try {
-            var object = storageClient.getObject(getObjectArgs);
-            return object.readAllBytes();
+            return storageClient.getObject(getObjectArgs);
         } catch (InsufficientDataException | InternalException | InvalidKeyException | InvalidResponseException | IOException | NoSuchAlgorithmException | ServerException | XmlParserException e) {
             logger.error("Error while reading file", e);
             throw ResponseException.internalServerError(e);
@@ -269,7 +387,13 @@ public class StorageService {
                 .build();
         try {
             storageClient.statObject(testObjectArgs);
-        } catch (ServerException | InsufficientDataException | ErrorResponseException | InternalException | XmlParserException | InvalidResponseException | InvalidKeyException | NoSuchAlgorithmException | IOException e) {
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return false;
+            }
+            logger.error("Error while checking if file exists", e);
+            throw ResponseException.internalServerError(e);
+        } catch (ServerException | InsufficientDataException | InternalException | XmlParserException | InvalidResponseException | InvalidKeyException | NoSuchAlgorithmException | IOException e) {
             logger.error("Error while checking if file exists", e);
             throw ResponseException.internalServerError(e);
         }
@@ -280,4 +404,9 @@ public class StorageService {
     private Path resolvePath(String path) {
         return Path.of(storageConfig.getLocalStoragePath(), path);
     }
+
+    @FunctionalInterface
+    private interface LocalFileWriter {
+        void write(Path target) throws IOException;
+    }
 }
@@ -2,15 +2,19 @@ package de.aivot.GoverBackend.services.storages;
 
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.models.config.StorageConfig;
+import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.submission.entities.SubmissionAttachment;
 import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
 
 @Component
 public class SubmissionStorageService {
@@ -32,12 +36,75 @@ public class SubmissionStorageService {
         return storageService.getFile(getAttachmentPath(submission, submissionAttachment, true));
     }
 
+    /**
+     * Open the data of an attachment for reading without loading it into memory.
+     * The returned stream must be closed by the caller.
+     */
+    public InputStream openAttachmentData(Submission submission, SubmissionAttachment submissionAttachment) throws ResponseException {
+        return storageService.openFile(getAttachmentPath(submission, submissionAttachment, true));
+    }
+
+    /**
+     * Get the data of an attachment as resource, which is streamed from the storage when it is read.
+     * The storage is not accessed before the resource is read, so failing to load the attachment surfaces as {@link IOException} of the resource.
+     *
+     * @param filename The filename of the resource.
+     */
+    public Resource getAttachmentResource(Submission submission, SubmissionAttachment submissionAttachment, String filename) {
+        return new StorageResource(storageService, () -> getAttachmentPath(submission, submissionAttachment, true), filename);
+    }
+
     public void saveAttachment(Submission submission, SubmissionAttachment submissionAttachment, byte[] data) throws ResponseException {
         storageService.writeFile(getAttachmentPath(submission, submissionAttachment, false), data, submissionAttachment.getContentType());
     }
 
+    /**
+     * Save the data of an attachment from a stream without loading it into memory.
+     * The stream is not closed by this method.
+     *
+     * @param size The size of the data in bytes or -1, if the size is unknown.
+     */
+    public void saveAttachment(Submission submission, SubmissionAttachment submissionAttachment, InputStream data, long size) throws ResponseException {
+        storageService.writeFile(getAttachmentPath(submission, submissionAttachment, false), data, size, submissionAttachment.getContentType());
+    }
+
+    /**
+     * Get a previously stored summary PDF of a submission.
+     * The PDF is not loaded into memory, but streamed from the storage each time the returned resource is read.
+     *
+     * @param submission The submission the PDF belongs to.
+     * @param scope      The scope of the PDF.
+     * @param version    The version the stored PDF must have been generated for.
+     * @param filename   The filename of the resource.
+     * @return The PDF or an empty optional, if no PDF for the given version is stored.
+     */
+    public Optional<Resource> getSummaryPdf(Submission submission, FormPdfScope scope, String version, String filename) throws ResponseException {
+        var path = getSummaryPdfPath(submission, scope, version);
+        if (!storageService.testFileExists(path)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new StorageResource(storageService, path, filename));
+    }
+
+    /**
+     * Store the summary PDF of a submission from a stream.
+     * The version is part of the path of the PDF, so a stored PDF is never replaced by a PDF with different content.
+     * The storage only makes the PDF visible once it is completely written, so a PDF found by {@link #getSummaryPdf} is always complete.
+     * The stream is not closed by this method.
+     *
+     * @param submission The submission the PDF belongs to.
+     * @param scope      The scope of the PDF.
+     * @param version    The version the PDF was generated for.
+     * @param data       The stream of the PDF.
+     */
+    public void saveSummaryPdf(Submission submission, FormPdfScope scope, String version, InputStream data) throws ResponseException {
+        storageService.writeFile(getSummaryPdfPath(submission, scope, version), data, -1, "application/pdf");
+    }
+
     public void deleteSubmission(Submission submission) throws IOException, ResponseException {
         deleteAttachments(submission);
+        deleteSummaryPdfs(submission);
         if (storageService.isLocalStorageEnabled()) {
             FileUtils.deleteDirectory(new File(storageConfig.getLocalStoragePath() + "/submissions/" + submission.getId()));
         }
@@ -52,6 +119,10 @@ public class SubmissionStorageService {
         }
     }
 
+    private void deleteSummaryPdfs(Submission submission) throws ResponseException {
+        storageService.deleteDirectory(getSummaryPdfDirectory(submission));
+    }
+
     private void deleteAttachment(Submission submission, SubmissionAttachment submissionAttachment) throws ResponseException {
         storageService.deleteFile(getAttachmentPath(submission, submissionAttachment, true));
     }
@@ -76,4 +147,12 @@ public class SubmissionStorageService {
         // If the file does not exist in the default path, return the deprecated path
         return deprecatedPath;
     }
+
+    private String getSummaryPdfDirectory(Submission submission) {
+        return "submissions/" + submission.getId() + "/pdfs";
+    }
+
+    private String getSummaryPdfPath(Submission submission, FormPdfScope scope, String version) {
+        return getSummaryPdfDirectory(submission) + "/" + scope.name() + "/" + version + ".pdf";
+    }
 }
@@ -8,19 +8,20 @@ import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.payment.services.PaymentProviderService;
 import de.aivot.GoverBackend.payment.services.PaymentTransactionService;
 import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
+import de.aivot.GoverBackend.services.DestinationDataBinary;
 import de.aivot.GoverBackend.services.DestinationDataFormatter;
-import de.aivot.GoverBackend.services.PdfService;
 import de.aivot.GoverBackend.services.storages.SubmissionStorageService;
 import de.aivot.GoverBackend.submission.dtos.SubmissionAttachmentResponseDTO;
 import de.aivot.GoverBackend.submission.filters.SubmissionAttachmentFilter;
 import de.aivot.GoverBackend.submission.filters.SubmissionWithMembershipFilter;
 import de.aivot.GoverBackend.submission.services.SubmissionAttachmentService;
+import de.aivot.GoverBackend.submission.services.SubmissionPdfCacheService;
 import de.aivot.GoverBackend.submission.services.SubmissionService;
 import de.aivot.GoverBackend.submission.services.SubmissionWithMembershipService;
 import de.aivot.GoverBackend.user.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,7 +34,6 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -44,7 +44,7 @@ public class SubmissionAttachmentsController {
     private final FormService formService;
     private final SubmissionWithMembershipService submissionWithMembershipService;
     private final SubmissionStorageService submissionStorageService;
-    private final PdfService pdfService;
+    private final SubmissionPdfCacheService submissionPdfCacheService;
     private final SubmissionAttachmentService submissionAttachmentService;
     private final SubmissionService submissionService;
     private final PaymentTransactionService paymentTransactionService;
@@ -54,7 +54,7 @@ public class SubmissionAttachmentsController {
     public SubmissionAttachmentsController(
             SubmissionWithMembershipService submissionWithMembershipService,
             SubmissionStorageService submissionStorageService,
-            PdfService pdfService,
+            SubmissionPdfCacheService submissionPdfCacheService,
             SubmissionAttachmentService submissionAttachmentService,
             SubmissionService submissionService,
             FormService formService,
@@ -62,7 +62,7 @@ public class SubmissionAttachmentsController {
         this.formService = formService;
         this.submissionWithMembershipService = submissionWithMembershipService;
         this.submissionStorageService = submissionStorageService;
-        this.pdfService = pdfService;
+        this.submissionPdfCacheService = submissionPdfCacheService;
         this.submissionAttachmentService = submissionAttachmentService;
         this.submissionService = submissionService;
         this.paymentTransactionService = paymentTransactionService;
@@ -101,16 +101,12 @@ public class SubmissionAttachmentsController {
                 .retrieve(attachmentId)
                 .orElseThrow(ResponseException::notFound);
 
-        var bytes = submissionStorageService
-                .getAttachmentData(submission, attachment);
+        // Stream the attachment from the storage instead of loading it into memory
+        var data = submissionStorageService
+                .openAttachmentData(submission, attachment);
 
         // Get pointer to the attachment resource
-        Resource resource = new ByteArrayResource(bytes);
-
-        // Check resource exists and is readable
-        if (!resource.exists() || !resource.isReadable()) {
-            throw ResponseException.notFound();
-        }
+        Resource resource = new InputStreamResource(data);
 
         // Create content disposition
         var contentDisposition = ContentDisposition
@@ -172,21 +168,21 @@ public class SubmissionAttachmentsController {
         var attachments = submissionAttachmentService
                 .list(null, attachmentFilter);
 
-        byte[] pdfBytes;
+        Resource pdf;
         try {
-            pdfBytes = pdfService.generateCustomerSummary(form, submission, FormPdfScope.Staff);
-        } catch (IOException | InterruptedException | URISyntaxException e) {
+            pdf = submissionPdfCacheService.getCustomerSummary(form, submission, FormPdfScope.Staff);
+        } catch (IOException | InterruptedException e) {
             throw new RuntimeException(e);
         }
 
-        Map<String, byte[]> attachmentBytes = new HashMap<>();
+        // The attachments are streamed from the storage while the response is written
+        Map<String, DestinationDataBinary> attachmentContents = new HashMap<>();
         for (var attachment : attachments) {
-            var bytes = submissionStorageService.getAttachmentData(submission, attachment);
-            attachmentBytes.put(attachment.getFilename(), bytes);
+            attachmentContents.put(attachment.getFilename(), DestinationDataBinary.of(submissionStorageService.getAttachmentResource(submission, attachment, attachment.getFilename())::getInputStream));
         }
 
         var data = DestinationDataFormatter
-                .create(form, submission, paymentTransaction, paymentProvider, pdfBytes, attachmentBytes)
+                .create(form, submission, paymentTransaction, paymentProvider, DestinationDataBinary.of(pdf::getInputStream), attachmentContents)
                 .format();
 
         return new ResponseEntity<>(data, HttpStatus.OK);
@@ -208,16 +204,16 @@ public class SubmissionAttachmentsController {
                 .retrieve(submission.getFormId())
                 .orElseThrow(ResponseException::notFound);
 
-        byte[] pdfBytes;
+        // Stream the pdf from the storage into the response
+        Resource resource;
         try {
-            pdfBytes = pdfService.generateCustomerSummary(form, submission, scope != null ? scope : FormPdfScope.Staff);
-        } catch (IOException | InterruptedException | URISyntaxException e) {
+            resource = new InputStreamResource(submissionPdfCacheService
+                    .getCustomerSummary(form, submission, scope != null ? scope : FormPdfScope.Staff)
+                    .getInputStream());
+        } catch (IOException | InterruptedException e) {
             throw new RuntimeException(e);
         }
 
-        // Get pointer to the attachment resource
-        Resource resource = new ByteArrayResource(pdfBytes);
-
         // Check resource exists and is readable
         if (!resource.exists() || !resource.isReadable()) {
             throw ResponseException.notFound();
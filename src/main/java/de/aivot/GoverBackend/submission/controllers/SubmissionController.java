@@ -29,6 +29,7 @@ import de.aivot.GoverBackend.submission.filters.SubmissionWithMembershipFilter;
 import de.aivot.GoverBackend.submission.repositories.SubmissionRepository;
 import de.aivot.GoverBackend.submission.services.SubmissionAttachmentService;
 import de.aivot.GoverBackend.submission.services.SubmissionService;
+import de.aivot.GoverBackend.submission.services.SubmissionWithMembershipListItemService;
 import de.aivot.GoverBackend.submission.services.SubmissionWithMembershipService;
 import de.aivot.GoverBackend.user.entities.UserEntity;
 import de.aivot.GoverBackend.user.repositories.UserRepository;
@@ -56,6 +57,7 @@ public class SubmissionController {
     private final SubmissionService submissionService;
 
     private final SubmissionWithMembershipService submissionWithMembershipService;
+    private final SubmissionWithMembershipListItemService submissionWithMembershipListItemService;
     private final DestinationSubmitService destinationSubmitService;
     private final SubmissionMailService submissionMailService;
     private final ExceptionMailService exceptionMailService;
@@ -73,6 +75,7 @@ public class SubmissionController {
             AuditService auditService,
             SubmissionService submissionService,
             SubmissionWithMembershipService submissionWithMembershipService,
+            SubmissionWithMembershipListItemService submissionWithMembershipListItemService,
             DestinationSubmitService destinationSubmitService,
             SubmissionMailService submissionMailService,
             ExceptionMailService exceptionMailService,
@@ -88,6 +91,7 @@ public class SubmissionController {
         this.auditService = auditService.createScopedAuditService(SubmissionController.class);
         this.submissionService = submissionService;
         this.submissionWithMembershipService = submissionWithMembershipService;
+        this.submissionWithMembershipListItemService = submissionWithMembershipListItemService;
         this.destinationSubmitService = destinationSubmitService;
         this.submissionMailService = submissionMailService;
         this.exceptionMailService = exceptionMailService;
@@ -113,8 +117,9 @@ public class SubmissionController {
 
         filter.setUserId(user.getId());
 
-        return submissionWithMembershipService
-                .list(pageable, filter)
+        // The list items omit the customer input and the form tree, which are not needed for listing
+        return submissionWithMembershipListItemService
+                .list(pageable, filter.asListItemFilter())
                 .map(SubmissionListResponseDTO::fromEntity);
     }
 
@@ -12,7 +12,7 @@ import de.aivot.GoverBackend.exceptions.NotAcceptableException;
 import de.aivot.GoverBackend.exceptions.UserFriendlyResponseStatusException;
 import de.aivot.GoverBackend.form.entities.Form;
 import de.aivot.GoverBackend.form.enums.FormStatus;
-import de.aivot.GoverBackend.form.repositories.FormRepository;
+import de.aivot.GoverBackend.form.services.FormCacheService;
 import de.aivot.GoverBackend.form.services.FormDerivationService;
 import de.aivot.GoverBackend.form.services.FormDerivationServiceFactory;
 import de.aivot.GoverBackend.form.services.FormPaymentService;
@@ -38,19 +38,19 @@ import de.aivot.GoverBackend.payment.services.PaymentProviderService;
 import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
 import de.aivot.GoverBackend.services.AVService;
 import de.aivot.GoverBackend.services.DestinationSubmitService;
-import de.aivot.GoverBackend.services.PdfService;
 import de.aivot.GoverBackend.services.storages.SubmissionStorageService;
 import de.aivot.GoverBackend.submission.dtos.SubmissionStatusResponseDTO;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.submission.entities.SubmissionAttachment;
 import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
 import de.aivot.GoverBackend.submission.repositories.SubmissionRepository;
-import de.aivot.GoverBackend.elements.utils.ElementFlattenUtils;
+import de.aivot.GoverBackend.submission.services.SubmissionDeliveryService;
+import de.aivot.GoverBackend.submission.services.SubmissionPdfCacheService;
 import de.aivot.GoverBackend.utils.StringUtils;
 import jakarta.mail.MessagingException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.*;
@@ -62,7 +62,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.Nullable;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -70,12 +70,13 @@ import java.util.stream.Collectors;
 
 @RestController
 public class SubmitController {
-    private final FormRepository formRepository;
+    private final FormCacheService formCacheService;
     private final SubmissionRepository submissionRepository;
     private final SubmissionAttachmentRepository submissionAttachmentRepository;
     private final AVService avService;
-    private final PdfService pdfService;
+    private final SubmissionPdfCacheService submissionPdfCacheService;
     private final DestinationSubmitService destinationSubmitService;
+    private final SubmissionDeliveryService submissionDeliveryService;
     private final SubmissionStorageService submissionStorageService;
     private final GoverConfig goverConfig;
     private final DestinationRepository destinationRepository;
@@ -92,12 +93,13 @@ public class SubmitController {
 
     @Autowired
     public SubmitController(
-            FormRepository formRepository,
+            FormCacheService formCacheService,
             SubmissionRepository submissionRepository,
             SubmissionAttachmentRepository submissionAttachmentRepository,
             AVService avService,
-            PdfService pdfService,
+            SubmissionPdfCacheService submissionPdfCacheService,
             DestinationSubmitService destinationSubmitService,
+            SubmissionDeliveryService submissionDeliveryService,
             SubmissionStorageService submissionStorageService,
             GoverConfig goverConfig,
             DestinationRepository destinationRepository,
@@ -111,12 +113,13 @@ public class SubmitController {
             PaymentProviderRepository paymentProviderRepository,
             IdentityCacheRepository identityCacheRepository,
             AltchaService altchaService) {
-        this.formRepository = formRepository;
+        this.formCacheService = formCacheService;
         this.submissionRepository = submissionRepository;
         this.submissionAttachmentRepository = submissionAttachmentRepository;
         this.avService = avService;
-        this.pdfService = pdfService;
+        this.submissionPdfCacheService = submissionPdfCacheService;
         this.destinationSubmitService = destinationSubmitService;
+        this.submissionDeliveryService = submissionDeliveryService;
         this.submissionStorageService = submissionStorageService;
         this.goverConfig = goverConfig;
         this.destinationRepository = destinationRepository;
@@ -141,8 +144,8 @@ public class SubmitController {
             @Nullable @RequestHeader(name = IdentityController.IDENTITY_HEADER_NAME, required = false) String identityId
     ) throws ResponseException {
         // Fetch form
-        var form = formRepository
-                .findById(applicationId)
+        var form = formCacheService
+                .retrieve(applicationId)
                 .orElseThrow(ResponseException::notFound);
 
         Destination destination = null;
@@ -271,9 +274,10 @@ public class SubmitController {
                     attachment.setFilename(submissionId);
                 }
 
-                try {
+                // Stream the upload into the storage instead of loading it into memory
+                try (var data = file.getInputStream()) {
                     submissionStorageService
-                            .saveAttachment(submission, attachment, file.getBytes());
+                            .saveAttachment(submission, attachment, data, file.getSize());
                 } catch (Exception e) {
                     submissionRepository.delete(submission);
                     throw new RuntimeException(e);
@@ -301,24 +305,8 @@ public class SubmitController {
             submission.setStatus(SubmissionStatus.Pending);
         } else {
             if (destination != null) {
-                submission.setStatus(SubmissionStatus.Pending);
-
-                destinationSubmitService.handleSubmit(
-                        destination,
-                        form,
-                        submission,
-                        attachments
-                );
-
-                if (!submission.getDestinationSuccess()) {
-                    try {
-                        submissionMailService.sendDestinationFailed(form, submission, destination);
-                    } catch (Exception e) {
-                        exceptionMailService.send(e);
-                    }
-                } else {
-                    submission.setStatus(SubmissionStatus.Archived);
-                }
+                // The submission is delivered to the destination in the background, so slow destinations do not delay the response
+                submissionDeliveryService.saveAndEnqueue(submission);
             } else {
                 submission.setStatus(SubmissionStatus.OpenForManualWork);
                 try {
@@ -356,8 +344,10 @@ public class SubmitController {
 
         var identityCacheEntity = optionalIdp.get();
 
-        var flatElements = ElementFlattenUtils
-                .flattenElements(form.getRoot());
+        var flatElements = form
+                .getRoot()
+                .getElementIndex()
+                .getFlatElements();
 
         for (var element : flatElements) {
             var metadata = element.getMetadata();
@@ -478,7 +468,9 @@ public class SubmitController {
                 paymentTransaction.map(tx -> tx.getPaymentInformation().getStatus() == XBezahldienstStatus.PAYED).orElse(false),
                 paymentTransaction.map(tx -> tx.getPaymentInformation().getStatus() != XBezahldienstStatus.INITIAL && tx.getPaymentInformation().getStatus() != XBezahldienstStatus.PAYED).orElse(false),
                 testSubmissionExpired(sub),
-                sub.getCopySent() != null ? sub.getCopySent() : false
+                sub.getCopySent() != null ? sub.getCopySent() : false,
+                sub.getDestinationId() != null && submissionDeliveryService.isPending(sub.getId()),
+                Boolean.TRUE.equals(sub.getDestinationSuccess())
         );
     }
 
@@ -493,28 +485,27 @@ public class SubmitController {
             throw new UserFriendlyResponseStatusException(HttpStatus.FORBIDDEN, "Die Zugriffsfrist für den Antrag ist abgelaufen. Bitte wenden Sie sich an die zuständige Dienststelle. Zur eindeutigen Identifizierung Ihrer Einreichung geben Sie bitte folgende Kennung an: " + uuid);
         }
 
-        var form = formRepository
-                .findById(submission.getFormId())
+        var form = formCacheService
+                .retrieve(submission.getFormId())
                 .orElseThrow(() -> new UserFriendlyResponseStatusException(HttpStatus.NOT_FOUND, "Das Formular mit der ID " + submission.getFormId() + " konnte nicht gefunden werden."));
 
-        // Get the path to the generated pdf
-        byte[] pdfBytes;
+        // Get the stored pdf or generate it, if it is not stored yet. The pdf is streamed from the storage into the response
+        InputStream pdf;
         try {
-            pdfBytes = pdfService
-                    .generateCustomerSummary(form, submission, FormPdfScope.Citizen);
-        } catch (IOException | InterruptedException | URISyntaxException e) {
+            pdf = submissionPdfCacheService
+                    .getCustomerSummary(form, submission, FormPdfScope.Citizen)
+                    .getInputStream();
+        } catch (IOException | InterruptedException e) {
             throw new UserFriendlyResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Der Antrag konnte nicht gedruckt werden. Bitte versuchen Sie es später erneut.");
         } catch (ResponseException e) {
             throw new RuntimeException(e);
         }
 
-        // Get pointer to the pdf file resource
-        var resource = new ByteArrayResource(pdfBytes);
+        var resource = new InputStreamResource(pdf);
 
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(pdfBytes.length)
                 .header(
                         HttpHeaders.CONTENT_DISPOSITION,
                         ContentDisposition
@@ -527,8 +518,8 @@ public class SubmitController {
     }
 
     private boolean testSubmissionExpired(Submission submission) {
-        var form = formRepository
-                .findById(submission.getFormId());
+        var form = formCacheService
+                .retrieve(submission.getFormId());
 
         return form.map(submission::hasExternalAccessExpired).orElse(true);
     }
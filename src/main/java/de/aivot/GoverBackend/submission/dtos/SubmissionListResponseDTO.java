@@ -3,6 +3,7 @@ package de.aivot.GoverBackend.submission.dtos;
 import de.aivot.GoverBackend.enums.SubmissionStatus;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.submission.entities.SubmissionWithMembership;
+import de.aivot.GoverBackend.submission.entities.SubmissionWithMembershipListItem;
 
 import java.time.LocalDateTime;
 
@@ -44,4 +45,18 @@ public record SubmissionListResponseDTO(
                 submission.getCreated()
         );
     }
+
+    public static SubmissionListResponseDTO fromEntity(SubmissionWithMembershipListItem submission) {
+        return new SubmissionListResponseDTO(
+                submission.getId(),
+                submission.getFormId(),
+                submission.getStatus(),
+                submission.getAssigneeId(),
+                submission.getFileNumber(),
+                submission.getTestSubmission(),
+                submission.getDestinationId(),
+                submission.getDestinationSuccess(),
+                submission.getCreated()
+        );
+    }
 }
@@ -9,6 +9,8 @@ public record SubmissionStatusResponseDTO(
         Boolean paymentDone,
         Boolean paymentFailed,
         Boolean accessExpired,
-        Boolean copySent
+        Boolean copySent,
+        Boolean destinationPending,
+        Boolean destinationDelivered
 ) {
 }
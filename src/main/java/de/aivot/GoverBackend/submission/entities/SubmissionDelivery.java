@@ -0,0 +1,116 @@
+package de.aivot.GoverBackend.submission.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox record of a submission, which still has to be delivered to its destination.
+ * The record is removed once the delivery succeeded or finally failed.
+ */
+@Entity
+@Table(name = "submission_deliveries")
+public class SubmissionDelivery {
+    @Id
+    @Column(length = 36)
+    private String submissionId;
+
+    @NotNull
+    private Integer attempts;
+
+    @NotNull
+    private LocalDateTime nextAttempt;
+
+    @Column(length = 36)
+    private String leaseOwner;
+
+    private LocalDateTime leaseUntil;
+
+    private String lastError;
+
+    @NotNull
+    private LocalDateTime created;
+
+    @NotNull
+    private LocalDateTime updated;
+
+    @PrePersist
+    public void prePersist() {
+        created = LocalDateTime.now();
+        updated = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updated = LocalDateTime.now();
+    }
+
+    // region Getter & Setter
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttempt() {
+        return nextAttempt;
+    }
+
+    public void setNextAttempt(LocalDateTime nextAttempt) {
+        this.nextAttempt = nextAttempt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public void setCreated(LocalDateTime created) {
+        this.created = created;
+    }
+
+    public LocalDateTime getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(LocalDateTime updated) {
+        this.updated = updated;
+    }
+
+    // endregion
+}
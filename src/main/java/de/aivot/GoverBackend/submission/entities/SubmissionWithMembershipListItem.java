@@ -0,0 +1,134 @@
+package de.aivot.GoverBackend.submission.entities;
+
+import de.aivot.GoverBackend.enums.SubmissionStatus;
+import de.aivot.GoverBackend.form.enums.FormStatus;
+import de.aivot.GoverBackend.form.enums.FormType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only list view of a {@link SubmissionWithMembership}.
+ * Contains the columns shown in and filtered by submission lists, but neither the customer input nor the form tree, so listing submissions does not parse them for every listed submission.
+ */
+@Entity
+@Immutable
+@Table(name = "submissions_with_memberships")
+@IdClass(SubmissionWithMembershipId.class)
+public class SubmissionWithMembershipListItem {
+    @Id
+    private String id;
+    private LocalDateTime created;
+    private String assigneeId;
+    private LocalDateTime archived;
+    private String fileNumber;
+    private Integer destinationId;
+    private Boolean destinationSuccess;
+    private Boolean isTestSubmission;
+    private Boolean copySent;
+    private Integer copyTries;
+    private Integer reviewScore;
+    private LocalDateTime destinationTimestamp;
+    @Column(columnDefinition = "int4")
+    private SubmissionStatus status;
+    private LocalDateTime updated;
+    private String paymentTransactionKey;
+    @Id
+    private Integer formId;
+    private String formSlug;
+    private String formVersion;
+    private String formTitle;
+    private FormStatus formStatus;
+    private FormType formType;
+    @Id
+    private String userId;
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public String getAssigneeId() {
+        return assigneeId;
+    }
+
+    public LocalDateTime getArchived() {
+        return archived;
+    }
+
+    public String getFileNumber() {
+        return fileNumber;
+    }
+
+    public Integer getDestinationId() {
+        return destinationId;
+    }
+
+    public Boolean getDestinationSuccess() {
+        return destinationSuccess;
+    }
+
+    public Boolean getTestSubmission() {
+        return isTestSubmission;
+    }
+
+    public Boolean getCopySent() {
+        return copySent;
+    }
+
+    public Integer getCopyTries() {
+        return copyTries;
+    }
+
+    public Integer getReviewScore() {
+        return reviewScore;
+    }
+
+    public LocalDateTime getDestinationTimestamp() {
+        return destinationTimestamp;
+    }
+
+    public SubmissionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdated() {
+        return updated;
+    }
+
+    public String getPaymentTransactionKey() {
+        return paymentTransactionKey;
+    }
+
+    public Integer getFormId() {
+        return formId;
+    }
+
+    public String getFormSlug() {
+        return formSlug;
+    }
+
+    public String getFormVersion() {
+        return formVersion;
+    }
+
+    public String getFormTitle() {
+        return formTitle;
+    }
+
+    public FormStatus getFormStatus() {
+        return formStatus;
+    }
+
+    public FormType getFormType() {
+        return formType;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
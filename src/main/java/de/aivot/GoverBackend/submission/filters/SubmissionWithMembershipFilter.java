@@ -4,6 +4,7 @@ import de.aivot.GoverBackend.enums.SubmissionStatus;
 import de.aivot.GoverBackend.enums.UserRole;
 import de.aivot.GoverBackend.lib.models.Filter;
 import de.aivot.GoverBackend.submission.entities.SubmissionWithMembership;
+import de.aivot.GoverBackend.submission.entities.SubmissionWithMembershipListItem;
 import de.aivot.GoverBackend.utils.specification.SpecificationBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -161,8 +162,22 @@ public class SubmissionWithMembershipFilter implements Filter<SubmissionWithMemb
     @Nonnull
     @Override
     public Specification<SubmissionWithMembership> build() {
+        return createSpecification();
+    }
+
+    /**
+     * Get this filter for the list items of the submissions, which omit the customer input and the form tree.
+     * Both are filtered by the same attributes.
+     */
+    @Nonnull
+    public Filter<SubmissionWithMembershipListItem> asListItemFilter() {
+        return this::createSpecification;
+    }
+
+    @Nonnull
+    private <T> Specification<T> createSpecification() {
         var spec = SpecificationBuilder
-                .create(SubmissionWithMembership.class)
+                .<T>create()
                 .withEquals("id", id)
 
                 .withEquals("formId", formId)
@@ -0,0 +1,91 @@
+package de.aivot.GoverBackend.submission.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class represents the configuration properties for the asynchronous delivery of submissions to their destinations.
+ * The properties are loaded from the application configuration file.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "submission-delivery")
+public class SubmissionDeliveryConfigurationProperties {
+    /**
+     * The number of deliveries performed concurrently by this instance.
+     */
+    private Integer workerThreads = 4;
+
+    /**
+     * The delay in milliseconds between two polls for due deliveries.
+     */
+    private Long pollInterval = 5000L;
+
+    /**
+     * The time in milliseconds a leased delivery is reserved for this instance.
+     * Must be longer than the slowest delivery, otherwise another instance may deliver the submission again.
+     */
+    private Long leaseDuration = 10 * 60 * 1000L;
+
+    /**
+     * The number of attempts after which a delivery is marked as failed.
+     */
+    private Integer maxAttempts = 6;
+
+    /**
+     * The delay in milliseconds before the first retry of a failed delivery. The delay doubles with every further attempt.
+     */
+    private Long initialBackoff = 60 * 1000L;
+
+    /**
+     * The maximum delay in milliseconds between two attempts of a delivery.
+     */
+    private Long maxBackoff = 60 * 60 * 1000L;
+
+    public Integer getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(Integer workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public Long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Long getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Long leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(Integer maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+}
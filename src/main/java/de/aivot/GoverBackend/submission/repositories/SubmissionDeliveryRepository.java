@@ -0,0 +1,56 @@
+package de.aivot.GoverBackend.submission.repositories;
+
+import de.aivot.GoverBackend.submission.entities.SubmissionDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SubmissionDeliveryRepository extends JpaRepository<SubmissionDelivery, String> {
+    /**
+     * Select and lock the deliveries, which are due and not leased by any instance.
+     * Rows locked by other instances are skipped, so multiple instances can lease deliveries at the same time without blocking each other.
+     * Must be called within a transaction.
+     */
+    @Query(value = """
+            SELECT *
+            FROM submission_deliveries
+            WHERE next_attempt <= ?1 AND (lease_until IS NULL OR lease_until < ?1)
+            ORDER BY next_attempt
+            LIMIT ?2
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<SubmissionDelivery> findDueForUpdate(LocalDateTime now, int limit);
+
+    /**
+     * Remove a delivery, but only if it is still leased by the given instance.
+     * An instance whose lease expired and was taken over by another instance must not finish the delivery.
+     * Must be called within a transaction.
+     *
+     * @return The number of removed deliveries, which is 0 if the lease was lost.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM submission_deliveries WHERE submission_id = ?1 AND lease_owner = ?2", nativeQuery = true)
+    int deleteLeased(String submissionId, String leaseOwner);
+
+    /**
+     * Schedule another attempt of a delivery and release its lease, but only if it is still leased by the given instance.
+     * Must be called within a transaction.
+     *
+     * @return The number of updated deliveries, which is 0 if the lease was lost.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE submission_deliveries
+            SET attempts     = ?3,
+                last_error   = ?4,
+                next_attempt = ?5,
+                lease_owner  = NULL,
+                lease_until  = NULL,
+                updated      = now()
+            WHERE submission_id = ?1 AND lease_owner = ?2
+            """, nativeQuery = true)
+    int releaseForRetry(String submissionId, String leaseOwner, int attempts, String lastError, LocalDateTime nextAttempt);
+}
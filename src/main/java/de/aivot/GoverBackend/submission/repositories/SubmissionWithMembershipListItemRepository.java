@@ -0,0 +1,9 @@
+package de.aivot.GoverBackend.submission.repositories;
+
+import de.aivot.GoverBackend.submission.entities.SubmissionWithMembershipListItem;
+import de.aivot.GoverBackend.submission.entities.SubmissionWithMembershipId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface SubmissionWithMembershipListItemRepository extends JpaRepository<SubmissionWithMembershipListItem, SubmissionWithMembershipId>, JpaSpecificationExecutor<SubmissionWithMembershipListItem> {
+}
@@ -0,0 +1,349 @@
+package de.aivot.GoverBackend.submission.services;
+
+import de.aivot.GoverBackend.destination.entities.Destination;
+import de.aivot.GoverBackend.destination.services.DestinationService;
+import de.aivot.GoverBackend.enums.SubmissionStatus;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.repositories.FormRepository;
+import de.aivot.GoverBackend.mail.services.ExceptionMailService;
+import de.aivot.GoverBackend.mail.services.SubmissionMailService;
+import de.aivot.GoverBackend.services.DestinationSubmitService;
+import de.aivot.GoverBackend.submission.entities.Submission;
+import de.aivot.GoverBackend.submission.entities.SubmissionDelivery;
+import de.aivot.GoverBackend.submission.properties.SubmissionDeliveryConfigurationProperties;
+import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
+import de.aivot.GoverBackend.submission.repositories.SubmissionDeliveryRepository;
+import de.aivot.GoverBackend.submission.repositories.SubmissionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for delivering submissions to their destinations asynchronously.
+ * <p>
+ * Submissions are stored together with a {@link SubmissionDelivery} outbox record, so the delivery survives restarts of the application.
+ * Each instance polls for due deliveries and leases them with {@code FOR UPDATE SKIP LOCKED}, so every delivery is performed by a single instance at a time.
+ * Failed deliveries, including deliveries aborted by an unexpected error, are retried with an exponential backoff until the maximum number of attempts is reached.
+ * The result of a delivery is only saved, if the instance still holds the lease of the delivery.
+ * Leases of crashed instances expire after the configured lease duration and are picked up by other instances.
+ */
+@Service
+@EnableScheduling
+public class SubmissionDeliveryService {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionDeliveryService.class);
+    private static final String METRIC_PREFIX = "gover.submission.delivery";
+
+    private final SubmissionDeliveryConfigurationProperties properties;
+    private final SubmissionDeliveryRepository submissionDeliveryRepository;
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionAttachmentRepository submissionAttachmentRepository;
+    private final FormRepository formRepository;
+    private final DestinationService destinationService;
+    private final DestinationSubmitService destinationSubmitService;
+    private final SubmissionMailService submissionMailService;
+    private final ExceptionMailService exceptionMailService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor;
+    private final AtomicInteger runningDeliveries = new AtomicInteger(0);
+
+    private final Counter successCounter;
+    private final Counter retryCounter;
+    private final Counter failureCounter;
+
+    @Autowired
+    public SubmissionDeliveryService(
+            SubmissionDeliveryConfigurationProperties properties,
+            SubmissionDeliveryRepository submissionDeliveryRepository,
+            SubmissionRepository submissionRepository,
+            SubmissionAttachmentRepository submissionAttachmentRepository,
+            FormRepository formRepository,
+            DestinationService destinationService,
+            DestinationSubmitService destinationSubmitService,
+            SubmissionMailService submissionMailService,
+            ExceptionMailService exceptionMailService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.submissionDeliveryRepository = submissionDeliveryRepository;
+        this.submissionRepository = submissionRepository;
+        this.submissionAttachmentRepository = submissionAttachmentRepository;
+        this.formRepository = formRepository;
+        this.destinationService = destinationService;
+        this.destinationSubmitService = destinationSubmitService;
+        this.submissionMailService = submissionMailService;
+        this.exceptionMailService = exceptionMailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.executor = Executors.newFixedThreadPool(properties.getWorkerThreads());
+
+        this.successCounter = Counter.builder(METRIC_PREFIX + ".successes")
+                .description("Number of submissions delivered to their destinations")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder(METRIC_PREFIX + ".retries")
+                .description("Number of failed deliveries scheduled for another attempt")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder(METRIC_PREFIX + ".failures")
+                .description("Number of deliveries marked as failed after the last attempt")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Unfinished deliveries are picked up again once their lease expired
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Save the submission and schedule its delivery to the destination within a single transaction.
+     *
+     * @param submission The submission to deliver. Its destination must be set.
+     * @return The saved submission.
+     */
+    @Nonnull
+    @Transactional
+    public Submission saveAndEnqueue(@Nonnull Submission submission) {
+        submission.setStatus(SubmissionStatus.Pending);
+        var savedSubmission = submissionRepository.save(submission);
+
+        var delivery = submissionDeliveryRepository
+                .findById(savedSubmission.getId())
+                .orElseGet(SubmissionDelivery::new);
+        delivery.setSubmissionId(savedSubmission.getId());
+        delivery.setAttempts(0);
+        delivery.setNextAttempt(LocalDateTime.now());
+        delivery.setLeaseOwner(null);
+        delivery.setLeaseUntil(null);
+        submissionDeliveryRepository.save(delivery);
+
+        return savedSubmission;
+    }
+
+    /**
+     * Check whether the delivery of a submission is still pending.
+     *
+     * @param submissionId The id of the submission.
+     * @return Whether the submission waits for its delivery.
+     */
+    public boolean isPending(@Nonnull String submissionId) {
+        return submissionDeliveryRepository.existsById(submissionId);
+    }
+
+    @Scheduled(fixedDelayString = "${submission-delivery.pollInterval:5000}")
+    public void deliverDueSubmissions() {
+        var freeWorkers = properties.getWorkerThreads() - runningDeliveries.get();
+        if (freeWorkers <= 0) {
+            return;
+        }
+
+        List<SubmissionDelivery> leasedDeliveries;
+        try {
+            leasedDeliveries = lease(freeWorkers);
+        } catch (Exception e) {
+            logger
+                    .atError()
+                    .setMessage("Failed to lease submission deliveries")
+                    .setCause(e)
+                    .log();
+            return;
+        }
+
+        for (var delivery : leasedDeliveries) {
+            runningDeliveries.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    deliver(delivery);
+                } catch (Exception e) {
+                    // The result could not be saved, e.g. because the database is unavailable, so the lease expires and the delivery is attempted again
+                    exceptionMailService.send(e);
+                } finally {
+                    runningDeliveries.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private List<SubmissionDelivery> lease(int limit) {
+        return transactionTemplate.execute(status -> {
+            var now = LocalDateTime.now();
+            var deliveries = submissionDeliveryRepository.findDueForUpdate(now, limit);
+            for (var delivery : deliveries) {
+                delivery.setLeaseOwner(instanceId);
+                delivery.setLeaseUntil(now.plus(Duration.ofMillis(properties.getLeaseDuration())));
+            }
+            return submissionDeliveryRepository.saveAll(deliveries);
+        });
+    }
+
+    private void deliver(@Nonnull SubmissionDelivery delivery) {
+        var submission = submissionRepository
+                .findById(delivery.getSubmissionId())
+                .orElse(null);
+
+        // The submission was deleted in the meantime, so there is nothing left to deliver
+        if (submission == null) {
+            transactionTemplate.executeWithoutResult(status -> submissionDeliveryRepository.deleteLeased(delivery.getSubmissionId(), instanceId));
+            return;
+        }
+
+        Form form = null;
+        Destination destination = null;
+        try {
+            form = formRepository
+                    .findById(submission.getFormId())
+                    .orElseThrow(() -> new IllegalStateException("Form with id " + submission.getFormId() + " not found for submission " + submission.getId()));
+
+            destination = submission.getDestinationId() == null ?
+                    null :
+                    destinationService.retrieve(submission.getDestinationId()).orElse(null);
+
+            // The destination was removed in the meantime, so the submission has to be worked on manually
+            if (destination == null) {
+                submission.setStatus(SubmissionStatus.OpenForManualWork);
+                if (complete(submission)) {
+                    try {
+                        submissionMailService.sendReceived(form, submission);
+                    } catch (Exception e) {
+                        exceptionMailService.send(e);
+                    }
+                }
+                return;
+            }
+
+            var attachments = submissionAttachmentRepository
+                    .findAllBySubmissionId(submission.getId());
+
+            destinationSubmitService.handleSubmit(destination, form, submission, attachments);
+        } catch (Exception e) {
+            // An unexpected error counts as failed attempt, so the delivery is retried with backoff instead of being leased again right away
+            exceptionMailService.send(e);
+
+            submission.setDestinationTimestamp(LocalDateTime.now());
+            submission.setDestinationSuccess(false);
+            submission.setDestinationResult("Die Übermittlung an das Ziel konnte nicht durchgeführt werden. Fehler: " + e.getMessage());
+            submission.setFileNumber(null);
+            submission.setArchived(null);
+            submission.setStatus(SubmissionStatus.HasDestinationError);
+        }
+
+        if (Boolean.TRUE.equals(submission.getDestinationSuccess())) {
+            if (complete(submission)) {
+                successCounter.increment();
+            }
+            return;
+        }
+
+        var attempts = delivery.getAttempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            if (!complete(submission)) {
+                return;
+            }
+            failureCounter.increment();
+            if (form != null && destination != null) {
+                try {
+                    submissionMailService.sendDestinationFailed(form, submission, destination);
+                } catch (Exception e) {
+                    exceptionMailService.send(e);
+                }
+            }
+            return;
+        }
+
+        logger
+                .atWarn()
+                .setMessage("Failed to deliver submission, scheduling another attempt")
+                .addKeyValue("submissionId", submission.getId())
+                .addKeyValue("attempt", attempts)
+                .addKeyValue("error", submission.getDestinationResult())
+                .log();
+
+        // The delivery is not finished yet, so the submission stays pending
+        submission.setStatus(SubmissionStatus.Pending);
+
+        delivery.setAttempts(attempts);
+        delivery.setLastError(submission.getDestinationResult());
+        delivery.setNextAttempt(LocalDateTime.now().plus(Duration.ofMillis(getBackoff(attempts))));
+        delivery.setLeaseOwner(null);
+        delivery.setLeaseUntil(null);
+
+        var released = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            var updated = submissionDeliveryRepository.releaseForRetry(
+                    delivery.getSubmissionId(),
+                    instanceId,
+                    delivery.getAttempts(),
+                    delivery.getLastError(),
+                    delivery.getNextAttempt()
+            );
+            if (updated == 0) {
+                return false;
+            }
+            submissionRepository.save(submission);
+            return true;
+        }));
+
+        if (released) {
+            retryCounter.increment();
+        } else {
+            logLostLease(submission);
+        }
+    }
+
+    /**
+     * Finish the delivery of a submission by saving the submission and removing its outbox record.
+     * Nothing is written, if the lease of the delivery was taken over by another instance in the meantime.
+     *
+     * @param submission The delivered submission.
+     * @return Whether the delivery was finished by this instance.
+     */
+    private boolean complete(@Nonnull Submission submission) {
+        var completed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (submissionDeliveryRepository.deleteLeased(submission.getId(), instanceId) == 0) {
+                return false;
+            }
+            submissionRepository.save(submission);
+            return true;
+        }));
+
+        if (!completed) {
+            logLostLease(submission);
+        }
+        return completed;
+    }
+
+    private void logLostLease(@Nonnull Submission submission) {
+        logger
+                .atWarn()
+                .setMessage("Lost the lease of a submission delivery, discarding the result of the attempt")
+                .addKeyValue("submissionId", submission.getId())
+                .log();
+    }
+
+    private long getBackoff(int attempts) {
+        var backoff = properties.getInitialBackoff() << Math.min(attempts - 1, 30);
+        return Math.min(backoff, properties.getMaxBackoff());
+    }
+}
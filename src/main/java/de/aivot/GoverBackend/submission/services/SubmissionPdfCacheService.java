@@ -0,0 +1,149 @@
+package de.aivot.GoverBackend.submission.services;
+
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.lib.exceptions.ResponseException;
+import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
+import de.aivot.GoverBackend.services.PdfService;
+import de.aivot.GoverBackend.services.storages.SubmissionStorageService;
+import de.aivot.GoverBackend.submission.entities.Submission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Service for providing the summary PDFs of submissions.
+ * The customer input of a submission does not change after the submission, so the generated PDFs are stored alongside the submission and reused.
+ * <p>
+ * Each stored PDF is tagged with a version, which is the fingerprint of the templates rendered by the {@link PdfService}.
+ * Everything the PDF shows, like the theme, the department or the payment state, is part of these templates.
+ * When any of it changes, the version no longer matches and the PDF is printed again.
+ * Rendering the templates is cheap compared to printing them, which is what this cache saves.
+ */
+@Service
+public class SubmissionPdfCacheService {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionPdfCacheService.class);
+    private static final String METRIC_PREFIX = "gover.submission.pdf.cache";
+    private static final String DEFAULT_FILENAME = "Antrag.pdf";
+
+    private final PdfService pdfService;
+    private final SubmissionStorageService submissionStorageService;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public SubmissionPdfCacheService(
+            PdfService pdfService,
+            SubmissionStorageService submissionStorageService,
+            MeterRegistry meterRegistry
+    ) {
+        this.pdfService = pdfService;
+        this.submissionStorageService = submissionStorageService;
+
+        this.hitCounter = Counter.builder(METRIC_PREFIX + ".hits")
+                .description("Number of submission PDFs served from the storage")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_PREFIX + ".misses")
+                .description("Number of submission PDFs generated because no current version was stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the summary PDF of a submission.
+     * The PDF is served from the storage, if a PDF for the current version is stored.
+     * Otherwise, it is printed and streamed into the storage for later requests.
+     * <p>
+     * The returned resource streams the PDF from the storage each time it is read, so it can be read multiple times without holding the PDF in memory.
+     * Only if the PDF cannot be stored, it is printed again and kept in memory.
+     *
+     * @param form       The form of the submission.
+     * @param submission The submission to summarize.
+     * @param scope      The scope determining the contents of the summary.
+     * @return The PDF.
+     */
+    @Nonnull
+    public Resource getCustomerSummary(
+            @Nonnull Form form,
+            @Nonnull Submission submission,
+            @Nonnull FormPdfScope scope
+    ) throws IOException, InterruptedException, ResponseException {
+        return getCustomerSummary(form, submission, scope, DEFAULT_FILENAME);
+    }
+
+    /**
+     * Get the summary PDF of a submission with the given filename.
+     *
+     * @param form       The form of the submission.
+     * @param submission The submission to summarize.
+     * @param scope      The scope determining the contents of the summary.
+     * @param filename   The filename of the returned resource.
+     * @return The PDF.
+     * @see #getCustomerSummary(Form, Submission, FormPdfScope)
+     */
+    @Nonnull
+    public Resource getCustomerSummary(
+            @Nonnull Form form,
+            @Nonnull Submission submission,
+            @Nonnull FormPdfScope scope,
+            @Nonnull String filename
+    ) throws IOException, InterruptedException, ResponseException {
+        var document = pdfService.renderCustomerSummary(form, submission, scope);
+        var version = document.getFingerprint();
+
+        try {
+            var storedPdf = submissionStorageService.getSummaryPdf(submission, scope, version, filename);
+            if (storedPdf.isPresent()) {
+                hitCounter.increment();
+                return storedPdf.get();
+            }
+        } catch (ResponseException e) {
+            logger
+                    .atWarn()
+                    .setMessage("Failed to load the stored summary PDF of a submission")
+                    .addKeyValue("submissionId", submission.getId())
+                    .addKeyValue("scope", scope)
+                    .setCause(e)
+                    .log();
+        }
+
+        missCounter.increment();
+
+        // The PDF is streamed from the PDF service directly into the storage
+        try (var pdf = pdfService.print(document)) {
+            submissionStorageService.saveSummaryPdf(submission, scope, version, pdf);
+
+            var storedPdf = submissionStorageService.getSummaryPdf(submission, scope, version, filename);
+            if (storedPdf.isPresent()) {
+                return storedPdf.get();
+            }
+        } catch (ResponseException e) {
+            logger
+                    .atWarn()
+                    .setMessage("Failed to store the summary PDF of a submission")
+                    .addKeyValue("submissionId", submission.getId())
+                    .addKeyValue("scope", scope)
+                    .setCause(e)
+                    .log();
+        }
+
+        // Failing to store the PDF must not fail the request, so the PDF is printed again and served from memory
+        byte[] pdf;
+        try (var in = pdfService.print(document)) {
+            pdf = in.readAllBytes();
+        }
+        return new ByteArrayResource(pdf) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+}
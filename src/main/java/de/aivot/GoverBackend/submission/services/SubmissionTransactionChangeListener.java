@@ -7,13 +7,10 @@ import de.aivot.GoverBackend.enums.XBezahldienstStatus;
 import de.aivot.GoverBackend.exceptions.NoValidUserEMailsInDepartmentException;
 import de.aivot.GoverBackend.form.repositories.FormRepository;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
-import de.aivot.GoverBackend.mail.services.ExceptionMailService;
 import de.aivot.GoverBackend.mail.services.SubmissionMailService;
 import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
 import de.aivot.GoverBackend.payment.models.PaymentTransactionChangeListener;
 import de.aivot.GoverBackend.payment.repositories.PaymentProviderRepository;
-import de.aivot.GoverBackend.services.DestinationSubmitService;
-import de.aivot.GoverBackend.submission.filters.SubmissionAttachmentFilter;
 import de.aivot.GoverBackend.submission.filters.SubmissionFilter;
 import de.aivot.GoverBackend.submission.repositories.SubmissionRepository;
 import jakarta.mail.MessagingException;
@@ -24,30 +21,24 @@ import java.io.IOException;
 @Component
 public class SubmissionTransactionChangeListener implements PaymentTransactionChangeListener {
     private final SubmissionRepository submissionRepository;
-    private final DestinationSubmitService destinationSubmitService;
+    private final SubmissionDeliveryService submissionDeliveryService;
     private final DestinationService destinationService;
-    private final SubmissionAttachmentService submissionAttachmentService;
     private final SubmissionMailService submissionMailService;
-    private final ExceptionMailService exceptionMailService;
     private final PaymentProviderRepository paymentProviderRepository;
     private final FormRepository formRepository;
 
     public SubmissionTransactionChangeListener(
             SubmissionRepository submissionRepository,
-            DestinationSubmitService destinationSubmitService,
+            SubmissionDeliveryService submissionDeliveryService,
             DestinationService destinationService,
-            SubmissionAttachmentService submissionAttachmentService,
             SubmissionMailService submissionMailService,
-            ExceptionMailService exceptionMailService,
             PaymentProviderRepository paymentProviderRepository,
             FormRepository formRepository
     ) {
         this.submissionRepository = submissionRepository;
-        this.destinationSubmitService = destinationSubmitService;
+        this.submissionDeliveryService = submissionDeliveryService;
         this.destinationService = destinationService;
-        this.submissionAttachmentService = submissionAttachmentService;
         this.submissionMailService = submissionMailService;
-        this.exceptionMailService = exceptionMailService;
         this.paymentProviderRepository = paymentProviderRepository;
         this.formRepository = formRepository;
     }
@@ -97,28 +88,8 @@ public class SubmissionTransactionChangeListener implements PaymentTransactionCh
                         throw ResponseException.internalServerError("E-Mail für Antragseingang konnte nicht versendet werden.", e);
                     }
                 } else {
-                    var attachmentFilter = SubmissionAttachmentFilter
-                            .create()
-                            .setSubmissionId(submission.getId());
-
-                    var attachments = submissionAttachmentService
-                            .list(attachmentFilter)
-                            .getContent();
-
-                    destinationSubmitService
-                            .handleSubmit(destination, form, submission, attachments);
-
-                    if (!submission.getDestinationSuccess()) {
-                        try {
-                            submissionMailService.sendDestinationFailed(form, submission, destination);
-                        } catch (Exception e) {
-                            exceptionMailService.send(e);
-                        }
-                    } else {
-                        submission.setStatus(SubmissionStatus.Archived);
-                    }
-
-                    submissionRepository.save(submission);
+                    // The submission is delivered to the destination in the background
+                    submissionDeliveryService.saveAndEnqueue(submission);
                 }
             }
             case CANCELED, FAILED -> {
@@ -0,0 +1,39 @@
+package de.aivot.GoverBackend.submission.services;
+
+import de.aivot.GoverBackend.submission.entities.SubmissionWithMembershipListItem;
+import de.aivot.GoverBackend.submission.repositories.SubmissionWithMembershipListItemRepository;
+import de.aivot.GoverBackend.lib.models.Filter;
+import de.aivot.GoverBackend.lib.services.ListEntityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Service for listing submissions with memberships without loading their json columns.
+ */
+@Service
+public class SubmissionWithMembershipListItemService implements ListEntityService<SubmissionWithMembershipListItem> {
+    private final SubmissionWithMembershipListItemRepository repository;
+
+    @Autowired
+    public SubmissionWithMembershipListItemService(
+            SubmissionWithMembershipListItemRepository repository
+    ) {
+        this.repository = repository;
+    }
+
+    @Nonnull
+    @Override
+    public Page<SubmissionWithMembershipListItem> performList(
+            @Nonnull Pageable pageable,
+            @Nullable Specification<SubmissionWithMembershipListItem> specification,
+            @Nullable Filter<SubmissionWithMembershipListItem> filter
+    ) {
+        return repository.findAll(specification, pageable);
+    }
+}
@@ -2,6 +2,7 @@ package de.aivot.GoverBackend.user.services;
 
 import de.aivot.GoverBackend.audit.services.AuditService;
 import de.aivot.GoverBackend.audit.services.ScopedAuditService;
+import de.aivot.GoverBackend.form.services.UserFormAccessService;
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.user.cache.entities.UserCacheEntity;
 import de.aivot.GoverBackend.user.cache.repositories.UserCacheRepository;
@@ -28,19 +29,22 @@ public class UserSyncService {
     private final UserRepository userRepository;
     private final UserCacheRepository userCacheRepository;
     private final KeyCloakApiService keycloakApiService;
+    private final UserFormAccessService userFormAccessService;
 
     @Autowired
     public UserSyncService(
             AuditService auditService,
             UserRepository userRepository,
             UserCacheRepository userCacheRepository,
-            KeyCloakApiService keycloakApiService
+            KeyCloakApiService keycloakApiService,
+            UserFormAccessService userFormAccessService
     ) {
         this.auditService = auditService.createScopedAuditService(UserSyncService.class);
 
         this.userRepository = userRepository;
         this.userCacheRepository = userCacheRepository;
         this.keycloakApiService = keycloakApiService;
+        this.userFormAccessService = userFormAccessService;
     }
 
     @Scheduled(fixedDelay = delayInMS)
@@ -96,5 +100,9 @@ public class UserSyncService {
                             "userId", localUser.getId()
                     ));
         }
+
+        // Reconcile the access of the users to the forms with their memberships.
+        // The access is maintained on every change of memberships and forms, so this only catches changes made outside the services.
+        userFormAccessService.refreshAll();
     }
 }
@@ -0,0 +1,15 @@
+-- add outbox table for the asynchronous delivery of submissions to their destinations
+
+create table submission_deliveries
+(
+    submission_id varchar(36) primary key references submissions (id) on delete cascade,
+    attempts      integer     not null default 0,
+    next_attempt  timestamp   not null,
+    lease_owner   varchar(36) null,
+    lease_until   timestamp   null,
+    last_error    text        null,
+    created       timestamp   not null,
+    updated       timestamp   not null
+);
+
+create index submission_deliveries_next_attempt_idx on submission_deliveries (next_attempt);
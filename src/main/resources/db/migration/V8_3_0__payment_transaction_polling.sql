@@ -0,0 +1,15 @@
+-- add the state of the status polling to the payment transactions
+
+alter table payment_transactions
+    add column poll_attempts    integer     not null default 0,
+    add column next_poll        timestamp   null,
+    add column poll_lease_owner varchar(36) null,
+    add column poll_lease_until timestamp   null;
+
+-- schedule all open transactions for polling
+update payment_transactions
+set next_poll = now()
+where payment_error is null
+  and coalesce(payment_information ->> 'status', 'INITIAL') = 'INITIAL';
+
+create index payment_transactions_next_poll_idx on payment_transactions (next_poll) where next_poll is not null;
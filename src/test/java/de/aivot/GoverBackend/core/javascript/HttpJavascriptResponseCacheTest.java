@@ -0,0 +1,106 @@
+package de.aivot.GoverBackend.core.javascript;
+
+import com.sun.net.httpserver.HttpServer;
+import de.aivot.GoverBackend.core.properties.HttpClientConfigurationProperties;
+import de.aivot.GoverBackend.core.services.HttpService;
+import de.aivot.GoverBackend.javascript.models.JavascriptCode;
+import de.aivot.GoverBackend.javascript.services.JavascriptEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpJavascriptResponseCacheTest {
+    private HttpServer server;
+    private AtomicInteger requests;
+    private HttpClientConfigurationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HttpService httpService;
+    private HttpJavascriptResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requests = new AtomicInteger(0);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            var count = requests.incrementAndGet();
+            var cacheControl = exchange.getRequestURI().getQuery();
+            if (cacheControl != null) {
+                exchange.getResponseHeaders().add("Cache-Control", cacheControl.replace('_', '='));
+            }
+            var bytes = String.valueOf(count).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+
+        properties = new HttpClientConfigurationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        httpService = new HttpService(properties, meterRegistry);
+        responseCache = new HttpJavascriptResponseCache(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpService.close();
+        server.stop(0);
+    }
+
+    @Test
+    void get_SameRequestWithinDerivation_IsSentOnce() throws Exception {
+        try (var engine = createEngine()) {
+            var result = engine.evaluateCode(new JavascriptCode().setCode(get("/lookup", "{'Accept': 'text/plain'}") + " + " + get("/lookup", "{'accept': 'text/plain'}")));
+            assertEquals("11", result.asString());
+        }
+
+        try (var engine = createEngine()) {
+            // The shared cache is disabled, so the next derivation sends the request again
+            assertEquals("2", engine.evaluateCode(code("/lookup", "{}")).asString());
+        }
+
+        assertEquals(2, requests.get());
+        assertEquals(1, meterRegistry.get("gover.http.javascript.cache.hits").tag("cache", "derivation").counter().count());
+    }
+
+    @Test
+    void get_SharedCacheEnabled_HonorsCacheControl() throws Exception {
+        properties.setJavascriptCacheEnabled(true);
+
+        for (var i = 0; i < 2; i++) {
+            try (var engine = createEngine()) {
+                engine.evaluateCode(code("/cached?max-age_60", "{}"));
+                engine.evaluateCode(code("/uncached?no-store", "{}"));
+                engine.evaluateCode(code("/expired?max-age_0", "{}"));
+            }
+        }
+
+        // Only the response with a max-age is reused by the second derivation
+        assertEquals(5, requests.get());
+        assertEquals(1, meterRegistry.get("gover.http.javascript.cache.hits").tag("cache", "shared").counter().count());
+    }
+
+    private JavascriptEngine createEngine() {
+        return new JavascriptEngine(new HttpJavascriptFunctionProvider(
+                httpService,
+                responseCache,
+                properties
+        ));
+    }
+
+    private JavascriptCode code(String path, String headers) {
+        return new JavascriptCode().setCode(get(path, headers) + ";");
+    }
+
+    private String get(String path, String headers) {
+        return "_http.get('http://127.0.0.1:" + server.getAddress().getPort() + path + "', " + headers + ").body";
+    }
+}
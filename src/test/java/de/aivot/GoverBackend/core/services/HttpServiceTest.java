@@ -0,0 +1,133 @@
+package de.aivot.GoverBackend.core.services;
+
+import com.sun.net.httpserver.HttpServer;
+import de.aivot.GoverBackend.core.javascript.HttpJavascriptFunctionProvider;
+import de.aivot.GoverBackend.core.javascript.HttpJavascriptResponseCache;
+import de.aivot.GoverBackend.core.properties.HttpClientConfigurationProperties;
+import de.aivot.GoverBackend.javascript.models.JavascriptCode;
+import de.aivot.GoverBackend.javascript.services.JavascriptEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpServiceTest {
+    private HttpServer server;
+    private CountDownLatch slowResponse;
+    private HttpClientConfigurationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HttpService httpService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        slowResponse = new CountDownLatch(1);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/echo", exchange -> {
+            var body = exchange.getRequestHeaders().getFirst("X-Test");
+            var bytes = (body == null ? "" : body).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                slowResponse.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        properties = new HttpClientConfigurationProperties();
+        properties.setMaxConcurrentRequestsPerHost(1);
+        properties.setAcquireTimeout(100L);
+        properties.setJavascriptTimeBudget(300L);
+
+        meterRegistry = new SimpleMeterRegistry();
+        httpService = new HttpService(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowResponse.countDown();
+        httpService.close();
+        server.stop(0);
+    }
+
+    @Test
+    void get_SendsHeadersAndRecordsMetrics() throws Exception {
+        var response = httpService.get(uri("/echo"), Map.of("X-Test", "value"));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("value", response.body());
+        assertEquals(1, meterRegistry
+                .get("gover.http.client.requests")
+                .tag("method", "GET")
+                .tag("outcome", "SUCCESS")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void send_HostWithoutFreeSlot_FailsAfterAcquireTimeout() throws Exception {
+        var slowRequest = Executors.newSingleThreadExecutor().submit(() -> httpService.get(uri("/slow")));
+
+        // Wait until the slow request occupies the only slot of the host
+        var deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("gover.http.client.active").gauge().value() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        var request = HttpRequest.newBuilder(uri("/echo")).GET().build();
+        assertThrows(IOException.class, () -> httpService.send(request, HttpResponse.BodyHandlers.ofString()));
+        assertEquals(1, meterRegistry.get("gover.http.client.rejections").counter().count());
+
+        slowResponse.countDown();
+        assertEquals(204, slowRequest.get(5, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void javascriptGet_BudgetUsedUp_FailsFurtherRequests() throws Exception {
+        properties.setMaxConcurrentRequestsPerHost(4);
+        var provider = new HttpJavascriptFunctionProvider(
+                new HttpService(properties, meterRegistry),
+                new HttpJavascriptResponseCache(properties, meterRegistry),
+                properties
+        );
+
+        try (var engine = new JavascriptEngine(provider)) {
+            // The first request times out with the remaining budget, the second one fails without being sent
+            assertThrows(PolyglotException.class, () -> engine.evaluateCode(new JavascriptCode().setCode("_http.get('" + uri("/slow") + "', {});")));
+            assertThrows(PolyglotException.class, () -> engine.evaluateCode(new JavascriptCode().setCode("_http.get('" + uri("/echo") + "', {});")));
+        }
+
+        assertEquals(1, meterRegistry
+                .get("gover.http.client.requests")
+                .tag("outcome", "TIMEOUT")
+                .timer()
+                .count());
+        assertTrue(meterRegistry.find("gover.http.client.requests").tag("outcome", "SUCCESS").timers().isEmpty());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
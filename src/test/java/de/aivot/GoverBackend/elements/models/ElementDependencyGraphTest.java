@@ -0,0 +1,93 @@
+package de.aivot.GoverBackend.elements.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementDependencyGraphTest {
+    private static Map<String, Object> textField(String id, Map<String, Object> extra) {
+        var map = new HashMap<String, Object>(extra);
+        map.put("type", 15);
+        map.put("id", id);
+        return map;
+    }
+
+    @SafeVarargs
+    private static RootElement root(Map<String, Object>... stepChildren) {
+        return new RootElement(Map.of(
+                "type", 0,
+                "id", "root",
+                "children", List.of(Map.of(
+                        "type", 1,
+                        "id", "step",
+                        "children", List.of(stepChildren)
+                ))
+        ));
+    }
+
+    @Test
+    void changedKeyAffectsTransitiveDependents() {
+        var graph = new ElementDependencyGraph(root(
+                textField("a", Map.of()),
+                textField("b", Map.of("valueCode", Map.of("code", "return ctx.values.a;"))),
+                textField("c", Map.of("visibilityCode", Map.of("code", "return ctx.values.b != null;"))),
+                textField("d", Map.of())
+        ));
+
+        var affected = graph.getAffectedElementIds(List.of("a"));
+
+        assertTrue(affected.containsAll(Set.of("a", "b", "c")));
+        assertFalse(affected.contains("d"));
+    }
+
+    @Test
+    void staticParentsDoNotAffectChildren() {
+        var graph = new ElementDependencyGraph(root(
+                textField("a", Map.of())
+        ));
+
+        assertEquals(Set.of("root", "a"), graph.getAffectedElementIds(List.of("a")));
+    }
+
+    @Test
+    void dynamicParentsAffectChildren() {
+        var graph = new ElementDependencyGraph(root(
+                textField("a", Map.of()),
+                Map.of(
+                        "type", 3,
+                        "id", "group",
+                        "visibilityCode", Map.of("code", "return ctx.values.a === 'show';"),
+                        "children", List.of(textField("child", Map.of()))
+                )
+        ));
+
+        assertTrue(graph.getAffectedElementIds(List.of("a")).containsAll(Set.of("group", "child")));
+    }
+
+    @Test
+    void replicatedKeysResolveToElementIds() {
+        var graph = new ElementDependencyGraph(root(
+                textField("a", Map.of()),
+                textField("b", Map.of("valueCode", Map.of("code", "return ctx.values.a;")))
+        ));
+
+        assertTrue(graph.getAffectedElementIds(List.of("container_item1_a")).contains("b"));
+    }
+
+    @Test
+    void dynamicReferencesAreAlwaysDerived() {
+        var graph = new ElementDependencyGraph(root(
+                textField("a", Map.of("valueCode", Map.of("code", "return ctx.values['b'];"))),
+                textField("b", Map.of("valueCode", Map.of("code", "return ctx.values.c;")))
+        ));
+
+        assertTrue(graph.getAlwaysDerivedIds().contains("a"));
+        assertFalse(graph.getAlwaysDerivedIds().contains("b"));
+        assertTrue(graph.getAffectedElementIds(List.of()).contains("a"));
+    }
+}
@@ -0,0 +1,74 @@
+package de.aivot.GoverBackend.elements.models;
+
+import de.aivot.GoverBackend.elements.utils.ElementFlattenUtils;
+import de.aivot.GoverBackend.enums.ElementType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementIndexTest {
+    private static RootElement createRoot() {
+        return new RootElement(Map.of(
+                "type", 0,
+                "id", "root",
+                "children", List.of(Map.of(
+                        "type", 1,
+                        "id", "step",
+                        "children", List.of(
+                                Map.of("type", 15, "id", "a", "name", "first"),
+                                Map.of(
+                                        "type", 3,
+                                        "id", "group",
+                                        "children", List.of(
+                                                Map.of("type", 15, "id", "b", "name", "second")
+                                        )
+                                )
+                        )
+                ))
+        ));
+    }
+
+    @Test
+    void findChild_MatchesRecursiveLookup() {
+        var root = createRoot();
+        var index = root.getElementIndex();
+
+        for (var id : List.of("step", "a", "group", "b", "root", "missing")) {
+            assertEquals(root.findChild(id).orElse(null), index.findChild(id).orElse(null), id);
+        }
+    }
+
+    @Test
+    void getFlatElements_MatchesFlattenedTree() {
+        var root = createRoot();
+
+        assertEquals(List.copyOf(ElementFlattenUtils.flattenElements(root)), root.getElementIndex().getFlatElements());
+    }
+
+    @Test
+    void lookups_ReturnParentsNamesAndTypes() {
+        var root = createRoot();
+        var index = root.getElementIndex();
+
+        assertEquals(List.of("root", "step", "group"), index.getParents("b").stream().map(BaseElement::getId).toList());
+        assertEquals(List.of(), index.getParents("root"));
+        assertEquals("b", index.getElementsByName("second").getFirst().getId());
+        assertEquals(List.of("a", "b"), index.getElementsByType(ElementType.Text).stream().map(BaseElement::getId).toList());
+        assertTrue(index.getElement("root").isPresent());
+    }
+
+    @Test
+    void getElementIndex_IsRebuiltWhenStepsAreReplaced() {
+        var root = createRoot();
+        var index = root.getElementIndex();
+
+        assertSame(index, root.getElementIndex());
+
+        root.setChildren(List.of());
+
+        assertTrue(root.getElementIndex().findChild("a").isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.enums.FormStatus;
+import de.aivot.GoverBackend.form.properties.FormCacheConfigurationProperties;
+import de.aivot.GoverBackend.form.repositories.FormRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FormCacheServiceTest {
+    private FormRepository formRepository;
+    private FormCacheService formCacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        formRepository = mock(FormRepository.class);
+        formCacheService = new FormCacheService(
+                formRepository,
+                new FormCacheConfigurationProperties(),
+                mock(ObjectProvider.class),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private Form mockForm(FormStatus status, LocalDateTime updated) {
+        var form = new Form();
+        form.setId(1);
+        form.setStatus(status);
+        form.setUpdated(updated);
+        when(formRepository.findById(1)).thenReturn(Optional.of(form));
+        when(formRepository.findUpdatedById(1)).thenReturn(Optional.of(updated));
+        return form;
+    }
+
+    @Test
+    void publishedFormsAreCached() {
+        var form = mockForm(FormStatus.Published, LocalDateTime.now());
+
+        formCacheService.retrieve(1);
+        var cached = formCacheService.retrieve(1);
+
+        assertTrue(cached.isPresent());
+        assertNotSame(form, cached.get());
+        verify(formRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void updatedFormsAreReloaded() {
+        mockForm(FormStatus.Published, LocalDateTime.now());
+        formCacheService.retrieve(1);
+
+        mockForm(FormStatus.Published, LocalDateTime.now().plusMinutes(1));
+        formCacheService.retrieve(1);
+
+        verify(formRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void draftedFormsAreNotCached() {
+        mockForm(FormStatus.Drafted, LocalDateTime.now());
+
+        formCacheService.retrieve(1);
+        formCacheService.retrieve(1);
+
+        verify(formRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void invalidatedFormsAreReloaded() {
+        mockForm(FormStatus.Published, LocalDateTime.now());
+
+        formCacheService.retrieve(1);
+        formCacheService.invalidate(1);
+        formCacheService.retrieve(1);
+
+        verify(formRepository, times(2)).findById(1);
+    }
+}
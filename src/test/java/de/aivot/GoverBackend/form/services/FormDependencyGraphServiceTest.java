@@ -0,0 +1,65 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.elements.models.RootElement;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.properties.FormCacheConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormDependencyGraphServiceTest {
+    private FormDependencyGraphService formDependencyGraphService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new FormCacheConfigurationProperties();
+        properties.setMaxSize(2);
+        formDependencyGraphService = new FormDependencyGraphService(properties);
+    }
+
+    private Form createForm(int id, LocalDateTime updated) {
+        var form = new Form();
+        form.setId(id);
+        form.setUpdated(updated);
+        form.setRoot(new RootElement(Map.of("type", 0, "id", "root", "children", List.of())));
+        return form;
+    }
+
+    @Test
+    void graphsAreCachedUntilTheFormIsUpdated() {
+        var updated = LocalDateTime.now();
+        var graph = formDependencyGraphService.getGraph(createForm(1, updated));
+
+        assertSame(graph, formDependencyGraphService.getGraph(createForm(1, updated)));
+        assertNotSame(graph, formDependencyGraphService.getGraph(createForm(1, updated.plusSeconds(1))));
+    }
+
+    @Test
+    void invalidatedGraphsAreRebuilt() {
+        var updated = LocalDateTime.now();
+        var graph = formDependencyGraphService.getGraph(createForm(1, updated));
+
+        formDependencyGraphService.invalidate(1);
+
+        assertNotSame(graph, formDependencyGraphService.getGraph(createForm(1, updated)));
+    }
+
+    @Test
+    void leastRecentlyUsedGraphIsEvicted() {
+        var updated = LocalDateTime.now();
+        var first = formDependencyGraphService.getGraph(createForm(1, updated));
+        var second = formDependencyGraphService.getGraph(createForm(2, updated));
+
+        // Use the first graph, so the second graph is the least recently used one
+        formDependencyGraphService.getGraph(createForm(1, updated));
+        formDependencyGraphService.getGraph(createForm(3, updated));
+
+        assertSame(first, formDependencyGraphService.getGraph(createForm(1, updated)));
+        assertNotSame(second, formDependencyGraphService.getGraph(createForm(2, updated)));
+    }
+}
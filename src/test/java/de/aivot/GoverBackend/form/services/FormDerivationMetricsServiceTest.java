@@ -0,0 +1,92 @@
+package de.aivot.GoverBackend.form.services;
+
+import de.aivot.GoverBackend.elements.enums.ElementDerivationFunctionKind;
+import de.aivot.GoverBackend.elements.enums.ElementDerivationPhase;
+import de.aivot.GoverBackend.elements.models.RootElement;
+import de.aivot.GoverBackend.enums.ElementType;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.properties.FormDerivationConfigurationProperties;
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
+import de.aivot.GoverBackend.javascript.services.JavascriptEngineFactoryService;
+import de.aivot.GoverBackend.javascript.services.JavascriptSourceCache;
+import de.aivot.GoverBackend.nocode.services.NoCodeEvaluationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormDerivationMetricsServiceTest {
+    private static final List<String> ALL = List.of(FormDerivationService.FORM_STEP_LIMIT_ALL_IDENTIFIER);
+
+    @Test
+    void derive_RecordsPhasesPerFormAndProfile() throws Exception {
+        var root = new RootElement(Map.of(
+                "type", 0,
+                "id", "root",
+                "children", List.of(Map.of(
+                        "type", 1,
+                        "id", "step",
+                        "children", List.of(
+                                Map.of("type", 15, "id", "computed", "valueCode", Map.of("code", "'value';")),
+                                Map.of("type", 15, "id", "plain")
+                        )
+                ))
+        ));
+
+        var form = new Form();
+        form.setId(42);
+        form.setRoot(root);
+
+        var meterRegistry = new SimpleMeterRegistry();
+        var metricsService = new FormDerivationMetricsService(new FormDerivationConfigurationProperties(), meterRegistry);
+        var javascriptProperties = new JavascriptConfigurationProperties();
+        var javascriptEngineFactoryService = new JavascriptEngineFactoryService(
+                List.of(),
+                new JavascriptSourceCache(javascriptProperties, meterRegistry),
+                javascriptProperties,
+                meterRegistry
+        );
+
+        try (var ctx = new FormDerivationService(form, ALL, ALL, ALL, ALL, javascriptEngineFactoryService, new NoCodeEvaluationService(List.of()), metricsService)
+                .enableProfiling()
+                .derive(root, Map.of())) {
+            assertEquals("value", ctx.getFormState().values().get("computed"));
+
+            var profile = ctx.getDerivationProfile();
+            assertNotNull(profile);
+
+            var computed = profile
+                    .getElements()
+                    .stream()
+                    .filter(timing -> timing.getId().equals("computed"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(ElementType.Text, computed.getType());
+            assertEquals(ElementDerivationFunctionKind.Javascript, computed.getPhases().get(ElementDerivationPhase.Value).functionKind());
+            assertEquals(ElementDerivationFunctionKind.None, computed.getPhases().get(ElementDerivationPhase.Error).functionKind());
+            assertTrue(profile.getDuration() >= computed.getDuration());
+        } finally {
+            javascriptEngineFactoryService.close();
+        }
+
+        assertEquals(1, meterRegistry
+                .get("gover.form.derivation.phase")
+                .tag("form", "42")
+                .tag("phase", "Value")
+                .tag("type", "Text")
+                .tag("function", "Javascript")
+                .timer()
+                .count());
+        assertEquals(2, meterRegistry
+                .get("gover.form.derivation.phase")
+                .tag("form", "42")
+                .tag("phase", "Visibility")
+                .tag("type", "Text")
+                .tag("function", "None")
+                .timer()
+                .count());
+    }
+}
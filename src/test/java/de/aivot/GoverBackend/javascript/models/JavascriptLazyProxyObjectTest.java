@@ -0,0 +1,82 @@
+package de.aivot.GoverBackend.javascript.models;
+
+import de.aivot.GoverBackend.javascript.services.JavascriptEngine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavascriptLazyProxyObjectTest {
+    @Test
+    void readsThroughToSource() throws Exception {
+        var source = new HashMap<String, Object>();
+        source.put("key", "value");
+
+        try (var engine = new JavascriptEngine(List.of())) {
+            engine.registerGlobalObject("test", source);
+
+            source.put("later", "value");
+
+            var res = engine.evaluateCode(new JavascriptCode().setCode("test.later;"));
+            assertEquals("value", res.asString());
+
+            var keys = engine.evaluateCode(new JavascriptCode().setCode("Object.keys(test).length;"));
+            assertEquals(2, keys.asNumber());
+
+            var missing = engine.evaluateCode(new JavascriptCode().setCode("test.missing === undefined;"));
+            assertTrue(missing.asBoolean());
+        }
+    }
+
+    @Test
+    void writesDoNotReachSource() throws Exception {
+        var nested = new HashMap<String, Object>();
+        nested.put("key", "value");
+        var source = new HashMap<String, Object>();
+        source.put("nested", nested);
+        source.put("list", List.of(1, 2));
+
+        try (var engine = new JavascriptEngine(List.of())) {
+            var res = engine
+                    .registerGlobalObject("test", source)
+                    .evaluateCode(new JavascriptCode().setCode("test.nested.key = 'changed'; test.list[0] = 3; delete test.nested; test.list[0] + (test.nested === undefined ? 1 : 0);"));
+
+            assertEquals(4, res.asNumber());
+            assertEquals("value", nested.get("key"));
+            assertTrue(source.containsKey("nested"));
+            assertEquals(List.of(1, 2), source.get("list"));
+        }
+    }
+
+    @Test
+    void resolvesSuppliersOnlyOnAccess() throws Exception {
+        var calls = new int[]{0};
+        Supplier<Object> supplier = () -> {
+            calls[0]++;
+            return Map.of("key", "value");
+        };
+
+        try (var engine = new JavascriptEngine(List.of())) {
+            engine.registerGlobalObject("test", Map.of("lazy", supplier, "other", 1));
+
+            engine.evaluateCode(new JavascriptCode().setCode("test.other;"));
+            assertEquals(0, calls[0]);
+
+            var res = engine.evaluateCode(new JavascriptCode().setCode("test.lazy.key + test.lazy.key;"));
+            assertEquals("valuevalue", res.asString());
+            assertEquals(1, calls[0]);
+        }
+    }
+
+    @Test
+    void normalizesNumbers() {
+        assertEquals(1.5, JavascriptLazyProxyObject.toGuestValue(new BigDecimal("1.5")));
+        assertEquals(2, JavascriptLazyProxyObject.toGuestValue(2L));
+        assertInstanceOf(JavascriptLazyProxyArray.class, JavascriptLazyProxyObject.toGuestValue(List.of()));
+    }
+}
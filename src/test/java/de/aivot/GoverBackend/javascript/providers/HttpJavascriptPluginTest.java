@@ -1,19 +1,45 @@
 package de.aivot.GoverBackend.javascript.providers;
 
 import de.aivot.GoverBackend.core.javascript.HttpJavascriptFunctionProvider;
+import de.aivot.GoverBackend.core.javascript.HttpJavascriptResponseCache;
+import de.aivot.GoverBackend.core.properties.HttpClientConfigurationProperties;
+import de.aivot.GoverBackend.core.services.HttpService;
 import de.aivot.GoverBackend.javascript.models.JavascriptCode;
 import de.aivot.GoverBackend.javascript.services.JavascriptEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class HttpJavascriptPluginTest {
+    private HttpService httpService;
+    private HttpJavascriptFunctionProvider functionProvider;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new HttpClientConfigurationProperties();
+        var meterRegistry = new SimpleMeterRegistry();
+
+        httpService = new HttpService(properties, meterRegistry);
+        functionProvider = new HttpJavascriptFunctionProvider(
+                httpService,
+                new HttpJavascriptResponseCache(properties, meterRegistry),
+                properties
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpService.close();
+    }
 
     @Test
     void get() {
-        try (var jsService = new JavascriptEngine(new HttpJavascriptFunctionProvider())) {
+        try (var jsService = new JavascriptEngine(functionProvider)) {
             var result = jsService.evaluateCode(new JavascriptCode().setCode("_http.get('https://postman-echo.com/get?test=value', {'x-test-header': 'header-value'}).body;"));
 
             var json = new JSONObject(result.asString());
@@ -27,7 +53,7 @@ class HttpJavascriptPluginTest {
 
     @Test
     void post() {
-        try (var jsService = new JavascriptEngine(new HttpJavascriptFunctionProvider())) {
+        try (var jsService = new JavascriptEngine(functionProvider)) {
             var result = jsService.evaluateCode(new JavascriptCode().setCode("_http.post('https://postman-echo.com/post?test=value', JSON.stringify({'test-field': 'field-value'}), {'x-test-header': 'header-value'}).body;"));
 
             var json = new JSONObject(result.asString());
@@ -0,0 +1,102 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import de.aivot.GoverBackend.exceptions.UserFriendlyResponseStatusException;
+import de.aivot.GoverBackend.javascript.models.JavascriptCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavascriptContextPoolTest {
+    @Test
+    void leaseCreatesNewContext() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+
+        try (var pool = new JavascriptContextPool(List.of(new JavascriptEngineTest.TestJavascriptFunctionProvider()), null, null, 1, Duration.ofMillis(100), meterRegistry)) {
+            try (var engine = pool.lease()) {
+                var res = engine.evaluateCode(new JavascriptCode().setCode("de_aivot_gover_test.getValue();"));
+                assertEquals("value", res.asString());
+            }
+
+            try (var engine = pool.lease()) {
+                var res = engine.evaluateCode(new JavascriptCode().setCode("de_aivot_gover_test.echoValue('value');"));
+                assertEquals("value", res.asString());
+            }
+
+            assertEquals(2.0, meterRegistry.get("gover.javascript.context.pool.created").counter().count());
+            assertEquals(0.0, meterRegistry.get("gover.javascript.context.pool.leased").gauge().value());
+        }
+    }
+
+    @Test
+    void releaseResetsGlobals() throws Exception {
+        try (var pool = new JavascriptContextPool(List.of(), null, null, 1, Duration.ofMillis(100), new SimpleMeterRegistry())) {
+            try (var engine = pool.lease()) {
+                engine
+                        .registerGlobalObject("test", Map.of("key", "value"))
+                        .evaluateCode(new JavascriptCode().setCode("globalThis.leaked = 'value';"));
+            }
+
+            try (var engine = pool.lease()) {
+                assertTrue(engine.evaluateCode(new JavascriptCode().setCode("typeof test === 'undefined' ? null : test;")).isNull());
+                assertTrue(engine.evaluateCode(new JavascriptCode().setCode("typeof leaked === 'undefined' ? null : leaked;")).isNull());
+            }
+        }
+    }
+
+    @Test
+    void lexicalDeclarationsDoNotLeak() throws Exception {
+        try (var pool = new JavascriptContextPool(List.of(), null, null, 1, Duration.ofMillis(100), new SimpleMeterRegistry())) {
+            for (var i = 0; i < 2; i++) {
+                try (var engine = pool.lease()) {
+                    var res = engine.evaluateCode(new JavascriptCode().setCode("const value = 'value'; value // comment"));
+                    assertEquals("value", res.asString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void builtInChangesDoNotLeak() throws Exception {
+        try (var pool = new JavascriptContextPool(List.of(), null, null, 1, Duration.ofMillis(100), new SimpleMeterRegistry())) {
+            try (var engine = pool.lease()) {
+                engine.evaluateCode(new JavascriptCode().setCode("""
+                        Object.prototype.leaked = 'value';
+                        Array.prototype.push = function () { return 'leaked'; };
+                        JSON.stringify = function () { return 'leaked'; };
+                        """));
+            }
+
+            try (var engine = pool.lease()) {
+                assertTrue(engine.evaluateCode(new JavascriptCode().setCode("({}).leaked === undefined;")).asBoolean());
+                assertEquals(1, engine.evaluateCode(new JavascriptCode().setCode("[].push('value');")).asNumber().intValue());
+                assertEquals("{}", engine.evaluateCode(new JavascriptCode().setCode("JSON.stringify({});")).asString());
+            }
+        }
+    }
+
+    @Test
+    void strictModeDirectiveIsHonored() throws Exception {
+        try (var pool = new JavascriptContextPool(List.of(), null, null, 1, Duration.ofMillis(100), new SimpleMeterRegistry());
+             var engine = pool.lease()) {
+            assertThrows(PolyglotException.class, () -> engine.evaluateCode(new JavascriptCode().setCode("'use strict'; undeclared = 'value';")));
+        }
+    }
+
+    @Test
+    void leaseFailsWhenPoolIsExhausted() throws Exception {
+        try (var pool = new JavascriptContextPool(List.of(), null, null, 1, Duration.ofMillis(10), new SimpleMeterRegistry())) {
+            try (var ignored = pool.lease()) {
+                assertThrows(UserFriendlyResponseStatusException.class, pool::lease);
+            }
+
+            // The slot is available again after the context was closed
+            assertDoesNotThrow(() -> pool.lease().close());
+        }
+    }
+}
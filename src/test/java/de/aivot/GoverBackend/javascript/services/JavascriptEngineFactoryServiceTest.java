@@ -1,6 +1,8 @@
 package de.aivot.GoverBackend.javascript.services;
 
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
 import de.aivot.GoverBackend.javascript.providers.JavascriptFunctionProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.graalvm.polyglot.HostAccess;
 import org.junit.jupiter.api.Test;
 
@@ -10,10 +12,20 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 class JavascriptEngineFactoryServiceTest {
     @Test
-    void testGetEngine() {
-        var service = new JavascriptEngineFactoryService(List.of(new TestJavascriptFunctionProvider()));
-        var engine = service.getEngine();
-        assertNotNull(engine);
+    void testGetEngine() throws Exception {
+        var properties = new JavascriptConfigurationProperties();
+        var meterRegistry = new SimpleMeterRegistry();
+        var service = new JavascriptEngineFactoryService(
+                List.of(new TestJavascriptFunctionProvider()),
+                new JavascriptSourceCache(properties, meterRegistry),
+                properties,
+                meterRegistry
+        );
+        try (var engine = service.getEngine()) {
+            assertNotNull(engine);
+        } finally {
+            service.close();
+        }
     }
 
     public static class TestJavascriptFunctionProvider implements JavascriptFunctionProvider {
@@ -0,0 +1,95 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import de.aivot.GoverBackend.javascript.exceptions.JavascriptBudgetExceededException;
+import de.aivot.GoverBackend.javascript.models.JavascriptCode;
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavascriptExecutionBudgetTest {
+    private static final JavascriptCode ENDLESS_LOOP = new JavascriptCode().setCode("while (true) {}");
+    private static final JavascriptCode SIMPLE_CODE = new JavascriptCode().setCode("1 + 1;");
+
+    @Test
+    void evaluationTimeout_InterruptsEvaluation() throws Exception {
+        var properties = new JavascriptConfigurationProperties();
+        properties.setEvaluationTimeout(200L);
+        var meterRegistry = new SimpleMeterRegistry();
+
+        try (var budget = new JavascriptExecutionBudget(properties, meterRegistry);
+             var pool = new JavascriptContextPool(List.of(), null, budget, 1, Duration.ofMillis(100), meterRegistry);
+             var engine = pool.lease()) {
+            var exception = assertThrows(JavascriptBudgetExceededException.class, () -> engine.evaluateCode(ENDLESS_LOOP, "form:1", "element"));
+            assertEquals(JavascriptBudgetExceededException.Limit.EVALUATION_TIMEOUT, exception.getLimit());
+
+            // The context stays usable for the remaining evaluations of the derivation
+            assertEquals(2, engine.evaluateCode(SIMPLE_CODE, "form:1", "other").asObject());
+        }
+
+        assertEquals(1, meterRegistry
+                .get("gover.javascript.budget.exceeded")
+                .tag("form", "form:1")
+                .tag("element", "element")
+                .tag("limit", "EVALUATION_TIMEOUT")
+                .counter()
+                .count());
+        assertEquals(2, meterRegistry.get("gover.javascript.evaluation").tag("form", "form:1").timer().count());
+    }
+
+    @Test
+    void derivationTimeBudget_FailsFurtherEvaluations() throws Exception {
+        var properties = new JavascriptConfigurationProperties();
+        properties.setEvaluationTimeout(0L);
+        properties.setDerivationTimeBudget(200L);
+        var meterRegistry = new SimpleMeterRegistry();
+
+        try (var budget = new JavascriptExecutionBudget(properties, meterRegistry);
+             var pool = new JavascriptContextPool(List.of(), null, budget, 1, Duration.ofMillis(100), meterRegistry)) {
+            try (var engine = pool.lease()) {
+                var exception = assertThrows(JavascriptBudgetExceededException.class, () -> engine.evaluateCode(ENDLESS_LOOP));
+                assertEquals(JavascriptBudgetExceededException.Limit.DERIVATION_BUDGET, exception.getLimit());
+
+                exception = assertThrows(JavascriptBudgetExceededException.class, () -> engine.evaluateCode(SIMPLE_CODE));
+                assertEquals(JavascriptBudgetExceededException.Limit.DERIVATION_BUDGET, exception.getLimit());
+            }
+
+            // The next derivation starts with a new budget
+            try (var engine = pool.lease()) {
+                assertEquals(2, engine.evaluateCode(SIMPLE_CODE).asObject());
+            }
+        }
+    }
+
+    @Test
+    void statementLimit_CancelsContext() throws Exception {
+        var properties = new JavascriptConfigurationProperties();
+        properties.setEvaluationStatementLimit(10000L);
+        var meterRegistry = new SimpleMeterRegistry();
+
+        try (var budget = new JavascriptExecutionBudget(properties, meterRegistry);
+             var pool = new JavascriptContextPool(List.of(), null, budget, 1, Duration.ofMillis(100), meterRegistry)) {
+            try (var engine = pool.lease()) {
+                // The statement count is reset for every evaluation
+                for (var i = 0; i < 3; i++) {
+                    engine.evaluateCode(new JavascriptCode().setCode("for (let i = 0; i < 1000; i++) {}"));
+                }
+
+                var exception = assertThrows(JavascriptBudgetExceededException.class, () -> engine.evaluateCode(ENDLESS_LOOP));
+                assertEquals(JavascriptBudgetExceededException.Limit.STATEMENT_LIMIT, exception.getLimit());
+
+                exception = assertThrows(JavascriptBudgetExceededException.class, () -> engine.evaluateCode(SIMPLE_CODE));
+                assertEquals(JavascriptBudgetExceededException.Limit.STATEMENT_LIMIT, exception.getLimit());
+            }
+
+            // The next derivation gets a new context
+            try (var engine = pool.lease()) {
+                assertEquals(2, engine.evaluateCode(SIMPLE_CODE).asObject());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package de.aivot.GoverBackend.javascript.services;
+
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavascriptSourceCacheTest {
+    @Test
+    void getReusesSources() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new JavascriptSourceCache(new JavascriptConfigurationProperties(), meterRegistry);
+
+        var first = cache.get("form/1", "element", "return 1;");
+        var second = cache.get("form/1", "element", "return 1;");
+        var otherCode = cache.get("form/1", "element", "return 2;");
+        cache.get("form/2", "element", "return 1;");
+
+        assertSame(first, second);
+        assertNotEquals(first, otherCode);
+        assertEquals(1.0, hits(meterRegistry));
+        assertEquals(3.0, misses(meterRegistry));
+    }
+
+    @Test
+    void invalidateDropsScope() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new JavascriptSourceCache(new JavascriptConfigurationProperties(), meterRegistry);
+
+        cache.get("form/1", "element", "return 1;");
+        cache.get("form/2", "element", "return 1;");
+
+        cache.invalidate("form/1");
+
+        cache.get("form/1", "element", "return 1;");
+        cache.get("form/2", "element", "return 1;");
+
+        assertEquals(1.0, hits(meterRegistry));
+        assertEquals(3.0, misses(meterRegistry));
+    }
+
+    @Test
+    void scopesAreEvicted() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var properties = new JavascriptConfigurationProperties();
+        properties.setSourceCacheMaxScopes(1);
+        var cache = new JavascriptSourceCache(properties, meterRegistry);
+
+        cache.get("form/1", "element", "return 1;");
+        cache.get("form/2", "element", "return 1;");
+        cache.get("form/1", "element", "return 1;");
+
+        assertEquals(0.0, hits(meterRegistry));
+        assertEquals(3.0, misses(meterRegistry));
+    }
+
+    private static double hits(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("gover.javascript.source.cache.hits").counter().count();
+    }
+
+    private static double misses(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("gover.javascript.source.cache.misses").counter().count();
+    }
+}
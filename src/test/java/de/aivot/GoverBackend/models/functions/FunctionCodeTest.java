@@ -1,10 +1,16 @@
 package de.aivot.GoverBackend.models.functions;
 
+import de.aivot.GoverBackend.elements.models.BaseElementDerivationContext;
+import de.aivot.GoverBackend.elements.models.RootElement;
+import de.aivot.GoverBackend.javascript.services.JavascriptEngine;
+import de.aivot.GoverBackend.nocode.services.NoCodeEvaluationService;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 class FunctionCodeTest {
     @Test
@@ -16,6 +22,31 @@ class FunctionCodeTest {
         assertFalse(fn.getCode().isEmpty());
     }
 
+    @Test
+    void evaluate_PassesDataAsArgumentsWithoutLegacyEngine() throws Exception {
+        var fn = new FunctionCode(new HashMap<>() {{
+            put("code", "function main($data, $element, $id) { return $data.name + ' ' + toUpperCase($id); }\nfunction toUpperCase(str) { return str.toUpperCase(); }");
+        }});
+        var element = new RootElement(Map.of("id", "root"));
+        var inputValues = new HashMap<String, Object>();
+
+        try (var context = new BaseElementDerivationContext(
+                new JavascriptEngine(),
+                () -> fail("The legacy engine must not be created"),
+                mock(NoCodeEvaluationService.class),
+                element,
+                inputValues
+        ) {
+        }) {
+            inputValues.put("name", "first");
+            assertEquals("first ROOT", fn.evaluate(null, element, context).getStringValue());
+
+            // The function is reused, but the changed data is passed again
+            inputValues.put("name", "second");
+            assertEquals("second PREFIX_ROOT", fn.evaluate("prefix", element, context).getStringValue());
+        }
+    }
+
     /*
     @Test
     void evaluateToString() {
@@ -130,6 +130,18 @@ class NoCodeOperatorTest {
         assertEquals(BigDecimal.ZERO.setScale(8, RoundingMode.HALF_UP), operator.castToNumber(Map.of()));
     }
 
+    @Test
+    void compareNumbers() {
+        assertTrue(operator.compareNumbers(5, 3) > 0);
+        assertTrue(operator.compareNumbers(3, 5L) < 0);
+        assertEquals(0, operator.compareNumbers(5L, 5));
+        assertEquals(0, operator.compareNumbers(5, 5.0));
+        assertTrue(operator.compareNumbers(5.5, 5) > 0);
+        assertTrue(operator.compareNumbers("abc", 2) > 0);
+        assertEquals(0, operator.compareNumbers(null, 0));
+        assertEquals(0, operator.compareNumbers(0.123456781, 0.123456784));
+    }
+
     @Test
     void castToString() {
         assertEquals("123", operator.castToString(123));
@@ -3,6 +3,7 @@ package de.aivot.GoverBackend.nocode.services;
 import de.aivot.GoverBackend.elements.models.ElementDerivationData;
 import de.aivot.GoverBackend.nocode.enums.NoCodeDataType;
 import de.aivot.GoverBackend.nocode.exceptions.NoCodeException;
+import de.aivot.GoverBackend.nocode.exceptions.NoCodeWrongArgumentCountException;
 import de.aivot.GoverBackend.nocode.models.*;
 import de.aivot.GoverBackend.nocode.providers.NoCodeOperatorServiceProvider;
 import org.junit.jupiter.api.Test;
@@ -12,7 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class NoCodeEvaluationServiceTest {
 
@@ -102,6 +103,66 @@ class NoCodeEvaluationServiceTest {
         assertEquals(true, result.getValue());
     }
 
+    @Test
+    void compileReusesCompiledExpressions() {
+        var evalService = new NoCodeEvaluationService(List.of(getNoCodeOperatorSPI()));
+        var expression = new NoCodeExpression(
+                "de.aivot.gover.test.and",
+                new NoCodeReference("a"),
+                new NoCodeStaticValue(true)
+        );
+
+        var compiled = evalService.compile(expression);
+        assertSame(compiled, evalService.compile(expression));
+
+        // Another service may provide other operators for the same identifiers
+        var otherEvalService = new NoCodeEvaluationService(List.of(getNoCodeOperatorSPI()));
+        var recompiled = otherEvalService.compile(expression);
+        assertNotSame(compiled, recompiled);
+        assertSame(recompiled, otherEvalService.compile(expression));
+
+        var context = new ElementDerivationData(Map.of());
+        context.setValue("a", true);
+        assertTrue(evalService.evaluateAsBoolean(expression, context, null));
+    }
+
+    @Test
+    void evaluateBooleanOperatorsWithoutResults() {
+        var evalService = new NoCodeEvaluationService(List.of(getNoCodeOperatorSPI()));
+        var expression = new NoCodeExpression(
+                "de.aivot.gover.test.not",
+                new NoCodeExpression(
+                        "de.aivot.gover.test.not",
+                        new NoCodeReference("a")
+                )
+        );
+
+        var context = new ElementDerivationData(Map.of());
+        assertFalse(evalService.evaluateAsBoolean(expression, context, null));
+
+        context.setValue("a", 1);
+        assertTrue(evalService.evaluateAsBoolean(expression, context, null));
+
+        var result = evalService.evaluate(expression, context, null);
+        assertEquals(NoCodeDataType.Boolean, result.getDataType());
+        assertEquals(true, result.getValue());
+    }
+
+    @Test
+    void compileValidatesArgumentCount() {
+        var evalService = new NoCodeEvaluationService(List.of(getNoCodeOperatorSPI()));
+
+        var exception = assertThrows(RuntimeException.class, () -> evalService.compile(new NoCodeExpression(
+                "de.aivot.gover.test.and",
+                new NoCodeStaticValue(true)
+        )));
+        assertInstanceOf(NoCodeWrongArgumentCountException.class, exception.getCause());
+
+        assertThrows(IllegalArgumentException.class, () -> evalService.compile(new NoCodeExpression(
+                "de.aivot.gover.test.unknown"
+        )));
+    }
+
     private static NoCodeOperatorServiceProvider getNoCodeOperatorSPI() {
         var testOperator = new NoCodeOperator() {
             @Override
@@ -144,6 +205,9 @@ class NoCodeEvaluationServiceTest {
             }
         };
 
+        // Fails, if it is evaluated through its result instead of its boolean evaluation
+        var notOperator = new BooleanTestOperator();
+
         return new NoCodeOperatorServiceProvider() {
             @Override
             public String getPackageName() {
@@ -164,8 +228,53 @@ class NoCodeEvaluationServiceTest {
             public NoCodeOperator[] getOperators() {
                 return new NoCodeOperator[]{
                         testOperator,
+                        notOperator,
                 };
             }
         };
     }
-}
\ No newline at end of file
+
+    private static class BooleanTestOperator extends NoCodeOperator implements NoCodeBooleanOperator {
+        @Override
+        public String getIdentifier() {
+            return "not";
+        }
+
+        @Override
+        public String getLabel() {
+            return "not";
+        }
+
+        @Override
+        public String getAbstract() {
+            return "not";
+        }
+
+        @Override
+        public String getDescription() {
+            return "not";
+        }
+
+        @Override
+        public NoCodeParameter[] getParameters() {
+            return new NoCodeParameter[]{
+                    new NoCodeParameter(NoCodeDataType.Boolean, "a"),
+            };
+        }
+
+        @Override
+        public NoCodeDataType getReturnType() {
+            return NoCodeDataType.Boolean;
+        }
+
+        @Override
+        public NoCodeResult performEvaluation(ElementDerivationData data, Object... args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean performBooleanEvaluation(ElementDerivationData data, Object arg0, Object arg1) {
+            return !castToBoolean(arg0);
+        }
+    }
+}
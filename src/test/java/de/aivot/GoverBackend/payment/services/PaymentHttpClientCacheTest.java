@@ -0,0 +1,53 @@
+package de.aivot.GoverBackend.payment.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentHttpClientCacheTest {
+    private PaymentHttpClientCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PaymentHttpClientCache(new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void testReusesClientOfSameVersion() throws Exception {
+        var first = cache.getOrCreate("provider", "1", HttpClient::newHttpClient);
+        var second = cache.getOrCreate("provider", "1", () -> fail("Client must be reused"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testReplacesClientOfOtherVersion() throws Exception {
+        var first = cache.getOrCreate("provider", "1", HttpClient::newHttpClient);
+        var second = cache.getOrCreate("provider", "2", HttpClient::newHttpClient);
+
+        assertNotSame(first, second);
+        // Other threads may still send requests with the replaced client
+        assertFalse(first.awaitTermination(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void testInvalidateDropsClient() throws Exception {
+        var first = cache.getOrCreate("provider", "1", HttpClient::newHttpClient);
+        cache.invalidate("provider");
+        var second = cache.getOrCreate("provider", "1", HttpClient::newHttpClient);
+
+        assertNotSame(first, second);
+        assertFalse(first.awaitTermination(Duration.ofMillis(100)));
+    }
+}
@@ -0,0 +1,125 @@
+package de.aivot.GoverBackend.payment.services;
+
+import de.aivot.GoverBackend.enums.XBezahldienstStatus;
+import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
+import de.aivot.GoverBackend.payment.exceptions.PaymentException;
+import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentInformation;
+import de.aivot.GoverBackend.payment.properties.PaymentPollingConfigurationProperties;
+import de.aivot.GoverBackend.payment.repositories.PaymentTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentTransactionPollingServiceTest {
+    private PaymentTransactionRepository paymentTransactionRepository;
+    private PaymentTransactionService paymentTransactionService;
+    private PaymentPollingConfigurationProperties properties;
+    private PaymentTransactionPollingService pollingService;
+
+    private PaymentTransactionEntity transaction;
+
+    @BeforeEach
+    void setUp() {
+        paymentTransactionRepository = mock(PaymentTransactionRepository.class);
+        paymentTransactionService = mock(PaymentTransactionService.class);
+        properties = new PaymentPollingConfigurationProperties();
+
+        transaction = new PaymentTransactionEntity();
+        transaction.setKey("transaction");
+        transaction.setPaymentProviderKey("provider");
+        transaction.setNextPoll(LocalDateTime.now());
+
+        when(paymentTransactionRepository.findDueForPollingForUpdate(any(), anyInt())).thenReturn(List.of(transaction));
+        when(paymentTransactionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentTransactionRepository.releasePollLease(any(), any(), anyInt(), any())).thenReturn(1);
+
+        pollingService = new PaymentTransactionPollingService(
+                properties,
+                paymentTransactionRepository,
+                paymentTransactionService,
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void openTransactionIsPolledAgainWithBackoff() throws Exception {
+        var before = LocalDateTime.now();
+        pollingService.pollDueTransactions();
+        pollingService.shutdown();
+
+        verify(paymentTransactionService).processCallback(transaction, null);
+
+        var nextPoll = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(paymentTransactionRepository).releasePollLease(eq("transaction"), eq(transaction.getPollLeaseOwner()), eq(1), nextPoll.capture());
+        assertFalse(nextPoll.getValue().isBefore(before.plusNanos(properties.getInitialBackoff() * 2 * 1_000_000)));
+    }
+
+    @Test
+    void completedTransactionIsNotPolledAgain() throws Exception {
+        doAnswer(invocation -> {
+            var paymentInformation = new XBezahldienstePaymentInformation();
+            paymentInformation.setStatus(XBezahldienstStatus.PAYED);
+            transaction.setPaymentInformation(paymentInformation);
+            return null;
+        }).when(paymentTransactionService).processCallback(any(), any());
+
+        pollingService.pollDueTransactions();
+        pollingService.shutdown();
+
+        verify(paymentTransactionRepository).releasePollLease(eq("transaction"), any(), eq(0), isNull());
+    }
+
+    @Test
+    void failedTransactionIsNotPolledAgain() throws Exception {
+        doAnswer(invocation -> {
+            transaction.setPaymentError("error");
+            throw new PaymentException("error");
+        }).when(paymentTransactionService).processCallback(any(), any());
+
+        pollingService.pollDueTransactions();
+        pollingService.shutdown();
+
+        verify(paymentTransactionRepository).releasePollLease(eq("transaction"), any(), eq(0), isNull());
+    }
+
+    @Test
+    void releaseKeepsChangesMadeWhileLeased() throws Exception {
+        // The provider is busy, so the poll is deferred and the leased transaction is released unchanged
+        properties.setMaxConcurrentRequestsPerProvider(0);
+
+        var stored = new PaymentTransactionEntity();
+        var paymentInformation = new XBezahldienstePaymentInformation();
+        paymentInformation.setStatus(XBezahldienstStatus.INITIAL);
+        stored.setPaymentInformation(paymentInformation);
+
+        // A callback of the payment provider marks the stored transaction as paid after it was leased
+        when(paymentTransactionRepository.findDueForPollingForUpdate(any(), anyInt())).thenAnswer(invocation -> {
+            var payedInformation = new XBezahldienstePaymentInformation();
+            payedInformation.setStatus(XBezahldienstStatus.PAYED);
+            stored.setPaymentInformation(payedInformation);
+            return List.of(transaction);
+        });
+        when(paymentTransactionRepository.save(any())).thenAnswer(invocation -> {
+            stored.setPaymentInformation(invocation.getArgument(0, PaymentTransactionEntity.class).getPaymentInformation());
+            return invocation.getArgument(0);
+        });
+
+        pollingService.pollDueTransactions();
+        pollingService.shutdown();
+
+        verify(paymentTransactionService, never()).processCallback(any(), any());
+        verify(paymentTransactionRepository, never()).save(any());
+        verify(paymentTransactionRepository).releasePollLease(eq("transaction"), eq(transaction.getPollLeaseOwner()), eq(0), notNull());
+        assertEquals(XBezahldienstStatus.PAYED, stored.getStatus());
+    }
+}
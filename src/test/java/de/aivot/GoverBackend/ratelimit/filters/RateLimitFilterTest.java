@@ -0,0 +1,55 @@
+package de.aivot.GoverBackend.ratelimit.filters;
+
+import de.aivot.GoverBackend.ratelimit.properties.RateLimitConfigurationProperties;
+import de.aivot.GoverBackend.ratelimit.services.RateLimitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+    private static final RateLimitConfigurationProperties.Policy POLICY = new RateLimitConfigurationProperties.Policy(2L, 60000L);
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var properties = new RateLimitConfigurationProperties();
+        properties.setDistributed(false);
+
+        var rateLimitService = new RateLimitService(properties, (ObjectProvider<StringRedisTemplate>) mock(ObjectProvider.class), new SimpleMeterRegistry());
+        filter = new RateLimitFilter(rateLimitService, "submit", POLICY, List.of("/api/public/submit/**"));
+    }
+
+    private int request(String remoteAddr, String forwardedFor) throws Exception {
+        var request = new MockHttpServletRequest("POST", "/api/public/submit/1");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    @Test
+    void spoofedForwardedForDoesNotResetLimit() throws Exception {
+        assertEquals(200, request("10.0.0.1", "1.1.1.1"));
+        assertEquals(200, request("10.0.0.1", "2.2.2.2"));
+        assertEquals(429, request("10.0.0.1", "3.3.3.3"));
+        assertEquals(429, request("10.0.0.1", null));
+
+        assertEquals(200, request("10.0.0.2", "3.3.3.3"));
+    }
+}
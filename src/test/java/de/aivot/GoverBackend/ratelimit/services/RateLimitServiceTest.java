@@ -0,0 +1,79 @@
+package de.aivot.GoverBackend.ratelimit.services;
+
+import de.aivot.GoverBackend.ratelimit.properties.RateLimitConfigurationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitServiceTest {
+    private static final RateLimitConfigurationProperties.Policy POLICY = new RateLimitConfigurationProperties.Policy(2L, 60000L);
+
+    private RateLimitConfigurationProperties properties;
+    private StringRedisTemplate redisTemplate;
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new RateLimitConfigurationProperties();
+        redisTemplate = mock(StringRedisTemplate.class);
+
+        var redisTemplateProvider = (ObjectProvider<StringRedisTemplate>) mock(ObjectProvider.class);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+
+        rateLimitService = new RateLimitService(properties, redisTemplateProvider, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testLocalLimitPerClient() {
+        properties.setDistributed(false);
+
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        assertFalse(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-b"));
+        assertTrue(rateLimitService.tryConsume("submit", POLICY, "client-a"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDistributedLimitUsesRedisCount() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("gover:rate-limit:derive:client-a")), any()))
+                .thenReturn(1L, 2L, 3L);
+
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        assertFalse(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDistributedLimitFallsBackToLocalLimit() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new RedisConnectionFailureException("unreachable"));
+
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        assertFalse(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+    }
+
+    @Test
+    void testDisabledLimitAllowsAllRequests() {
+        properties.setEnabled(false);
+
+        for (var i = 0; i < 5; i++) {
+            assertTrue(rateLimitService.tryConsume("derive", POLICY, "client-a"));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package de.aivot.GoverBackend.secrets.services;
+
+import de.aivot.GoverBackend.secrets.entities.SecretEntity;
+import de.aivot.GoverBackend.secrets.properties.SecretConfigurationProperties;
+import de.aivot.GoverBackend.secrets.repositories.SecretRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecretServiceTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SecretService secretService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new SecretConfigurationProperties();
+        properties.setKey("0123456789abcdef0123456789abcdef");
+
+        var repository = mock(SecretRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        meterRegistry = new SimpleMeterRegistry();
+        secretService = new SecretService(properties, repository, meterRegistry);
+    }
+
+    private double getDerivations() {
+        return meterRegistry.get("gover.secrets.key.derivations").counter().count();
+    }
+
+    private SecretEntity createSecret(String value) throws Exception {
+        var secret = new SecretEntity();
+        secret.setName("Test");
+        secret.setValue(value);
+        return secretService.create(secret);
+    }
+
+    @Test
+    void testDecryptReusesDerivedKey() throws Exception {
+        var secret = createSecret("geheim");
+
+        assertEquals("geheim", secretService.decrypt(secret));
+        assertEquals("geheim", secretService.decrypt(secret));
+
+        assertEquals(1, getDerivations());
+        assertEquals(1, meterRegistry.get("gover.secrets.value.cache.hits").counter().count());
+    }
+
+    @Test
+    void testDecryptIsCompatibleWithStaticEncryption() throws Exception {
+        var secret = createSecret("geheim");
+
+        var decrypted = SecretService.decryptDataAES(secret.getValue(), "0123456789abcdef0123456789abcdef", secret.getSalt());
+
+        assertEquals("geheim", decrypted);
+    }
+
+    @Test
+    void testUpdateEvictsDecryptedValue() throws Exception {
+        var secret = createSecret("geheim");
+        assertEquals("geheim", secretService.decrypt(secret));
+
+        var update = new SecretEntity();
+        update.setName("Test");
+        update.setValue("neu");
+        var updated = secretService.performUpdate(secret.getKey(), update, secret);
+
+        assertEquals("neu", secretService.decrypt(updated));
+        assertEquals(2, getDerivations());
+    }
+}
@@ -0,0 +1,33 @@
+package de.aivot.GoverBackend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.binary.Base64;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DestinationDataBinaryTest {
+    @Test
+    void serializesContentAsBase64String() throws IOException {
+        var bytes = new byte[200_000];
+        new Random(42).nextBytes(bytes);
+
+        var json = new ObjectMapper().writeValueAsString(Map.of(
+                "content", DestinationDataBinary.of(() -> new ByteArrayInputStream(bytes))
+        ));
+
+        assertEquals("{\"content\":\"" + Base64.encodeBase64String(bytes) + "\"}", json);
+    }
+
+    @Test
+    void serializesEmptyContent() throws IOException {
+        var json = new ObjectMapper().writeValueAsString(DestinationDataBinary.of(new byte[0]));
+
+        assertEquals("\"\"", json);
+    }
+}
@@ -0,0 +1,74 @@
+package de.aivot.GoverBackend.services.pdf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import de.aivot.GoverBackend.models.config.PuppetPdfConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuppetPdfClientTest {
+    private static final byte[] PDF = "%PDF-1.7".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private PuppetPdfClient client;
+    private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/print", exchange -> {
+            receivedBody.set(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(200, PDF.length);
+            exchange.getResponseBody().write(PDF);
+            exchange.close();
+        });
+        server.start();
+
+        var config = new PuppetPdfConfig();
+        config.setHost("127.0.0.1");
+        config.setPort(String.valueOf(server.getAddress().getPort()));
+        config.setMaxConcurrentRequests(1);
+        config.setAcquireTimeout(100);
+        client = new PuppetPdfClient(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void print_EncodesTemplatesAsJson() throws Exception {
+        // Long enough to be encoded in several chunks, with a surrogate pair on a chunk boundary
+        var html = "<p class=\"a\">\n</p>".repeat(500) + "x".repeat(8191 - 9000 % 8192) + "😀" + "ä\\\t".repeat(5000);
+
+        try (var pdf = client.print(html, "<header/>", "")) {
+            assertArrayEquals(PDF, pdf.readAllBytes());
+        }
+
+        var body = new ObjectMapper().readValue(receivedBody.get(), Map.class);
+        assertEquals(Map.of("html", html, "headerTemplate", "<header/>", "footerTemplate", ""), body);
+    }
+
+    @Test
+    void print_ReleasesSlotOnceThePdfIsReceived() throws Exception {
+        try (var first = client.print("first", "", "")) {
+            // The slot of the first request is already free, although its PDF was not read yet
+            try (var second = client.print("second", "", "")) {
+                assertArrayEquals(PDF, second.readAllBytes());
+            }
+            assertArrayEquals(PDF, first.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package de.aivot.GoverBackend.services.storages;
+
+import de.aivot.GoverBackend.lib.exceptions.ResponseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StorageResourceTest {
+    @Test
+    void opensFileOnEachRead() throws ResponseException, IOException {
+        var storageService = mock(StorageService.class);
+        when(storageService.openFile("path"))
+                .thenAnswer(invocation -> new ByteArrayInputStream("content".getBytes()));
+
+        var resource = new StorageResource(storageService, "path", "file.txt");
+
+        verify(storageService, never()).openFile(any());
+        assertEquals("file.txt", resource.getFilename());
+        assertEquals(-1, resource.contentLength());
+        assertArrayEquals("content".getBytes(), resource.getContentAsByteArray());
+        assertArrayEquals("content".getBytes(), resource.getContentAsByteArray());
+        verify(storageService, times(2)).openFile("path");
+    }
+
+    @Test
+    void wrapsStorageErrors() throws ResponseException {
+        var storageService = mock(StorageService.class);
+        when(storageService.openFile("path")).thenThrow(ResponseException.notFound());
+
+        var resource = new StorageResource(storageService, "path", null);
+
+        assertThrows(IOException.class, resource::getInputStream);
+    }
+
+    @Test
+    void resolvesPathWhenRead() throws ResponseException {
+        var storageService = mock(StorageService.class);
+        var resolved = new AtomicInteger();
+
+        var resource = new StorageResource(storageService, () -> {
+            resolved.incrementAndGet();
+            throw ResponseException.notFound();
+        }, "file.txt");
+
+        assertEquals(0, resolved.get());
+        var exception = assertThrows(IOException.class, resource::getInputStream);
+        assertInstanceOf(ResponseException.class, exception.getCause());
+        assertEquals(1, resolved.get());
+        verify(storageService, never()).openFile(any());
+    }
+}
@@ -16,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -135,6 +136,30 @@ class StorageServiceTest {
         assertThrows(RuntimeException.class, () -> storageService.writeFile(testFileName, testFileBytes, testFileContentType));
     }
 
+    @Test
+    void testWriteAndOpenFileStream() throws IOException, ServerException, InsufficientDataException, ErrorResponseException, NoSuchAlgorithmException, InvalidKeyException, InvalidResponseException, XmlParserException, InternalException, ResponseException {
+        final String testFileName = "nested/test-file";
+        final byte[] testFileBytes = "test-content".getBytes();
+        final String testFileContentType = "text/plain";
+
+        // Test local write and open file
+        when(storageConfig.getLocalStoragePath()).thenReturn(TEST_FILE_DIRECTORY);
+
+        storageService.writeFile(testFileName, new ByteArrayInputStream(testFileBytes), -1, testFileContentType);
+        try (var inputStream = storageService.openFile(testFileName)) {
+            assertArrayEquals(testFileBytes, inputStream.readAllBytes());
+        }
+        FileUtils.deleteDirectory(new File(TEST_FILE_DIRECTORY + "/nested"));
+
+        assertThrows(ResponseException.class, () -> storageService.openFile(testFileName));
+
+        // Test remote write file
+        storageService.storageClient = storageClient;
+
+        when(storageClient.putObject(any(PutObjectArgs.class))).thenThrow(IOException.class);
+        assertThrows(RuntimeException.class, () -> storageService.writeFile(testFileName, new ByteArrayInputStream(testFileBytes), -1, testFileContentType));
+    }
+
     @Test
     void testDeleteFile() throws IOException, ServerException, InsufficientDataException, ErrorResponseException, NoSuchAlgorithmException, InvalidKeyException, InvalidResponseException, XmlParserException, InternalException, ResponseException {
         final String testFileName = "test-file";
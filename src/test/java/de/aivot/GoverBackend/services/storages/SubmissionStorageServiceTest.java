@@ -2,6 +2,7 @@ package de.aivot.GoverBackend.services.storages;
 
 import de.aivot.GoverBackend.lib.exceptions.ResponseException;
 import de.aivot.GoverBackend.models.config.StorageConfig;
+import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
 import de.aivot.GoverBackend.submission.entities.Submission;
 import de.aivot.GoverBackend.submission.entities.SubmissionAttachment;
 import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
@@ -12,8 +13,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 
 import static de.aivot.GoverBackend.TestConstants.TEST_FILE_DIRECTORY;
 import static org.junit.jupiter.api.Assertions.*;
@@ -111,4 +114,44 @@ class SubmissionStorageServiceTest {
 
         FileUtils.deleteDirectory(new File(TEST_FILE_DIRECTORY));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSummaryPdfIsStreamedForItsVersion() throws IOException, ResponseException {
+        Submission submission = new Submission();
+        submission.setId("1");
+
+        byte[] data = new byte[]{1, 2, 3, 4, 5};
+
+        var submissionStorageService = new SubmissionStorageService(storageService, submissionAttachmentRepository, storageConfig);
+
+        assertTrue(submissionStorageService.getSummaryPdf(submission, FormPdfScope.Staff, "1", "Antrag.pdf").isEmpty());
+
+        submissionStorageService.saveSummaryPdf(submission, FormPdfScope.Staff, "1", new ByteArrayInputStream(data));
+
+        var pdf = submissionStorageService.getSummaryPdf(submission, FormPdfScope.Staff, "1", "Antrag.pdf").orElseThrow();
+        assertEquals("Antrag.pdf", pdf.getFilename());
+        try (var in = pdf.getInputStream()) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+
+        assertTrue(submissionStorageService.getSummaryPdf(submission, FormPdfScope.Staff, "2", "Antrag.pdf").isEmpty());
+        assertTrue(submissionStorageService.getSummaryPdf(submission, FormPdfScope.Citizen, "1", "Antrag.pdf").isEmpty());
+
+        // Storing another version leaves the PDF of the previous version untouched
+        submissionStorageService.saveSummaryPdf(submission, FormPdfScope.Staff, "2", new ByteArrayInputStream(new byte[]{6, 7}));
+        try (var in = pdf.getInputStream()) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+
+        // No temporary files are left behind
+        var files = new File(TEST_FILE_DIRECTORY + "/submissions/1/pdfs/Staff").list();
+        assertNotNull(files);
+        Arrays.sort(files);
+        assertArrayEquals(new String[]{"1.pdf", "2.pdf"}, files);
+
+        submissionStorageService.deleteSubmission(submission);
+        assertFalse(new File(TEST_FILE_DIRECTORY + "/submissions/1").exists());
+
+        FileUtils.deleteDirectory(new File(TEST_FILE_DIRECTORY));
+    }
+}
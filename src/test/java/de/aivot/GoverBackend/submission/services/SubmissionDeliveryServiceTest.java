@@ -0,0 +1,178 @@
+package de.aivot.GoverBackend.submission.services;
+
+import de.aivot.GoverBackend.destination.entities.Destination;
+import de.aivot.GoverBackend.destination.services.DestinationService;
+import de.aivot.GoverBackend.enums.SubmissionStatus;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.repositories.FormRepository;
+import de.aivot.GoverBackend.mail.services.ExceptionMailService;
+import de.aivot.GoverBackend.mail.services.SubmissionMailService;
+import de.aivot.GoverBackend.services.DestinationSubmitService;
+import de.aivot.GoverBackend.submission.entities.Submission;
+import de.aivot.GoverBackend.submission.entities.SubmissionDelivery;
+import de.aivot.GoverBackend.submission.properties.SubmissionDeliveryConfigurationProperties;
+import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
+import de.aivot.GoverBackend.submission.repositories.SubmissionDeliveryRepository;
+import de.aivot.GoverBackend.submission.repositories.SubmissionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SubmissionDeliveryServiceTest {
+    private SubmissionDeliveryRepository submissionDeliveryRepository;
+    private SubmissionRepository submissionRepository;
+    private DestinationSubmitService destinationSubmitService;
+    private SubmissionMailService submissionMailService;
+    private SubmissionDeliveryConfigurationProperties properties;
+    private SubmissionDeliveryService submissionDeliveryService;
+
+    private Submission submission;
+    private SubmissionDelivery delivery;
+
+    @BeforeEach
+    void setUp() {
+        submissionDeliveryRepository = mock(SubmissionDeliveryRepository.class);
+        submissionRepository = mock(SubmissionRepository.class);
+        destinationSubmitService = mock(DestinationSubmitService.class);
+        submissionMailService = mock(SubmissionMailService.class);
+        properties = new SubmissionDeliveryConfigurationProperties();
+
+        var formRepository = mock(FormRepository.class);
+        var destinationService = mock(DestinationService.class);
+
+        submission = new Submission();
+        submission.setId("submission");
+        submission.setFormId(1);
+        submission.setDestinationId(2);
+
+        delivery = new SubmissionDelivery();
+        delivery.setSubmissionId("submission");
+        delivery.setAttempts(0);
+        delivery.setNextAttempt(LocalDateTime.now());
+
+        when(submissionRepository.findById("submission")).thenReturn(Optional.of(submission));
+        when(formRepository.findById(1)).thenReturn(Optional.of(new Form()));
+        when(destinationService.retrieve(2)).thenReturn(Optional.of(new Destination()));
+        when(submissionDeliveryRepository.findDueForUpdate(any(), anyInt())).thenReturn(List.of(delivery));
+        when(submissionDeliveryRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(submissionDeliveryRepository.deleteLeased(eq("submission"), any())).thenReturn(1);
+        when(submissionDeliveryRepository.releaseForRetry(eq("submission"), any(), anyInt(), any(), any())).thenReturn(1);
+
+        submissionDeliveryService = new SubmissionDeliveryService(
+                properties,
+                submissionDeliveryRepository,
+                submissionRepository,
+                mock(SubmissionAttachmentRepository.class),
+                formRepository,
+                destinationService,
+                destinationSubmitService,
+                submissionMailService,
+                mock(ExceptionMailService.class),
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private void mockDestinationResult(boolean success) throws Exception {
+        doAnswer(invocation -> {
+            submission.setDestinationSuccess(success);
+            submission.setDestinationResult(success ? null : "error");
+            submission.setStatus(success ? SubmissionStatus.Archived : SubmissionStatus.HasDestinationError);
+            return null;
+        }).when(destinationSubmitService).handleSubmit(any(), any(), any(), any());
+    }
+
+    @Test
+    void successfulDeliveryRemovesOutboxRecord() throws Exception {
+        mockDestinationResult(true);
+
+        submissionDeliveryService.deliverDueSubmissions();
+        submissionDeliveryService.shutdown();
+
+        assertEquals(SubmissionStatus.Archived, submission.getStatus());
+        verify(submissionDeliveryRepository).deleteLeased(eq("submission"), any());
+        verify(submissionRepository).save(submission);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoff() throws Exception {
+        mockDestinationResult(false);
+
+        var before = LocalDateTime.now();
+        submissionDeliveryService.deliverDueSubmissions();
+        submissionDeliveryService.shutdown();
+
+        assertEquals(SubmissionStatus.Pending, submission.getStatus());
+        assertEquals(1, delivery.getAttempts());
+        assertEquals("error", delivery.getLastError());
+        assertNull(delivery.getLeaseOwner());
+        assertFalse(delivery.getNextAttempt().isBefore(before.plusNanos(properties.getInitialBackoff() * 1_000_000)));
+        verify(submissionDeliveryRepository).releaseForRetry(eq("submission"), any(), eq(1), eq("error"), any());
+        verify(submissionDeliveryRepository, never()).deleteLeased(any(), any());
+        verify(submissionMailService, never()).sendDestinationFailed(any(), any(), any());
+    }
+
+    @Test
+    void lastFailedAttemptMarksSubmissionAsFailed() throws Exception {
+        mockDestinationResult(false);
+        delivery.setAttempts(properties.getMaxAttempts() - 1);
+
+        submissionDeliveryService.deliverDueSubmissions();
+        submissionDeliveryService.shutdown();
+
+        assertEquals(SubmissionStatus.HasDestinationError, submission.getStatus());
+        verify(submissionDeliveryRepository).deleteLeased(eq("submission"), any());
+        verify(submissionMailService).sendDestinationFailed(any(), eq(submission), any());
+    }
+
+    @Test
+    void exceptionDuringDeliveryIsRecordedAsFailedAttempt() throws Exception {
+        doThrow(new IllegalStateException("unexpected")).when(destinationSubmitService).handleSubmit(any(), any(), any(), any());
+
+        var before = LocalDateTime.now();
+        submissionDeliveryService.deliverDueSubmissions();
+        submissionDeliveryService.shutdown();
+
+        assertEquals(SubmissionStatus.Pending, submission.getStatus());
+        assertFalse(submission.getDestinationSuccess());
+        assertEquals(1, delivery.getAttempts());
+        assertTrue(delivery.getLastError().contains("unexpected"));
+        assertFalse(delivery.getNextAttempt().isBefore(before.plusNanos(properties.getInitialBackoff() * 1_000_000)));
+        verify(submissionDeliveryRepository).releaseForRetry(eq("submission"), any(), eq(1), contains("unexpected"), any());
+        verify(submissionRepository).save(submission);
+    }
+
+    @Test
+    void exceptionDuringLastAttemptMarksSubmissionAsFailed() throws Exception {
+        doThrow(new IllegalStateException("unexpected")).when(destinationSubmitService).handleSubmit(any(), any(), any(), any());
+        delivery.setAttempts(properties.getMaxAttempts() - 1);
+
+        submissionDeliveryService.deliverDueSubmissions();
+        submissionDeliveryService.shutdown();
+
+        assertEquals(SubmissionStatus.HasDestinationError, submission.getStatus());
+        verify(submissionDeliveryRepository).deleteLeased(eq("submission"), any());
+        verify(submissionMailService).sendDestinationFailed(any(), eq(submission), any());
+    }
+
+    @Test
+    void resultIsDiscardedWhenLeaseWasLost() throws Exception {
+        mockDestinationResult(true);
+        when(submissionDeliveryRepository.deleteLeased(eq("submission"), any())).thenReturn(0);
+
+        submissionDeliveryService.deliverDueSubmissions();
+        submissionDeliveryService.shutdown();
+
+        verify(submissionRepository, never()).save(any());
+    }
+}
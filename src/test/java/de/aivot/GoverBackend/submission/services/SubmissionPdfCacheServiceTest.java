@@ -0,0 +1,317 @@
+package de.aivot.GoverBackend.submission.services;
+
+import de.aivot.GoverBackend.asset.repositories.AssetRepository;
+import de.aivot.GoverBackend.config.entities.SystemConfigEntity;
+import de.aivot.GoverBackend.config.services.SystemConfigService;
+import de.aivot.GoverBackend.department.entities.DepartmentEntity;
+import de.aivot.GoverBackend.department.repositories.DepartmentRepository;
+import de.aivot.GoverBackend.elements.models.RootElement;
+import de.aivot.GoverBackend.enums.XBezahldienstStatus;
+import de.aivot.GoverBackend.form.entities.Form;
+import de.aivot.GoverBackend.form.properties.FormDerivationConfigurationProperties;
+import de.aivot.GoverBackend.form.services.FormDependencyGraphService;
+import de.aivot.GoverBackend.form.services.FormDerivationMetricsService;
+import de.aivot.GoverBackend.form.services.FormDerivationServiceFactory;
+import de.aivot.GoverBackend.identity.constants.IdentityValueKey;
+import de.aivot.GoverBackend.identity.entities.IdentityProviderEntity;
+import de.aivot.GoverBackend.identity.repositories.IdentityProviderRepository;
+import de.aivot.GoverBackend.javascript.properties.JavascriptConfigurationProperties;
+import de.aivot.GoverBackend.javascript.services.JavascriptEngineFactoryService;
+import de.aivot.GoverBackend.javascript.services.JavascriptSourceCache;
+import de.aivot.GoverBackend.lib.exceptions.ResponseException;
+import de.aivot.GoverBackend.models.config.GoverConfig;
+import de.aivot.GoverBackend.models.config.StorageConfig;
+import de.aivot.GoverBackend.nocode.services.NoCodeEvaluationService;
+import de.aivot.GoverBackend.payment.entities.PaymentProviderEntity;
+import de.aivot.GoverBackend.payment.entities.PaymentTransactionEntity;
+import de.aivot.GoverBackend.payment.models.PaymentProviderDefinition;
+import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentInformation;
+import de.aivot.GoverBackend.payment.models.XBezahldienstePaymentRequest;
+import de.aivot.GoverBackend.payment.repositories.PaymentProviderRepository;
+import de.aivot.GoverBackend.payment.repositories.PaymentTransactionRepository;
+import de.aivot.GoverBackend.payment.services.PaymentProviderDefinitionsService;
+import de.aivot.GoverBackend.pdf.enums.FormPdfScope;
+import de.aivot.GoverBackend.services.PdfService;
+import de.aivot.GoverBackend.services.TemplateLoaderService;
+import de.aivot.GoverBackend.services.pdf.PuppetPdfClient;
+import de.aivot.GoverBackend.services.storages.StorageService;
+import de.aivot.GoverBackend.services.storages.SubmissionStorageService;
+import de.aivot.GoverBackend.submission.entities.Submission;
+import de.aivot.GoverBackend.submission.repositories.SubmissionAttachmentRepository;
+import de.aivot.GoverBackend.theme.entities.Theme;
+import de.aivot.GoverBackend.theme.repositories.ThemeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.aivot.GoverBackend.TestConstants.TEST_FILE_DIRECTORY;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SubmissionPdfCacheServiceTest {
+    private final AtomicInteger prints = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private JavascriptEngineFactoryService javascriptEngineFactoryService;
+    private PdfService pdfService;
+    private SubmissionStorageService submissionStorageService;
+
+    private Form form;
+    private Submission submission;
+    private DepartmentEntity department;
+    private Theme theme;
+    private PaymentTransactionEntity paymentTransaction;
+    private IdentityProviderEntity identityProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+
+        form = new Form();
+        form.setId(1);
+        form.setTitle("Antrag");
+        form.setSlug("antrag");
+        form.setVersion("1.0.0");
+        form.setManagingDepartmentId(1);
+        form.setThemeId(1);
+        form.setRoot(new RootElement(Map.of(
+                "type", 0,
+                "id", "root",
+                "privacyText", "Datenschutz",
+                "introductionStep", Map.of("type", 17, "id", "introduction"),
+                "children", List.of(Map.of(
+                        "type", 1,
+                        "id", "step",
+                        "children", List.of(Map.of("type", 15, "id", "name", "label", "Name"))
+                ))
+        )));
+
+        submission = new Submission()
+                .setId("submission")
+                .setFormId(1)
+                .setCreated(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .setCustomerInput(new HashMap<>(Map.of("name", "Erika Mustermann")));
+
+        department = new DepartmentEntity();
+        department.setId(1);
+        department.setName("Fachbereich");
+
+        theme = new Theme();
+        theme.setId(1);
+        theme.setMain("#000000");
+
+        var paymentRequest = new XBezahldienstePaymentRequest();
+        paymentRequest.setItems(List.of());
+        paymentRequest.setGrosAmount(BigDecimal.TEN);
+
+        var paymentInformation = new XBezahldienstePaymentInformation();
+        paymentInformation.setStatus(XBezahldienstStatus.INITIAL);
+        paymentInformation.setTransactionRedirectUrl(URI.create("https://example.com/pay"));
+
+        paymentTransaction = new PaymentTransactionEntity()
+                .setKey("transaction")
+                .setPaymentProviderKey("provider")
+                .setPaymentRequest(paymentRequest)
+                .setPaymentInformation(paymentInformation);
+
+        var paymentProvider = new PaymentProviderEntity();
+        paymentProvider.setKey("provider");
+        paymentProvider.setProviderKey("definition");
+
+        identityProvider = new IdentityProviderEntity()
+                .setKey("idp")
+                .setName("Nutzerkonto")
+                .setAttributes(List.of());
+
+        var departmentRepository = mock(DepartmentRepository.class);
+        when(departmentRepository.findById(1)).thenAnswer(invocation -> Optional.of(department));
+
+        var themeRepository = mock(ThemeRepository.class);
+        when(themeRepository.findById(1)).thenAnswer(invocation -> Optional.of(theme));
+
+        var paymentTransactionRepository = mock(PaymentTransactionRepository.class);
+        when(paymentTransactionRepository.findById("transaction")).thenAnswer(invocation -> Optional.of(paymentTransaction));
+
+        var paymentProviderRepository = mock(PaymentProviderRepository.class);
+        when(paymentProviderRepository.findById("provider")).thenReturn(Optional.of(paymentProvider));
+
+        var paymentProviderDefinitionsService = mock(PaymentProviderDefinitionsService.class);
+        when(paymentProviderDefinitionsService.getProviderDefinition("definition")).thenReturn(Optional.of(mock(PaymentProviderDefinition.class)));
+
+        var identityProviderRepository = mock(IdentityProviderRepository.class);
+        when(identityProviderRepository.findById("idp")).thenAnswer(invocation -> Optional.of(identityProvider));
+
+        var systemConfigService = mock(SystemConfigService.class);
+        when(systemConfigService.retrieve(anyString())).thenAnswer(invocation -> new SystemConfigEntity().setValue(""));
+
+        // The PDF service returns the printed html, so the tests can tell which templates a PDF was printed from
+        var puppetPdfClient = mock(PuppetPdfClient.class);
+        when(puppetPdfClient.print(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            prints.incrementAndGet();
+            return new ByteArrayInputStream(invocation.getArgument(0, String.class).getBytes(StandardCharsets.UTF_8));
+        });
+
+        var javascriptProperties = new JavascriptConfigurationProperties();
+        javascriptEngineFactoryService = new JavascriptEngineFactoryService(
+                List.of(),
+                new JavascriptSourceCache(javascriptProperties, meterRegistry),
+                javascriptProperties,
+                meterRegistry
+        );
+
+        pdfService = new PdfService(
+                puppetPdfClient,
+                systemConfigService,
+                departmentRepository,
+                mock(AssetRepository.class),
+                mock(GoverConfig.class),
+                themeRepository,
+                new FormDerivationServiceFactory(
+                        javascriptEngineFactoryService,
+                        new NoCodeEvaluationService(List.of()),
+                        mock(FormDependencyGraphService.class),
+                        new FormDerivationMetricsService(new FormDerivationConfigurationProperties(), meterRegistry)
+                ),
+                paymentTransactionRepository,
+                identityProviderRepository,
+                paymentProviderRepository,
+                paymentProviderDefinitionsService,
+                new TemplateLoaderService(meterRegistry)
+        );
+
+        var storageConfig = mock(StorageConfig.class);
+        when(storageConfig.localStorageEnabled()).thenReturn(true);
+        when(storageConfig.getLocalStoragePath()).thenReturn(TEST_FILE_DIRECTORY);
+
+        submissionStorageService = new SubmissionStorageService(
+                new StorageService(storageConfig),
+                mock(SubmissionAttachmentRepository.class),
+                storageConfig
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        javascriptEngineFactoryService.close();
+        FileUtils.deleteDirectory(new File(TEST_FILE_DIRECTORY));
+    }
+
+    @Test
+    void storedPdfIsServedForUnchangedInputs() throws Exception {
+        var cacheService = createCacheService(submissionStorageService);
+
+        var first = read(cacheService.getCustomerSummary(form, submission, FormPdfScope.Staff));
+        var second = cacheService.getCustomerSummary(form, submission, FormPdfScope.Staff);
+
+        assertEquals(1, prints.get());
+        assertFalse(second instanceof ByteArrayResource);
+        assertEquals("Antrag.pdf", second.getFilename());
+        assertEquals(first, read(second));
+        assertEquals(1, meterRegistry.get("gover.submission.pdf.cache.hits").counter().count());
+        assertEquals(1, meterRegistry.get("gover.submission.pdf.cache.misses").counter().count());
+    }
+
+    @Test
+    void pdfIsStoredPerScope() throws Exception {
+        var cacheService = createCacheService(submissionStorageService);
+
+        cacheService.getCustomerSummary(form, submission, FormPdfScope.Staff);
+        cacheService.getCustomerSummary(form, submission, FormPdfScope.Citizen);
+
+        assertEquals(2, prints.get());
+    }
+
+    @Test
+    void pdfIsPrintedAgainWhenTheDepartmentChanges() throws Exception {
+        // Only the PDFs for citizens show the department
+        assertPrintedAgainAfter(FormPdfScope.Citizen, () -> department.setName("Anderer Fachbereich"));
+    }
+
+    @Test
+    void pdfIsPrintedAgainWhenTheThemeChanges() throws Exception {
+        // The bundled template does not use the theme, so a body template printing the theme color is used
+        form.setPdfBodyTemplateKey("test_summary_theme.html");
+
+        assertPrintedAgainAfter(FormPdfScope.Staff, () -> theme.setMain("#ffffff"));
+    }
+
+    @Test
+    void pdfIsPrintedAgainWhenThePaymentChanges() throws Exception {
+        submission.setPaymentTransactionKey("transaction");
+
+        assertPrintedAgainAfter(FormPdfScope.Staff, () -> paymentTransaction.getPaymentInformation().setStatus(XBezahldienstStatus.FAILED));
+    }
+
+    @Test
+    void pdfIsPrintedAgainWhenTheIdentityProviderChanges() throws Exception {
+        submission.getCustomerInput().put(IdentityValueKey.IdCustomerInputKey, Map.of(
+                "identityProviderKey", "idp",
+                "metadataIdentifier", "metadata",
+                "userInfo", Map.of()
+        ));
+
+        assertPrintedAgainAfter(FormPdfScope.Staff, () -> identityProvider.setName("Anderes Nutzerkonto"));
+    }
+
+    @Test
+    void pdfIsServedFromMemoryWhenItCannotBeStored() throws Exception {
+        var failingStorageService = mock(SubmissionStorageService.class);
+        when(failingStorageService.getSummaryPdf(any(), any(), anyString(), anyString())).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            invocation.getArgument(3, InputStream.class).readAllBytes();
+            throw ResponseException.internalServerError(new IOException("Storage not available"));
+        }).when(failingStorageService).saveSummaryPdf(any(), any(), anyString(), any());
+
+        var cacheService = createCacheService(failingStorageService);
+
+        var pdf = cacheService.getCustomerSummary(form, submission, FormPdfScope.Staff, "Zusammenfassung.pdf");
+
+        assertInstanceOf(ByteArrayResource.class, pdf);
+        assertEquals("Zusammenfassung.pdf", pdf.getFilename());
+        assertTrue(read(pdf).contains("Erika Mustermann"));
+        assertEquals(2, prints.get());
+    }
+
+    private void assertPrintedAgainAfter(FormPdfScope scope, Runnable change) throws Exception {
+        var cacheService = createCacheService(submissionStorageService);
+
+        var before = read(cacheService.getCustomerSummary(form, submission, scope));
+        cacheService.getCustomerSummary(form, submission, scope);
+        assertEquals(1, prints.get());
+
+        change.run();
+
+        var after = read(cacheService.getCustomerSummary(form, submission, scope));
+        assertEquals(2, prints.get());
+        assertNotEquals(before, after);
+    }
+
+    private SubmissionPdfCacheService createCacheService(SubmissionStorageService storageService) {
+        return new SubmissionPdfCacheService(pdfService, storageService, meterRegistry);
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (var in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}